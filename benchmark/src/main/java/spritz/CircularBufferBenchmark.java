@@ -0,0 +1,147 @@
+package spritz;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compare the power-of-two {@link CircularBuffer} against the {@link LegacyCircularBuffer} that preceded it.
+ * The benchmark is in the spritz package as the buffers are package-private.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class CircularBufferBenchmark
+{
+  /**
+   * The number of items added to the buffer before the buffer is drained.
+   */
+  @Param( { "16", "1024" } )
+  public int burstSize;
+  private CircularBuffer<Integer> _buffer;
+  private CircularBuffer<Integer> _shrinkingBuffer;
+  private LegacyCircularBuffer<Integer> _legacyBuffer;
+  private final Integer _item = 42;
+
+  @Setup
+  public void setup()
+  {
+    _buffer = new CircularBuffer<>( 10 );
+    _shrinkingBuffer = new CircularBuffer<>( 10, CircularBuffer.DEFAULT_SHRINK_AFTER_DRAINS );
+    _legacyBuffer = new LegacyCircularBuffer<>( 10 );
+  }
+
+  @Benchmark
+  public void addAndDrain( final Blackhole blackhole )
+  {
+    final CircularBuffer<Integer> buffer = _buffer;
+    for ( int i = 0; i < burstSize; i++ )
+    {
+      buffer.add( _item );
+    }
+    Integer item;
+    while ( null != ( item = buffer.pop() ) )
+    {
+      blackhole.consume( item );
+    }
+  }
+
+  @Benchmark
+  public void addAndDrain_shrinking( final Blackhole blackhole )
+  {
+    final CircularBuffer<Integer> buffer = _shrinkingBuffer;
+    for ( int i = 0; i < burstSize; i++ )
+    {
+      buffer.add( _item );
+    }
+    Integer item;
+    while ( null != ( item = buffer.pop() ) )
+    {
+      blackhole.consume( item );
+    }
+  }
+
+  @Benchmark
+  public void addAndDrain_legacy( final Blackhole blackhole )
+  {
+    final LegacyCircularBuffer<Integer> buffer = _legacyBuffer;
+    for ( int i = 0; i < burstSize; i++ )
+    {
+      buffer.add( _item );
+    }
+    Integer item;
+    while ( null != ( item = buffer.pop() ) )
+    {
+      blackhole.consume( item );
+    }
+  }
+
+  @Benchmark
+  public void get( final Blackhole blackhole )
+  {
+    final CircularBuffer<Integer> buffer = _buffer;
+    fillWrapped( buffer );
+    for ( int i = 0; i < burstSize; i++ )
+    {
+      blackhole.consume( buffer.get( i ) );
+    }
+    buffer.clear();
+  }
+
+  @Benchmark
+  public void get_legacy( final Blackhole blackhole )
+  {
+    final LegacyCircularBuffer<Integer> buffer = _legacyBuffer;
+    // Fill the buffer so that the items wrap around the end of the underlying array
+    for ( int i = 0; i < burstSize / 2; i++ )
+    {
+      buffer.add( _item );
+    }
+    for ( int i = 1; i < burstSize / 2; i++ )
+    {
+      buffer.pop();
+    }
+    for ( int i = 1; i < burstSize; i++ )
+    {
+      buffer.add( _item );
+    }
+    for ( int i = 0; i < burstSize; i++ )
+    {
+      blackhole.consume( buffer.get( i ) );
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Fill the buffer so that the items wrap around the end of the underlying array.
+   */
+  private void fillWrapped( final CircularBuffer<Integer> buffer )
+  {
+    // One item is retained so that the buffer is not drained which would reset the head
+    for ( int i = 0; i < burstSize / 2; i++ )
+    {
+      buffer.add( _item );
+    }
+    for ( int i = 1; i < burstSize / 2; i++ )
+    {
+      buffer.pop();
+    }
+    for ( int i = 1; i < burstSize; i++ )
+    {
+      buffer.add( _item );
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package spritz.benchmark;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import org.openjdk.jmh.infra.Blackhole;
+import spritz.Subscriber;
+import spritz.Subscription;
+
+/**
+ * A terminal subscriber that consumes every item and signal so that the JIT can not eliminate the pipeline.
+ */
+final class BlackholeSubscriber<T>
+  implements Subscriber<T>
+{
+  @Nonnull
+  private final Blackhole _blackhole;
+
+  BlackholeSubscriber( @Nonnull final Blackhole blackhole )
+  {
+    _blackhole = Objects.requireNonNull( blackhole );
+  }
+
+  @Override
+  public void onSubscribe( @Nonnull final Subscription subscription )
+  {
+    _blackhole.consume( subscription );
+  }
+
+  @Override
+  public void onItem( @Nonnull final T item )
+  {
+    _blackhole.consume( item );
+  }
+
+  @Override
+  public void onError( @Nonnull final Throwable error )
+  {
+    _blackhole.consume( error );
+  }
+
+  @Override
+  public void onComplete()
+  {
+    _blackhole.consume( true );
+  }
+}
@@ -0,0 +1,62 @@
+package spritz.benchmark;
+
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import org.openjdk.jmh.infra.Blackhole;
+import spritz.Subscriber;
+import spritz.Subscription;
+
+/**
+ * A terminal subscriber used by benchmarks where the stream completes on another thread.
+ * The benchmark thread blocks in {@link #await()} until the stream terminates.
+ */
+final class LatchSubscriber<T>
+  implements Subscriber<T>
+{
+  private static final long TIMEOUT_SECONDS = 30;
+  @Nonnull
+  private final Blackhole _blackhole;
+  @Nonnull
+  private final CountDownLatch _latch = new CountDownLatch( 1 );
+
+  LatchSubscriber( @Nonnull final Blackhole blackhole )
+  {
+    _blackhole = Objects.requireNonNull( blackhole );
+  }
+
+  @Override
+  public void onSubscribe( @Nonnull final Subscription subscription )
+  {
+    _blackhole.consume( subscription );
+  }
+
+  @Override
+  public void onItem( @Nonnull final T item )
+  {
+    _blackhole.consume( item );
+  }
+
+  @Override
+  public void onError( @Nonnull final Throwable error )
+  {
+    _blackhole.consume( error );
+    _latch.countDown();
+  }
+
+  @Override
+  public void onComplete()
+  {
+    _latch.countDown();
+  }
+
+  void await()
+    throws InterruptedException
+  {
+    if ( !_latch.await( TIMEOUT_SECONDS, TimeUnit.SECONDS ) )
+    {
+      throw new IllegalStateException( "Stream failed to terminate within " + TIMEOUT_SECONDS + " seconds" );
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package spritz.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import spritz.Stream;
+
+/**
+ * Measure the per-item cost of flattening synchronous inner streams.
+ * Each upstream item is mapped to an inner stream of {@link #INNER_COUNT} items.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class MergeBenchmark
+{
+  private static final int OUTER_COUNT = 100;
+  private static final int INNER_COUNT = 10;
+  private Stream<Integer> _mergeMap;
+  private Stream<Integer> _concatMap;
+
+  @Setup
+  public void setup()
+  {
+    _mergeMap = Stream.range( 0, OUTER_COUNT ).mergeMap( v -> Stream.range( v, INNER_COUNT ) );
+    _concatMap = Stream.range( 0, OUTER_COUNT ).concatMap( v -> Stream.range( v, INNER_COUNT ) );
+  }
+
+  @Benchmark
+  @OperationsPerInvocation( OUTER_COUNT * INNER_COUNT )
+  public void mergeMap( final Blackhole blackhole )
+  {
+    _mergeMap.subscribe( new BlackholeSubscriber<>( blackhole ) );
+  }
+
+  @Benchmark
+  @OperationsPerInvocation( OUTER_COUNT * INNER_COUNT )
+  public void concatMap( final Blackhole blackhole )
+  {
+    _concatMap.subscribe( new BlackholeSubscriber<>( blackhole ) );
+  }
+}
@@ -0,0 +1,81 @@
+package spritz.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import spritz.IntStream;
+import spritz.Stream;
+
+/**
+ * Measure the per-item cost of a synchronous source flowing through a chain of simple operators.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class OperatorChainBenchmark
+{
+  private static final int ITEM_COUNT = 1000;
+  private Stream<Integer> _range;
+  private Stream<Integer> _rangeMapFilter;
+  private Stream<Integer> _longChain;
+  private IntStream _rangeIntMapFilter;
+
+  @Setup
+  public void setup()
+  {
+    _range = Stream.range( 0, ITEM_COUNT );
+    _rangeMapFilter = Stream.range( 0, ITEM_COUNT ).map( v -> v + 1 ).filter( v -> 0 == ( v & 1 ) );
+    _longChain =
+      Stream
+        .range( 0, ITEM_COUNT )
+        .map( v -> v + 1 )
+        .filter( v -> v > 0 )
+        .map( v -> v * 2 )
+        .peek( v -> {
+        } )
+        .filter( v -> 0 == ( v & 3 ) )
+        .map( v -> v - 1 );
+    _rangeIntMapFilter = Stream.rangeInt( 0, ITEM_COUNT ).map( v -> v + 1 ).filter( v -> 0 == ( v & 1 ) );
+  }
+
+  @Benchmark
+  @OperationsPerInvocation( ITEM_COUNT )
+  public void range( final Blackhole blackhole )
+  {
+    _range.subscribe( new BlackholeSubscriber<>( blackhole ) );
+  }
+
+  @Benchmark
+  @OperationsPerInvocation( ITEM_COUNT )
+  public void rangeMapFilter( final Blackhole blackhole )
+  {
+    _rangeMapFilter.subscribe( new BlackholeSubscriber<>( blackhole ) );
+  }
+
+  @Benchmark
+  @OperationsPerInvocation( ITEM_COUNT )
+  public void longChain( final Blackhole blackhole )
+  {
+    _longChain.subscribe( new BlackholeSubscriber<>( blackhole ) );
+  }
+
+  @Benchmark
+  @OperationsPerInvocation( ITEM_COUNT )
+  public void rangeIntMapFilter( final Blackhole blackhole )
+  {
+    _rangeIntMapFilter.forEach( blackhole::consume );
+  }
+}
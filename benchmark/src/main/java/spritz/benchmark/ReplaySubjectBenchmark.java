@@ -0,0 +1,56 @@
+package spritz.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import spritz.Stream;
+import spritz.Subject;
+
+/**
+ * Measure the cost of recording items in a replay subject and of replaying the buffer to a new subscriber.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class ReplaySubjectBenchmark
+{
+  @Param( { "10", "1000" } )
+  public int bufferSize;
+  private Subject<Integer> _subject;
+  private final Integer _item = 42;
+
+  @Setup
+  public void setup()
+  {
+    _subject = Stream.replaySubjectWithMaxSize( bufferSize );
+    for ( int i = 0; i < bufferSize; i++ )
+    {
+      _subject.next( i );
+    }
+  }
+
+  @Benchmark
+  public void record()
+  {
+    _subject.next( _item );
+  }
+
+  @Benchmark
+  public void replay( final Blackhole blackhole )
+  {
+    _subject.subscribe( new BlackholeSubscriber<>( blackhole ) ).cancel();
+  }
+}
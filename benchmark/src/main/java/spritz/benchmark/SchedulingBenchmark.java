@@ -0,0 +1,63 @@
+package spritz.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import spritz.Stream;
+import zemeckis.Zemeckis;
+
+/**
+ * Measure the cost of draining a burst of items through the scheduling operators.
+ * On the JVM the macro task VPU is activated from the zemeckis scheduler thread and the VPU task
+ * queue is not safe to access from other threads. The subscription is initiated from a zero-delay
+ * task on the scheduler thread and the benchmark thread waits for the stream to complete.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class SchedulingBenchmark
+{
+  private static final int ITEM_COUNT = 1000;
+  private Stream<Integer> _observeOn;
+  private Stream<Integer> _subscribeOn;
+
+  @Setup
+  public void setup()
+  {
+    _observeOn = Stream.range( 0, ITEM_COUNT ).observeOn( Zemeckis.macroTaskVpu() );
+    _subscribeOn = Stream.range( 0, ITEM_COUNT ).subscribeOn( Zemeckis.macroTaskVpu() );
+  }
+
+  @Benchmark
+  @OperationsPerInvocation( ITEM_COUNT )
+  public void observeOn( final Blackhole blackhole )
+    throws InterruptedException
+  {
+    final LatchSubscriber<Integer> subscriber = new LatchSubscriber<>( blackhole );
+    Zemeckis.delayedTask( () -> _observeOn.subscribe( subscriber ), 0 );
+    subscriber.await();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation( ITEM_COUNT )
+  public void subscribeOn( final Blackhole blackhole )
+    throws InterruptedException
+  {
+    final LatchSubscriber<Integer> subscriber = new LatchSubscriber<>( blackhole );
+    Zemeckis.delayedTask( () -> _subscribeOn.subscribe( subscriber ), 0 );
+    subscriber.await();
+  }
+}
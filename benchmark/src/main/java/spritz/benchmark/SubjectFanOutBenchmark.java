@@ -0,0 +1,51 @@
+package spritz.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import spritz.Stream;
+import spritz.Subject;
+
+/**
+ * Measure the cost of emitting a single item from a subject to a varying number of subscribers.
+ * The per-subscriber cost is the reciprocal of the score multiplied by the subscriber count.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class SubjectFanOutBenchmark
+{
+  @Param( { "1", "10", "100", "1000", "10000" } )
+  public int subscriberCount;
+  private Subject<Integer> _subject;
+  private final Integer _item = 42;
+
+  @Setup
+  public void setup( final Blackhole blackhole )
+  {
+    _subject = Stream.subject();
+    for ( int i = 0; i < subscriberCount; i++ )
+    {
+      _subject.subscribe( new BlackholeSubscriber<>( blackhole ) );
+    }
+  }
+
+  @Benchmark
+  public void next()
+  {
+    _subject.next( _item );
+  }
+}
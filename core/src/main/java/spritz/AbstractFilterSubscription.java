@@ -17,6 +17,10 @@ abstract class AbstractFilterSubscription<T, StreamT extends Stream<T>>
     {
       getSubscriber().onItem( item );
     }
+    else if ( isDemandRequested() )
+    {
+      getUpstream().request( 1 );
+    }
   }
 
   /**
@@ -0,0 +1,97 @@
+package spritz;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.realityforge.braincheck.Guards;
+
+/**
+ * Abstract implementation for subscription with both an upstream and downstream int stream stage.
+ * This is the primitive specialization of {@link AbstractOperatorSubscription}.
+ */
+abstract class AbstractIntOperatorSubscription<S extends IntStream>
+  extends AbstractIntSubscription<S>
+  implements IntSubscriber
+{
+  /**
+   * The upstream subscription.
+   */
+  @Nullable
+  private Subscription _upstream;
+  /**
+   * Flag set when the downstream subscriber has requested items using the demand protocol.
+   */
+  private boolean _demandRequested;
+
+  AbstractIntOperatorSubscription( @Nonnull final S stream, @Nonnull final IntSubscriber subscriber )
+  {
+    super( stream, subscriber );
+  }
+
+  /**
+   * Return the subscription used to interact with the upstream stage.
+   *
+   * @return the subscription used to interact with the upstream stage.
+   */
+  @Nonnull
+  final Subscription getUpstream()
+  {
+    if ( Spritz.shouldCheckInvariants() )
+    {
+      Guards.invariant( () -> null != _upstream,
+                        () -> "Spritz-0002: Attempted to invoke getUpstream() when subscription is not present" );
+    }
+    assert null != _upstream;
+    return _upstream;
+  }
+
+  /**
+   * Return true if the downstream subscriber has requested items using the demand protocol.
+   *
+   * @return true if the downstream subscriber has requested items using the demand protocol.
+   */
+  final boolean isDemandRequested()
+  {
+    return _demandRequested;
+  }
+
+  @Override
+  public void onSubscribe( @Nonnull final Subscription subscription )
+  {
+    _upstream = Objects.requireNonNull( subscription );
+    getSubscriber().onSubscribe( this );
+  }
+
+  @Override
+  public void onItem( final int item )
+  {
+    getSubscriber().onItem( item );
+  }
+
+  @Override
+  public void onError( @Nonnull final Throwable error )
+  {
+    markAsDone();
+    getSubscriber().onError( error );
+  }
+
+  @Override
+  public void onComplete()
+  {
+    markAsDone();
+    getSubscriber().onComplete();
+  }
+
+  @Override
+  void doCancel()
+  {
+    getUpstream().cancel();
+  }
+
+  @Override
+  void doRequest( final long count )
+  {
+    _demandRequested = true;
+    getUpstream().request( count );
+  }
+}
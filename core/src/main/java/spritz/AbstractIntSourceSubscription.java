@@ -0,0 +1,108 @@
+package spritz;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Abstract subscription implementation for synchronous int sources that honor the demand protocol.
+ * This is the primitive specialization of {@link AbstractSourceSubscription}.
+ */
+abstract class AbstractIntSourceSubscription<S extends IntStream>
+  extends AbstractIntSubscription<S>
+{
+  /**
+   * The number of items that the subscriber has requested but that have yet to be emitted.
+   */
+  private long _requested;
+  /**
+   * Flag set when the subscriber has invoked {@link #request(long)}.
+   */
+  private boolean _demandRequested;
+  /**
+   * Flag set after {@link #pushData()} has been invoked and the source is able to emit items.
+   */
+  private boolean _started;
+  /**
+   * Flag set while the source is emitting items.
+   */
+  private boolean _emitting;
+
+  AbstractIntSourceSubscription( @Nonnull final S stream, @Nonnull final IntSubscriber subscriber )
+  {
+    super( stream, subscriber );
+  }
+
+  /**
+   * Start emitting items.
+   * This is expected to be invoked after {@link IntSubscriber#onSubscribe(Subscription)} has returned.
+   */
+  final void pushData()
+  {
+    _started = true;
+    if ( !_demandRequested )
+    {
+      _requested = UNBOUNDED;
+    }
+    emit();
+  }
+
+  @Override
+  final void doRequest( final long count )
+  {
+    _demandRequested = true;
+    _requested = addDemand( _requested, count );
+    if ( _started )
+    {
+      emit();
+    }
+  }
+
+  private void emit()
+  {
+    if ( !_emitting )
+    {
+      _emitting = true;
+      try
+      {
+        final IntSubscriber subscriber = getSubscriber();
+        while ( isNotDone() )
+        {
+          if ( !hasNextItem() )
+          {
+            markAsDone();
+            subscriber.onComplete();
+          }
+          else if ( 0 == _requested )
+          {
+            break;
+          }
+          else
+          {
+            if ( UNBOUNDED != _requested )
+            {
+              _requested--;
+            }
+            subscriber.onItem( nextItem() );
+          }
+        }
+      }
+      finally
+      {
+        _emitting = false;
+      }
+    }
+  }
+
+  /**
+   * Return true if the source has more items to emit.
+   *
+   * @return true if the source has more items to emit.
+   */
+  abstract boolean hasNextItem();
+
+  /**
+   * Return the next item and advance the source.
+   *
+   * @return the next item.
+   */
+  abstract int nextItem();
+}
@@ -0,0 +1,42 @@
+package spritz;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Abstract int stream implementation for common scenario where there is an upstream int stage.
+ */
+abstract class AbstractIntStream
+  extends IntStream
+{
+  /**
+   * The upstream stream stage.
+   */
+  @Nonnull
+  private final IntStream _upstream;
+
+  AbstractIntStream( @Nullable final String name, @Nonnull final IntStream upstream )
+  {
+    super( name );
+    _upstream = Objects.requireNonNull( upstream );
+  }
+
+  /**
+   * Return the upstream stream.
+   *
+   * @return the upstream stream.
+   */
+  @Nonnull
+  final IntStream getUpstream()
+  {
+    return _upstream;
+  }
+
+  @Nonnull
+  @Override
+  final String getQualifiedName()
+  {
+    return getUpstream().getQualifiedName() + "." + getName();
+  }
+}
@@ -0,0 +1,46 @@
+package spritz;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+
+/**
+ * Abstract subscription implementation for subscriptions created by an {@link IntStream}.
+ */
+abstract class AbstractIntSubscription<S extends IntStream>
+  extends Subscription
+{
+  /**
+   * The stream from which this subscription was created.
+   */
+  @Nonnull
+  private final S _stream;
+  /**
+   * The subscriber associated with the subscription.
+   */
+  @Nonnull
+  private final IntSubscriber _subscriber;
+
+  AbstractIntSubscription( @Nonnull final S stream, @Nonnull final IntSubscriber subscriber )
+  {
+    _stream = Objects.requireNonNull( stream );
+    _subscriber = Objects.requireNonNull( subscriber );
+  }
+
+  @Nonnull
+  final S getStream()
+  {
+    return _stream;
+  }
+
+  @Nonnull
+  final IntSubscriber getSubscriber()
+  {
+    return _subscriber;
+  }
+
+  @Override
+  final String getQualifiedName()
+  {
+    return getStream().getQualifiedName();
+  }
+}
@@ -17,6 +17,10 @@ abstract class AbstractOperatorSubscription<UpstreamT, DownstreamT, StreamT exte
    */
   @Nullable
   private Subscription _upstream;
+  /**
+   * Flag set when the downstream subscriber has requested items using the demand protocol.
+   */
+  private boolean _demandRequested;
 
   /**
    * Create the subscription for the specified stream and specified subscriber.
@@ -62,6 +66,18 @@ abstract class AbstractOperatorSubscription<UpstreamT, DownstreamT, StreamT exte
     return _upstream;
   }
 
+  /**
+   * Return true if the downstream subscriber has requested items using the demand protocol.
+   * Operators that consume an upstream item without emitting a downstream item should request a
+   * replacement item from upstream when this method returns true.
+   *
+   * @return true if the downstream subscriber has requested items using the demand protocol.
+   */
+  final boolean isDemandRequested()
+  {
+    return _demandRequested;
+  }
+
   @Override
   public void onSubscribe( @Nonnull final Subscription subscription )
   {
@@ -69,6 +85,20 @@ abstract class AbstractOperatorSubscription<UpstreamT, DownstreamT, StreamT exte
     getSubscriber().onSubscribe( this );
   }
 
+  /**
+   * Process the items in the batch one at a time until the subscription is done.
+   * Operators that can process a batch more efficiently should override this method.
+   */
+  @Override
+  public void onItems( @Nonnull final UpstreamT[] items, final int offset, final int count )
+  {
+    final int end = offset + count;
+    for ( int i = offset; i < end && isNotDone(); i++ )
+    {
+      onItem( items[ i ] );
+    }
+  }
+
   @Override
   public void onError( @Nonnull final Throwable error )
   {
@@ -87,4 +117,11 @@ abstract class AbstractOperatorSubscription<UpstreamT, DownstreamT, StreamT exte
   {
     getUpstream().cancel();
   }
+
+  @Override
+  void doRequest( final long count )
+  {
+    _demandRequested = true;
+    getUpstream().request( count );
+  }
 }
@@ -0,0 +1,137 @@
+package spritz;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Abstract subscription implementation for synchronous sources that honor the demand protocol.
+ * The source emits items while there is outstanding demand and suspends emission when demand
+ * is exhausted. Emission resumes when {@link #request(long)} is invoked. If the subscriber does not
+ * request items during {@link Subscriber#onSubscribe(Subscription)} then the demand is unbounded.
+ */
+abstract class AbstractSourceSubscription<T, S extends Stream<T>>
+  extends AbstractStreamSubscription<T, S>
+{
+  /**
+   * The number of items that the subscriber has requested but that have yet to be emitted.
+   */
+  private long _requested;
+  /**
+   * Flag set when the subscriber has invoked {@link #request(long)}.
+   */
+  private boolean _demandRequested;
+  /**
+   * Flag set after {@link #pushData()} has been invoked and the source is able to emit items.
+   */
+  private boolean _started;
+  /**
+   * Flag set while the source is emitting items so that requests that occur within
+   * {@link Subscriber#onItem(Object)} are processed by the active emit loop rather than recursively.
+   */
+  private boolean _emitting;
+
+  AbstractSourceSubscription( @Nonnull final S stream, @Nonnull final Subscriber<? super T> subscriber )
+  {
+    super( stream, subscriber );
+  }
+
+  /**
+   * Start emitting items.
+   * This is expected to be invoked after {@link Subscriber#onSubscribe(Subscription)} has returned.
+   */
+  final void pushData()
+  {
+    _started = true;
+    if ( !_demandRequested )
+    {
+      _requested = UNBOUNDED;
+    }
+    emit();
+  }
+
+  @Override
+  final void doRequest( final long count )
+  {
+    _demandRequested = true;
+    _requested = addDemand( _requested, count );
+    if ( _started )
+    {
+      emit();
+    }
+  }
+
+  private void emit()
+  {
+    if ( !_emitting )
+    {
+      _emitting = true;
+      try
+      {
+        final Subscriber<? super T> subscriber = getSubscriber();
+        while ( isNotDone() )
+        {
+          if ( !hasNextItem() )
+          {
+            // The source may have signalled an error while determining whether there are more items
+            if ( isNotDone() )
+            {
+              markAsDone();
+              subscriber.onComplete();
+            }
+          }
+          else if ( 0 == _requested )
+          {
+            break;
+          }
+          else
+          {
+            final int maxCount = UNBOUNDED == _requested ? Integer.MAX_VALUE : (int) Math.min( _requested, Integer.MAX_VALUE );
+            final int count = pushItems( subscriber, maxCount );
+            // Requests made while the items were pushed have been added to the outstanding demand
+            if ( UNBOUNDED != _requested )
+            {
+              _requested -= count;
+            }
+          }
+        }
+      }
+      finally
+      {
+        _emitting = false;
+      }
+    }
+  }
+
+  /**
+   * Return true if the source has more items to emit.
+   * If the source fails while determining whether there are more items then the implementation
+   * should mark the subscription as done, signal the error and return false.
+   *
+   * @return true if the source has more items to emit.
+   */
+  abstract boolean hasNextItem();
+
+  /**
+   * Emit the next item to the subscriber.
+   * If the source fails to produce an item then the implementation should mark the subscription as
+   * done and signal the error.
+   *
+   * @param subscriber the subscriber.
+   */
+  abstract void pushNextItem( @Nonnull Subscriber<? super T> subscriber );
+
+  /**
+   * Emit one or more items to the subscriber and return the number of items emitted.
+   * This is invoked when {@link #hasNextItem()} has returned true. The default implementation emits
+   * a single item using {@link #pushNextItem(Subscriber)}. Sources that can emit a batch of items
+   * should override this method and use {@link #emitItems(Object[], int, int)}.
+   *
+   * @param subscriber the subscriber.
+   * @param maxCount   the maximum number of items to emit.
+   * @return the number of items emitted.
+   */
+  int pushItems( @Nonnull final Subscriber<? super T> subscriber, final int maxCount )
+  {
+    pushNextItem( subscriber );
+    return 1;
+  }
+}
@@ -9,6 +9,12 @@ import javax.annotation.Nonnull;
 abstract class AbstractSubscription<T>
   extends Subscription
 {
+  /**
+   * The maximum number of items that a stage copies into a batch before emitting the batch.
+   * This bounds the size of the arrays retained by stages and the number of items that a stage
+   * processes before observing that the downstream has cancelled.
+   */
+  static final int MAX_BATCH_SIZE = 64;
   /**
    * The subscriber associated with the subscription.
    */
@@ -30,4 +36,47 @@ abstract class AbstractSubscription<T>
   {
     return _subscriber;
   }
+
+  /**
+   * Emit a batch of items to the subscriber.
+   * The batch is only passed to subscribers that are Spritz stages, including stages wrapped by the
+   * {@link ValidatingSubscriber} or the {@link MetricsSubscriber}, as stages stop processing a batch when their subscription is cancelled.
+   * Other subscribers receive the items one at a time until this subscription is done.
+   *
+   * @param items  the array containing the items.
+   * @param offset the index of the first item in the array.
+   * @param count  the number of items.
+   */
+  final void emitItems( @Nonnull final T[] items, final int offset, final int count )
+  {
+    final Subscriber<? super T> subscriber = _subscriber;
+    if ( isStage( subscriber ) )
+    {
+      subscriber.onItems( items, offset, count );
+    }
+    else
+    {
+      final int end = offset + count;
+      for ( int i = offset; i < end && isNotDone(); i++ )
+      {
+        subscriber.onItem( items[ i ] );
+      }
+    }
+  }
+
+  private static boolean isStage( @Nonnull final Subscriber<?> subscriber )
+  {
+    if ( subscriber instanceof ValidatingSubscriber )
+    {
+      return isStage( ( (ValidatingSubscriber<?>) subscriber ).getTarget() );
+    }
+    else if ( subscriber instanceof MetricsSubscriber )
+    {
+      return isStage( ( (MetricsSubscriber<?>) subscriber ).getTarget() );
+    }
+    else
+    {
+      return subscriber instanceof AbstractOperatorSubscription;
+    }
+  }
 }
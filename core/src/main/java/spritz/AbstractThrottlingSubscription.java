@@ -10,8 +10,20 @@ abstract class AbstractThrottlingSubscription<T, StreamT extends Stream<T>>
 {
   @Nullable
   private T _nextItem;
+  /**
+   * The armed timer if any. At most one timer is armed at any one time.
+   */
   @Nullable
   private Cancelable _task;
+  /**
+   * The time at which the armed timer will fire.
+   */
+  private int _taskTime;
+  /**
+   * The time at which the pending item should be emitted.
+   * This may be later than the time at which the armed timer fires. Moving the deadline is a field
+   * write and the timer is lazily re-armed for the remaining time when it fires.
+   */
   private int _nextTaskTime;
   private boolean _pendingComplete;
 
@@ -32,8 +44,7 @@ abstract class AbstractThrottlingSubscription<T, StreamT extends Stream<T>>
      */
     if ( hasNextItem() && now > _nextTaskTime )
     {
-      assert null != _task;
-      _task.cancel();
+      disarmTask();
       executeTask();
     }
 
@@ -68,9 +79,21 @@ abstract class AbstractThrottlingSubscription<T, StreamT extends Stream<T>>
     super.onComplete();
   }
 
-  final boolean hasTask()
+  @Override
+  void doCancel()
+  {
+    cancelPendingTask();
+    super.doCancel();
+  }
+
+  /**
+   * Which items are emitted depends upon when the items arrive relative to the timer. Passing the
+   * demand upstream would delay the items and change which items are dropped, and a pending item is
+   * emitted when the timer fires whether or not it has been requested. The demand is therefore ignored.
+   */
+  @Override
+  final void doRequest( final long count )
   {
-    return null != _task;
   }
 
   final boolean hasNextItem()
@@ -86,13 +109,11 @@ abstract class AbstractThrottlingSubscription<T, StreamT extends Stream<T>>
   void executeTask()
   {
     assert null != _nextItem;
-    assert null != _task;
     if ( isNotDone() )
     {
       super.onItem( _nextItem );
     }
     _nextItem = null;
-    _task = null;
     _nextTaskTime = 0;
     if ( isNotDone() && _pendingComplete )
     {
@@ -105,8 +126,8 @@ abstract class AbstractThrottlingSubscription<T, StreamT extends Stream<T>>
     assert timeout >= 0;
     if ( 0 == timeout )
     {
-      super.onItem( item );
       setNextItem( null );
+      super.onItem( item );
     }
     else
     {
@@ -115,29 +136,64 @@ abstract class AbstractThrottlingSubscription<T, StreamT extends Stream<T>>
     }
   }
 
+  /**
+   * Set the deadline for emitting the pending item.
+   * A timer is only armed if there is no timer armed or the armed timer would fire after the new deadline.
+   *
+   * @param delay the time until the pending item should be emitted.
+   */
   final void scheduleTask( final int delay )
   {
     assert delay > 0;
-    _task = Zemeckis.delayedTask( Spritz.areNamesEnabled() ? getStream().getName() : null, this::executeTask, delay );
-    _nextTaskTime = Zemeckis.now() + delay;
+    final int now = Zemeckis.now();
+    _nextTaskTime = now + delay;
+    if ( null == _task || _nextTaskTime < _taskTime )
+    {
+      disarmTask();
+      armTask( now, delay );
+    }
   }
 
-  /**
-   * Cleanup pending task if any.
-   */
-  final void cancelPendingTask()
+  private void armTask( final int now, final int delay )
+  {
+    _taskTime = now + delay;
+    _task = Zemeckis.delayedTask( Spritz.areNamesEnabled() ? getStream().getName() : null, this::onTaskFired, delay );
+  }
+
+  private void disarmTask()
   {
     if ( null != _task )
     {
       _task.cancel();
-      assert null != _nextItem;
       _task = null;
-      _nextTaskTime = 0;
-      _nextItem = null;
     }
-    else
+  }
+
+  private void onTaskFired()
+  {
+    _task = null;
+    if ( isNotDone() && hasNextItem() )
     {
-      assert null == _nextItem;
+      final int now = Zemeckis.now();
+      if ( now < _nextTaskTime )
+      {
+        // The deadline moved after the timer was armed so wait for the remaining time
+        armTask( now, _nextTaskTime - now );
+      }
+      else
+      {
+        executeTask();
+      }
     }
   }
+
+  /**
+   * Cleanup pending task if any.
+   */
+  final void cancelPendingTask()
+  {
+    disarmTask();
+    _nextTaskTime = 0;
+    _nextItem = null;
+  }
 }
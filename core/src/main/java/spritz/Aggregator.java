@@ -0,0 +1,117 @@
+package spritz;
+
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+import javax.annotation.Nonnull;
+
+/**
+ * Interface defining how items are aggregated by a windowed aggregate operator.
+ * Items are accumulated into partial aggregates for each bucket of time and the partial aggregates
+ * of the buckets in a window are combined to produce the aggregate for the window. The partial
+ * aggregates should be treated as immutable values as a partial aggregate may be combined many times.
+ *
+ * @param <T> the type of the items.
+ * @param <A> the type of the aggregate.
+ * @see Stream#windowAggregate(int, int, Aggregator)
+ */
+public interface Aggregator<T, A>
+{
+  /**
+   * Return the aggregate of zero items.
+   *
+   * @return the aggregate of zero items.
+   */
+  @Nonnull
+  A identity();
+
+  /**
+   * Return the aggregate that results from adding the item to the partial aggregate.
+   *
+   * @param partial the partial aggregate.
+   * @param item    the item.
+   * @return the new partial aggregate.
+   */
+  @Nonnull
+  A accumulate( @Nonnull A partial, @Nonnull T item );
+
+  /**
+   * Return the aggregate that results from combining two partial aggregates.
+   * The left partial aggregate contains items received before the items in the right partial aggregate.
+   *
+   * @param left  the earlier partial aggregate.
+   * @param right the later partial aggregate.
+   * @return the combined aggregate.
+   */
+  @Nonnull
+  A combine( @Nonnull A left, @Nonnull A right );
+
+  /**
+   * Return an aggregator that counts the items.
+   *
+   * @param <T> the type of the items.
+   * @return the new aggregator.
+   */
+  @Nonnull
+  static <T> Aggregator<T, Integer> counting()
+  {
+    return new Aggregator<T, Integer>()
+    {
+      @Nonnull
+      @Override
+      public Integer identity()
+      {
+        return 0;
+      }
+
+      @Nonnull
+      @Override
+      public Integer accumulate( @Nonnull final Integer partial, @Nonnull final T item )
+      {
+        return partial + 1;
+      }
+
+      @Nonnull
+      @Override
+      public Integer combine( @Nonnull final Integer left, @Nonnull final Integer right )
+      {
+        return left + right;
+      }
+    };
+  }
+
+  /**
+   * Return an aggregator that sums the values derived from the items.
+   *
+   * @param <T>     the type of the items.
+   * @param valueFn the function that derives the value from an item.
+   * @return the new aggregator.
+   */
+  @Nonnull
+  static <T> Aggregator<T, Double> summingDouble( @Nonnull final ToDoubleFunction<? super T> valueFn )
+  {
+    Objects.requireNonNull( valueFn );
+    return new Aggregator<T, Double>()
+    {
+      @Nonnull
+      @Override
+      public Double identity()
+      {
+        return 0D;
+      }
+
+      @Nonnull
+      @Override
+      public Double accumulate( @Nonnull final Double partial, @Nonnull final T item )
+      {
+        return partial + valueFn.applyAsDouble( item );
+      }
+
+      @Nonnull
+      @Override
+      public Double combine( @Nonnull final Double left, @Nonnull final Double right )
+      {
+        return left + right;
+      }
+    };
+  }
+}
@@ -0,0 +1,238 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import zemeckis.Cancelable;
+import zemeckis.Zemeckis;
+
+/**
+ * Collect items into chunks and emit each chunk as a list.
+ * A chunk is emitted when it contains the maximum number of items, when an item matches the
+ * close predicate or when the timespan elapses, depending on which of these are specified.
+ * Any partial chunk is emitted before the completion signal.
+ */
+final class BufferOperator<T>
+  extends AbstractStream<T, List<T>>
+{
+  /**
+   * The maximum initial capacity of a newly allocated chunk.
+   */
+  private static final int MAX_INITIAL_CAPACITY = 64;
+  /**
+   * The maximum number of items in a chunk. A value of 0 indicates that the number of items is unbounded.
+   */
+  private final int _maxCount;
+  /**
+   * The duration in milliseconds after which a chunk is emitted. A value of 0 indicates that chunks are
+   * not emitted based on time.
+   */
+  private final int _timespan;
+  /**
+   * The predicate that closes the chunk after an item that matches the predicate has been added.
+   */
+  @Nullable
+  private final Predicate<? super T> _closePredicate;
+  /**
+   * The pool from which chunks are acquired, if any.
+   */
+  @Nullable
+  private final ChunkPool<T> _pool;
+
+  BufferOperator( @Nullable final String name,
+                  @Nonnull final Stream<T> upstream,
+                  @Nonnull final String prefix,
+                  @Nullable final String params,
+                  final int maxCount,
+                  final int timespan,
+                  @Nullable final Predicate<? super T> closePredicate,
+                  @Nullable final ChunkPool<T> pool )
+  {
+    super( Spritz.areNamesEnabled() ? generateName( name, prefix, params ) : null, upstream );
+    assert maxCount >= 0;
+    assert timespan >= 0;
+    assert 0 != maxCount || 0 != timespan || null != closePredicate;
+    _maxCount = maxCount;
+    _timespan = timespan;
+    _closePredicate = closePredicate;
+    _pool = pool;
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super List<T>> subscriber )
+  {
+    final WorkerSubscription<T> subscription = new WorkerSubscription<>( this, subscriber );
+    getUpstream().subscribe( subscription );
+    return subscription;
+  }
+
+  @Nonnull
+  private List<T> newChunk()
+  {
+    final int capacity = 0 != _maxCount && _maxCount < MAX_INITIAL_CAPACITY ? _maxCount : MAX_INITIAL_CAPACITY;
+    return null == _pool ? new ArrayList<>( capacity ) : _pool.acquire( capacity );
+  }
+
+  private void discardChunk( @Nonnull final List<T> chunk )
+  {
+    if ( null != _pool )
+    {
+      _pool.recycle( chunk );
+    }
+  }
+
+  private static final class WorkerSubscription<T>
+    extends AbstractOperatorSubscription<T, List<T>, BufferOperator<T>>
+  {
+    /**
+     * The chunk currently being filled, if any.
+     */
+    @Nullable
+    private List<T> _chunk;
+    /**
+     * The handle of the task that emits the current chunk once the timespan has elapsed since the first
+     * item was added to the chunk.
+     */
+    @Nullable
+    private Cancelable _timer;
+
+    WorkerSubscription( @Nonnull final BufferOperator<T> stream,
+                        @Nonnull final Subscriber<? super List<T>> subscriber )
+    {
+      super( stream, subscriber );
+    }
+
+    @Override
+    public void onItem( @Nonnull final T item )
+    {
+      final BufferOperator<T> stream = getStream();
+      final Predicate<? super T> closePredicate = stream._closePredicate;
+      final boolean close;
+      try
+      {
+        close = null != closePredicate && closePredicate.test( item );
+      }
+      catch ( final Throwable throwable )
+      {
+        onError( throwable );
+        getUpstream().cancel();
+        return;
+      }
+      if ( null == _chunk )
+      {
+        _chunk = stream.newChunk();
+        if ( 0 != stream._timespan )
+        {
+          _timer = Zemeckis.delayedTask( Spritz.areNamesEnabled() ? stream.getName() : null,
+                                         this::onTimeout,
+                                         stream._timespan );
+        }
+      }
+      _chunk.add( item );
+      if ( close || ( 0 != stream._maxCount && _chunk.size() >= stream._maxCount ) )
+      {
+        emitChunk();
+      }
+      else if ( null != closePredicate && 0 == stream._timespan && isDemandRequested() )
+      {
+        // The item did not produce a chunk so request a replacement
+        getUpstream().request( 1 );
+      }
+    }
+
+    private void onTimeout()
+    {
+      if ( null != _timer )
+      {
+        _timer = null;
+        emitChunk();
+      }
+    }
+
+    private void emitChunk()
+    {
+      cancelTimer();
+      final List<T> chunk = _chunk;
+      assert null != chunk;
+      _chunk = null;
+      getSubscriber().onItem( chunk );
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      cancelTimer();
+      discardChunk();
+      super.onError( error );
+    }
+
+    @Override
+    public void onComplete()
+    {
+      cancelTimer();
+      if ( null != _chunk )
+      {
+        emitChunk();
+      }
+      if ( isNotDone() )
+      {
+        super.onComplete();
+      }
+    }
+
+    @Override
+    void doCancel()
+    {
+      cancelTimer();
+      discardChunk();
+      super.doCancel();
+    }
+
+    /**
+     * Translate the demand for chunks into demand for items.
+     * If the number of items in a chunk is bounded then each chunk requires at most that many items.
+     * If chunks are closed by a predicate then demand is passed upstream and replacement items are
+     * requested for each item that does not close a chunk. If chunks are emitted based on time then the
+     * number of items in a chunk depends upon how many arrive before the timer fires and the chunk is
+     * emitted whether or not it has been requested, so the demand is ignored.
+     */
+    @Override
+    void doRequest( final long count )
+    {
+      final BufferOperator<T> stream = getStream();
+      if ( 0 == stream._timespan )
+      {
+        final int maxCount = stream._maxCount;
+        if ( 0 == maxCount || null != stream._closePredicate )
+        {
+          super.doRequest( count );
+        }
+        else
+        {
+          super.doRequest( count >= Subscription.UNBOUNDED / maxCount ? Subscription.UNBOUNDED : count * maxCount );
+        }
+      }
+    }
+
+    private void cancelTimer()
+    {
+      if ( null != _timer )
+      {
+        _timer.cancel();
+        _timer = null;
+      }
+    }
+
+    private void discardChunk()
+    {
+      if ( null != _chunk )
+      {
+        getStream().discardChunk( _chunk );
+        _chunk = null;
+      }
+    }
+  }
+}
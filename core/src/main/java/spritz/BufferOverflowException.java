@@ -0,0 +1,13 @@
+package spritz;
+
+/**
+ * The exception emitted when an item is added to a full buffer that uses {@link OverflowStrategy#ERROR}.
+ */
+public class BufferOverflowException
+  extends Exception
+{
+  public BufferOverflowException()
+  {
+    super();
+  }
+}
@@ -28,25 +28,29 @@ final class CallableStreamSource<T>
   }
 
   private static final class WorkerSubscription<T>
-    extends AbstractStreamSubscription<T, CallableStreamSource<T>>
+    extends AbstractSourceSubscription<T, CallableStreamSource<T>>
   {
     WorkerSubscription( @Nonnull final CallableStreamSource<T> stream, @Nonnull final Subscriber<? super T> subscriber )
     {
       super( stream, subscriber );
     }
 
-    void pushData()
+    @Override
+    boolean hasNextItem()
+    {
+      return true;
+    }
+
+    @Override
+    void pushNextItem( @Nonnull final Subscriber<? super T> subscriber )
     {
-      final Subscriber<? super T> subscriber = getSubscriber();
       try
       {
-        while ( isNotDone() )
-        {
-          subscriber.onItem( getStream()._callable.call() );
-        }
+        subscriber.onItem( getStream()._callable.call() );
       }
       catch ( final Throwable error )
       {
+        markAsDone();
         subscriber.onError( error );
       }
     }
@@ -0,0 +1,119 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import static org.realityforge.braincheck.Guards.*;
+
+/**
+ * A pool of lists that are reused by buffering operators to emit chunks of items.
+ * A chunk emitted by an operator that was supplied a pool may be returned to the pool via
+ * {@link #recycle(List)} once the subscriber has finished with the chunk. Recycled chunks are
+ * cleared and reused by subsequent windows so that steady-state buffering does not allocate a
+ * list per window. A chunk must not be accessed after it has been recycled.
+ *
+ * @param <T> the type of the items contained in the chunks.
+ * @see Stream#buffer(int, ChunkPool)
+ * @see Stream#bufferTime(int, int, ChunkPool)
+ * @see Stream#bufferUntil(java.util.function.Predicate, ChunkPool)
+ */
+public final class ChunkPool<T>
+{
+  private static final int DEFAULT_MAX_POOLED_CHUNKS = 4;
+  /**
+   * The maximum number of chunks retained by the pool. Chunks recycled when the pool is full are discarded.
+   */
+  private final int _maxPooledChunks;
+  /**
+   * The chunks available for reuse.
+   */
+  @Nonnull
+  private final ArrayList<Chunk<T>> _chunks = new ArrayList<>();
+
+  /**
+   * Create a pool that retains a small number of chunks.
+   */
+  public ChunkPool()
+  {
+    this( DEFAULT_MAX_POOLED_CHUNKS );
+  }
+
+  /**
+   * Create a pool that retains at most the specified number of chunks.
+   *
+   * @param maxPooledChunks the maximum number of chunks retained by the pool. Must be greater than 0.
+   */
+  public ChunkPool( final int maxPooledChunks )
+  {
+    assert maxPooledChunks > 0;
+    _maxPooledChunks = maxPooledChunks;
+  }
+
+  /**
+   * Return a chunk to the pool so that it can be reused.
+   * Chunks that were not issued by this pool, such as chunks emitted by an operator that was not
+   * supplied a pool, are ignored. A chunk must not be recycled more than once.
+   *
+   * @param chunk the chunk emitted by a buffering operator.
+   */
+  public synchronized void recycle( @Nonnull final List<T> chunk )
+  {
+    // Chunks are identified by their owner rather than their type as any list may be passed in
+    if ( chunk instanceof Chunk && this == ( (Chunk<T>) chunk )._pool )
+    {
+      final Chunk<T> pooledChunk = (Chunk<T>) chunk;
+      if ( Spritz.shouldCheckApiInvariants() )
+      {
+        apiInvariant( () -> pooledChunk._issued,
+                      () -> "Spritz-0014: ChunkPool.recycle(...) invoked with a chunk that has already been recycled." );
+      }
+      if ( pooledChunk._issued )
+      {
+        pooledChunk._issued = false;
+        pooledChunk.clear();
+        if ( _chunks.size() < _maxPooledChunks )
+        {
+          _chunks.add( pooledChunk );
+        }
+      }
+    }
+  }
+
+  /**
+   * Return an empty chunk, reusing a recycled chunk if one is available.
+   *
+   * @param capacity the initial capacity of the chunk if a new chunk is created.
+   * @return an empty chunk.
+   */
+  @Nonnull
+  synchronized ArrayList<T> acquire( final int capacity )
+  {
+    final int size = _chunks.size();
+    final Chunk<T> chunk = 0 == size ? new Chunk<>( this, capacity ) : _chunks.remove( size - 1 );
+    chunk._issued = true;
+    return chunk;
+  }
+
+  /**
+   * A list issued by a pool.
+   */
+  private static final class Chunk<T>
+    extends ArrayList<T>
+  {
+    /**
+     * The pool that issued the chunk.
+     */
+    @Nonnull
+    private final ChunkPool<T> _pool;
+    /**
+     * Flag set while the chunk has been issued by the pool and has yet to be recycled.
+     */
+    private boolean _issued;
+
+    Chunk( @Nonnull final ChunkPool<T> pool, final int capacity )
+    {
+      super( capacity );
+      _pool = pool;
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package spritz;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -7,43 +8,101 @@ import javax.annotation.Nullable;
 
 /**
  * A circular buffer implementation.
+ * The capacity of the buffer is always a power of two so that the index of an element can be
+ * computed with a mask rather than a modulus.
+ *
+ * <p>The buffer may optionally release capacity after a burst. A drain occurs each time the buffer
+ * becomes empty and if the size of the buffer has remained below the low-water mark (a quarter of
+ * the capacity) for the configured number of consecutive drains then the capacity is reduced.
+ * The capacity is never reduced below the initial capacity.</p>
  */
 final class CircularBuffer<T>
 {
   /**
-   * The underlying object array.
+   * The number of consecutive drains under the low-water mark after which operator queues release the
+   * capacity acquired during a burst of items.
+   */
+  static final int DEFAULT_SHRINK_AFTER_DRAINS = 16;
+  /**
+   * The underlying object array. The length is a power of two.
    */
   private T[] _elements;
   /**
-   * The pointer to first element.
+   * The mask used to convert a position into an index into the elements array.
+   */
+  private int _mask;
+  /**
+   * The index of the first element.
    */
   private int _head;
   /**
-   * The pointer to last element.
+   * The number of elements in the buffer.
+   */
+  private int _size;
+  /**
+   * The capacity with which the buffer was created. The buffer never shrinks below this capacity.
+   */
+  private final int _initialCapacity;
+  /**
+   * The number of consecutive drains under the low-water mark after which the buffer shrinks.
+   * A value of 0 indicates that the buffer never shrinks automatically.
+   */
+  private final int _shrinkAfterDrains;
+  /**
+   * The maximum size of the buffer since the last drain.
    */
-  private int _tail;
+  private int _peakSize;
   /**
-   * Flag indicating whether buffer is wrapped around.
+   * The number of consecutive drains where the peak size was under the low-water mark.
    */
-  private boolean _isWrappedBuffer;
+  private int _idleDrains;
 
   /**
    * Create a buffer with specified initial capacity.
    *
-   * @param initialCapacity the initial capacity of the buffer.
+   * @param initialCapacity the initial capacity of the buffer. This is rounded up to a power of two.
    */
-  @SuppressWarnings( "unchecked" )
   CircularBuffer( final int initialCapacity )
+  {
+    this( initialCapacity, 0 );
+  }
+
+  /**
+   * Create a buffer with specified initial capacity and shrink policy.
+   *
+   * @param initialCapacity   the initial capacity of the buffer. This is rounded up to a power of two.
+   * @param shrinkAfterDrains the number of consecutive drains under the low-water mark after which capacity
+   *                          is released. A value of 0 disables shrinking.
+   */
+  @SuppressWarnings( "unchecked" )
+  CircularBuffer( final int initialCapacity, final int shrinkAfterDrains )
   {
     assert initialCapacity > 0;
-    _elements = (T[]) new Object[ initialCapacity ];
+    assert shrinkAfterDrains >= 0;
+    _initialCapacity = toPowerOfTwo( initialCapacity );
+    _shrinkAfterDrains = shrinkAfterDrains;
+    _elements = (T[]) new Object[ _initialCapacity ];
+    _mask = _initialCapacity - 1;
+  }
+
+  /**
+   * Return the smallest power of two that is greater than or equal to the specified value.
+   */
+  static int toPowerOfTwo( final int value )
+  {
+    assert value > 0 && value <= 1 << 30;
+    return 1 == value ? 1 : Integer.highestOneBit( value - 1 ) << 1;
   }
 
   void clear()
   {
+    for ( int i = 0; i < _size; i++ )
+    {
+      // Release the reference so that the element can be garbage collected
+      _elements[ ( _head + i ) & _mask ] = null;
+    }
     _head = 0;
-    _tail = 0;
-    _isWrappedBuffer = false;
+    _size = 0;
   }
 
   /**
@@ -59,62 +118,74 @@ final class CircularBuffer<T>
 
   int size()
   {
-    if ( _isWrappedBuffer )
-    {
-      return _elements.length - _head + _tail;
-    }
-    else
-    {
-      return _tail - _head;
-    }
+    return _size;
   }
 
   void add( @Nonnull final T object )
   {
+    Objects.requireNonNull( object );
     tryGrowBeforeAdd();
-    insertLast( Objects.requireNonNull( object ) );
+    _elements[ ( _head + _size ) & _mask ] = object;
+    _size++;
   }
 
   void addFirst( @Nonnull final T object )
   {
+    Objects.requireNonNull( object );
     tryGrowBeforeAdd();
-    insertFirst( Objects.requireNonNull( object ) );
+    _head = ( _head - 1 ) & _mask;
+    _elements[ _head ] = object;
+    _size++;
   }
 
   private void tryGrowBeforeAdd()
   {
-    final int currentSize = size();
-    if ( currentSize + 1 > _elements.length )
+    if ( _size == _elements.length )
+    {
+      resizeElements( _elements.length * 2, _size );
+    }
+    if ( _size + 1 > _peakSize )
     {
-      final int newSize = ( ( Math.max( _elements.length - 1, 1 ) ) * 2 ) + 1;
-      resizeElements( newSize, currentSize );
+      _peakSize = _size + 1;
     }
   }
 
-  @Nullable
-  T get( final int index )
+  /**
+   * Add the element to the tail of the buffer unless the buffer already contains the specified number of elements.
+   *
+   * @param object   the element.
+   * @param capacity the maximum number of elements in the buffer. A value of 0 indicates that the buffer is unbounded.
+   * @return true if the element was added, false if the buffer is full.
+   */
+  boolean offer( @Nonnull final T object, final int capacity )
   {
-    if ( index >= size() )
+    if ( 0 == capacity || _size < capacity )
     {
-      return null;
+      add( object );
+      return true;
     }
     else
     {
-      final int offset = ( _head + index ) % _elements.length;
-      return _elements[ offset ];
+      return false;
     }
   }
 
+  @Nullable
+  T get( final int index )
+  {
+    return index >= _size ? null : _elements[ ( _head + index ) & _mask ];
+  }
+
   @Nullable
   T peek()
   {
-    return isEmpty() ? null : _elements[ _head ];
+    return 0 == _size ? null : _elements[ _head ];
   }
 
   @Nullable
   T pop()
   {
-    if ( isEmpty() )
+    if ( 0 == _size )
     {
       return null;
     }
@@ -122,84 +193,100 @@ final class CircularBuffer<T>
     {
       final T result = _elements[ _head ];
       _elements[ _head ] = null;
-
-      _head++;
-      if ( _head >= _elements.length )
+      _head = ( _head + 1 ) & _mask;
+      _size--;
+      if ( 0 == _size )
       {
-        _head = 0;
-        _isWrappedBuffer = false;
+        onDrain();
       }
-
       return result;
     }
   }
 
-  boolean isEmpty()
+  /**
+   * Remove up to the specified number of elements from the head of the buffer and copy them into the target array.
+   *
+   * @param target   the array into which the elements are copied starting at index 0.
+   * @param maxCount the maximum number of elements to remove.
+   * @return the number of elements removed.
+   */
+  int pop( @Nonnull final T[] target, final int maxCount )
   {
-    return 0 == size();
+    final int count = Math.min( Math.min( maxCount, target.length ), _size );
+    if ( 0 != count )
+    {
+      final int firstPart = Math.min( count, _elements.length - _head );
+      System.arraycopy( _elements, _head, target, 0, firstPart );
+      System.arraycopy( _elements, 0, target, firstPart, count - firstPart );
+      // Release the references so that the elements can be garbage collected
+      Arrays.fill( _elements, _head, _head + firstPart, null );
+      Arrays.fill( _elements, 0, count - firstPart, null );
+      _head = ( _head + count ) & _mask;
+      _size -= count;
+      if ( 0 == _size )
+      {
+        onDrain();
+      }
+    }
+    return count;
   }
 
-  @SuppressWarnings( "SameParameterValue" )
-  void truncate( final int size )
+  boolean isEmpty()
   {
-    if ( _elements.length > size )
-    {
-      resizeElements( size, Math.min( size(), size ) );
-    }
+    return 0 == _size;
   }
 
-  /**
-   * Insert specified object at head of the buffer.
-   *
-   * @param object the object.
-   */
-  private void insertFirst( @Nonnull final T object )
+  @SuppressWarnings( "SameParameterValue" )
+  void truncate( final int size )
   {
-    if ( 0 == _head )
-    {
-      _head = _elements.length - 1;
-      _isWrappedBuffer = true;
-    }
-    else
+    final int capacity = toPowerOfTwo( size );
+    if ( _elements.length > capacity )
     {
-      _head--;
+      resizeElements( capacity, Math.min( _size, size ) );
     }
-    _elements[ _head ] = object;
   }
 
   /**
-   * Insert specified object at tail of the buffer.
-   *
-   * @param object the object.
+   * Invoked when the buffer becomes empty. This is when capacity can be released without copying elements.
    */
-  private void insertLast( @Nonnull final T object )
+  private void onDrain()
   {
-    _elements[ _tail ] = object;
-    _tail++;
-    if ( _tail >= _elements.length )
+    // Reset the head so that a subsequent burst does not wrap around the end of the array
+    _head = 0;
+    if ( 0 != _shrinkAfterDrains && _elements.length > _initialCapacity )
     {
-      _tail = 0;
-      _isWrappedBuffer = true;
+      final int lowWaterMark = _elements.length >> 2;
+      if ( _peakSize < lowWaterMark )
+      {
+        _idleDrains++;
+        if ( _idleDrains >= _shrinkAfterDrains )
+        {
+          // Retain twice the recent peak so that the next burst of similar size does not need to grow
+          resizeElements( Math.max( _initialCapacity, toPowerOfTwo( Math.max( _peakSize, 1 ) * 2 ) ), 0 );
+          _idleDrains = 0;
+        }
+      }
+      else
+      {
+        _idleDrains = 0;
+      }
     }
+    _peakSize = 0;
   }
 
+  @SuppressWarnings( "unchecked" )
   private void resizeElements( final int newSize, final int size )
   {
-    @SuppressWarnings( "unchecked" )
+    assert Integer.bitCount( newSize ) == 1;
+    assert size <= newSize;
     final T[] elements = (T[]) new Object[ newSize ];
-    int j = 0;
-    for ( int i = 0; i < size; i++ )
-    {
-      final int index = ( _head + i ) % _elements.length;
-      elements[ j ] = _elements[ index ];
-      _elements[ index ] = null;
-      j++;
-    }
-
+    final int firstPart = Math.min( size, _elements.length - _head );
+    System.arraycopy( _elements, _head, elements, 0, firstPart );
+    System.arraycopy( _elements, 0, elements, firstPart, size - firstPart );
     _elements = elements;
+    _mask = newSize - 1;
     _head = 0;
-    _tail = j;
-    _isWrappedBuffer = false;
+    _size = size;
   }
 
   /*
@@ -207,8 +294,7 @@ final class CircularBuffer<T>
    */
   boolean contains( final T value )
   {
-    final int size = size();
-    for ( int i = 0; i < size; i++ )
+    for ( int i = 0; i < _size; i++ )
     {
       if ( value == get( i ) )
       {
@@ -223,10 +309,9 @@ final class CircularBuffer<T>
    */
   Stream<T> stream()
   {
-    final int size = size();
     @SuppressWarnings( "unchecked" )
-    final T[] elements = (T[]) new Object[ size ];
-    for ( int i = 0; i < size; i++ )
+    final T[] elements = (T[]) new Object[ _size ];
+    for ( int i = 0; i < _size; i++ )
     {
       elements[ i ] = get( i );
     }
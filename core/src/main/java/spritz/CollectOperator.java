@@ -0,0 +1,122 @@
+package spritz;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * An operator that accumulates all of the upstream items into a single mutable container using a
+ * {@link Collector} and emits the result when the upstream completes. Items are accumulated in place
+ * so no intermediate values are emitted or retained. If the collector produces a null result then
+ * no item is emitted.
+ */
+final class CollectOperator<T, A, R>
+  extends AbstractStream<T, R>
+{
+  @Nonnull
+  private final Collector<? super T, A, R> _collector;
+
+  CollectOperator( @Nullable final String name,
+                   @Nonnull final Stream<T> upstream,
+                   @Nonnull final String prefix,
+                   @Nonnull final Collector<? super T, A, R> collector )
+  {
+    super( Spritz.areNamesEnabled() ? generateName( name, prefix ) : null, upstream );
+    _collector = Objects.requireNonNull( collector );
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super R> subscriber )
+  {
+    final WorkerSubscription<T, A, R> subscription = new WorkerSubscription<>( this, subscriber );
+    getUpstream().subscribe( subscription );
+    return subscription;
+  }
+
+  private static final class WorkerSubscription<T, A, R>
+    extends AbstractOperatorSubscription<T, R, CollectOperator<T, A, R>>
+  {
+    @Nonnull
+    private final BiConsumer<A, ? super T> _accumulator;
+    /**
+     * The mutable container that items are accumulated into.
+     */
+    @Nullable
+    private A _container;
+
+    WorkerSubscription( @Nonnull final CollectOperator<T, A, R> stream,
+                        @Nonnull final Subscriber<? super R> subscriber )
+    {
+      super( stream, subscriber );
+      final Collector<? super T, A, R> collector = stream._collector;
+      _accumulator = collector.accumulator();
+      _container = collector.supplier().get();
+    }
+
+    @Override
+    public void onItem( @Nonnull final T item )
+    {
+      try
+      {
+        _accumulator.accept( _container, item );
+      }
+      catch ( final Throwable throwable )
+      {
+        onError( throwable );
+        getUpstream().cancel();
+      }
+    }
+
+    @Override
+    public void onComplete()
+    {
+      final A container = _container;
+      _container = null;
+      final R result;
+      try
+      {
+        result = getStream()._collector.finisher().apply( container );
+      }
+      catch ( final Throwable throwable )
+      {
+        super.onError( throwable );
+        return;
+      }
+      if ( null != result )
+      {
+        getSubscriber().onItem( result );
+      }
+      if ( isNotDone() )
+      {
+        super.onComplete();
+      }
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      _container = null;
+      super.onError( error );
+    }
+
+    @Override
+    void doCancel()
+    {
+      _container = null;
+      super.doCancel();
+    }
+
+    /**
+     * A single result is emitted and the container must accumulate every upstream item before the
+     * result is available, so the request for the result is satisfied by consuming the upstream in full.
+     * The demand is therefore ignored.
+     */
+    @Override
+    void doRequest( final long count )
+    {
+    }
+  }
+}
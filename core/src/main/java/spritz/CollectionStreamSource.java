@@ -1,6 +1,8 @@
 package spritz;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Objects;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -27,28 +29,61 @@ final class CollectionStreamSource<T>
   }
 
   private static final class WorkerSubscription<T>
-    extends AbstractStreamSubscription<T, CollectionStreamSource<T>>
+    extends AbstractSourceSubscription<T, CollectionStreamSource<T>>
   {
+    @Nonnull
+    private final Iterator<T> _iterator;
+    /**
+     * The array into which items are copied before they are emitted as a batch.
+     */
+    @Nullable
+    private T[] _batch;
+
     WorkerSubscription( @Nonnull final CollectionStreamSource<T> stream,
                         @Nonnull final Subscriber<? super T> subscriber )
     {
       super( stream, subscriber );
+      _iterator = stream._data.iterator();
+    }
+
+    @Override
+    boolean hasNextItem()
+    {
+      return _iterator.hasNext();
+    }
+
+    @Override
+    void pushNextItem( @Nonnull final Subscriber<? super T> subscriber )
+    {
+      subscriber.onItem( _iterator.next() );
     }
 
-    void pushData()
+    @SuppressWarnings( "unchecked" )
+    @Override
+    int pushItems( @Nonnull final Subscriber<? super T> subscriber, final int maxCount )
     {
-      final Subscriber<? super T> subscriber = getSubscriber();
-      for ( final T item : getStream()._data )
+      if ( 1 == maxCount )
       {
-        if ( isDone() )
-        {
-          return;
-        }
-        subscriber.onItem( item );
+        pushNextItem( subscriber );
+        return 1;
       }
-      if ( isNotDone() )
+      else
       {
-        subscriber.onComplete();
+        if ( null == _batch )
+        {
+          _batch = (T[]) new Object[ Math.max( 1, Math.min( MAX_BATCH_SIZE, getStream()._data.size() ) ) ];
+        }
+        final T[] batch = _batch;
+        final int limit = Math.min( maxCount, batch.length );
+        int count = 0;
+        while ( count < limit && _iterator.hasNext() )
+        {
+          batch[ count++ ] = _iterator.next();
+        }
+        emitItems( batch, 0, count );
+        // Release the references so that the items can be garbage collected
+        Arrays.fill( batch, 0, count, null );
+        return count;
       }
     }
   }
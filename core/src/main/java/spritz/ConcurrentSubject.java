@@ -0,0 +1,172 @@
+package spritz;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import static org.realityforge.braincheck.Guards.*;
+
+/**
+ * A Subject that accepts items and signals from multiple threads.
+ * Items and signals are added to a lock-free queue and a single drain task delivers them to the downstream
+ * subscribers using the supplied {@link Executor}. The drain task is the only task that interacts with the
+ * subscribers and thus the subscribers observe the items and signals sequentially. Producers never wait
+ * for the subscribers to process an item.
+ *
+ * <p>Subscribers are expected to subscribe before the producers start or from within the drain task.
+ * The subject is only marked as terminated when the drain task delivers the terminal signal so a
+ * subscriber that subscribes from within the drain task receives every item queued before the signal.</p>
+ */
+@GwtIncompatible
+final class ConcurrentSubject<T>
+  extends Subject<T>
+{
+  /**
+   * The value queued to represent the complete signal.
+   */
+  private static final Object COMPLETE = new Object();
+  @Nonnull
+  private final Executor _executor;
+  @Nonnull
+  private final MpscQueue<Object> _queue = new MpscQueue<>();
+  /**
+   * The number of values queued since the drain task last checked the queue.
+   * The thread that increments the count from zero schedules the drain task.
+   */
+  @Nonnull
+  private final AtomicInteger _pending = new AtomicInteger();
+  /**
+   * The terminal signal queued by a producer, if any.
+   * The signal is set atomically so that only one terminal signal is ever queued.
+   */
+  @Nonnull
+  private final AtomicReference<Object> _terminal = new AtomicReference<>();
+
+  ConcurrentSubject( @Nullable final String name, @Nonnull final Executor executor )
+  {
+    super( Spritz.areNamesEnabled() ? Stream.generateName( name, "concurrentSubject" ) : null );
+    _executor = Objects.requireNonNull( executor );
+  }
+
+  @Override
+  void performNext( @Nonnull final T item )
+  {
+    enqueue( item );
+  }
+
+  @Override
+  void performError( @Nonnull final Throwable error )
+  {
+    enqueueTerminal( new ErrorSignal( error ) );
+  }
+
+  @Override
+  void performComplete()
+  {
+    enqueueTerminal( COMPLETE );
+  }
+
+  @Override
+  boolean hasErrorSignal()
+  {
+    return _terminal.get() instanceof ErrorSignal;
+  }
+
+  @Override
+  boolean hasCompleteSignal()
+  {
+    return COMPLETE == _terminal.get();
+  }
+
+  @Override
+  void recordError( @Nonnull final Throwable error )
+  {
+    // The error is recorded by the drain task when it is delivered
+  }
+
+  @Override
+  void recordComplete()
+  {
+    // Completion is recorded by the drain task when it is delivered
+  }
+
+  private void enqueueTerminal( @Nonnull final Object signal )
+  {
+    final boolean accepted = _terminal.compareAndSet( null, signal );
+    if ( Spritz.shouldCheckApiInvariants() )
+    {
+      // Another producer may have terminated the subject after the invariants were checked by this producer
+      apiInvariant( () -> accepted,
+                    () -> "Spritz-0013: ConcurrentSubject received a terminal signal after another producer " +
+                          "terminated the subject." );
+    }
+    if ( accepted )
+    {
+      enqueue( signal );
+    }
+  }
+
+  private void enqueue( @Nonnull final Object value )
+  {
+    _queue.offer( value );
+    if ( 0 == _pending.getAndIncrement() )
+    {
+      _executor.execute( this::drain );
+    }
+  }
+
+  /**
+   * Deliver the queued items and signals to the downstream subscribers.
+   * At most one drain task is active at any one time.
+   */
+  private void drain()
+  {
+    int pending = _pending.get();
+    while ( true )
+    {
+      for ( int i = 0; i < pending; i++ )
+      {
+        Object value = _queue.poll();
+        while ( null == value )
+        {
+          // Producers increment the count after offering so the counted node is in the queue but
+          // another producer has claimed a position ahead of it and is yet to link its node
+          Thread.yield();
+          value = _queue.poll();
+        }
+        // Items queued by producers that raced the terminal signal are dropped
+        if ( !isDone() )
+        {
+          deliver( value );
+        }
+      }
+      pending = _pending.addAndGet( -pending );
+      if ( 0 == pending )
+      {
+        return;
+      }
+    }
+  }
+
+  @SuppressWarnings( "unchecked" )
+  private void deliver( @Nonnull final Object value )
+  {
+    if ( COMPLETE == value )
+    {
+      super.recordComplete();
+      super.performComplete();
+    }
+    else if ( value instanceof ErrorSignal )
+    {
+      final Throwable error = ( (ErrorSignal) value ).getError();
+      super.recordError( error );
+      super.performError( error );
+    }
+    else
+    {
+      super.performNext( (T) value );
+    }
+  }
+}
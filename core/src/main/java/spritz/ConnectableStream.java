@@ -54,6 +54,47 @@ public final class ConnectableStream<T>
     return compose( s -> new RefCountOperator<>( name, (ConnectableStream<T>) s ) );
   }
 
+  /**
+   * Return a stream that connects this stream when there are at least {@code minSubscribers} subscribers.
+   * When the number of subscribers drops below {@code minSubscribers} this stream is disconnected once
+   * the number of subscribers has remained below {@code minSubscribers} for {@code lingerMillis}
+   * milliseconds. If enough subscribers subscribe within that period then the stream remains connected.
+   * This avoids tearing down and re-establishing the upstream when subscribers briefly unsubscribe and
+   * resubscribe.
+   *
+   * @param minSubscribers the number of subscribers required to connect this stream. Must be greater than 0.
+   * @param lingerMillis   the duration in milliseconds to wait before disconnecting this stream.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.UNKNOWN )
+  public final Stream<T> refCount( final int minSubscribers, final int lingerMillis )
+  {
+    return refCount( null, minSubscribers, lingerMillis );
+  }
+
+  /**
+   * Return a stream that connects this stream when there are at least {@code minSubscribers} subscribers.
+   * When the number of subscribers drops below {@code minSubscribers} this stream is disconnected once
+   * the number of subscribers has remained below {@code minSubscribers} for {@code lingerMillis}
+   * milliseconds. If enough subscribers subscribe within that period then the stream remains connected.
+   * This avoids tearing down and re-establishing the upstream when subscribers briefly unsubscribe and
+   * resubscribe.
+   *
+   * @param name           the name specified by the user.
+   * @param minSubscribers the number of subscribers required to connect this stream. Must be greater than 0.
+   * @param lingerMillis   the duration in milliseconds to wait before disconnecting this stream.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.UNKNOWN )
+  public final Stream<T> refCount( @Nullable final String name, final int minSubscribers, final int lingerMillis )
+  {
+    assert minSubscribers > 0;
+    assert lingerMillis >= 0;
+    return compose( s -> new RefCountOperator<>( name, (ConnectableStream<T>) s, minSubscribers, lingerMillis ) );
+  }
+
   public void connect()
   {
     if ( Spritz.shouldCheckInvariants() )
@@ -37,7 +37,6 @@ final class DebounceOperator<T>
     @Override
     void doOnNext( final int now, @Nonnull final T item )
     {
-      cancelPendingTask();
       scheduleTaskForItem( item, getStream()._timeoutForItemFn.getTimeout( item ) );
     }
   }
@@ -1,49 +1,119 @@
 package spritz;
 
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import zemeckis.Zemeckis;
 
-final class DistinctOperator<T>
+final class DistinctOperator<T, K>
   extends AbstractStream<T, T>
 {
-  DistinctOperator( @Nullable final String name, @Nonnull final Stream<T> upstream )
+  /**
+   * The function used to derive the key that identifies an item.
+   */
+  @Nonnull
+  private final Function<T, K> _keyFn;
+  /**
+   * The maximum number of keys retained. If more keys are retained then the least recently used key is discarded.
+   * A value of 0 indicates that the number of keys is unbounded.
+   */
+  private final int _maxSize;
+  /**
+   * The duration in milliseconds for which a key is retained after the item is emitted.
+   * A value of 0 indicates that keys do not expire.
+   */
+  private final int _maxAge;
+
+  DistinctOperator( @Nullable final String name,
+                    @Nonnull final Stream<T> upstream,
+                    @Nonnull final String prefix,
+                    @Nullable final String params,
+                    @Nonnull final Function<T, K> keyFn,
+                    final int maxSize,
+                    final int maxAge )
   {
-    super( Spritz.areNamesEnabled() ? generateName( name, "distinct" ) : null, upstream );
+    super( Spritz.areNamesEnabled() ? generateName( name, prefix, params ) : null, upstream );
+    assert maxSize >= 0;
+    assert maxAge >= 0;
+    // Keys are expired in emission order which is not retained when the number of keys is bounded
+    assert 0 == maxSize || 0 == maxAge;
+    _keyFn = Objects.requireNonNull( keyFn );
+    _maxSize = maxSize;
+    _maxAge = maxAge;
   }
 
   @Nonnull
   @Override
   Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
   {
-    final WorkerSubscription<T> subscription = new WorkerSubscription<>( this, subscriber );
+    final WorkerSubscription<T, K> subscription = new WorkerSubscription<>( this, subscriber );
     getUpstream().subscribe( subscription );
     return subscription;
   }
 
-  private static final class WorkerSubscription<T>
-    extends AbstractFilterSubscription<T, DistinctOperator<T>>
+  private static final class WorkerSubscription<T, K>
+    extends AbstractFilterSubscription<T, DistinctOperator<T, K>>
   {
+    /**
+     * The keys of the emitted items mapped to the time at which the item was emitted.
+     * The time is only recorded if keys expire. If the number of keys is bounded then the map is
+     * ordered from least recently used to most recently used, otherwise the map is in emission order.
+     */
     @Nonnull
-    private final HashSet<T> _emitted = new HashSet<>();
+    private final LinkedHashMap<K, Integer> _emitted;
 
-    WorkerSubscription( @Nonnull final DistinctOperator<T> stream, @Nonnull final Subscriber<? super T> subscriber )
+    WorkerSubscription( @Nonnull final DistinctOperator<T, K> stream,
+                        @Nonnull final Subscriber<? super T> subscriber )
     {
       super( stream, subscriber );
+      _emitted = new LinkedHashMap<>( 16, 0.75F, stream._maxSize > 0 );
     }
 
     @Override
     boolean shouldIncludeItem( @Nonnull final T item )
     {
-      if ( _emitted.contains( item ) )
+      final DistinctOperator<T, K> stream = getStream();
+      final int maxAge = stream._maxAge;
+      final int now = 0 != maxAge ? Zemeckis.now() : 0;
+      if ( 0 != maxAge )
+      {
+        expireKeys( now - maxAge );
+      }
+      final K key = stream._keyFn.apply( item );
+      // Use get() rather than containsKey() so that the key is marked as recently used
+      if ( null != _emitted.get( key ) )
       {
         return false;
       }
       else
       {
-        _emitted.add( item );
+        _emitted.put( key, now );
+        final int maxSize = stream._maxSize;
+        if ( 0 != maxSize && _emitted.size() > maxSize )
+        {
+          final Iterator<K> iterator = _emitted.keySet().iterator();
+          iterator.next();
+          iterator.remove();
+        }
         return true;
       }
     }
+
+    /**
+     * Remove the keys for items emitted at or before the specified time.
+     * The keys are in emission order so this stops at the first key that has not expired.
+     */
+    private void expireKeys( final int time )
+    {
+      final Iterator<Map.Entry<K, Integer>> iterator = _emitted.entrySet().iterator();
+      while ( iterator.hasNext() && iterator.next().getValue() <= time )
+      {
+        iterator.remove();
+      }
+    }
   }
 }
@@ -0,0 +1,18 @@
+package spritz;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Interface defining handler invoked when a stage discards an item due to an {@link OverflowStrategy}.
+ */
+@FunctionalInterface
+public interface DroppedItemHandler
+{
+  /**
+   * Callback invoked when an item is discarded.
+   *
+   * @param stream the stream stage that discarded the item.
+   * @param item   the item.
+   */
+  void onDroppedItem( @Nonnull Stream<?> stream, @Nonnull Object item );
+}
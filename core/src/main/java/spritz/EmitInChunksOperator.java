@@ -0,0 +1,191 @@
+package spritz;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import zemeckis.Cancelable;
+import zemeckis.VirtualProcessorUnit;
+import zemeckis.Zemeckis;
+
+/**
+ * Time-slice the emission of a synchronous upstream using the demand protocol.
+ * The operator requests a chunk of items from upstream and once the chunk has been emitted the
+ * request for the next chunk is queued on the VPU in a later activation. An upstream that honors
+ * demand will then emit at most one chunk per task so that other tasks get a chance to run between
+ * chunks. An upstream that does not support the demand protocol emits items as they become available.
+ */
+final class EmitInChunksOperator<T>
+  extends AbstractStream<T, T>
+{
+  /**
+   * The maximum number of items requested from upstream in a single task.
+   */
+  private final int _chunkSize;
+  /**
+   * The VPU on which the request for each subsequent chunk is queued.
+   */
+  @Nonnull
+  private final VirtualProcessorUnit _virtualProcessorUnit;
+
+  EmitInChunksOperator( @Nullable final String name,
+                        @Nonnull final Stream<T> upstream,
+                        final int chunkSize,
+                        @Nonnull final VirtualProcessorUnit virtualProcessorUnit )
+  {
+    super( Spritz.areNamesEnabled() ?
+           generateName( name, "emitInChunks", chunkSize + "," + virtualProcessorUnit.getName() ) :
+           null,
+           upstream );
+    assert chunkSize > 0;
+    _chunkSize = chunkSize;
+    _virtualProcessorUnit = Objects.requireNonNull( virtualProcessorUnit );
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
+  {
+    final WorkerSubscription<T> subscription = new WorkerSubscription<>( this, subscriber );
+    getUpstream().subscribe( subscription );
+    return subscription;
+  }
+
+  private static final class WorkerSubscription<T>
+    extends PassThroughSubscription<T, EmitInChunksOperator<T>>
+  {
+    /**
+     * The number of items in the current chunk that have been requested from upstream but not yet received.
+     */
+    private long _remaining;
+    /**
+     * The number of items requested by downstream that have yet to be emitted.
+     */
+    private long _requested;
+    /**
+     * Flag set when the downstream subscriber has requested items using the demand protocol.
+     */
+    private boolean _demandRequested;
+    /**
+     * Flag set once the downstream subscriber has been subscribed and the first chunk can be requested.
+     */
+    private boolean _started;
+    /**
+     * The task that will request the next chunk, if any.
+     */
+    @Nullable
+    private Cancelable _pendingChunk;
+
+    WorkerSubscription( @Nonnull final EmitInChunksOperator<T> stream,
+                        @Nonnull final Subscriber<? super T> subscriber )
+    {
+      super( stream, subscriber );
+    }
+
+    @Override
+    public void onSubscribe( @Nonnull final Subscription subscription )
+    {
+      super.onSubscribe( subscription );
+      if ( !_demandRequested )
+      {
+        _requested = UNBOUNDED;
+      }
+      _started = true;
+      if ( isNotDone() )
+      {
+        requestChunk();
+      }
+    }
+
+    @Override
+    public void onItem( @Nonnull final T item )
+    {
+      if ( UNBOUNDED != _requested && 0 != _requested )
+      {
+        _requested--;
+      }
+      getSubscriber().onItem( item );
+      if ( 0 != _remaining && 0 == --_remaining && isNotDone() )
+      {
+        scheduleChunk();
+      }
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      cancelPendingChunk();
+      super.onError( error );
+    }
+
+    @Override
+    public void onComplete()
+    {
+      cancelPendingChunk();
+      super.onComplete();
+    }
+
+    @Override
+    void doCancel()
+    {
+      cancelPendingChunk();
+      super.doCancel();
+    }
+
+    /**
+     * Record the downstream demand. The demand is passed upstream a chunk at a time.
+     */
+    @Override
+    void doRequest( final long count )
+    {
+      _demandRequested = true;
+      _requested = addDemand( _requested, count );
+      if ( _started && 0 == _remaining && null == _pendingChunk )
+      {
+        requestChunk();
+      }
+    }
+
+    private void requestChunk()
+    {
+      final long count = Math.min( getStream()._chunkSize, _requested );
+      if ( 0 != count )
+      {
+        _remaining = count;
+        getUpstream().request( count );
+      }
+    }
+
+    /**
+     * Request the next chunk in a later activation of the VPU so that other tasks get a chance to run.
+     * Queueing directly on the VPU would run the task in the current activation.
+     */
+    private void scheduleChunk()
+    {
+      final String name = Spritz.areNamesEnabled() ? getStream().getName() : null;
+      _pendingChunk = Zemeckis.delayedTask( name, () -> {
+        if ( isNotDone() )
+        {
+          _pendingChunk = getStream()._virtualProcessorUnit.queue( name, this::onChunkDue );
+        }
+      }, 0 );
+    }
+
+    private void onChunkDue()
+    {
+      _pendingChunk = null;
+      if ( isNotDone() )
+      {
+        requestChunk();
+      }
+    }
+
+    private void cancelPendingChunk()
+    {
+      if ( null != _pendingChunk )
+      {
+        _pendingChunk.cancel();
+        _pendingChunk = null;
+      }
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package spritz;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+
+/**
+ * The value queued to represent an error signal in queues that also contain items.
+ * The error is wrapped so that it is not confused with an item that is a Throwable.
+ */
+final class ErrorSignal
+{
+  @Nonnull
+  private final Throwable _error;
+
+  ErrorSignal( @Nonnull final Throwable error )
+  {
+    _error = Objects.requireNonNull( error );
+  }
+
+  @Nonnull
+  Throwable getError()
+  {
+    return _error;
+  }
+}
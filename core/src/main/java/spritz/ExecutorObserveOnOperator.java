@@ -0,0 +1,384 @@
+package spritz;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Emit signals and items using an {@link Executor}.
+ * Unlike {@link ObserveOnOperator}, the upstream may emit items and signals on a different thread to
+ * the thread on which they are observed. The items and signals are handed over using a lock-free
+ * queue and at most one task is observing them at any one time. If a capacity is specified then the
+ * items are instead handed over using a bounded buffer guarded by a lock and the overflow strategy
+ * is applied when the buffer is full.
+ */
+@GwtIncompatible
+final class ExecutorObserveOnOperator<T>
+  extends AbstractStream<T, T>
+{
+  @Nonnull
+  private final Executor _executor;
+  private final int _maxBatchSize;
+  /**
+   * The maximum number of items buffered. A value of 0 indicates that the buffer is unbounded.
+   */
+  private final int _capacity;
+  /**
+   * The strategy applied when an item is received and the buffer is full.
+   */
+  @Nonnull
+  private final OverflowStrategy _overflowStrategy;
+
+  ExecutorObserveOnOperator( @Nullable final String name,
+                             @Nonnull final Stream<T> upstream,
+                             @Nonnull final Executor executor,
+                             final int maxBatchSize )
+  {
+    this( name, upstream, executor, maxBatchSize, 0, OverflowStrategy.ERROR );
+  }
+
+  ExecutorObserveOnOperator( @Nullable final String name,
+                             @Nonnull final Stream<T> upstream,
+                             @Nonnull final Executor executor,
+                             final int maxBatchSize,
+                             final int capacity,
+                             @Nonnull final OverflowStrategy overflowStrategy )
+  {
+    super( Spritz.areNamesEnabled() ?
+           generateName( name,
+                         "observeOn",
+                         executor.getClass().getSimpleName() +
+                         ( ObserveOnOperator.DEFAULT_MAX_BATCH_SIZE == maxBatchSize ? "" : "," + maxBatchSize ) +
+                         ( 0 == capacity ? "" : "," + capacity + "," + overflowStrategy ) ) :
+           null,
+           upstream );
+    assert maxBatchSize > 0;
+    assert capacity >= 0;
+    _executor = Objects.requireNonNull( executor );
+    _maxBatchSize = maxBatchSize;
+    _capacity = capacity;
+    _overflowStrategy = Objects.requireNonNull( overflowStrategy );
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
+  {
+    final WorkerSubscription<T> subscription = new WorkerSubscription<>( this, subscriber );
+    getUpstream().subscribe( subscription );
+    return subscription;
+  }
+
+  private static final class WorkerSubscription<T>
+    extends PassThroughSubscription<T, ExecutorObserveOnOperator<T>>
+  {
+    /**
+     * The value queued to represent the complete signal.
+     */
+    private static final Object COMPLETE = new Object();
+    /**
+     * The items and signals received from upstream that have yet to be observed.
+     */
+    @Nonnull
+    private final MpscQueue<Object> _queue = new MpscQueue<>();
+    /**
+     * The items received from upstream that have yet to be observed if the capacity is bounded.
+     * The buffer is also the lock that guards access to the buffer. If null then items are added to the queue.
+     */
+    @Nullable
+    private final CircularBuffer<T> _buffer;
+    /**
+     * Flag set when the buffer overflowed using the ERROR strategy. Only accessed by the upstream.
+     */
+    private boolean _overflowed;
+    /**
+     * The number of times an observe task was requested since the active task last checked.
+     * The thread that increments the count from zero schedules the observe task.
+     */
+    @Nonnull
+    private final AtomicInteger _pending = new AtomicInteger();
+    /**
+     * The number of items requested by downstream that have yet to be emitted.
+     */
+    @Nonnull
+    private final AtomicLong _requested = new AtomicLong();
+    /**
+     * Flag set when the downstream subscriber has requested items using the demand protocol.
+     */
+    private volatile boolean _demandRequested;
+    /**
+     * Flag set once onSubscribe has been delivered to downstream. Only accessed by the observe task.
+     */
+    private boolean _subscribed;
+    /**
+     * The downstream cancels on the observing thread while the upstream may only be accessed on the
+     * thread that emits items unless the upstream subscription may be cancelled on any thread.
+     */
+    @Nonnull
+    private final UpstreamCanceller _canceller = new UpstreamCanceller();
+
+    WorkerSubscription( @Nonnull final ExecutorObserveOnOperator<T> stream,
+                        @Nonnull final Subscriber<? super T> subscriber )
+    {
+      super( stream, subscriber );
+      _buffer = 0 == stream._capacity ? null : new CircularBuffer<>( Math.min( stream._capacity, 16 ) );
+    }
+
+    @Override
+    public void onSubscribe( @Nonnull final Subscription subscription )
+    {
+      setUpstream( subscription );
+      if ( !_canceller.setUpstream( subscription ) )
+      {
+        // Demand is not propagated upstream as the upstream may not be safe to access from the observing thread
+        scheduleObserve();
+      }
+    }
+
+    @Override
+    public void onItem( @Nonnull final T item )
+    {
+      if ( _canceller.cancelUpstreamIfCancelled() )
+      {
+        return;
+      }
+      else if ( null == _buffer )
+      {
+        _queue.offer( item );
+      }
+      else if ( !_overflowed && !offerToBuffer( _buffer, item ) )
+      {
+        // The buffered items are emitted prior to the error
+        _overflowed = true;
+        _canceller.cancelUpstream();
+        _queue.offer( new ErrorSignal( new BufferOverflowException() ) );
+      }
+      scheduleObserve();
+    }
+
+    /**
+     * Add the item to the bounded buffer applying the overflow strategy if the buffer is full.
+     *
+     * @return false if the strategy is ERROR and the item was not added, true otherwise.
+     */
+    private boolean offerToBuffer( @Nonnull final CircularBuffer<T> buffer, @Nonnull final T item )
+    {
+      final ExecutorObserveOnOperator<T> stream = getStream();
+      final int capacity = stream._capacity;
+      OverflowStrategy strategy = stream._overflowStrategy;
+      synchronized ( buffer )
+      {
+        if ( OverflowStrategy.BLOCK == strategy )
+        {
+          try
+          {
+            while ( buffer.size() >= capacity && !_canceller.isCancelled() )
+            {
+              buffer.wait();
+            }
+          }
+          catch ( final InterruptedException ie )
+          {
+            Thread.currentThread().interrupt();
+          }
+          // The item is dropped if the wait was interrupted or the subscription was cancelled
+          strategy = OverflowStrategy.DROP_NEWEST;
+        }
+        return Spritz.offer( stream, buffer, item, capacity, strategy );
+      }
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      if ( !_canceller.isCancelled() )
+      {
+        _queue.offer( new ErrorSignal( error ) );
+        scheduleObserve();
+      }
+    }
+
+    @Override
+    public void onComplete()
+    {
+      if ( !_canceller.isCancelled() )
+      {
+        _queue.offer( COMPLETE );
+        scheduleObserve();
+      }
+    }
+
+    /**
+     * Cancel the upstream if it may be cancelled on the observing thread and otherwise record the
+     * cancel so that the upstream thread cancels the upstream when it next emits.
+     */
+    @Override
+    void doCancel()
+    {
+      _canceller.cancel();
+      if ( null != _buffer )
+      {
+        // Release any upstream thread blocked waiting for space in the buffer
+        synchronized ( _buffer )
+        {
+          _buffer.notifyAll();
+        }
+      }
+    }
+
+    @Override
+    void doRequest( final long count )
+    {
+      _demandRequested = true;
+      _requested.accumulateAndGet( count, Subscription::addDemand );
+      scheduleObserve();
+    }
+
+    private void scheduleObserve()
+    {
+      if ( 0 == _pending.getAndIncrement() )
+      {
+        getStream()._executor.execute( this::observe );
+      }
+    }
+
+    /**
+     * Return the next item or signal to observe without removing it.
+     * Items in the bounded buffer precede the signals in the queue.
+     */
+    @Nullable
+    private Object peekNext()
+    {
+      if ( null == _buffer )
+      {
+        return _queue.peek();
+      }
+      else
+      {
+        synchronized ( _buffer )
+        {
+          final T item = _buffer.peek();
+          if ( null != item )
+          {
+            return item;
+          }
+        }
+        final Object value = _queue.peek();
+        if ( null != value )
+        {
+          // Items added to the buffer before the signal was queued must be observed before the signal
+          synchronized ( _buffer )
+          {
+            final T item = _buffer.peek();
+            if ( null != item )
+            {
+              return item;
+            }
+          }
+        }
+        return value;
+      }
+    }
+
+    /**
+     * Remove and return the next item. This is only invoked when {@link #peekNext()} returned an item.
+     * If the bounded buffer is in use, the returned item may differ from the peeked item if the
+     * overflow strategy discarded the peeked item in the interim.
+     */
+    @Nonnull
+    private Object pollItem()
+    {
+      if ( null == _buffer )
+      {
+        final Object item = _queue.poll();
+        assert null != item;
+        return item;
+      }
+      else
+      {
+        synchronized ( _buffer )
+        {
+          final T item = _buffer.pop();
+          assert null != item;
+          if ( OverflowStrategy.BLOCK == getStream()._overflowStrategy )
+          {
+            _buffer.notifyAll();
+          }
+          return item;
+        }
+      }
+    }
+
+    /**
+     * The method responsible for emitting items and signals.
+     * At most one thread invokes this method at any one time.
+     */
+    @SuppressWarnings( "unchecked" )
+    private void observe()
+    {
+      if ( !_subscribed )
+      {
+        _subscribed = true;
+        getSubscriber().onSubscribe( this );
+        if ( !_demandRequested )
+        {
+          _requested.set( UNBOUNDED );
+        }
+      }
+      final int maxBatchSize = getStream()._maxBatchSize;
+      int observed = 0;
+      int missed = 1;
+      while ( true )
+      {
+        while ( isNotDone() )
+        {
+          final Object value = peekNext();
+          if ( null == value )
+          {
+            break;
+          }
+          else if ( COMPLETE == value )
+          {
+            _queue.poll();
+            super.onComplete();
+          }
+          else if ( value instanceof ErrorSignal )
+          {
+            _queue.poll();
+            super.onError( ( (ErrorSignal) value ).getError() );
+          }
+          else
+          {
+            final long requested = _requested.get();
+            if ( 0 == requested )
+            {
+              break;
+            }
+            else if ( observed == maxBatchSize )
+            {
+              // Yield to the executor so that other tasks get a chance to run.
+              // The pending count is not decremented so no other observe task can be scheduled.
+              getStream()._executor.execute( this::observe );
+              return;
+            }
+            final Object item = pollItem();
+            if ( UNBOUNDED != requested )
+            {
+              _requested.decrementAndGet();
+            }
+            observed++;
+            super.onItem( (T) item );
+          }
+        }
+        missed = _pending.addAndGet( -missed );
+        if ( 0 == missed )
+        {
+          return;
+        }
+      }
+    }
+  }
+}
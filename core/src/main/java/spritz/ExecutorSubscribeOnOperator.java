@@ -0,0 +1,116 @@
+package spritz;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+@GwtIncompatible
+final class ExecutorSubscribeOnOperator<T>
+  extends AbstractStream<T, T>
+{
+  @Nonnull
+  private final Executor _executor;
+
+  ExecutorSubscribeOnOperator( @Nullable final String name,
+                               @Nonnull final Stream<T> upstream,
+                               @Nonnull final Executor executor )
+  {
+    super( Spritz.areNamesEnabled() ?
+           generateName( name, "subscribeOn", executor.getClass().getSimpleName() ) :
+           null,
+           upstream );
+    _executor = Objects.requireNonNull( executor );
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
+  {
+    final WorkerSubscription<T> subscription = new WorkerSubscription<>( this, subscriber );
+    subscription.subscribeUpstream();
+    return subscription;
+  }
+
+  private static final class WorkerSubscription<T>
+    extends PassThroughSubscription<T, ExecutorSubscribeOnOperator<T>>
+  {
+    /**
+     * The executor on which the upstream is subscribed and cancelled. The tasks of a subscription are
+     * run serially so that a cancel never runs while the subscribe task is still emitting items.
+     */
+    @Nonnull
+    private final SerialExecutor _executor;
+    /**
+     * The subscription may be cancelled on a different thread to the one that subscribes to upstream.
+     */
+    @Nonnull
+    private final UpstreamCanceller _canceller = new UpstreamCanceller();
+
+    WorkerSubscription( @Nonnull final ExecutorSubscribeOnOperator<T> stream,
+                        @Nonnull final Subscriber<? super T> subscriber )
+    {
+      super( stream, subscriber );
+      _executor = new SerialExecutor( stream._executor );
+    }
+
+    private void subscribeUpstream()
+    {
+      _executor.execute( () -> {
+        // The subscribe is skipped if the subscription was cancelled before the task ran
+        if ( !_canceller.isCancelled() )
+        {
+          getStream().getUpstream().subscribe( this );
+        }
+      } );
+    }
+
+    @Override
+    public void onSubscribe( @Nonnull final Subscription subscription )
+    {
+      if ( !_canceller.setUpstream( subscription ) )
+      {
+        super.onSubscribe( subscription );
+      }
+    }
+
+    @Override
+    public void onItem( @Nonnull final T item )
+    {
+      if ( !_canceller.cancelUpstreamIfCancelled() )
+      {
+        super.onItem( item );
+      }
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      if ( !_canceller.isCancelled() )
+      {
+        super.onError( error );
+      }
+    }
+
+    @Override
+    public void onComplete()
+    {
+      if ( !_canceller.isCancelled() )
+      {
+        super.onComplete();
+      }
+    }
+
+    /**
+     * Cancel the upstream immediately if it may be cancelled on any thread and otherwise cancel the
+     * upstream using the executor on which the upstream was subscribed. Signals that the upstream
+     * emits in the interim are dropped and the upstream is cancelled by the thread that emits them.
+     */
+    @Override
+    void doCancel()
+    {
+      _canceller.cancel();
+      _executor.execute( _canceller::cancelUpstream );
+    }
+  }
+}
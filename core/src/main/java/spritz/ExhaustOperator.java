@@ -68,6 +68,15 @@ final class ExhaustOperator<T>
       }
     }
 
+    /**
+     * Downstream demand counts items but the upstream emits streams so the demand is not
+     * propagated upstream.
+     */
+    @Override
+    void doRequest( final long count )
+    {
+    }
+
     @Override
     public void completeInner( @Nonnull final InnerSubscription<T> innerSubscription )
     {
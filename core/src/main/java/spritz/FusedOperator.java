@@ -0,0 +1,232 @@
+package spritz;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * An operator that represents one or more consecutive map, filter and peek stages.
+ * When a map, filter or peek stage is added directly downstream of a fused operator, the stages are
+ * combined at assembly time into a single operator that applies the composed function. This avoids
+ * creating a stream and a subscription per stage and removes a virtual dispatch per stage per item.
+ * The composed function returns null if the item has been filtered out.
+ */
+final class FusedOperator<UpstreamT, DownstreamT>
+  extends AbstractStream<UpstreamT, DownstreamT>
+{
+  @Nonnull
+  private final Function<UpstreamT, DownstreamT> _function;
+
+  private FusedOperator( @Nullable final String name,
+                         @Nonnull final Stream<UpstreamT> upstream,
+                         @Nonnull final Function<UpstreamT, DownstreamT> function )
+  {
+    super( name, upstream );
+    _function = Objects.requireNonNull( function );
+  }
+
+  @Nonnull
+  static <UpstreamT, DownstreamT> Stream<DownstreamT> map( @Nullable final String name,
+                                                           @Nonnull final Stream<UpstreamT> upstream,
+                                                           @Nonnull final Function<UpstreamT, DownstreamT> mapper )
+  {
+    return fuse( Spritz.areNamesEnabled() ? generateName( name, "map" ) : null, upstream, nonNullMapper( mapper ) );
+  }
+
+  /**
+   * Return a function that applies the mapper and fails if the mapper returns null.
+   * Null is the marker for a filtered item so it can not be passed through from the mapper.
+   *
+   * @param mapper the function to use to map the items.
+   * @return the function that applies the mapper.
+   */
+  @Nonnull
+  static <T, R> Function<T, R> nonNullMapper( @Nonnull final Function<T, R> mapper )
+  {
+    Objects.requireNonNull( mapper );
+    return item -> {
+      final R result = mapper.apply( item );
+      if ( null == result )
+      {
+        throw new NullPointerException( "The mapper function returned null" );
+      }
+      return result;
+    };
+  }
+
+  @Nonnull
+  static <T> Stream<T> filter( @Nullable final String name,
+                               @Nonnull final Stream<T> upstream,
+                               @Nonnull final Predicate<? super T> predicate )
+  {
+    Objects.requireNonNull( predicate );
+    return fuse( Spritz.areNamesEnabled() ? generateName( name, "filter" ) : null,
+                 upstream,
+                 item -> predicate.test( item ) ? item : null );
+  }
+
+  @Nonnull
+  static <T> Stream<T> peek( @Nullable final String name,
+                             @Nonnull final Stream<T> upstream,
+                             @Nonnull final Consumer<? super T> action )
+  {
+    Objects.requireNonNull( action );
+    return fuse( Spritz.areNamesEnabled() ? generateName( name, "peek" ) : null,
+                 upstream,
+                 item -> {
+                   action.accept( item );
+                   return item;
+                 } );
+  }
+
+  @Nonnull
+  private static <UpstreamT, DownstreamT> Stream<DownstreamT> fuse( @Nullable final String name,
+                                                                    @Nonnull final Stream<UpstreamT> upstream,
+                                                                    @Nonnull final Function<UpstreamT, DownstreamT> function )
+  {
+    if ( upstream instanceof FusedOperator )
+    {
+      return ( (FusedOperator<?, UpstreamT>) upstream ).andThen( name, function );
+    }
+    else
+    {
+      return new FusedOperator<>( name, upstream, function );
+    }
+  }
+
+  /**
+   * Create a new operator that applies this operators function followed by the specified function.
+   * The name of the new operator is the concatenation of the stage names so that the qualified name
+   * is identical to the qualified name of the equivalent unfused stages.
+   */
+  @Nonnull
+  private <T> FusedOperator<UpstreamT, T> andThen( @Nullable final String name,
+                                                   @Nonnull final Function<DownstreamT, T> function )
+  {
+    final Function<UpstreamT, DownstreamT> first = _function;
+    return new FusedOperator<>( Spritz.areNamesEnabled() ? getName() + "." + name : null,
+                                getUpstream(),
+                                item -> {
+                                  final DownstreamT intermediate = first.apply( item );
+                                  return null == intermediate ? null : function.apply( intermediate );
+                                } );
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super DownstreamT> subscriber )
+  {
+    final WorkerSubscription<UpstreamT, DownstreamT> subscription = new WorkerSubscription<>( this, subscriber );
+    getUpstream().subscribe( subscription );
+    return subscription;
+  }
+
+  private static final class WorkerSubscription<UpstreamT, DownstreamT>
+    extends AbstractOperatorSubscription<UpstreamT, DownstreamT, FusedOperator<UpstreamT, DownstreamT>>
+  {
+    /**
+     * The array into which results are collected before they are emitted as a batch.
+     * This is null while the array is in use so that a re-entrant batch uses a separate array.
+     */
+    @Nullable
+    private DownstreamT[] _results;
+
+    WorkerSubscription( @Nonnull final FusedOperator<UpstreamT, DownstreamT> stream,
+                        @Nonnull final Subscriber<? super DownstreamT> subscriber )
+    {
+      super( stream, subscriber );
+    }
+
+    @Override
+    public void onItem( @Nonnull final UpstreamT item )
+    {
+      final DownstreamT result;
+      try
+      {
+        result = getStream()._function.apply( item );
+      }
+      catch ( final Throwable throwable )
+      {
+        onError( throwable );
+        getUpstream().cancel();
+        return;
+      }
+      if ( null != result )
+      {
+        getSubscriber().onItem( result );
+      }
+      else if ( isDemandRequested() )
+      {
+        getUpstream().request( 1 );
+      }
+    }
+
+    /**
+     * Apply the function to the items in the batch and emit the results in batches.
+     * If the function throws then the results computed prior to the exception are emitted
+     * before the error is signalled.
+     */
+    @SuppressWarnings( "unchecked" )
+    @Override
+    public void onItems( @Nonnull final UpstreamT[] items, final int offset, final int count )
+    {
+      final Function<UpstreamT, DownstreamT> function = getStream()._function;
+      final DownstreamT[] results = null != _results ? _results : (DownstreamT[]) new Object[ MAX_BATCH_SIZE ];
+      _results = null;
+      final int end = offset + count;
+      int filtered = 0;
+      int index = offset;
+      while ( index < end && isNotDone() )
+      {
+        final int chunkEnd = Math.min( end, index + MAX_BATCH_SIZE );
+        int resultCount = 0;
+        Throwable error = null;
+        for ( ; index < chunkEnd; index++ )
+        {
+          final DownstreamT result;
+          try
+          {
+            result = function.apply( items[ index ] );
+          }
+          catch ( final Throwable throwable )
+          {
+            error = throwable;
+            break;
+          }
+          if ( null != result )
+          {
+            results[ resultCount++ ] = result;
+          }
+          else
+          {
+            filtered++;
+          }
+        }
+        if ( 0 != resultCount )
+        {
+          emitItems( results, 0, resultCount );
+          // Release the references so that the items can be garbage collected
+          Arrays.fill( results, 0, resultCount, null );
+        }
+        if ( null != error )
+        {
+          if ( isNotDone() )
+          {
+            onError( error );
+            getUpstream().cancel();
+          }
+          break;
+        }
+      }
+      _results = results;
+      if ( 0 != filtered && isDemandRequested() && isNotDone() )
+      {
+        getUpstream().request( filtered );
+      }
+    }
+  }
+}
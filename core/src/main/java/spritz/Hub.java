@@ -1,6 +1,7 @@
 package spritz;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 import javax.annotation.Nonnull;
@@ -11,8 +12,22 @@ public abstract class Hub<MessageInT, MessageOutT>
   extends Stream<MessageOutT>
   implements EventEmitter<MessageInT>
 {
+  /**
+   * The subscription array shared by every hub without downstream subscriptions.
+   */
+  @SuppressWarnings( "rawtypes" )
+  @Nonnull
+  private static final Hub.DownstreamSubscription[] EMPTY_SUBSCRIPTIONS = new Hub.DownstreamSubscription[ 0 ];
   private final Set<ForwardToEventEmitterSubscriber<MessageInT>> _upstreamSubscribers = new HashSet<>();
-  private final Set<DownstreamSubscription> _downstreamSubscriptions = new HashSet<>();
+  /**
+   * The downstream subscriptions in the order in which they subscribed.
+   * The array is never modified after it has been assigned. Subscriptions are added and removed by
+   * replacing the array so that fan-out can iterate over a stable snapshot even when subscribers
+   * subscribe or cancel re-entrantly. The array is replaced while holding the lock on the hub so that
+   * a downstream subscription may be cancelled on a thread other than the thread that emits items.
+   */
+  @Nonnull
+  private volatile DownstreamSubscription[] _downstreamSubscriptions;
   @Nullable
   private Throwable _error;
   private boolean _complete;
@@ -20,6 +35,14 @@ public abstract class Hub<MessageInT, MessageOutT>
   Hub( @Nullable final String name )
   {
     super( Spritz.areNamesEnabled() ? Stream.generateName( name, "subject" ) : null );
+    _downstreamSubscriptions = newSubscriptionArray();
+  }
+
+  @SuppressWarnings( "unchecked" )
+  @Nonnull
+  private DownstreamSubscription[] newSubscriptionArray()
+  {
+    return EMPTY_SUBSCRIPTIONS;
   }
 
   @Nonnull
@@ -44,7 +67,7 @@ public abstract class Hub<MessageInT, MessageOutT>
       }
       else
       {
-        _downstreamSubscriptions.add( subscription );
+        addDownstreamSubscription( subscription );
       }
     }
     return subscription;
@@ -59,9 +82,9 @@ public abstract class Hub<MessageInT, MessageOutT>
   {
     if ( Spritz.shouldCheckApiInvariants() )
     {
-      apiInvariant( () -> null == _error,
+      apiInvariant( () -> !hasErrorSignal(),
                     () -> "Hub-0023: Hub.next(...) invoked after Hub.error(...) invoked." );
-      apiInvariant( () -> !_complete,
+      apiInvariant( () -> !hasCompleteSignal(),
                     () -> "Hub-0024: Hub.next(...) invoked after Hub.complete() invoked." );
     }
     performNext( item );
@@ -74,12 +97,12 @@ public abstract class Hub<MessageInT, MessageOutT>
   {
     if ( Spritz.shouldCheckApiInvariants() )
     {
-      apiInvariant( () -> null == _error,
+      apiInvariant( () -> !hasErrorSignal(),
                     () -> "Spritz-0025: Hub.error(...) invoked after Hub.error(...) invoked." );
-      apiInvariant( () -> !_complete,
+      apiInvariant( () -> !hasCompleteSignal(),
                     () -> "Spritz-0026: Hub.error(...) invoked after Hub.complete() invoked." );
     }
-    _error = error;
+    recordError( error );
     performError( error );
   }
 
@@ -90,17 +113,57 @@ public abstract class Hub<MessageInT, MessageOutT>
   {
     if ( Spritz.shouldCheckApiInvariants() )
     {
-      invariant( () -> null == _error,
+      invariant( () -> !hasErrorSignal(),
                  () -> "Spritz-0027: Hub.complete(...) invoked after Hub.error(...) invoked." );
-      invariant( () -> !_complete,
+      invariant( () -> !hasCompleteSignal(),
                  () -> "Spritz-0028: Hub.complete(...) invoked after Hub.complete() invoked." );
     }
-    _complete = true;
+    recordComplete();
     performComplete();
   }
 
   abstract void performComplete();
 
+  /**
+   * Return true if {@link #error(Throwable)} has been invoked.
+   *
+   * @return true if {@link #error(Throwable)} has been invoked.
+   */
+  boolean hasErrorSignal()
+  {
+    return null != _error;
+  }
+
+  /**
+   * Return true if {@link #complete()} has been invoked.
+   *
+   * @return true if {@link #complete()} has been invoked.
+   */
+  boolean hasCompleteSignal()
+  {
+    return _complete;
+  }
+
+  /**
+   * Record that the hub has errored.
+   * Subscribers that subscribe after the error has been recorded are immediately passed the error.
+   *
+   * @param error the error.
+   */
+  void recordError( @Nonnull final Throwable error )
+  {
+    _error = error;
+  }
+
+  /**
+   * Record that the hub has completed.
+   * Subscribers that subscribe after completion has been recorded are immediately completed.
+   */
+  void recordComplete()
+  {
+    _complete = true;
+  }
+
   void terminateUpstreamSubscribers()
   {
     for ( final ForwardToEventEmitterSubscriber<MessageInT> subscriber : new ArrayList<>( _upstreamSubscribers ) )
@@ -132,33 +195,90 @@ public abstract class Hub<MessageInT, MessageOutT>
 
   final boolean hasDownstreamSubscribers()
   {
-    return !_downstreamSubscriptions.isEmpty();
+    return 0 != _downstreamSubscriptions.length;
+  }
+
+  final int getDownstreamSubscriberCount()
+  {
+    return _downstreamSubscriptions.length;
+  }
+
+  private synchronized void addDownstreamSubscription( @Nonnull final DownstreamSubscription subscription )
+  {
+    final DownstreamSubscription[] subscriptions = _downstreamSubscriptions;
+    final int length = subscriptions.length;
+    final DownstreamSubscription[] newSubscriptions = Arrays.copyOf( subscriptions, length + 1 );
+    newSubscriptions[ length ] = subscription;
+    _downstreamSubscriptions = newSubscriptions;
+  }
+
+  private synchronized void removeDownstreamSubscription( @Nonnull final DownstreamSubscription subscription )
+  {
+    final DownstreamSubscription[] subscriptions = _downstreamSubscriptions;
+    final int length = subscriptions.length;
+    for ( int i = 0; i < length; i++ )
+    {
+      if ( subscriptions[ i ] == subscription )
+      {
+        if ( 1 == length )
+        {
+          _downstreamSubscriptions = newSubscriptionArray();
+          return;
+        }
+        final DownstreamSubscription[] newSubscriptions = Arrays.copyOf( subscriptions, length - 1 );
+        System.arraycopy( subscriptions, i + 1, newSubscriptions, i, length - i - 1 );
+        _downstreamSubscriptions = newSubscriptions;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Remove and return all of the downstream subscriptions.
+   */
+  @Nonnull
+  private synchronized DownstreamSubscription[] removeDownstreamSubscriptions()
+  {
+    final DownstreamSubscription[] subscriptions = _downstreamSubscriptions;
+    _downstreamSubscriptions = newSubscriptionArray();
+    return subscriptions;
   }
 
   void downstreamNext( @Nonnull final MessageOutT item )
   {
+    // Subscriptions cancelled during the fan-out are skipped while those added
+    // during the fan-out are not part of the snapshot and do not receive the item
     for ( final DownstreamSubscription subscription : _downstreamSubscriptions )
     {
-      subscription.getSubscriber().onItem( item );
+      if ( subscription.isNotDone() )
+      {
+        subscription.getSubscriber().onItem( item );
+      }
     }
   }
 
   void downstreamError( @Nonnull final Throwable error )
   {
-    for ( final DownstreamSubscription subscription : _downstreamSubscriptions )
+    final DownstreamSubscription[] subscriptions = removeDownstreamSubscriptions();
+    for ( final DownstreamSubscription subscription : subscriptions )
     {
-      subscription.getSubscriber().onError( error );
+      if ( subscription.isNotDone() )
+      {
+        subscription.getSubscriber().onError( error );
+      }
     }
-    _downstreamSubscriptions.clear();
   }
 
   void downstreamComplete()
   {
-    for ( final DownstreamSubscription subscription : _downstreamSubscriptions )
+    final DownstreamSubscription[] subscriptions = removeDownstreamSubscriptions();
+    for ( final DownstreamSubscription subscription : subscriptions )
     {
-      subscription.getSubscriber().onComplete();
+      if ( subscription.isNotDone() )
+      {
+        subscription.getSubscriber().onComplete();
+      }
     }
-    _downstreamSubscriptions.clear();
   }
 
   final class DownstreamSubscription
@@ -172,7 +292,17 @@ public abstract class Hub<MessageInT, MessageOutT>
     @Override
     void doCancel()
     {
-      _downstreamSubscriptions.remove( this );
+      removeDownstreamSubscription( this );
+    }
+
+    /**
+     * The subscription is removed from the hub while holding the lock on the hub. If the hub is
+     * emitting an item on another thread then the cancelled subscriber may still receive that item.
+     */
+    @Override
+    boolean isCancelThreadSafe()
+    {
+      return true;
     }
 
     @Override
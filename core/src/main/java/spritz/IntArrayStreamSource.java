@@ -0,0 +1,59 @@
+package spritz;
+
+import java.util.Arrays;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+final class IntArrayStreamSource
+  extends IntStream
+{
+  @Nonnull
+  private final int[] _data;
+
+  IntArrayStreamSource( @Nullable final String name, @Nonnull final int[] data )
+  {
+    super( Spritz.areNamesEnabled() ? Stream.generateName( name, "ofInts", arrayToString( data ) ) : null );
+    _data = Objects.requireNonNull( data );
+  }
+
+  @Nonnull
+  private static String arrayToString( @Nonnull final int[] data )
+  {
+    final String str = Arrays.toString( data );
+    return str.substring( 1, str.length() - 1 );
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final IntSubscriber subscriber )
+  {
+    final WorkerSubscription subscription = new WorkerSubscription( this, subscriber );
+    subscriber.onSubscribe( subscription );
+    subscription.pushData();
+    return subscription;
+  }
+
+  private static final class WorkerSubscription
+    extends AbstractIntSourceSubscription<IntArrayStreamSource>
+  {
+    private int _offset;
+
+    WorkerSubscription( @Nonnull final IntArrayStreamSource stream, @Nonnull final IntSubscriber subscriber )
+    {
+      super( stream, subscriber );
+    }
+
+    @Override
+    boolean hasNextItem()
+    {
+      return _offset < getStream()._data.length;
+    }
+
+    @Override
+    int nextItem()
+    {
+      return getStream()._data[ _offset++ ];
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package spritz;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * An operator that converts an {@link IntStream} into a {@link Stream} of boxed integers.
+ */
+final class IntBoxedOperator
+  extends Stream<Integer>
+{
+  /**
+   * The upstream stream stage.
+   */
+  @Nonnull
+  private final IntStream _upstream;
+
+  IntBoxedOperator( @Nullable final String name, @Nonnull final IntStream upstream )
+  {
+    super( Spritz.areNamesEnabled() ? generateName( name, "boxed" ) : null );
+    _upstream = Objects.requireNonNull( upstream );
+  }
+
+  @Nonnull
+  @Override
+  String getQualifiedName()
+  {
+    return _upstream.getQualifiedName() + "." + getName();
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super Integer> subscriber )
+  {
+    final WorkerSubscription subscription = new WorkerSubscription( this, subscriber );
+    _upstream.subscribe( subscription );
+    return subscription;
+  }
+
+  private static final class WorkerSubscription
+    extends AbstractStreamSubscription<Integer, IntBoxedOperator>
+    implements IntSubscriber
+  {
+    @Nullable
+    private Subscription _upstream;
+
+    WorkerSubscription( @Nonnull final IntBoxedOperator stream, @Nonnull final Subscriber<? super Integer> subscriber )
+    {
+      super( stream, subscriber );
+    }
+
+    @Override
+    public void onSubscribe( @Nonnull final Subscription subscription )
+    {
+      _upstream = Objects.requireNonNull( subscription );
+      getSubscriber().onSubscribe( this );
+    }
+
+    @Override
+    public void onItem( final int item )
+    {
+      getSubscriber().onItem( item );
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      markAsDone();
+      getSubscriber().onError( error );
+    }
+
+    @Override
+    public void onComplete()
+    {
+      markAsDone();
+      getSubscriber().onComplete();
+    }
+
+    @Override
+    void doCancel()
+    {
+      assert null != _upstream;
+      _upstream.cancel();
+    }
+
+    @Override
+    void doRequest( final long count )
+    {
+      assert null != _upstream;
+      _upstream.request( count );
+    }
+  }
+}
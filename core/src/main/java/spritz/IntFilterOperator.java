@@ -0,0 +1,63 @@
+package spritz;
+
+import java.util.Objects;
+import java.util.function.IntPredicate;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+final class IntFilterOperator
+  extends AbstractIntStream
+{
+  @Nonnull
+  private final IntPredicate _predicate;
+
+  IntFilterOperator( @Nullable final String name,
+                     @Nonnull final IntStream upstream,
+                     @Nonnull final IntPredicate predicate )
+  {
+    super( Spritz.areNamesEnabled() ? Stream.generateName( name, "filter" ) : null, upstream );
+    _predicate = Objects.requireNonNull( predicate );
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final IntSubscriber subscriber )
+  {
+    final WorkerSubscription subscription = new WorkerSubscription( this, subscriber );
+    getUpstream().subscribe( subscription );
+    return subscription;
+  }
+
+  private static final class WorkerSubscription
+    extends AbstractIntOperatorSubscription<IntFilterOperator>
+  {
+    WorkerSubscription( @Nonnull final IntFilterOperator stream, @Nonnull final IntSubscriber subscriber )
+    {
+      super( stream, subscriber );
+    }
+
+    @Override
+    public void onItem( final int item )
+    {
+      final boolean include;
+      try
+      {
+        include = getStream()._predicate.test( item );
+      }
+      catch ( final Throwable throwable )
+      {
+        onError( throwable );
+        getUpstream().cancel();
+        return;
+      }
+      if ( include )
+      {
+        getSubscriber().onItem( item );
+      }
+      else if ( isDemandRequested() )
+      {
+        getUpstream().request( 1 );
+      }
+    }
+  }
+}
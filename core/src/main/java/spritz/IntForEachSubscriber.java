@@ -0,0 +1,38 @@
+package spritz;
+
+import java.util.Objects;
+import java.util.function.IntConsumer;
+import javax.annotation.Nonnull;
+
+final class IntForEachSubscriber
+  implements IntSubscriber
+{
+  @Nonnull
+  private final IntConsumer _action;
+
+  IntForEachSubscriber( @Nonnull final IntConsumer action )
+  {
+    _action = Objects.requireNonNull( action );
+  }
+
+  @Override
+  public void onSubscribe( @Nonnull final Subscription subscription )
+  {
+  }
+
+  @Override
+  public void onItem( final int item )
+  {
+    _action.accept( item );
+  }
+
+  @Override
+  public void onError( @Nonnull final Throwable error )
+  {
+  }
+
+  @Override
+  public void onComplete()
+  {
+  }
+}
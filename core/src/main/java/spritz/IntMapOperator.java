@@ -0,0 +1,56 @@
+package spritz;
+
+import java.util.Objects;
+import java.util.function.IntUnaryOperator;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+final class IntMapOperator
+  extends AbstractIntStream
+{
+  @Nonnull
+  private final IntUnaryOperator _transform;
+
+  IntMapOperator( @Nullable final String name,
+                  @Nonnull final IntStream upstream,
+                  @Nonnull final IntUnaryOperator transform )
+  {
+    super( Spritz.areNamesEnabled() ? Stream.generateName( name, "map" ) : null, upstream );
+    _transform = Objects.requireNonNull( transform );
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final IntSubscriber subscriber )
+  {
+    final WorkerSubscription subscription = new WorkerSubscription( this, subscriber );
+    getUpstream().subscribe( subscription );
+    return subscription;
+  }
+
+  private static final class WorkerSubscription
+    extends AbstractIntOperatorSubscription<IntMapOperator>
+  {
+    WorkerSubscription( @Nonnull final IntMapOperator stream, @Nonnull final IntSubscriber subscriber )
+    {
+      super( stream, subscriber );
+    }
+
+    @Override
+    public void onItem( final int item )
+    {
+      final int result;
+      try
+      {
+        result = getStream()._transform.applyAsInt( item );
+      }
+      catch ( final Throwable throwable )
+      {
+        onError( throwable );
+        getUpstream().cancel();
+        return;
+      }
+      getSubscriber().onItem( result );
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package spritz;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Subscriber that records the signals emitted by an int stage in the metrics for the stage.
+ * This is the primitive specialization of {@link MetricsSubscriber}.
+ */
+final class IntMetricsSubscriber
+  implements IntSubscriber
+{
+  @Nonnull
+  private final MetricsRegistry _registry;
+  @Nonnull
+  private final StageMetrics _metrics;
+  @Nonnull
+  private final IntSubscriber _target;
+  /**
+   * The subscription passed to the target. It is marked as done when the stage terminates.
+   */
+  @Nullable
+  private Subscription _subscription;
+  /**
+   * The subscription returned to the caller that subscribed. It is marked as done when the stage terminates.
+   */
+  @Nullable
+  private Subscription _returnedSubscription;
+  /**
+   * Flag set when the stage has emitted an error or completed.
+   */
+  private boolean _terminated;
+
+  IntMetricsSubscriber( @Nonnull final MetricsRegistry registry,
+                        @Nonnull final StageMetrics metrics,
+                        @Nonnull final IntSubscriber target )
+  {
+    _registry = Objects.requireNonNull( registry );
+    _metrics = Objects.requireNonNull( metrics );
+    _target = Objects.requireNonNull( target );
+    _metrics.recordSubscribe();
+  }
+
+  @Override
+  public void onSubscribe( @Nonnull final Subscription subscription )
+  {
+    _subscription = MetricsSubscriber.newSubscription( _metrics, subscription, _terminated );
+    _target.onSubscribe( _subscription );
+  }
+
+  /**
+   * Return the subscription returned to the caller that subscribed to the stage.
+   * The subscription records cancels in the metrics and delegates to the specified subscription.
+   *
+   * @param subscription the subscription to delegate to.
+   * @return the new subscription.
+   */
+  @Nonnull
+  Subscription newReturnedSubscription( @Nonnull final Subscription subscription )
+  {
+    _returnedSubscription = MetricsSubscriber.newSubscription( _metrics, subscription, _terminated );
+    return _returnedSubscription;
+  }
+
+  @Override
+  public void onItem( final int item )
+  {
+    _metrics.recordItem();
+    if ( _registry.isItemTimingEnabled() )
+    {
+      final long start = System.nanoTime();
+      try
+      {
+        _target.onItem( item );
+      }
+      finally
+      {
+        _metrics.recordItemTime( System.nanoTime() - start );
+      }
+    }
+    else
+    {
+      _target.onItem( item );
+    }
+  }
+
+  @Override
+  public void onError( @Nonnull final Throwable error )
+  {
+    _terminated = true;
+    MetricsSubscriber.markAsDone( _subscription, _returnedSubscription );
+    _metrics.recordError();
+    _target.onError( error );
+  }
+
+  @Override
+  public void onComplete()
+  {
+    _terminated = true;
+    MetricsSubscriber.markAsDone( _subscription, _returnedSubscription );
+    _metrics.recordComplete();
+    _target.onComplete();
+  }
+}
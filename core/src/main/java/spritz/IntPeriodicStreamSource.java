@@ -0,0 +1,79 @@
+package spritz;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import zemeckis.Cancelable;
+import zemeckis.Zemeckis;
+
+/**
+ * An int stream that emits sequential numbers every period.
+ * This is the primitive specialization of {@link PeriodicStreamSource}.
+ */
+final class IntPeriodicStreamSource
+  extends IntStream
+{
+  private final int _period;
+
+  IntPeriodicStreamSource( @Nullable final String name, final int period )
+  {
+    super( Spritz.areNamesEnabled() ? Stream.generateName( name, "periodicInt", String.valueOf( period ) ) : null );
+    assert period >= 0;
+    _period = period;
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final IntSubscriber subscriber )
+  {
+    final WorkerSubscription subscription = new WorkerSubscription( this, subscriber );
+    subscriber.onSubscribe( subscription );
+    subscription.startTimer();
+    return subscription;
+  }
+
+  private static final class WorkerSubscription
+    extends AbstractIntSubscription<IntPeriodicStreamSource>
+  {
+    private int _counter;
+    @Nullable
+    private Cancelable _task;
+
+    WorkerSubscription( @Nonnull final IntPeriodicStreamSource stream, @Nonnull final IntSubscriber subscriber )
+    {
+      super( stream, subscriber );
+    }
+
+    synchronized void startTimer()
+    {
+      _task = TimerRegistry.register( getStream()._period, 0, this::pushItem );
+    }
+
+    synchronized void pushItem()
+    {
+      if ( null == _task )
+      {
+        // The subscription was cancelled while the shared timer was invoking the ticks
+        return;
+      }
+      final int value = _counter++;
+      try
+      {
+        getSubscriber().onItem( value );
+      }
+      catch ( final Throwable t )
+      {
+        Zemeckis.reportUncaughtError( t );
+      }
+    }
+
+    @Override
+    synchronized void doCancel()
+    {
+      if ( null != _task )
+      {
+        _task.cancel();
+        _task = null;
+      }
+    }
+  }
+}
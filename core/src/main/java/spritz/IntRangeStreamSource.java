@@ -0,0 +1,65 @@
+package spritz;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A synchronous int stream that emits a range of monotonically increasing values on demand.
+ * This is the primitive specialization of {@link RangeStreamSource}.
+ */
+final class IntRangeStreamSource
+  extends IntStream
+{
+  /**
+   * The starting value of the range.
+   */
+  private final int _start;
+  /**
+   * The number of items to emit.
+   */
+  private final int _count;
+
+  IntRangeStreamSource( @Nullable final String name, final int start, final int count )
+  {
+    super( Spritz.areNamesEnabled() ? Stream.generateName( name, "rangeInt", start + ", " + count ) : null );
+    assert count >= 0;
+    _start = start;
+    _count = count;
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final IntSubscriber subscriber )
+  {
+    final WorkerSubscription subscription = new WorkerSubscription( this, subscriber );
+    subscriber.onSubscribe( subscription );
+    subscription.pushData();
+    return subscription;
+  }
+
+  private static final class WorkerSubscription
+    extends AbstractIntSourceSubscription<IntRangeStreamSource>
+  {
+    /**
+     * The number of items emitted so far.
+     */
+    private int _emitted;
+
+    WorkerSubscription( @Nonnull final IntRangeStreamSource stream, @Nonnull final IntSubscriber subscriber )
+    {
+      super( stream, subscriber );
+    }
+
+    @Override
+    boolean hasNextItem()
+    {
+      return _emitted < getStream()._count;
+    }
+
+    @Override
+    int nextItem()
+    {
+      return getStream()._start + _emitted++;
+    }
+  }
+}
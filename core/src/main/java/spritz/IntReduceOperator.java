@@ -0,0 +1,88 @@
+package spritz;
+
+import java.util.Objects;
+import java.util.function.IntBinaryOperator;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * An operator that combines all of the upstream items and emits the result when the upstream completes.
+ * If the operator has no initial value and the upstream emits no items then no item is emitted.
+ */
+final class IntReduceOperator
+  extends AbstractIntStream
+{
+  @Nonnull
+  private final IntBinaryOperator _accumulator;
+  private final boolean _hasInitialValue;
+  private final int _initialValue;
+
+  IntReduceOperator( @Nullable final String name,
+                     @Nonnull final IntStream upstream,
+                     @Nonnull final IntBinaryOperator accumulator,
+                     final boolean hasInitialValue,
+                     final int initialValue )
+  {
+    super( name, upstream );
+    _accumulator = Objects.requireNonNull( accumulator );
+    _hasInitialValue = hasInitialValue;
+    _initialValue = initialValue;
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final IntSubscriber subscriber )
+  {
+    final WorkerSubscription subscription = new WorkerSubscription( this, subscriber );
+    getUpstream().subscribe( subscription );
+    return subscription;
+  }
+
+  private static final class WorkerSubscription
+    extends AbstractIntOperatorSubscription<IntReduceOperator>
+  {
+    private boolean _hasValue;
+    private int _value;
+
+    WorkerSubscription( @Nonnull final IntReduceOperator stream, @Nonnull final IntSubscriber subscriber )
+    {
+      super( stream, subscriber );
+      _hasValue = stream._hasInitialValue;
+      _value = stream._initialValue;
+    }
+
+    @Override
+    public void onItem( final int item )
+    {
+      if ( _hasValue )
+      {
+        _value = getStream()._accumulator.applyAsInt( _value, item );
+      }
+      else
+      {
+        _hasValue = true;
+        _value = item;
+      }
+    }
+
+    @Override
+    public void onComplete()
+    {
+      if ( _hasValue )
+      {
+        getSubscriber().onItem( _value );
+      }
+      super.onComplete();
+    }
+
+    /**
+     * A single result is emitted and every upstream value must be combined before the result is
+     * available, so the request for the result is satisfied by consuming the upstream in full.
+     * The demand is therefore ignored.
+     */
+    @Override
+    void doRequest( final long count )
+    {
+    }
+  }
+}
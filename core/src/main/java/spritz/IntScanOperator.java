@@ -0,0 +1,61 @@
+package spritz;
+
+import java.util.Objects;
+import java.util.function.IntBinaryOperator;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+final class IntScanOperator
+  extends AbstractIntStream
+{
+  @Nonnull
+  private final IntBinaryOperator _accumulator;
+  private final int _initialValue;
+
+  IntScanOperator( @Nullable final String name,
+                   @Nonnull final IntStream upstream,
+                   @Nonnull final IntBinaryOperator accumulator,
+                   final int initialValue )
+  {
+    super( Spritz.areNamesEnabled() ? Stream.generateName( name, "scan" ) : null, upstream );
+    _accumulator = Objects.requireNonNull( accumulator );
+    _initialValue = initialValue;
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final IntSubscriber subscriber )
+  {
+    final WorkerSubscription subscription = new WorkerSubscription( this, subscriber );
+    getUpstream().subscribe( subscription );
+    return subscription;
+  }
+
+  private static final class WorkerSubscription
+    extends AbstractIntOperatorSubscription<IntScanOperator>
+  {
+    private int _value;
+
+    WorkerSubscription( @Nonnull final IntScanOperator stream, @Nonnull final IntSubscriber subscriber )
+    {
+      super( stream, subscriber );
+      _value = stream._initialValue;
+    }
+
+    @Override
+    public void onItem( final int item )
+    {
+      try
+      {
+        _value = getStream()._accumulator.applyAsInt( _value, item );
+      }
+      catch ( final Throwable throwable )
+      {
+        onError( throwable );
+        getUpstream().cancel();
+        return;
+      }
+      getSubscriber().onItem( _value );
+    }
+  }
+}
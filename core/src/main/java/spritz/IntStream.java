@@ -0,0 +1,337 @@
+package spritz;
+
+import java.util.Objects;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import static org.realityforge.braincheck.Guards.*;
+
+/**
+ * A stream of primitive int values.
+ * This is the primitive specialization of {@link Stream} that avoids boxing each item. Int streams
+ * are created via {@link Stream#rangeInt(int, int)}, {@link Stream#periodicInt(int)} and
+ * {@link Stream#ofInts(int...)} and can be converted into a {@link Stream} via {@link #boxed()}.
+ */
+@SuppressWarnings( { "WeakerAccess", "unused" } )
+@MetaDataSource
+public abstract class IntStream
+{
+  /**
+   * A human consumable name for the stream. It should be non-null if {@link Spritz#areNamesEnabled()} returns
+   * true and <tt>null</tt> otherwise.
+   */
+  @Nullable
+  private final String _name;
+
+  IntStream( @Nullable final String name )
+  {
+    if ( Spritz.shouldCheckApiInvariants() )
+    {
+      apiInvariant( () -> Spritz.areNamesEnabled() || null == name,
+                    () -> "Spritz-0054: IntStream passed a name '" + name + "' but Spritz.areNamesEnabled() is false" );
+    }
+    _name = Spritz.areNamesEnabled() ? Objects.requireNonNull( name ) : null;
+  }
+
+  /**
+   * Subscribe the subscriber to this stream so that it can receive events.
+   *
+   * @param subscriber the subscriber.
+   * @return the subscription.
+   */
+  @Nonnull
+  public final Subscription subscribe( @Nonnull final IntSubscriber subscriber )
+  {
+    if ( Spritz.areMetricsEnabled() )
+    {
+      return subscribeWithMetrics( subscriber );
+    }
+    else
+    {
+      return doSubscribe( Spritz.shouldValidateSubscriptions() ? new IntValidatingSubscriber( subscriber ) : subscriber );
+    }
+  }
+
+  @Nonnull
+  private Subscription subscribeWithMetrics( @Nonnull final IntSubscriber subscriber )
+  {
+    final MetricsRegistry registry = Spritz.getMetrics();
+    final String name = Spritz.areNamesEnabled() ? getQualifiedName() : MetricsRegistry.UNNAMED_STAGE;
+    final IntMetricsSubscriber target =
+      new IntMetricsSubscriber( registry, registry.getOrCreateStage( name ), subscriber );
+    final Subscription subscription =
+      doSubscribe( Spritz.shouldValidateSubscriptions() ? new IntValidatingSubscriber( target ) : target );
+    // Wrap the subscription so that cancels via the returned subscription are also recorded
+    return target.newReturnedSubscription( subscription );
+  }
+
+  @Nonnull
+  abstract Subscription doSubscribe( @Nonnull IntSubscriber subscriber );
+
+  /**
+   * Subscribe to the stream and invoke the action for each item emitted.
+   *
+   * @param action the action to invoke for each item.
+   * @return the subscription.
+   */
+  @Nonnull
+  public final Subscription forEach( @Nonnull final IntConsumer action )
+  {
+    return subscribe( new IntForEachSubscriber( action ) );
+  }
+
+  /**
+   * Transform items emitted by this stream using the {@code mapper} function.
+   *
+   * @param mapper the function to use to map the items.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.TRANSFORMATION )
+  public final IntStream map( @Nonnull final IntUnaryOperator mapper )
+  {
+    return map( null, mapper );
+  }
+
+  /**
+   * Transform items emitted by this stream using the {@code mapper} function.
+   *
+   * @param name   the name specified by the user.
+   * @param mapper the function to use to map the items.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.TRANSFORMATION )
+  public final IntStream map( @Nullable final String name, @Nonnull final IntUnaryOperator mapper )
+  {
+    return new IntMapOperator( name, this, mapper );
+  }
+
+  /**
+   * Filter the items emitted by this stream using the specified {@link IntPredicate}.
+   * Any items that return {@code true} when passed to the {@link IntPredicate} will be
+   * emitted while all other items will be skipped.
+   *
+   * @param predicate the predicate to apply to each item.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.FILTERING )
+  public final IntStream filter( @Nonnull final IntPredicate predicate )
+  {
+    return filter( null, predicate );
+  }
+
+  /**
+   * Filter the items emitted by this stream using the specified {@link IntPredicate}.
+   * Any items that return {@code true} when passed to the {@link IntPredicate} will be
+   * emitted while all other items will be skipped.
+   *
+   * @param name      the name specified by the user.
+   * @param predicate the predicate to apply to each item.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.FILTERING )
+  public final IntStream filter( @Nullable final String name, @Nonnull final IntPredicate predicate )
+  {
+    return new IntFilterOperator( name, this, predicate );
+  }
+
+  /**
+   * Apply an accumulator function to each item in the stream emit the accumulated value.
+   *
+   * @param accumulator  the function invoked with the accumulated value and the item.
+   * @param initialValue the initial value of the accumulator.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final IntStream scan( @Nonnull final IntBinaryOperator accumulator, final int initialValue )
+  {
+    return scan( null, accumulator, initialValue );
+  }
+
+  /**
+   * Apply an accumulator function to each item in the stream emit the accumulated value.
+   *
+   * @param name         the name specified by the user.
+   * @param accumulator  the function invoked with the accumulated value and the item.
+   * @param initialValue the initial value of the accumulator.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final IntStream scan( @Nullable final String name,
+                               @Nonnull final IntBinaryOperator accumulator,
+                               final int initialValue )
+  {
+    return new IntScanOperator( name, this, accumulator, initialValue );
+  }
+
+  /**
+   * Emit the sum of all the items in the stream when the stream completes.
+   * If the stream emits no items then 0 is emitted.
+   *
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final IntStream sum()
+  {
+    return sum( null );
+  }
+
+  /**
+   * Emit the sum of all the items in the stream when the stream completes.
+   * If the stream emits no items then 0 is emitted.
+   *
+   * @param name the name specified by the user.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final IntStream sum( @Nullable final String name )
+  {
+    return new IntReduceOperator( Spritz.areNamesEnabled() ? Stream.generateName( name, "sum" ) : null,
+                                  this,
+                                  Integer::sum,
+                                  true,
+                                  0 );
+  }
+
+  /**
+   * Emit the smallest item in the stream when the stream completes.
+   * If the stream emits no items then no item is emitted.
+   *
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final IntStream min()
+  {
+    return min( null );
+  }
+
+  /**
+   * Emit the smallest item in the stream when the stream completes.
+   * If the stream emits no items then no item is emitted.
+   *
+   * @param name the name specified by the user.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final IntStream min( @Nullable final String name )
+  {
+    return new IntReduceOperator( Spritz.areNamesEnabled() ? Stream.generateName( name, "min" ) : null,
+                                  this,
+                                  Math::min,
+                                  false,
+                                  0 );
+  }
+
+  /**
+   * Emit the largest item in the stream when the stream completes.
+   * If the stream emits no items then no item is emitted.
+   *
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final IntStream max()
+  {
+    return max( null );
+  }
+
+  /**
+   * Emit the largest item in the stream when the stream completes.
+   * If the stream emits no items then no item is emitted.
+   *
+   * @param name the name specified by the user.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final IntStream max( @Nullable final String name )
+  {
+    return new IntReduceOperator( Spritz.areNamesEnabled() ? Stream.generateName( name, "max" ) : null,
+                                  this,
+                                  Math::max,
+                                  false,
+                                  0 );
+  }
+
+  /**
+   * Convert this stream into a {@link Stream} that emits each item as an {@link Integer}.
+   *
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.TRANSFORMATION )
+  public final Stream<Integer> boxed()
+  {
+    return boxed( null );
+  }
+
+  /**
+   * Convert this stream into a {@link Stream} that emits each item as an {@link Integer}.
+   *
+   * @param name the name specified by the user.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.TRANSFORMATION )
+  public final Stream<Integer> boxed( @Nullable final String name )
+  {
+    return new IntBoxedOperator( name, this );
+  }
+
+  /**
+   * Return the local name of the stream.
+   * This method should NOT be invoked unless {@link Spritz#areNamesEnabled()} returns <code>true</code>.
+   *
+   * @return the local name of the node.
+   */
+  @Nonnull
+  final String getName()
+  {
+    if ( Spritz.shouldCheckApiInvariants() )
+    {
+      apiInvariant( Spritz::areNamesEnabled,
+                    () -> "Spritz-0055: IntStream.getName() invoked when Spritz.areNamesEnabled() is false" );
+    }
+    assert null != _name;
+    return _name;
+  }
+
+  /**
+   * Return the qualified name of the stream.
+   * The qualified name includes the local name suffixed to the upstream name.
+   * This method should NOT be invoked unless {@link Spritz#areNamesEnabled()} returns <code>true</code>.
+   *
+   * @return the qualified name of the node.
+   */
+  @Nonnull
+  String getQualifiedName()
+  {
+    return getName();
+  }
+
+  @Nonnull
+  @Override
+  public final String toString()
+  {
+    if ( Spritz.areNamesEnabled() )
+    {
+      return getQualifiedName();
+    }
+    else
+    {
+      return super.toString();
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package spritz;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A subscriber to an {@link IntStream}.
+ * This is the primitive specialization of {@link Subscriber} that receives items without boxing.
+ */
+public interface IntSubscriber
+{
+  void onSubscribe( @Nonnull Subscription subscription );
+
+  void onItem( int item );
+
+  void onError( @Nonnull Throwable error );
+
+  void onComplete();
+}
@@ -0,0 +1,127 @@
+package spritz;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import static org.realityforge.braincheck.Guards.*;
+
+/**
+ * Subscriber that validates the signals emitted to an {@link IntSubscriber}.
+ * This is the primitive specialization of {@link ValidatingSubscriber}.
+ */
+final class IntValidatingSubscriber
+  implements IntSubscriber
+{
+  @Nonnull
+  private final IntSubscriber _target;
+  @Nonnull
+  private ValidatingSubscriber.State _state;
+
+  IntValidatingSubscriber( @Nonnull final IntSubscriber target )
+  {
+    _target = Objects.requireNonNull( target );
+    _state = ValidatingSubscriber.State.CREATED;
+  }
+
+  @Override
+  public void onSubscribe( @Nonnull final Subscription subscription )
+  {
+    if ( Spritz.shouldCheckInvariants() )
+    {
+      invariant( () -> ValidatingSubscriber.State.CREATED == _state,
+                 () -> "Spritz-0001: Subscriber.onSubscribe(...) called and expected state " +
+                       "to be CREATED but is " + _state );
+    }
+    try
+    {
+      _state = ValidatingSubscriber.State.SUBSCRIBE_STARTED;
+      _target.onSubscribe( new ValidatingSubscriber.WorkerSubscription( subscription ) );
+      _state = ValidatingSubscriber.State.SUBSCRIBE_COMPLETED;
+    }
+    catch ( final Throwable throwable )
+    {
+      if ( Spritz.shouldCheckInvariants() )
+      {
+        fail( () -> "Spritz-0003: Invoking Subscriber.onSubscribe(...) incorrectly threw an exception. " +
+                    "Exception:\n" + SpritzUtil.throwableToString( throwable ) );
+      }
+      throw throwable;
+    }
+  }
+
+  @Override
+  public void onItem( final int item )
+  {
+    if ( Spritz.shouldCheckInvariants() )
+    {
+      invariant( () -> ValidatingSubscriber.State.SUBSCRIBE_COMPLETED == _state,
+                 () -> "Spritz-0005: Subscriber.onItem(...) called and expected state " +
+                       "to be SUBSCRIBED but is " + _state );
+    }
+
+    try
+    {
+      _target.onItem( item );
+    }
+    catch ( final Throwable throwable )
+    {
+      if ( Spritz.shouldCheckInvariants() )
+      {
+        fail( () -> "Spritz-0004: Invoking Subscriber.onItem(...) incorrectly threw an exception. " +
+                    "Exception:\n" + SpritzUtil.throwableToString( throwable ) );
+      }
+      throw throwable;
+    }
+  }
+
+  @Override
+  public void onError( @Nonnull final Throwable error )
+  {
+    if ( Spritz.shouldCheckInvariants() )
+    {
+      invariant( () -> ValidatingSubscriber.State.SUBSCRIBE_COMPLETED == _state,
+                 () -> "Spritz-0006: Subscriber.onError(...) called and expected state " +
+                       "to be SUBSCRIBED but is " + _state );
+      Objects.requireNonNull( error );
+    }
+    try
+    {
+      _state = ValidatingSubscriber.State.ERRORED;
+      _target.onError( error );
+    }
+    catch ( final Throwable t )
+    {
+      if ( Spritz.shouldCheckInvariants() )
+      {
+        fail( () -> "Spritz-0007: Invoking Subscriber.onError(...) incorrectly threw an exception. " +
+                    "Exception:\n" + SpritzUtil.throwableToString( t ) );
+      }
+      throw t;
+    }
+  }
+
+  @Override
+  public void onComplete()
+  {
+    if ( Spritz.shouldCheckInvariants() )
+    {
+      invariant( () -> ValidatingSubscriber.State.SUBSCRIBE_COMPLETED == _state,
+                 () -> "Spritz-0008: Subscriber.onComplete(...) called and expected state " +
+                       "to be SUBSCRIBED but is " + _state );
+    }
+
+    try
+    {
+      _state = ValidatingSubscriber.State.COMPLETED;
+      _target.onComplete();
+    }
+    catch ( final Throwable t )
+    {
+      if ( Spritz.shouldCheckInvariants() )
+      {
+        fail( () -> "Spritz-0009: Invoking Subscriber.onComplete(...) incorrectly threw an exception. " +
+                    "Exception:\n" + SpritzUtil.throwableToString( t ) );
+      }
+      throw t;
+    }
+  }
+}
@@ -0,0 +1,138 @@
+package spritz;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A source that lazily pulls items from an iterator.
+ * The iterator is not created until the subscriber is able to receive items and a single item is
+ * pulled from the iterator at a time so items that are never requested are never produced. The
+ * optional close action is invoked when the subscription completes, fails or is cancelled.
+ */
+final class IteratorStreamSource<T>
+  extends Stream<T>
+{
+  /**
+   * The function invoked to create the iterator for each subscription.
+   */
+  @Nonnull
+  private final Supplier<? extends Iterator<? extends T>> _iteratorSupplier;
+  /**
+   * The action invoked to release the resources underlying the iterator, if any.
+   */
+  @Nullable
+  private final Runnable _closeAction;
+
+  IteratorStreamSource( @Nullable final String name,
+                        @Nonnull final String prefix,
+                        @Nonnull final Supplier<? extends Iterator<? extends T>> iteratorSupplier,
+                        @Nullable final Runnable closeAction )
+  {
+    super( Spritz.areNamesEnabled() ? generateName( name, prefix ) : null );
+    _iteratorSupplier = Objects.requireNonNull( iteratorSupplier );
+    _closeAction = closeAction;
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
+  {
+    final WorkerSubscription<T> subscription = new WorkerSubscription<>( this, subscriber );
+    subscriber.onSubscribe( subscription );
+    subscription.pushData();
+    return subscription;
+  }
+
+  private static final class WorkerSubscription<T>
+    extends AbstractSourceSubscription<T, IteratorStreamSource<T>>
+  {
+    /**
+     * The iterator from which items are pulled. This is created the first time an item is pulled.
+     */
+    @Nullable
+    private Iterator<? extends T> _iterator;
+    /**
+     * Flag set once the close action has been invoked.
+     */
+    private boolean _closed;
+
+    WorkerSubscription( @Nonnull final IteratorStreamSource<T> stream,
+                        @Nonnull final Subscriber<? super T> subscriber )
+    {
+      super( stream, subscriber );
+    }
+
+    @Override
+    boolean hasNextItem()
+    {
+      try
+      {
+        if ( null == _iterator )
+        {
+          _iterator = Objects.requireNonNull( getStream()._iteratorSupplier.get() );
+        }
+        if ( _iterator.hasNext() )
+        {
+          return true;
+        }
+        else
+        {
+          close();
+          return false;
+        }
+      }
+      catch ( final Throwable error )
+      {
+        fail( error );
+        return false;
+      }
+    }
+
+    @Override
+    void pushNextItem( @Nonnull final Subscriber<? super T> subscriber )
+    {
+      assert null != _iterator;
+      final T item;
+      try
+      {
+        item = _iterator.next();
+      }
+      catch ( final Throwable error )
+      {
+        fail( error );
+        return;
+      }
+      subscriber.onItem( item );
+    }
+
+    @Override
+    void doCancel()
+    {
+      close();
+    }
+
+    private void fail( @Nonnull final Throwable error )
+    {
+      markAsDone();
+      close();
+      getSubscriber().onError( error );
+    }
+
+    private void close()
+    {
+      if ( !_closed )
+      {
+        _closed = true;
+        _iterator = null;
+        final Runnable closeAction = getStream()._closeAction;
+        if ( null != closeAction )
+        {
+          closeAction.run();
+        }
+      }
+    }
+  }
+}
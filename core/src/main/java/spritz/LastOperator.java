@@ -39,7 +39,7 @@ final class LastOperator<T>
     @Override
     public void onItem( @Nonnull final T item )
     {
-      if ( _buffer.size() == _buffer.getCapacity() )
+      if ( _buffer.size() == getStream()._maxBufferSize )
       {
         _buffer.pop();
       }
@@ -49,12 +49,18 @@ final class LastOperator<T>
     @Override
     public void onComplete()
     {
-      T value;
-      while ( null != ( value = _buffer.pop() ) )
+      final int size = _buffer.size();
+      if ( 0 != size )
       {
-        super.onItem( value );
+        @SuppressWarnings( "unchecked" )
+        final T[] items = (T[]) new Object[ size ];
+        _buffer.pop( items, size );
+        emitItems( items, 0, size );
+      }
+      if ( isNotDone() )
+      {
+        super.onComplete();
       }
-      super.onComplete();
     }
 
     @Override
@@ -63,5 +69,14 @@ final class LastOperator<T>
       _buffer.clear();
       super.onError( error );
     }
+
+    /**
+     * The last items are only known once the upstream completes so requesting a bounded number of
+     * items from the upstream could prevent it from ever completing. The demand is therefore ignored.
+     */
+    @Override
+    void doRequest( final long count )
+    {
+    }
   }
 }
@@ -35,6 +35,18 @@ final class LimitOperator<T>
       _remaining = stream._count;
     }
 
+    @Override
+    public void onItems( @Nonnull final T[] items, final int offset, final int count )
+    {
+      final int included = Math.min( _remaining, count );
+      _remaining -= included;
+      emitItems( items, offset, included );
+      if ( 0 == _remaining && isNotDone() )
+      {
+        doComplete();
+      }
+    }
+
     @Override
     boolean shouldIncludeItem( @Nonnull final T item )
     {
@@ -1,6 +1,7 @@
 package spritz;
 
 import java.util.HashSet;
+import java.util.Objects;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -11,13 +12,40 @@ final class MergeOperator<T>
    * The maximum number of streams that can be subscribed to at one time.
    */
   private final int _maxConcurrency;
+  /**
+   * The maximum number of streams that are buffered while waiting to be subscribed.
+   * A value of 0 indicates that the buffer is unbounded.
+   */
+  private final int _maxPending;
+  /**
+   * The strategy applied when a stream is received and the buffer of pending streams is full.
+   */
+  @Nonnull
+  private final OverflowStrategy _overflowStrategy;
 
   MergeOperator( @Nullable final String name, @Nonnull final Stream<Stream<T>> upstream, final int maxConcurrency )
   {
-    super( Spritz.areNamesEnabled() ? generateName( name, "merge", String.valueOf( maxConcurrency ) ) : null,
+    this( name, upstream, maxConcurrency, 0, OverflowStrategy.ERROR );
+  }
+
+  MergeOperator( @Nullable final String name,
+                 @Nonnull final Stream<Stream<T>> upstream,
+                 final int maxConcurrency,
+                 final int maxPending,
+                 @Nonnull final OverflowStrategy overflowStrategy )
+  {
+    super( Spritz.areNamesEnabled() ?
+           generateName( name,
+                         "merge",
+                         maxConcurrency + ( 0 == maxPending ? "" : "," + maxPending + "," + overflowStrategy ) ) :
+           null,
            upstream );
-    _maxConcurrency = maxConcurrency;
     assert maxConcurrency > 0;
+    assert maxPending >= 0;
+    ensureOverflowStrategyDoesNotBlock( overflowStrategy );
+    _maxConcurrency = maxConcurrency;
+    _maxPending = maxPending;
+    _overflowStrategy = Objects.requireNonNull( overflowStrategy );
   }
 
   @Nonnull
@@ -37,9 +65,9 @@ final class MergeOperator<T>
      * The streams that have been received from upstream but have yet to be subscribed.
      */
     @Nullable
-    private CircularBuffer<InnerSubscription<T>> _pendingUpstream;
+    private CircularBuffer<Stream<T>> _pendingUpstream;
     /**
-     * The streams that have been received from upstream but have yet to be subscribed.
+     * The inner streams that are currently subscribed to.
      */
     @Nonnull
     private final HashSet<InnerSubscription<T>> _activeStreams = new HashSet<>();
@@ -53,6 +81,17 @@ final class MergeOperator<T>
      * are no items left in the buffer then the downstream is completed.
      */
     private boolean _upstreamCompleted;
+    /**
+     * The number of streams requested from upstream that have yet to be received.
+     */
+    private long _requested;
+    /**
+     * The number of times that {@link #drain()} has been invoked while a drain is in progress.
+     * Inner streams that complete synchronously and upstreams that emit synchronously re-enter
+     * the subscription and this counter allows the outermost invocation to perform the work
+     * in a loop rather than recursing, so that the stack depth is constant.
+     */
+    private int _wip;
 
     WorkerSubscription( @Nonnull final MergeOperator<T> stream, @Nonnull final Subscriber<? super T> subscriber )
     {
@@ -60,26 +99,103 @@ final class MergeOperator<T>
       _pendingUpstream = null;
     }
 
+    @Override
+    public void onSubscribe( @Nonnull final Subscription subscription )
+    {
+      super.onSubscribe( subscription );
+      drain();
+    }
+
+    /**
+     * The inner streams emit items without bound and thus downstream demand is ignored.
+     * Demand sent upstream counts streams and is driven by the completion of inner streams.
+     */
+    @Override
+    void doRequest( final long count )
+    {
+    }
+
     @Override
     public void onItem( @Nonnull final Stream<T> item )
     {
-      final InnerSubscription<T> subscription = new InnerSubscription<>( item, getSubscriber(), this );
-      if ( _activeCount < getStream()._maxConcurrency )
+      final MergeOperator<T> stream = getStream();
+      if ( _requested > 0 )
+      {
+        _requested--;
+      }
+      if ( null == _pendingUpstream )
       {
-        _activeCount++;
-        _activeStreams.add( subscription );
-        subscription.pushData();
+        _pendingUpstream = new CircularBuffer<>( 16, CircularBuffer.DEFAULT_SHRINK_AFTER_DRAINS );
       }
-      else
+      if ( _activeCount < stream._maxConcurrency )
       {
-        if ( null == _pendingUpstream )
+        // The stream is activated by the drain loop
+        _pendingUpstream.add( item );
+      }
+      else if ( !Spritz.offer( stream, _pendingUpstream, item, stream._maxPending, stream._overflowStrategy ) )
+      {
+        getUpstream().cancel();
+        onError( new BufferOverflowException() );
+        return;
+      }
+      drain();
+    }
+
+    /**
+     * Activate pending streams while there is capacity, request more streams from upstream
+     * and complete the downstream when the upstream and all the inner streams have completed.
+     */
+    private void drain()
+    {
+      if ( 0 == _wip++ )
+      {
+        final int maxConcurrency = getStream()._maxConcurrency;
+        do
         {
-          _pendingUpstream = new CircularBuffer<>( 10 );
+          Stream<T> next;
+          while ( isNotDone() &&
+                  _activeCount >= 0 &&
+                  _activeCount < maxConcurrency &&
+                  null != _pendingUpstream &&
+                  null != ( next = _pendingUpstream.pop() ) )
+          {
+            activate( next );
+          }
+          if ( isNotDone() && _activeCount >= 0 )
+          {
+            final int pendingCount = null == _pendingUpstream ? 0 : _pendingUpstream.size();
+            if ( _upstreamCompleted )
+            {
+              if ( 0 == _activeCount && 0 == pendingCount )
+              {
+                doComplete();
+              }
+            }
+            else
+            {
+              // Only request as many streams as can be active concurrently so that
+              // pending streams are not buffered when the upstream supports demand
+              final long missing = (long) maxConcurrency - _activeCount - pendingCount - _requested;
+              if ( missing > 0 )
+              {
+                _requested += missing;
+                getUpstream().request( missing );
+              }
+            }
+          }
         }
-        _pendingUpstream.add( subscription );
+        while ( 0 != --_wip );
       }
     }
 
+    private void activate( @Nonnull final Stream<T> stream )
+    {
+      final InnerSubscription<T> subscription = new InnerSubscription<>( stream, getSubscriber(), this );
+      _activeCount++;
+      _activeStreams.add( subscription );
+      subscription.pushData();
+    }
+
     @Override
     public void onError( @Nonnull final Throwable error )
     {
@@ -97,10 +213,7 @@ final class MergeOperator<T>
     public void onComplete()
     {
       _upstreamCompleted = true;
-      if ( 0 == _activeCount )
-      {
-        doComplete();
-      }
+      drain();
     }
 
     private void doComplete()
@@ -115,23 +228,7 @@ final class MergeOperator<T>
       final boolean found = _activeStreams.remove( innerSubscription );
       assert found;
       _activeCount--;
-      if ( _upstreamCompleted && 0 == _activeCount && ( null == _pendingUpstream || _pendingUpstream.isEmpty() ) )
-      {
-        doComplete();
-      }
-      else
-      {
-        if ( null != _pendingUpstream )
-        {
-          final InnerSubscription<T> nextInnerSubscription = _pendingUpstream.pop();
-          if ( null != nextInnerSubscription )
-          {
-            _activeCount++;
-            nextInnerSubscription.pushData();
-            _activeStreams.add( nextInnerSubscription );
-          }
-        }
-      }
+      drain();
     }
   }
 }
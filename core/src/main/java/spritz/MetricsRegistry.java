@@ -0,0 +1,95 @@
+package spritz;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The registry containing the metrics collected for each stream stage.
+ * Stages are identified by their qualified name, which is the name of the stage prefixed by the
+ * names of the upstream stages (i.e. "source.map().filter()"). Stages with the same qualified name,
+ * such as the stages of a stream that is subscribed to multiple times, are combined. Consecutive map,
+ * filter and peek stages are fused into a single stage at assembly time and are reported as one stage
+ * with a name that combines the names of the fused stages.
+ * Names should be enabled when collecting metrics. Stages created when {@link Spritz#areNamesEnabled()}
+ * returns false are combined into a single stage named {@link #UNNAMED_STAGE}.
+ *
+ * @see Spritz#getMetrics()
+ */
+public final class MetricsRegistry
+{
+  /**
+   * The name of the stage used to collect metrics when names are not enabled.
+   */
+  @Nonnull
+  public static final String UNNAMED_STAGE = "<unnamed>";
+  @Nonnull
+  private final Map<String, StageMetrics> _stages = new LinkedHashMap<>();
+  private boolean _itemTimingEnabled;
+
+  MetricsRegistry()
+  {
+  }
+
+  /**
+   * Return the metrics for the stage with the specified qualified name if any.
+   *
+   * @param name the qualified name of the stage.
+   * @return the metrics for the stage or null if no subscriber has subscribed to a stage with the name.
+   */
+  @Nullable
+  public StageMetrics findStage( @Nonnull final String name )
+  {
+    return _stages.get( name );
+  }
+
+  /**
+   * Return the metrics for all the stages in the order in which they were first subscribed.
+   *
+   * @return the metrics for all the stages.
+   */
+  @Nonnull
+  public Collection<StageMetrics> getStages()
+  {
+    return Collections.unmodifiableCollection( _stages.values() );
+  }
+
+  /**
+   * Return true if the time taken to handle each item is recorded.
+   *
+   * @return true if the time taken to handle each item is recorded.
+   */
+  public boolean isItemTimingEnabled()
+  {
+    return _itemTimingEnabled;
+  }
+
+  /**
+   * Specify whether the time taken to handle each item is recorded.
+   * Timing items requires reading the clock twice per item and is thus disabled by default.
+   *
+   * @param itemTimingEnabled true to record the time taken to handle each item.
+   */
+  public void setItemTimingEnabled( final boolean itemTimingEnabled )
+  {
+    _itemTimingEnabled = itemTimingEnabled;
+  }
+
+  /**
+   * Remove the metrics for all stages.
+   * Subscriptions created before this method is invoked continue to update the removed metrics.
+   */
+  public void clear()
+  {
+    _stages.clear();
+  }
+
+  @Nonnull
+  StageMetrics getOrCreateStage( @Nonnull final String name )
+  {
+    return _stages.computeIfAbsent( name, StageMetrics::new );
+  }
+}
@@ -0,0 +1,224 @@
+package spritz;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Subscriber that records the signals emitted by a stage in the metrics for the stage.
+ */
+final class MetricsSubscriber<T>
+  implements Subscriber<T>
+{
+  @Nonnull
+  private final MetricsRegistry _registry;
+  @Nonnull
+  private final StageMetrics _metrics;
+  @Nonnull
+  private final Subscriber<T> _target;
+  /**
+   * The subscription passed to the target. It is marked as done when the stage terminates.
+   */
+  @Nullable
+  private Subscription _subscription;
+  /**
+   * The subscription returned to the caller that subscribed. It is marked as done when the stage terminates.
+   */
+  @Nullable
+  private Subscription _returnedSubscription;
+  /**
+   * Flag set when the stage has emitted an error or completed.
+   */
+  private boolean _terminated;
+
+  MetricsSubscriber( @Nonnull final MetricsRegistry registry,
+                     @Nonnull final StageMetrics metrics,
+                     @Nonnull final Subscriber<T> target )
+  {
+    _registry = Objects.requireNonNull( registry );
+    _metrics = Objects.requireNonNull( metrics );
+    _target = Objects.requireNonNull( target );
+    _metrics.recordSubscribe();
+  }
+
+  /**
+   * Return the subscriber that receives the recorded signals.
+   *
+   * @return the subscriber that receives the recorded signals.
+   */
+  @Nonnull
+  Subscriber<T> getTarget()
+  {
+    return _target;
+  }
+
+  @Override
+  public void onSubscribe( @Nonnull final Subscription subscription )
+  {
+    _subscription = newSubscription( _metrics, subscription, _terminated );
+    _target.onSubscribe( _subscription );
+  }
+
+  /**
+   * Return the subscription returned to the caller that subscribed to the stage.
+   * The subscription records cancels in the metrics and delegates to the specified subscription.
+   *
+   * @param subscription the subscription to delegate to.
+   * @return the new subscription.
+   */
+  @Nonnull
+  Subscription newReturnedSubscription( @Nonnull final Subscription subscription )
+  {
+    _returnedSubscription = newSubscription( _metrics, subscription, _terminated );
+    return _returnedSubscription;
+  }
+
+  /**
+   * Return a subscription that records cancels in the metrics and delegates to the specified subscription.
+   *
+   * @param metrics      the metrics for the stage.
+   * @param subscription the subscription to delegate to.
+   * @param terminated   true if the stage has already terminated and thus the subscription is done.
+   * @return the new subscription.
+   */
+  @Nonnull
+  static Subscription newSubscription( @Nonnull final StageMetrics metrics,
+                                       @Nonnull final Subscription subscription,
+                                       final boolean terminated )
+  {
+    final WorkerSubscription workerSubscription = new WorkerSubscription( metrics, subscription );
+    if ( terminated )
+    {
+      workerSubscription.markAsDone();
+    }
+    return workerSubscription;
+  }
+
+  /**
+   * Mark the specified subscriptions as done.
+   * This is invoked when the stage terminates so that the subscriptions no longer report that they are active.
+   *
+   * @param subscription         the subscription passed to the target, if any.
+   * @param returnedSubscription the subscription returned to the caller, if any.
+   */
+  static void markAsDone( @Nullable final Subscription subscription,
+                          @Nullable final Subscription returnedSubscription )
+  {
+    if ( null != subscription )
+    {
+      subscription.markAsDone();
+    }
+    if ( null != returnedSubscription )
+    {
+      returnedSubscription.markAsDone();
+    }
+  }
+
+  @Override
+  public void onItem( @Nonnull final T item )
+  {
+    _metrics.recordItem();
+    if ( _registry.isItemTimingEnabled() )
+    {
+      final long start = System.nanoTime();
+      try
+      {
+        _target.onItem( item );
+      }
+      finally
+      {
+        _metrics.recordItemTime( System.nanoTime() - start );
+      }
+    }
+    else
+    {
+      _target.onItem( item );
+    }
+  }
+
+  /**
+   * Record the batch of items and pass the batch to the target so that metrics do not disable batching.
+   */
+  @Override
+  public void onItems( @Nonnull final T[] items, final int offset, final int count )
+  {
+    _metrics.recordItems( count );
+    if ( _registry.isItemTimingEnabled() )
+    {
+      final long start = System.nanoTime();
+      try
+      {
+        _target.onItems( items, offset, count );
+      }
+      finally
+      {
+        _metrics.recordItemTime( System.nanoTime() - start );
+      }
+    }
+    else
+    {
+      _target.onItems( items, offset, count );
+    }
+  }
+
+  @Override
+  public void onError( @Nonnull final Throwable error )
+  {
+    _terminated = true;
+    markAsDone( _subscription, _returnedSubscription );
+    _metrics.recordError();
+    _target.onError( error );
+  }
+
+  @Override
+  public void onComplete()
+  {
+    _terminated = true;
+    markAsDone( _subscription, _returnedSubscription );
+    _metrics.recordComplete();
+    _target.onComplete();
+  }
+
+  private static final class WorkerSubscription
+    extends Subscription
+  {
+    @Nonnull
+    private final StageMetrics _metrics;
+    @Nonnull
+    private final Subscription _subscription;
+
+    WorkerSubscription( @Nonnull final StageMetrics metrics, @Nonnull final Subscription subscription )
+    {
+      _metrics = Objects.requireNonNull( metrics );
+      _subscription = Objects.requireNonNull( subscription );
+    }
+
+    @Override
+    void doCancel()
+    {
+      if ( _subscription.isNotDone() )
+      {
+        _metrics.recordCancel();
+      }
+      _subscription.cancel();
+    }
+
+    @Override
+    void doRequest( final long count )
+    {
+      _subscription.request( count );
+    }
+
+    @Override
+    boolean isCancelThreadSafe()
+    {
+      return _subscription.isCancelThreadSafe();
+    }
+
+    @Override
+    String getQualifiedName()
+    {
+      return _subscription.getQualifiedName();
+    }
+  }
+}
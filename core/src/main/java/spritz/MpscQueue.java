@@ -0,0 +1,99 @@
+package spritz;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * An unbounded lock-free queue that supports multiple producer threads and a single consumer thread.
+ * Producers link a new node at the tail with a single atomic swap and never wait on each other or on the
+ * consumer. The consumer is the only thread that reads from the head.
+ */
+@GwtIncompatible
+final class MpscQueue<T>
+{
+  /**
+   * The most recently added node. Producers swap themselves in as the tail.
+   */
+  @Nonnull
+  private final AtomicReference<Node<T>> _tail;
+  /**
+   * The node before the next node to be consumed. Only accessed by the consumer.
+   */
+  @Nonnull
+  private Node<T> _head;
+
+  MpscQueue()
+  {
+    final Node<T> node = new Node<>( null );
+    _head = node;
+    _tail = new AtomicReference<>( node );
+  }
+
+  /**
+   * Add the value to the queue. This may be invoked from any thread.
+   *
+   * @param value the value.
+   */
+  void offer( @Nonnull final T value )
+  {
+    final Node<T> node = new Node<>( Objects.requireNonNull( value ) );
+    final Node<T> previous = _tail.getAndSet( node );
+    // Until this write completes the consumer can not see the node or any node added after it
+    previous.lazySet( node );
+  }
+
+  /**
+   * Return the value at the head of the queue without removing it. This must only be invoked by the consumer thread.
+   *
+   * @return the value or null if the queue is empty.
+   */
+  @Nullable
+  T peek()
+  {
+    final Node<T> next = _head.get();
+    return null == next ? null : next._value;
+  }
+
+  /**
+   * Remove and return the value at the head of the queue. This must only be invoked by the consumer thread.
+   * A producer that has swapped in a new tail but is yet to link it may make the queue appear empty. In that
+   * scenario the producer will have yet to signal the consumer and thus the value is not lost.
+   *
+   * @return the value or null if the queue is empty.
+   */
+  @Nullable
+  T poll()
+  {
+    final Node<T> next = _head.get();
+    if ( null == next )
+    {
+      return null;
+    }
+    else
+    {
+      final T value = next._value;
+      // Release the value so that it can be garbage collected while the node is retained as the head
+      next._value = null;
+      _head = next;
+      return value;
+    }
+  }
+
+  /**
+   * A node in the queue. The node extends AtomicReference to hold the link to the next node and avoid
+   * allocating a separate reference per node.
+   */
+  private static final class Node<T>
+    extends AtomicReference<Node<T>>
+  {
+    @Nullable
+    private T _value;
+
+    Node( @Nullable final T value )
+    {
+      _value = value;
+    }
+  }
+}
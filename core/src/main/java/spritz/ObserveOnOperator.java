@@ -1,23 +1,67 @@
 package spritz;
 
+import java.util.Arrays;
 import java.util.Objects;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import zemeckis.VirtualProcessorUnit;
+import zemeckis.Zemeckis;
 
 final class ObserveOnOperator<T>
   extends AbstractStream<T, T>
 {
+  /**
+   * The default maximum number of items emitted in a single task before yielding to the VPU.
+   */
+  static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+  /**
+   * The number of items requested from upstream before they are observed. If the upstream supports the
+   * demand protocol then the buffer will never contain more than this number of items.
+   */
+  static final int PREFETCH = 128;
   @Nonnull
   private final VirtualProcessorUnit _virtualProcessorUnit;
+  private final int _maxBatchSize;
+  /**
+   * The maximum number of items buffered. A value of 0 indicates that the buffer is unbounded.
+   */
+  private final int _capacity;
+  /**
+   * The strategy applied when an item is received and the buffer is full.
+   */
+  @Nonnull
+  private final OverflowStrategy _overflowStrategy;
 
   ObserveOnOperator( @Nullable final String name,
                      @Nonnull final Stream<T> upstream,
-                     @Nonnull final VirtualProcessorUnit virtualProcessorUnit )
+                     @Nonnull final VirtualProcessorUnit virtualProcessorUnit,
+                     final int maxBatchSize )
   {
-    super( Spritz.areNamesEnabled() ? generateName( name, "observeOn", virtualProcessorUnit.getName() ) : null,
+    this( name, upstream, virtualProcessorUnit, maxBatchSize, 0, OverflowStrategy.ERROR );
+  }
+
+  ObserveOnOperator( @Nullable final String name,
+                     @Nonnull final Stream<T> upstream,
+                     @Nonnull final VirtualProcessorUnit virtualProcessorUnit,
+                     final int maxBatchSize,
+                     final int capacity,
+                     @Nonnull final OverflowStrategy overflowStrategy )
+  {
+    super( Spritz.areNamesEnabled() ?
+           generateName( name,
+                         "observeOn",
+                         virtualProcessorUnit.getName() +
+                         ( DEFAULT_MAX_BATCH_SIZE == maxBatchSize ? "" : "," + maxBatchSize ) +
+                         ( 0 == capacity ? "" : "," + capacity + "," + overflowStrategy ) ) :
+           null,
            upstream );
+    assert maxBatchSize > 0;
+    assert capacity >= 0;
+    ensureOverflowStrategyDoesNotBlock( overflowStrategy );
     _virtualProcessorUnit = Objects.requireNonNull( virtualProcessorUnit );
+    _maxBatchSize = maxBatchSize;
+    _capacity = capacity;
+    _overflowStrategy = Objects.requireNonNull( overflowStrategy );
   }
 
   @Nonnull
@@ -32,14 +76,37 @@ final class ObserveOnOperator<T>
   private static final class WorkerSubscription<T>
     extends PassThroughSubscription<T, ObserveOnOperator<T>>
   {
-    static final int INITIAL_CAPACITY = 10;
+    static final int INITIAL_CAPACITY = 16;
     @Nullable
     private Subscription _subscription;
     @Nullable
     private CircularBuffer<T> _buffer;
+    /**
+     * The array into which buffered items are copied before they are emitted as a batch.
+     */
+    @Nullable
+    private T[] _batch;
     @Nullable
     private Throwable _error;
     private boolean _complete;
+    /**
+     * The number of items requested by downstream that have yet to be emitted.
+     */
+    private long _requested;
+    /**
+     * Flag set when the downstream subscriber has requested items using the demand protocol.
+     */
+    private boolean _demandRequested;
+    /**
+     * Flag set when a task has been queued on the VPU to observe the buffered items and signals.
+     * At most one task is queued at any one time.
+     */
+    private boolean _observeScheduled;
+    /**
+     * Flag set while the items and signals are being observed. Signals received while observing are
+     * picked up by the current task rather than scheduling another task.
+     */
+    private boolean _observing;
 
     WorkerSubscription( @Nonnull final ObserveOnOperator<T> stream, @Nonnull final Subscriber<? super T> subscriber )
     {
@@ -49,7 +116,11 @@ final class ObserveOnOperator<T>
     @Override
     public void onSubscribe( @Nonnull final Subscription subscription )
     {
+      setUpstream( subscription );
       _subscription = subscription;
+      final int capacity = getStream()._capacity;
+      // Avoid requesting more items than can be buffered when the upstream supports the demand protocol
+      subscription.request( 0 == capacity ? PREFETCH : Math.min( PREFETCH, capacity ) );
       scheduleObserve();
     }
 
@@ -58,9 +129,18 @@ final class ObserveOnOperator<T>
     {
       if ( null == _buffer )
       {
-        _buffer = new CircularBuffer<>( INITIAL_CAPACITY );
+        _buffer = new CircularBuffer<>( INITIAL_CAPACITY, CircularBuffer.DEFAULT_SHRINK_AFTER_DRAINS );
+      }
+      final ObserveOnOperator<T> stream = getStream();
+      if ( !Spritz.offer( stream, _buffer, item, stream._capacity, stream._overflowStrategy ) )
+      {
+        if ( null == _error && !_complete )
+        {
+          // The buffered items are emitted prior to the error
+          _error = new BufferOverflowException();
+          getUpstream().cancel();
+        }
       }
-      _buffer.add( item );
       scheduleObserve();
     }
 
@@ -78,9 +158,47 @@ final class ObserveOnOperator<T>
       scheduleObserve();
     }
 
+    @Override
+    void doRequest( final long count )
+    {
+      _demandRequested = true;
+      _requested = addDemand( _requested, count );
+      if ( null == _subscription && null != _buffer && !_buffer.isEmpty() )
+      {
+        scheduleObserve();
+      }
+    }
+
     private void scheduleObserve()
     {
-      getStream()._virtualProcessorUnit.queue( Spritz.areNamesEnabled() ? getStream().getName() : null, this::observe );
+      if ( !_observing && !_observeScheduled )
+      {
+        _observeScheduled = true;
+        queueObserve();
+      }
+    }
+
+    private void queueObserve()
+    {
+      getStream()._virtualProcessorUnit.queue( Spritz.areNamesEnabled() ? getStream().getName() : null,
+                                               this::observe );
+    }
+
+    /**
+     * Continue observing in a later activation of the VPU so that other tasks get a chance to run.
+     * Queueing directly on the VPU would run the task in the current activation.
+     */
+    private void yieldObserve()
+    {
+      _observeScheduled = true;
+      Zemeckis.delayedTask( Spritz.areNamesEnabled() ? getStream().getName() : null, this::queueObserve, 0 );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    @Nonnull
+    private T[] newBatch()
+    {
+      return (T[]) new Object[ Math.min( MAX_BATCH_SIZE, getStream()._maxBatchSize ) ];
     }
 
     /**
@@ -89,26 +207,75 @@ final class ObserveOnOperator<T>
      */
     private void observe()
     {
+      _observeScheduled = false;
+      _observing = true;
       if ( null != _subscription )
       {
-        super.onSubscribe( _subscription );
-      }
-      if ( null != _buffer )
-      {
-        T item;
-        while ( null != ( item = _buffer.pop() ) )
+        _subscription = null;
+        getSubscriber().onSubscribe( this );
+        if ( !_demandRequested )
         {
-          super.onItem( item );
+          _requested = UNBOUNDED;
         }
       }
-      if ( null != _error )
+      final int maxBatchSize = getStream()._maxBatchSize;
+      int observed = 0;
+      // The number of observed items that have yet to be requested from upstream
+      int unreplenished = 0;
+      while ( isNotDone() )
       {
-        super.onError( _error );
+        final boolean isBufferEmpty = null == _buffer || _buffer.isEmpty();
+        if ( !isBufferEmpty && 0 != _requested )
+        {
+          if ( observed == maxBatchSize )
+          {
+            yieldObserve();
+            break;
+          }
+          assert null != _buffer;
+          if ( null == _batch )
+          {
+            _batch = newBatch();
+          }
+          final int maxCount =
+            (int) Math.min( maxBatchSize - observed, UNBOUNDED == _requested ? Integer.MAX_VALUE : _requested );
+          final int count = _buffer.pop( _batch, maxCount );
+          if ( UNBOUNDED != _requested )
+          {
+            _requested -= count;
+          }
+          observed += count;
+          unreplenished += count;
+          emitItems( _batch, 0, count );
+          // Release the references so that the items can be garbage collected
+          Arrays.fill( _batch, 0, count, null );
+        }
+        else if ( isBufferEmpty && null != _error )
+        {
+          super.onError( _error );
+        }
+        else if ( isBufferEmpty && _complete )
+        {
+          super.onComplete();
+        }
+        else if ( 0 != unreplenished )
+        {
+          // Replace the items that were observed so that the upstream keeps the buffer topped up.
+          // A synchronous upstream will add the items to the buffer before the request returns.
+          final int count = unreplenished;
+          unreplenished = 0;
+          getUpstream().request( count );
+        }
+        else
+        {
+          break;
+        }
       }
-      else if ( _complete )
+      if ( 0 != unreplenished && isNotDone() )
       {
-        super.onComplete();
+        getUpstream().request( unreplenished );
       }
+      _observing = false;
     }
   }
 }
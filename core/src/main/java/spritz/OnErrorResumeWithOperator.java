@@ -32,6 +32,18 @@ final class OnErrorResumeWithOperator<T>
     extends PassThroughSubscription<T, OnErrorResumeWithOperator<T>>
   {
     private boolean _downstreamSubscribed;
+    /**
+     * The error received from the current upstream that has yet to be processed.
+     */
+    @Nullable
+    private Throwable _pendingError;
+    /**
+     * The number of errors received while an error is being processed.
+     * A replacement stream that errors synchronously re-enters {@link #onError(Throwable)} and this
+     * counter allows the outermost invocation to subscribe to the next replacement stream in a loop
+     * rather than recursing, so that the stack depth is constant.
+     */
+    private int _wip;
 
     WorkerSubscription( @Nonnull final OnErrorResumeWithOperator<T> stream,
                         @Nonnull final Subscriber<? super T> subscriber )
@@ -53,8 +65,35 @@ final class OnErrorResumeWithOperator<T>
       }
     }
 
+    /**
+     * The replacement stream is subscribed without any outstanding demand so demand is not
+     * propagated and upstreams emit items without bound.
+     */
+    @Override
+    void doRequest( final long count )
+    {
+    }
+
     @Override
     public void onError( @Nonnull final Throwable error )
+    {
+      _pendingError = error;
+      if ( 0 == _wip++ )
+      {
+        do
+        {
+          final Throwable pendingError = _pendingError;
+          _pendingError = null;
+          if ( null != pendingError )
+          {
+            resume( pendingError );
+          }
+        }
+        while ( 0 != --_wip );
+      }
+    }
+
+    private void resume( @Nonnull final Throwable error )
     {
       try
       {
@@ -0,0 +1,32 @@
+package spritz;
+
+/**
+ * The strategy applied when an item is added to a bounded buffer that is full.
+ * Items that are discarded are reported to the {@link DroppedItemHandler} registered via
+ * {@link Spritz#setDroppedItemHandler(DroppedItemHandler)}.
+ */
+public enum OverflowStrategy
+{
+  /**
+   * Discard the oldest item in the buffer and add the new item.
+   */
+  DROP_OLDEST,
+  /**
+   * Discard the new item.
+   */
+  DROP_NEWEST,
+  /**
+   * Discard every item in the buffer and add the new item so that only the latest item is retained.
+   */
+  LATEST,
+  /**
+   * Discard the new item, cancel the upstream and emit a {@link BufferOverflowException}.
+   */
+  ERROR,
+  /**
+   * Block the thread emitting the new item until there is space in the buffer.
+   * This is only supported by stages that observe items using an {@link java.util.concurrent.Executor}
+   * as blocking the only thread would otherwise deadlock.
+   */
+  BLOCK
+}
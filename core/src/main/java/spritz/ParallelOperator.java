@@ -0,0 +1,401 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import zemeckis.VirtualProcessorUnit;
+
+/**
+ * Split the items from upstream across rails, transform the items on each rail and merge the rails.
+ * Items are assigned to rails in round-robin order or, if a key function is supplied, to the rail
+ * selected by the hash of the item's key so that items with the same key are processed in order.
+ * Each rail is a subject that observes items on the rail's scheduling context. The rails are merged
+ * using {@link MergeOperator}. In ordered mode, the items are emitted in the order in which they were
+ * received from upstream.
+ */
+final class ParallelOperator<T>
+  extends AbstractStream<Object, T>
+{
+  private final int _rails;
+  @Nonnull
+  private final RailScheduler _scheduler;
+  /**
+   * The function applied to each item on a rail. The function returns null if the item is filtered.
+   */
+  @Nonnull
+  private final Function<Object, T> _railFn;
+  /**
+   * The function used to derive the key that selects the rail for an item.
+   * If null then items are assigned to rails in round-robin order.
+   */
+  @Nullable
+  private final Function<Object, ?> _keyFn;
+  private final boolean _ordered;
+
+  ParallelOperator( @Nullable final String name,
+                    @Nonnull final Stream<Object> upstream,
+                    final int rails,
+                    @Nonnull final RailScheduler scheduler,
+                    @Nonnull final Function<Object, T> railFn,
+                    @Nullable final Function<Object, ?> keyFn,
+                    final boolean ordered )
+  {
+    super( Spritz.areNamesEnabled() ?
+           generateName( name, ordered ? "sequentialOrdered" : "sequential", String.valueOf( rails ) ) :
+           null,
+           upstream );
+    assert rails > 0;
+    _rails = rails;
+    _scheduler = Objects.requireNonNull( scheduler );
+    _railFn = Objects.requireNonNull( railFn );
+    _keyFn = keyFn;
+    _ordered = ordered;
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
+  {
+    final List<Subject<Envelope>> sources = new ArrayList<>( _rails );
+    final List<Stream<Envelope>> rails = new ArrayList<>( _rails );
+    final UnaryOperator<Stream<Envelope>> join = _scheduler.newJoin();
+    for ( int i = 0; i < _rails; i++ )
+    {
+      final Subject<Envelope> source = Stream.subject();
+      sources.add( source );
+      rails.add( join.apply( _scheduler.toRail( source, i ).map( this::applyRailFn ) ) );
+    }
+    final WorkerSubscription<T> subscription = new WorkerSubscription<>( this, subscriber );
+    Stream.fromCollection( rails ).compose( o -> new MergeOperator<>( null, o, _rails ) ).subscribe( subscription );
+    if ( subscription.isNotDone() )
+    {
+      getUpstream().subscribe( new Splitter( subscription._splitterCanceller, sources, _keyFn ) );
+    }
+    return subscription;
+  }
+
+  @Nonnull
+  private Envelope applyRailFn( @Nonnull final Envelope envelope )
+  {
+    assert null != envelope._value;
+    envelope._value = _railFn.apply( envelope._value );
+    return envelope;
+  }
+
+  /**
+   * The context on which the items for each rail are observed.
+   */
+  interface RailScheduler
+  {
+    /**
+     * Return a stream that observes the specified rail on the rail's scheduling context.
+     */
+    @Nonnull
+    Stream<Envelope> toRail( @Nonnull Stream<Envelope> stream, int rail );
+
+    /**
+     * Return the function applied to each rail before the rails are merged.
+     * This is invoked once per subscription.
+     */
+    @Nonnull
+    UnaryOperator<Stream<Envelope>> newJoin();
+  }
+
+  /**
+   * Observe rails on VirtualProcessorUnits. The VirtualProcessorUnits all run on the same thread and
+   * thus the rails can be merged without changing context.
+   */
+  static final class VirtualProcessorUnitRailScheduler
+    implements RailScheduler
+  {
+    @Nonnull
+    private final VirtualProcessorUnit[] _virtualProcessorUnits;
+
+    VirtualProcessorUnitRailScheduler( @Nonnull final VirtualProcessorUnit[] virtualProcessorUnits )
+    {
+      assert virtualProcessorUnits.length > 0;
+      _virtualProcessorUnits = Objects.requireNonNull( virtualProcessorUnits );
+    }
+
+    @Nonnull
+    @Override
+    public Stream<Envelope> toRail( @Nonnull final Stream<Envelope> stream, final int rail )
+    {
+      return stream.observeOn( _virtualProcessorUnits[ rail % _virtualProcessorUnits.length ] );
+    }
+
+    @Nonnull
+    @Override
+    public UnaryOperator<Stream<Envelope>> newJoin()
+    {
+      return UnaryOperator.identity();
+    }
+  }
+
+  /**
+   * Observe rails using executors. The rails may be observed on different threads and thus the rails
+   * are merged on a serial executor over the first executor so that the merged items are emitted serially.
+   */
+  @GwtIncompatible
+  static final class ExecutorRailScheduler
+    implements RailScheduler
+  {
+    @Nonnull
+    private final Executor[] _executors;
+
+    ExecutorRailScheduler( @Nonnull final Executor[] executors )
+    {
+      assert executors.length > 0;
+      _executors = Objects.requireNonNull( executors );
+    }
+
+    @Nonnull
+    @Override
+    public Stream<Envelope> toRail( @Nonnull final Stream<Envelope> stream, final int rail )
+    {
+      return stream.observeOn( _executors[ rail % _executors.length ] );
+    }
+
+    @Nonnull
+    @Override
+    public UnaryOperator<Stream<Envelope>> newJoin()
+    {
+      final SerialExecutor executor = new SerialExecutor( _executors[ 0 ] );
+      return s -> s.observeOn( executor );
+    }
+  }
+
+  /**
+   * The container for an item as it passes along a rail.
+   */
+  static final class Envelope
+  {
+    private final int _rail;
+    /**
+     * The position of the item in the upstream stream.
+     * The value may overflow which is fine as it is only compared for equality.
+     */
+    private final int _sequence;
+    /**
+     * The item. This is null if the item was filtered on the rail.
+     */
+    @Nullable
+    private Object _value;
+
+    Envelope( final int rail, final int sequence, @Nonnull final Object value )
+    {
+      _rail = rail;
+      _sequence = sequence;
+      _value = value;
+    }
+  }
+
+  /**
+   * The subscriber to upstream that assigns items to rails.
+   */
+  private static final class Splitter
+    implements Subscriber<Object>
+  {
+    /**
+     * The merged subscription may be cancelled on a rail's thread while the upstream may only be
+     * accessed on the thread that emits items unless the upstream may be cancelled on any thread.
+     */
+    @Nonnull
+    private final UpstreamCanceller _canceller;
+    @Nonnull
+    private final List<Subject<Envelope>> _sources;
+    @Nullable
+    private final Function<Object, ?> _keyFn;
+    private int _nextRail;
+    private int _sequence;
+
+    Splitter( @Nonnull final UpstreamCanceller canceller,
+              @Nonnull final List<Subject<Envelope>> sources,
+              @Nullable final Function<Object, ?> keyFn )
+    {
+      _canceller = Objects.requireNonNull( canceller );
+      _sources = Objects.requireNonNull( sources );
+      _keyFn = keyFn;
+    }
+
+    @Override
+    public void onSubscribe( @Nonnull final Subscription subscription )
+    {
+      _canceller.setUpstream( subscription );
+    }
+
+    @Override
+    public void onItem( @Nonnull final Object item )
+    {
+      if ( _canceller.cancelUpstreamIfCancelled() )
+      {
+        return;
+      }
+      final int rails = _sources.size();
+      final int rail;
+      if ( null == _keyFn )
+      {
+        rail = _nextRail;
+        _nextRail = rail + 1 == rails ? 0 : rail + 1;
+      }
+      else
+      {
+        final Object key;
+        try
+        {
+          key = _keyFn.apply( item );
+        }
+        catch ( final Throwable throwable )
+        {
+          onError( throwable );
+          _canceller.cancelUpstream();
+          return;
+        }
+        final int hash = null == key ? 0 : key.hashCode();
+        // Spread the high bits of the hash so that keys that differ only in the high bits use different rails
+        rail = ( ( hash ^ ( hash >>> 16 ) ) & 0x7FFFFFFF ) % rails;
+      }
+      _sources.get( rail ).next( new Envelope( rail, _sequence++, item ) );
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      for ( final Subject<Envelope> source : _sources )
+      {
+        source.error( error );
+      }
+    }
+
+    @Override
+    public void onComplete()
+    {
+      for ( final Subject<Envelope> source : _sources )
+      {
+        source.complete();
+      }
+    }
+  }
+
+  private static final class WorkerSubscription<T>
+    extends AbstractOperatorSubscription<Envelope, T, ParallelOperator<T>>
+  {
+    /**
+     * Cancels the stream that is split across the rails. The cancel occurs on the thread that merges
+     * the rails while the splitter receives items on the upstream thread.
+     */
+    @Nonnull
+    private final UpstreamCanceller _splitterCanceller = new UpstreamCanceller();
+    /**
+     * The items received from each rail that are waiting to be emitted in order.
+     * This is null unless in ordered mode.
+     */
+    @Nullable
+    private final List<CircularBuffer<Envelope>> _pending;
+    /**
+     * The sequence of the next item to emit in ordered mode.
+     */
+    private int _nextSequence;
+
+    WorkerSubscription( @Nonnull final ParallelOperator<T> stream, @Nonnull final Subscriber<? super T> subscriber )
+    {
+      super( stream, subscriber );
+      if ( stream._ordered )
+      {
+        _pending = new ArrayList<>( stream._rails );
+        for ( int i = 0; i < stream._rails; i++ )
+        {
+          _pending.add( new CircularBuffer<>( 16, CircularBuffer.DEFAULT_SHRINK_AFTER_DRAINS ) );
+        }
+      }
+      else
+      {
+        _pending = null;
+      }
+    }
+
+    @SuppressWarnings( "unchecked" )
+    @Override
+    public void onItem( @Nonnull final Envelope item )
+    {
+      if ( null == _pending )
+      {
+        if ( null != item._value )
+        {
+          getSubscriber().onItem( (T) item._value );
+        }
+      }
+      else
+      {
+        // Each rail receives items in upstream order so the next item is at the head of one of the rails
+        _pending.get( item._rail ).add( item );
+        Envelope envelope;
+        while ( isNotDone() && null != ( envelope = nextPending() ) )
+        {
+          _nextSequence++;
+          if ( null != envelope._value )
+          {
+            getSubscriber().onItem( (T) envelope._value );
+          }
+        }
+      }
+    }
+
+    /**
+     * Remove and return the envelope for the next item to emit in ordered mode if it has been received.
+     */
+    @Nullable
+    private Envelope nextPending()
+    {
+      assert null != _pending;
+      for ( final CircularBuffer<Envelope> pending : _pending )
+      {
+        final Envelope envelope = pending.peek();
+        if ( null != envelope && _nextSequence == envelope._sequence )
+        {
+          return pending.pop();
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      cancelSplitter();
+      super.onError( error );
+    }
+
+    @Override
+    public void onComplete()
+    {
+      cancelSplitter();
+      super.onComplete();
+    }
+
+    @Override
+    void doCancel()
+    {
+      cancelSplitter();
+      super.doCancel();
+    }
+
+    /**
+     * The rails do not support the demand protocol so downstream demand is ignored.
+     */
+    @Override
+    void doRequest( final long count )
+    {
+    }
+
+    private void cancelSplitter()
+    {
+      _splitterCanceller.cancel();
+    }
+  }
+}
@@ -0,0 +1,170 @@
+package spritz;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A stream whose items are split across several rails that are processed concurrently.
+ * A parallel stream is created by {@link Stream#parallel(int, zemeckis.VirtualProcessorUnit...)} or
+ * {@link Stream#partitionBy(Function, int, zemeckis.VirtualProcessorUnit...)} and the map, filter and
+ * peek stages added to the parallel stream are applied on each rail. The rails are merged back into a
+ * single stream using {@link #sequential()} or {@link #sequentialOrdered()}.
+ *
+ * @param <T> the type of the items on the rails.
+ */
+public final class ParallelStream<T>
+{
+  @Nonnull
+  private final Stream<Object> _upstream;
+  private final int _rails;
+  @Nonnull
+  private final ParallelOperator.RailScheduler _scheduler;
+  /**
+   * The function applied to each item on a rail. The function returns null if the item has been filtered out.
+   */
+  @Nonnull
+  private final Function<Object, T> _railFn;
+  /**
+   * The function used to derive the key that selects the rail for an item.
+   * If null then items are assigned to rails in round-robin order.
+   */
+  @Nullable
+  private final Function<Object, ?> _keyFn;
+
+  ParallelStream( @Nonnull final Stream<Object> upstream,
+                  final int rails,
+                  @Nonnull final ParallelOperator.RailScheduler scheduler,
+                  @Nonnull final Function<Object, T> railFn,
+                  @Nullable final Function<Object, ?> keyFn )
+  {
+    assert rails > 0;
+    _upstream = Objects.requireNonNull( upstream );
+    _rails = rails;
+    _scheduler = Objects.requireNonNull( scheduler );
+    _railFn = Objects.requireNonNull( railFn );
+    _keyFn = keyFn;
+  }
+
+  /**
+   * Return the number of rails that the items are split across.
+   *
+   * @return the number of rails.
+   */
+  public int getRails()
+  {
+    return _rails;
+  }
+
+  /**
+   * Transform the items on each rail by applying a mapper function to each item.
+   * The mapper function must not return null. If it does then the merged stream emits a
+   * {@link NullPointerException} as an error.
+   *
+   * @param <DownstreamT> the type of the items that the mapper emits.
+   * @param mapper        the function to use to map the items.
+   * @return the new parallel stream.
+   * @see Stream#map(Function)
+   */
+  @Nonnull
+  public <DownstreamT> ParallelStream<DownstreamT> map( @Nonnull final Function<T, DownstreamT> mapper )
+  {
+    return andThen( FusedOperator.nonNullMapper( mapper ) );
+  }
+
+  /**
+   * Filter the items on each rail if the predicate does not return true.
+   *
+   * @param predicate the predicate function.
+   * @return the new parallel stream.
+   * @see Stream#filter(Predicate)
+   */
+  @Nonnull
+  public ParallelStream<T> filter( @Nonnull final Predicate<? super T> predicate )
+  {
+    Objects.requireNonNull( predicate );
+    return andThen( item -> predicate.test( item ) ? item : null );
+  }
+
+  /**
+   * Invoke an action for each item on each rail.
+   * The action is invoked on the rail and thus may be invoked concurrently for different items.
+   *
+   * @param action the action to perform.
+   * @return the new parallel stream.
+   * @see Stream#peek(Consumer)
+   */
+  @Nonnull
+  public ParallelStream<T> peek( @Nonnull final Consumer<? super T> action )
+  {
+    Objects.requireNonNull( action );
+    return andThen( item -> {
+      action.accept( item );
+      return item;
+    } );
+  }
+
+  /**
+   * Merge the rails into a single stream that emits items in the order in which they are processed.
+   * Items on the same rail are emitted in the order in which they were emitted by the upstream stream.
+   *
+   * @return the new stream.
+   */
+  @Nonnull
+  public Stream<T> sequential()
+  {
+    return sequential( null );
+  }
+
+  /**
+   * Merge the rails into a single stream that emits items in the order in which they are processed.
+   *
+   * @param name the name specified by the user.
+   * @return the new stream.
+   */
+  @Nonnull
+  public Stream<T> sequential( @Nullable final String name )
+  {
+    return new ParallelOperator<>( name, _upstream, _rails, _scheduler, _railFn, _keyFn, false );
+  }
+
+  /**
+   * Merge the rails into a single stream that emits items in the order in which they were emitted
+   * by the upstream stream. Items that have been processed are buffered until the items that precede
+   * them have been processed.
+   *
+   * @return the new stream.
+   */
+  @Nonnull
+  public Stream<T> sequentialOrdered()
+  {
+    return sequentialOrdered( null );
+  }
+
+  /**
+   * Merge the rails into a single stream that emits items in the order in which they were emitted
+   * by the upstream stream. Items that have been processed are buffered until the items that precede
+   * them have been processed.
+   *
+   * @param name the name specified by the user.
+   * @return the new stream.
+   */
+  @Nonnull
+  public Stream<T> sequentialOrdered( @Nullable final String name )
+  {
+    return new ParallelOperator<>( name, _upstream, _rails, _scheduler, _railFn, _keyFn, true );
+  }
+
+  @Nonnull
+  private <DownstreamT> ParallelStream<DownstreamT> andThen( @Nonnull final Function<T, DownstreamT> function )
+  {
+    final Function<Object, T> first = _railFn;
+    return new ParallelStream<>( _upstream, _rails, _scheduler, item -> {
+      final T intermediate = first.apply( item );
+      return null == intermediate ? null : function.apply( intermediate );
+    }, _keyFn );
+  }
+}
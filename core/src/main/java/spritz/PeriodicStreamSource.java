@@ -9,12 +9,20 @@ final class PeriodicStreamSource
   extends Stream<Integer>
 {
   private final int _period;
+  /**
+   * The boundary that the items are aligned to or 0 if the items are not aligned.
+   */
+  private final int _alignTo;
 
-  PeriodicStreamSource( @Nullable final String name, final int period )
+  PeriodicStreamSource( @Nullable final String name, final int period, final int alignTo )
   {
-    super( Spritz.areNamesEnabled() ? generateName( name, "periodic", String.valueOf( period ) ) : null );
+    super( Spritz.areNamesEnabled() ?
+           generateName( name, "periodic", period + ( 0 == alignTo ? "" : ",alignTo=" + alignTo ) ) :
+           null );
     assert period >= 0;
+    assert alignTo >= 0;
     _period = period;
+    _alignTo = alignTo;
   }
 
   @Nonnull
@@ -42,14 +50,17 @@ final class PeriodicStreamSource
 
     synchronized void startTimer()
     {
-      _task = Zemeckis.periodicTask( Spritz.areNamesEnabled() ? getStream().getName() : null,
-                                     this::pushItem,
-                                     getStream()._period );
+      final PeriodicStreamSource stream = getStream();
+      _task = TimerRegistry.register( stream._period, stream._alignTo, this::pushItem );
     }
 
     synchronized void pushItem()
     {
-      assert null != _task;
+      if ( null == _task )
+      {
+        // The subscription was cancelled while the shared timer was invoking the ticks
+        return;
+      }
       final int value = _counter++;
       try
       {
@@ -46,29 +46,30 @@ final class RangeStreamSource
   }
 
   private static final class WorkerSubscription
-    extends AbstractStreamSubscription<Integer, RangeStreamSource>
+    extends AbstractSourceSubscription<Integer, RangeStreamSource>
   {
+    /**
+     * The number of items emitted so far.
+     */
+    private int _emitted;
+
     WorkerSubscription( @Nonnull final RangeStreamSource stream, @Nonnull final Subscriber<? super Integer> subscriber )
     {
       super( stream, subscriber );
     }
 
-    void pushData()
+    @Override
+    boolean hasNextItem()
+    {
+      return _emitted < getStream()._count;
+    }
+
+    @Override
+    void pushNextItem( @Nonnull final Subscriber<? super Integer> subscriber )
     {
-      final RangeStreamSource stream = getStream();
-      final int start = stream._start;
-      final int end = start + stream._count - 1;
-      int current = start;
-      while ( current <= end && isNotDone() )
-      {
-        final int value = current;
-        current++;
-        getSubscriber().onItem( value );
-      }
-      if ( isNotDone() )
-      {
-        getSubscriber().onComplete();
-      }
+      final int value = getStream()._start + _emitted;
+      _emitted++;
+      subscriber.onItem( value );
     }
   }
 }
@@ -2,13 +2,48 @@ package spritz;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import zemeckis.Cancelable;
+import zemeckis.Zemeckis;
 
 final class RefCountOperator<T>
   extends AbstractStream<T, T>
 {
+  /**
+   * The number of subscribers required before the connectable stream is connected.
+   */
+  private final int _minSubscribers;
+  /**
+   * The duration in milliseconds that the number of subscribers must remain below the minimum
+   * before the connectable stream is disconnected. A value of 0 indicates that the connectable
+   * stream is disconnected as soon as the number of subscribers drops below the minimum.
+   */
+  private final int _lingerMillis;
+  /**
+   * The task that will disconnect the connectable stream, if any.
+   */
+  @Nullable
+  private Cancelable _pendingDisconnect;
+
   RefCountOperator( @Nullable final String name, @Nonnull final ConnectableStream<T> upstream )
   {
-    super( Spritz.areNamesEnabled() ? generateName( name, "refCount" ) : null, upstream );
+    this( name, upstream, 1, 0 );
+  }
+
+  RefCountOperator( @Nullable final String name,
+                    @Nonnull final ConnectableStream<T> upstream,
+                    final int minSubscribers,
+                    final int lingerMillis )
+  {
+    super( Spritz.areNamesEnabled() ?
+           generateName( name,
+                         "refCount",
+                         1 == minSubscribers && 0 == lingerMillis ? null : minSubscribers + "," + lingerMillis ) :
+           null,
+           upstream );
+    assert minSubscribers > 0;
+    assert lingerMillis >= 0;
+    _minSubscribers = minSubscribers;
+    _lingerMillis = lingerMillis;
   }
 
   @Nonnull
@@ -20,6 +55,69 @@ final class RefCountOperator<T>
     return subscription;
   }
 
+  @Nonnull
+  private ConnectableStream<T> getConnectableStream()
+  {
+    return (ConnectableStream<T>) getUpstream();
+  }
+
+  /**
+   * Invoked when a subscriber is about to be added to the hub.
+   * Cancel any pending disconnect or connect if there are now enough subscribers.
+   */
+  private void onSubscriberAdded()
+  {
+    final ConnectableStream<T> stream = getConnectableStream();
+    // The subscription is added to the hub after onSubscribe() returns so add 1 to the count
+    if ( stream.getHub().getDownstreamSubscriberCount() + 1 >= _minSubscribers )
+    {
+      if ( null != _pendingDisconnect )
+      {
+        _pendingDisconnect.cancel();
+        _pendingDisconnect = null;
+      }
+      else if ( !stream.isConnected() )
+      {
+        stream.connect();
+      }
+    }
+  }
+
+  /**
+   * Invoked when a subscriber has been removed from the hub.
+   * Disconnect, possibly after the linger period, if there are no longer enough subscribers.
+   */
+  private void onSubscriberRemoved()
+  {
+    final ConnectableStream<T> stream = getConnectableStream();
+    if ( stream.isConnected() &&
+         null == _pendingDisconnect &&
+         stream.getHub().getDownstreamSubscriberCount() < _minSubscribers )
+    {
+      if ( 0 == _lingerMillis )
+      {
+        stream.disconnect();
+      }
+      else
+      {
+        _pendingDisconnect =
+          Zemeckis.delayedTask( Spritz.areNamesEnabled() ? getName() + ".disconnect" : null,
+                                this::onLingerExpired,
+                                _lingerMillis );
+      }
+    }
+  }
+
+  private void onLingerExpired()
+  {
+    _pendingDisconnect = null;
+    final ConnectableStream<T> stream = getConnectableStream();
+    if ( stream.isConnected() && stream.getHub().getDownstreamSubscriberCount() < _minSubscribers )
+    {
+      stream.disconnect();
+    }
+  }
+
   private static final class WorkerSubscription<T>
     extends PassThroughSubscription<T, RefCountOperator<T>>
   {
@@ -32,12 +130,10 @@ final class RefCountOperator<T>
     @Override
     public void onSubscribe( @Nonnull final Subscription subscription )
     {
-      final ConnectableStream<T> stream = getConnectableStream();
-      final boolean needsConnect = subjectHasZeroSubscribers( stream );
       super.onSubscribe( subscription );
-      if ( needsConnect )
+      if ( isNotDone() )
       {
-        stream.connect();
+        getStream().onSubscriberAdded();
       }
     }
 
@@ -45,40 +141,21 @@ final class RefCountOperator<T>
     public void onError( @Nonnull final Throwable error )
     {
       super.onError( error );
-      onDone();
+      getStream().onSubscriberRemoved();
     }
 
     @Override
     public void onComplete()
     {
       super.onComplete();
-      onDone();
+      getStream().onSubscriberRemoved();
     }
 
     @Override
     void doCancel()
     {
       super.doCancel();
-      onDone();
-    }
-
-    private void onDone()
-    {
-      final ConnectableStream<T> stream = getConnectableStream();
-      if ( subjectHasZeroSubscribers( stream ) )
-      {
-        stream.disconnect();
-      }
-    }
-
-    boolean subjectHasZeroSubscribers( @Nonnull final ConnectableStream<T> stream )
-    {
-      return !stream.getHub().hasDownstreamSubscribers();
-    }
-
-    private ConnectableStream<T> getConnectableStream()
-    {
-      return (ConnectableStream<T>) getStream().getUpstream();
+      getStream().onSubscriberRemoved();
     }
   }
 }
@@ -1,23 +1,47 @@
 package spritz;
 
-import java.util.Objects;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import zemeckis.Zemeckis;
 
 /**
  * A ReplaySubject records multiple values from the stream execution and replays them to new subscribers.
+ * The items and the times at which they were received are stored in parallel ring arrays so that
+ * recording an item does not allocate unless the arrays need to grow.
  */
 final class ReplaySubject<T>
   extends Subject<T>
 {
   private static final int INITIAL_CAPACITY = 10;
   static final int DEFAULT_VALUE = -1;
-  @Nonnull
-  private final CircularBuffer<Entry<T>> _buffer;
   private final int _maxSize;
   private final int _maxAge;
+  /**
+   * The recorded items.
+   */
+  @Nonnull
+  private T[] _items;
+  /**
+   * The times at which the recorded items were received. Times are non-decreasing from the head of the ring.
+   */
+  @Nonnull
+  private int[] _times;
+  /**
+   * The index of the oldest recorded item.
+   */
+  private int _head;
+  /**
+   * The number of recorded items.
+   */
+  private int _size;
+  /**
+   * The number of items ever recorded. This is used to identify items while replaying as the
+   * ring may be modified if a subscriber passes items to the subject during replay.
+   * The value may overflow which is fine as only the difference between two values is used.
+   */
+  private int _recordCount;
 
+  @SuppressWarnings( "unchecked" )
   ReplaySubject( @Nullable final String name, final int maxSize, final int maxAge )
   {
     super( Spritz.areNamesEnabled() ?
@@ -28,77 +52,140 @@ final class ReplaySubject<T>
            null );
     assert maxSize > 0 || DEFAULT_VALUE == maxSize;
     assert maxAge > 0 || DEFAULT_VALUE == maxAge;
-    _buffer = new CircularBuffer<>( Math.min( Math.max( 1, maxSize ), INITIAL_CAPACITY ) );
     _maxSize = maxSize;
     _maxAge = maxAge;
+    final int capacity = DEFAULT_VALUE == maxSize ? INITIAL_CAPACITY : Math.min( maxSize, INITIAL_CAPACITY );
+    _items = (T[]) new Object[ capacity ];
+    _times = new int[ capacity ];
   }
 
   @Override
   void completeSubscribe( @Nonnull final DownstreamSubscription subscription )
   {
-    final int now = Zemeckis.now();
+    if ( DEFAULT_VALUE != _maxAge )
+    {
+      expire( Zemeckis.now() );
+    }
     final Subscriber<? super T> subscriber = subscription.getSubscriber();
-    final int size = _buffer.size();
-    for ( int i = 0; i < size; i++ )
+    // Items received during replay are not replayed as the subscription has yet to be added to the subject
+    final int end = _recordCount;
+    int sequence = _recordCount - _size;
+    while ( sequence - end < 0 && isNotDone() && subscription.isNotDone() )
     {
-      final Entry<T> entry = _buffer.get( i );
-      assert null != entry;
-      if ( DEFAULT_VALUE == _maxAge || entry.getTime() + _maxAge >= now )
+      final int first = _recordCount - _size;
+      if ( sequence - first < 0 )
       {
-        if ( isNotDone() && subscription.isNotDone() )
+        // Items evicted during replay are skipped
+        sequence = first;
+        if ( sequence - end >= 0 )
         {
-          subscriber.onItem( entry.getItem() );
-        }
-        else
-        {
-          return;
+          break;
         }
       }
+      final T item = _items[ index( sequence - first ) ];
+      assert null != item;
+      sequence++;
+      subscriber.onItem( item );
     }
   }
 
   @Override
   void downstreamNext( @Nonnull final T item )
   {
-    final int size = _buffer.size();
-    if ( DEFAULT_VALUE != _maxSize && size == _maxSize )
+    final int now = Zemeckis.now();
+    if ( DEFAULT_VALUE != _maxAge )
     {
-      _buffer.pop();
+      expire( now );
     }
-    if ( DEFAULT_VALUE != _maxAge && size == _buffer.getCapacity() )
+    if ( DEFAULT_VALUE != _maxSize && _size == _maxSize )
     {
-      final Entry<T> peek = _buffer.peek();
-      assert null != peek;
-      if ( peek._time + _maxAge < Zemeckis.now() )
-      {
-        _buffer.pop();
-      }
+      removeHead( 1 );
     }
-    _buffer.add( new Entry<>( Zemeckis.now(), item ) );
+    else if ( _size == _items.length )
+    {
+      grow();
+    }
+    final int index = index( _size );
+    _items[ index ] = item;
+    _times[ index ] = now;
+    _size++;
+    _recordCount++;
     super.downstreamNext( item );
   }
 
-  private static final class Entry<T>
+  /**
+   * Return the index in the ring arrays of the item at the specified offset from the head.
+   */
+  private int index( final int offset )
   {
-    private final int _time;
-    @Nonnull
-    private final T _item;
+    final int index = _head + offset;
+    return index < _items.length ? index : index - _items.length;
+  }
 
-    Entry( final int time, @Nonnull final T item )
+  /**
+   * Remove the items that were received more than maxAge milliseconds before the specified time.
+   * The times are non-decreasing so a binary search is used to locate the first item that has not expired.
+   */
+  private void expire( final int now )
+  {
+    final int cutoff = now - _maxAge;
+    if ( 0 != _size && _times[ _head ] < cutoff )
     {
-      _time = time;
-      _item = Objects.requireNonNull( item );
+      // Invariant: the item at offset low has expired and the item at offset high has not expired
+      int low = 0;
+      int high = _size;
+      while ( high - low > 1 )
+      {
+        final int middle = ( low + high ) >>> 1;
+        if ( _times[ index( middle ) ] < cutoff )
+        {
+          low = middle;
+        }
+        else
+        {
+          high = middle;
+        }
+      }
+      removeHead( high );
     }
+  }
 
-    int getTime()
+  /**
+   * Remove the specified number of items from the head of the ring.
+   */
+  private void removeHead( final int count )
+  {
+    assert count <= _size;
+    for ( int i = 0; i < count; i++ )
     {
-      return _time;
+      // Release the reference so that the item can be garbage collected
+      _items[ index( i ) ] = null;
     }
-
-    @Nonnull
-    T getItem()
+    _head = index( count );
+    _size -= count;
+    if ( 0 == _size )
     {
-      return _item;
+      _head = 0;
     }
   }
+
+  /**
+   * Grow the ring arrays, moving the items so that the head is at index 0.
+   */
+  @SuppressWarnings( "unchecked" )
+  private void grow()
+  {
+    final int length = _items.length;
+    final int capacity = DEFAULT_VALUE == _maxSize ? length * 2 : Math.min( length * 2, _maxSize );
+    final T[] items = (T[]) new Object[ capacity ];
+    final int[] times = new int[ capacity ];
+    final int firstPart = length - _head;
+    System.arraycopy( _items, _head, items, 0, firstPart );
+    System.arraycopy( _items, 0, items, firstPart, _head );
+    System.arraycopy( _times, _head, times, 0, firstPart );
+    System.arraycopy( _times, 0, times, firstPart, _head );
+    _items = items;
+    _times = times;
+    _head = 0;
+  }
 }
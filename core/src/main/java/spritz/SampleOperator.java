@@ -2,25 +2,42 @@ package spritz;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import zemeckis.Cancelable;
 
+/**
+ * Sample the upstream on the ticks of a shared timer.
+ * The timer is registered with the {@link TimerRegistry} when sampling starts so subscriptions
+ * with the same sample period share a single underlying timer. As a result the first sample
+ * period may be shorter than the sample period.
+ */
 final class SampleOperator<T>
   extends AbstractStream<T, T>
 {
   private final int _samplePeriod;
   private final boolean _emitFirst;
+  /**
+   * The boundary that the sample periods are aligned to or 0 if the sample periods are not aligned.
+   */
+  private final int _alignTo;
 
   SampleOperator( @Nullable final String name,
                   @Nonnull final Stream<T> upstream,
                   final int samplePeriod,
-                  final boolean emitFirst )
+                  final boolean emitFirst,
+                  final int alignTo )
   {
     super( Spritz.areNamesEnabled() ?
-           generateName( name, "sample", "samplePeriod=" + samplePeriod + ",emitFirst=" + emitFirst ) :
+           generateName( name,
+                         "sample",
+                         "samplePeriod=" + samplePeriod + ",emitFirst=" + emitFirst +
+                         ( 0 == alignTo ? "" : ",alignTo=" + alignTo ) ) :
            null,
            upstream );
     _samplePeriod = samplePeriod;
     _emitFirst = emitFirst;
+    _alignTo = alignTo;
     assert samplePeriod > 0;
+    assert alignTo >= 0;
   }
 
   @Nonnull
@@ -33,54 +50,112 @@ final class SampleOperator<T>
   }
 
   private static final class WorkerSubscription<T>
-    extends AbstractThrottlingSubscription<T, SampleOperator<T>>
+    extends PassThroughSubscription<T, SampleOperator<T>>
   {
     /**
-     * The next time that the subscription can emit an item.
-     * If no item is emitted before next sample time then the sampling starts again.
-     * 0 indicates sample period has not started while any other value indicates the
-     * time at which sample should be completed.
+     * The last item received in the current sample period.
      */
-    private int _nextSampleTime;
+    @Nullable
+    private T _nextItem;
+    /**
+     * The handle of the tick registered while sampling. If a sample period passes without
+     * receiving an item then the tick is removed and sampling starts again after the next item.
+     */
+    @Nullable
+    private Cancelable _tick;
+    private boolean _pendingComplete;
 
     WorkerSubscription( @Nonnull final SampleOperator<T> stream, @Nonnull final Subscriber<? super T> subscriber )
     {
       super( stream, subscriber );
-      _nextSampleTime = 0;
     }
 
     @Override
-    void doOnNext( final int now, @Nonnull final T item )
+    public void onItem( @Nonnull final T item )
     {
-      if ( now > _nextSampleTime )
+      if ( null == _tick )
       {
-        /*
-         * If we are beyond the sample period then that implies we went a whole sample
-         * period with out emitting any values from upstream and thus the sampling needs
-         * to start again.
-         */
-        assert !hasNextItem();
-        _nextSampleTime = now + getStream()._samplePeriod;
-        if ( getStream()._emitFirst )
+        final SampleOperator<T> stream = getStream();
+        _tick = TimerRegistry.register( stream._samplePeriod, stream._alignTo, this::onTick );
+        if ( stream._emitFirst )
         {
-          // Emit here and return immediately so don't schedule emit.
           super.onItem( item );
           return;
         }
       }
+      _nextItem = item;
+    }
+
+    private void onTick()
+    {
+      if ( null != _tick )
+      {
+        final T item = _nextItem;
+        if ( null == item )
+        {
+          // A whole sample period passed without receiving an item so reset the sampler
+          removeTick();
+        }
+        else
+        {
+          _nextItem = null;
+          super.onItem( item );
+          if ( isNotDone() && _pendingComplete )
+          {
+            removeTick();
+            super.onComplete();
+          }
+        }
+      }
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      removeTick();
+      _nextItem = null;
+      super.onError( error );
+    }
 
-      setNextItem( item );
-      if ( !hasTask() )
+    @Override
+    public void onComplete()
+    {
+      if ( null == _nextItem )
+      {
+        removeTick();
+        super.onComplete();
+      }
+      else
       {
-        scheduleTask( _nextSampleTime - now );
+        _pendingComplete = true;
       }
     }
 
     @Override
-    void executeTask()
+    void doCancel()
+    {
+      removeTick();
+      _nextItem = null;
+      super.doCancel();
+    }
+
+    /**
+     * A sample is the latest item received when the timer ticks so the upstream must keep emitting
+     * for the sample to be current, and the tick emits the sample whether or not it has been requested.
+     * The demand is therefore ignored.
+     */
+    @Override
+    void doRequest( final long count )
+    {
+    }
+
+    private void removeTick()
     {
-      _nextSampleTime = _nextSampleTime + getStream()._samplePeriod;
-      super.executeTask();
+      if ( null != _tick )
+      {
+        _tick.cancel();
+        _tick = null;
+      }
     }
   }
 }
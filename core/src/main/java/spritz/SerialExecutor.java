@@ -0,0 +1,64 @@
+package spritz;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+
+/**
+ * An executor that runs tasks one at a time, in submission order, using another executor.
+ * Each task happens-before the next task so tasks may access state that is not thread-safe.
+ */
+@GwtIncompatible
+final class SerialExecutor
+  implements Executor
+{
+  @Nonnull
+  private final Executor _executor;
+  @Nonnull
+  private final MpscQueue<Runnable> _tasks = new MpscQueue<>();
+  /**
+   * The number of tasks that have been submitted but not run.
+   * The thread that increments the count from zero submits a task to the underlying executor.
+   */
+  @Nonnull
+  private final AtomicInteger _pending = new AtomicInteger();
+
+  SerialExecutor( @Nonnull final Executor executor )
+  {
+    _executor = Objects.requireNonNull( executor );
+  }
+
+  @Override
+  public void execute( @Nonnull final Runnable task )
+  {
+    _tasks.offer( task );
+    if ( 0 == _pending.getAndIncrement() )
+    {
+      _executor.execute( this::runNextTask );
+    }
+  }
+
+  private void runNextTask()
+  {
+    try
+    {
+      Runnable task = _tasks.poll();
+      while ( null == task )
+      {
+        // The submitter has incremented the count but is yet to link its task
+        Thread.yield();
+        task = _tasks.poll();
+      }
+      task.run();
+    }
+    finally
+    {
+      // Submit a new task rather than looping so that a task that throws does not stall the executor
+      if ( 0 != _pending.decrementAndGet() )
+      {
+        _executor.execute( this::runNextTask );
+      }
+    }
+  }
+}
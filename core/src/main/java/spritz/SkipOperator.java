@@ -35,6 +35,21 @@ final class SkipOperator<T>
       _remaining = stream._count;
     }
 
+    @Override
+    public void onItems( @Nonnull final T[] items, final int offset, final int count )
+    {
+      final int skipped = Math.min( _remaining, count );
+      _remaining -= skipped;
+      if ( skipped != count )
+      {
+        emitItems( items, offset + skipped, count - skipped );
+      }
+      if ( 0 != skipped && isDemandRequested() && isNotDone() )
+      {
+        getUpstream().request( skipped );
+      }
+    }
+
     @Override
     boolean shouldIncludeItem( @Nonnull final T item )
     {
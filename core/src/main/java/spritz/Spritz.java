@@ -1,12 +1,20 @@
 package spritz;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.realityforge.braincheck.BrainCheckConfig;
+import static org.realityforge.braincheck.Guards.*;
 
 /**
  * Provide access to global configuration settings.
  */
 public final class Spritz
 {
+  @Nullable
+  private static MetricsRegistry c_metrics;
+  @Nullable
+  private static DroppedItemHandler c_droppedItemHandler;
+
   private Spritz()
   {
   }
@@ -31,6 +39,115 @@ public final class Spritz
     return SpritzConfig.shouldValidateSubscriptions();
   }
 
+  /**
+   * Return true if metrics are collected for each stream stage.
+   *
+   * @return true if metrics are collected for each stream stage.
+   */
+  public static boolean areMetricsEnabled()
+  {
+    return SpritzConfig.areMetricsEnabled();
+  }
+
+  /**
+   * Return the registry containing the metrics collected for each stream stage.
+   * This method should only be invoked if {@link #areMetricsEnabled()} returns true.
+   *
+   * @return the metrics registry.
+   */
+  @Nonnull
+  public static MetricsRegistry getMetrics()
+  {
+    if ( shouldCheckApiInvariants() )
+    {
+      apiInvariant( Spritz::areMetricsEnabled,
+                    () -> "Spritz-0011: Spritz.getMetrics() invoked when Spritz.areMetricsEnabled() is false" );
+    }
+    if ( null == c_metrics )
+    {
+      c_metrics = new MetricsRegistry();
+    }
+    return c_metrics;
+  }
+
+  /**
+   * Discard the metrics registry so that a new registry is created when next accessed.
+   * This is only expected to be used from tests.
+   */
+  static void resetMetrics()
+  {
+    c_metrics = null;
+  }
+
+  /**
+   * Specify the handler invoked when a stage discards an item due to an {@link OverflowStrategy}.
+   *
+   * @param handler the handler or null to remove the current handler.
+   */
+  public static void setDroppedItemHandler( @Nullable final DroppedItemHandler handler )
+  {
+    c_droppedItemHandler = handler;
+  }
+
+  /**
+   * Report that the specified stage discarded the specified item.
+   */
+  static void reportDroppedItem( @Nonnull final Stream<?> stream, @Nonnull final Object item )
+  {
+    if ( null != c_droppedItemHandler )
+    {
+      c_droppedItemHandler.onDroppedItem( stream, item );
+    }
+  }
+
+  /**
+   * Add the item to the buffer owned by the specified stage, applying the overflow strategy if the buffer
+   * already contains the specified number of items. The items discarded by the strategy are reported as
+   * dropped by the stage. The {@link OverflowStrategy#BLOCK} strategy must be handled by the caller.
+   *
+   * @param stream   the stage that owns the buffer.
+   * @param buffer   the buffer.
+   * @param item     the item.
+   * @param capacity the maximum number of items in the buffer. A value of 0 indicates that the buffer is unbounded.
+   * @param strategy the strategy applied if the buffer is full.
+   * @return false if the strategy is {@link OverflowStrategy#ERROR} and the item was not added, true otherwise.
+   */
+  static <T> boolean offer( @Nonnull final Stream<?> stream,
+                            @Nonnull final CircularBuffer<T> buffer,
+                            @Nonnull final T item,
+                            final int capacity,
+                            @Nonnull final OverflowStrategy strategy )
+  {
+    if ( buffer.offer( item, capacity ) )
+    {
+      return true;
+    }
+    else if ( OverflowStrategy.DROP_OLDEST == strategy )
+    {
+      final T dropped = buffer.pop();
+      assert null != dropped;
+      reportDroppedItem( stream, dropped );
+      buffer.add( item );
+      return true;
+    }
+    else if ( OverflowStrategy.LATEST == strategy )
+    {
+      T dropped;
+      while ( null != ( dropped = buffer.pop() ) )
+      {
+        reportDroppedItem( stream, dropped );
+      }
+      buffer.add( item );
+      return true;
+    }
+    else
+    {
+      assert OverflowStrategy.BLOCK != strategy;
+      reportDroppedItem( stream, item );
+      return OverflowStrategy.DROP_NEWEST == strategy;
+    }
+  }
+
   /**
    * Return true if invariants will be checked.
    *
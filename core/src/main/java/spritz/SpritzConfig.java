@@ -10,6 +10,7 @@ final class SpritzConfig
   private static final boolean PRODUCTION_MODE = PROVIDER.isProductionMode();
   private static boolean ENABLE_NAMES = PROVIDER.areNamesEnabled();
   private static boolean VALIDATE_SUBSCRIPTIONS = PROVIDER.shouldValidateSubscriptions();
+  private static boolean ENABLE_METRICS = PROVIDER.areMetricsEnabled();
   private static final String LOGGER_TYPE = PROVIDER.loggerType();
 
   private SpritzConfig()
@@ -36,6 +37,11 @@ final class SpritzConfig
     return VALIDATE_SUBSCRIPTIONS;
   }
 
+  static boolean areMetricsEnabled()
+  {
+    return ENABLE_METRICS;
+  }
+
   static String loggerType()
   {
     return LOGGER_TYPE;
@@ -66,6 +72,13 @@ final class SpritzConfig
                                                 isProductionMode() ? "false" : "true" ) );
     }
 
+    @GwtIncompatible
+    @Override
+    boolean areMetricsEnabled()
+    {
+      return "true".equals( System.getProperty( "spritz.enable_metrics", "false" ) );
+    }
+
     @GwtIncompatible
     @Override
     String loggerType()
@@ -92,6 +105,11 @@ final class SpritzConfig
       return "true" == System.getProperty( "spritz.validate_subscriptions" );
     }
 
+    boolean areMetricsEnabled()
+    {
+      return "true" == System.getProperty( "spritz.enable_metrics" );
+    }
+
     String loggerType()
     {
       /*
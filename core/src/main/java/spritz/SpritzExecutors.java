@@ -0,0 +1,53 @@
+package spritz;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.Nonnull;
+
+/**
+ * Factory methods for executors that can be passed to {@link Stream#subscribeOn(Executor)}
+ * and {@link Stream#observeOn(Executor)} to move work onto other threads on the JVM.
+ */
+@GwtIncompatible
+public final class SpritzExecutors
+{
+  private SpritzExecutors()
+  {
+  }
+
+  /**
+   * Return an executor that runs tasks using the common {@link ForkJoinPool}.
+   *
+   * @return the executor.
+   */
+  @Nonnull
+  public static Executor forkJoinPool()
+  {
+    return ForkJoinPool.commonPool();
+  }
+
+  /**
+   * Create an executor that starts a new virtual thread for each task.
+   * The caller is responsible for shutting down the executor.
+   * Virtual threads were introduced in Java 21 and this method is looked up reflectively
+   * as Spritz is compiled for earlier versions of Java.
+   *
+   * @return the new executor.
+   * @throws UnsupportedOperationException if the JVM does not support virtual threads.
+   */
+  @Nonnull
+  public static ExecutorService newVirtualThreadPerTaskExecutor()
+  {
+    try
+    {
+      return (ExecutorService) Executors.class.getMethod( "newVirtualThreadPerTaskExecutor" ).invoke( null );
+    }
+    catch ( final NoSuchMethodException | IllegalAccessException | InvocationTargetException e )
+    {
+      throw new UnsupportedOperationException( "Virtual threads are not supported by the JVM", e );
+    }
+  }
+}
@@ -50,6 +50,7 @@ public final class SpritzTestUtil
       enableNames();
       validateSubscriptions();
     }
+    disableMetrics();
     resetState();
   }
 
@@ -60,6 +61,9 @@ public final class SpritzTestUtil
   private static void resetState()
   {
     setLogger( null );
+    Spritz.resetMetrics();
+    Spritz.setDroppedItemHandler( null );
+    TimerRegistry.reset();
   }
 
   /**
@@ -135,6 +139,32 @@ public final class SpritzTestUtil
     setConstant( "VALIDATE_SUBSCRIPTIONS", validateSubscriptions );
   }
 
+  /**
+   * Set `spritz.enable_metrics` setting to true.
+   */
+  public static void enableMetrics()
+  {
+    setEnableMetrics( true );
+  }
+
+  /**
+   * Set the `spritz.enable_metrics` setting to false.
+   */
+  public static void disableMetrics()
+  {
+    setEnableMetrics( false );
+  }
+
+  /**
+   * Configure the `spritz.enable_metrics` setting.
+   *
+   * @param value the setting.
+   */
+  private static void setEnableMetrics( final boolean value )
+  {
+    setConstant( "ENABLE_METRICS", value );
+  }
+
   /**
    * Set the specified field name on SpritzConfig.
    */
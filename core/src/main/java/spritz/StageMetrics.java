@@ -0,0 +1,147 @@
+package spritz;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+
+/**
+ * The metrics collected for a stream stage.
+ * The signals counted are those emitted by the stage to its subscribers. If multiple stages
+ * have the same qualified name then the metrics for the stages are combined.
+ * The metrics are only collected if {@link Spritz#areMetricsEnabled()} returns true.
+ */
+public final class StageMetrics
+{
+  @Nonnull
+  private final String _name;
+  private long _subscribeCount;
+  private long _itemCount;
+  private long _errorCount;
+  private long _completeCount;
+  private long _cancelCount;
+  private long _itemTime;
+
+  StageMetrics( @Nonnull final String name )
+  {
+    _name = Objects.requireNonNull( name );
+  }
+
+  /**
+   * Return the qualified name of the stage.
+   *
+   * @return the qualified name of the stage.
+   */
+  @Nonnull
+  public String getName()
+  {
+    return _name;
+  }
+
+  /**
+   * Return the number of times a subscriber subscribed to the stage.
+   *
+   * @return the number of times a subscriber subscribed to the stage.
+   */
+  public long getSubscribeCount()
+  {
+    return _subscribeCount;
+  }
+
+  /**
+   * Return the number of items emitted by the stage.
+   *
+   * @return the number of items emitted by the stage.
+   */
+  public long getItemCount()
+  {
+    return _itemCount;
+  }
+
+  /**
+   * Return the number of errors emitted by the stage.
+   *
+   * @return the number of errors emitted by the stage.
+   */
+  public long getErrorCount()
+  {
+    return _errorCount;
+  }
+
+  /**
+   * Return the number of completion signals emitted by the stage.
+   *
+   * @return the number of completion signals emitted by the stage.
+   */
+  public long getCompleteCount()
+  {
+    return _completeCount;
+  }
+
+  /**
+   * Return the number of times a subscriber cancelled its subscription to the stage.
+   *
+   * @return the number of times a subscriber cancelled its subscription to the stage.
+   */
+  public long getCancelCount()
+  {
+    return _cancelCount;
+  }
+
+  /**
+   * Return the total time in nanoseconds that subscribers spent handling items emitted by the stage.
+   * This is only recorded while {@link MetricsRegistry#isItemTimingEnabled()} returns true.
+   *
+   * @return the total time in nanoseconds that subscribers spent handling items emitted by the stage.
+   */
+  public long getItemTime()
+  {
+    return _itemTime;
+  }
+
+  void recordSubscribe()
+  {
+    _subscribeCount++;
+  }
+
+  void recordItem()
+  {
+    _itemCount++;
+  }
+
+  void recordItems( final int count )
+  {
+    _itemCount += count;
+  }
+
+  void recordItemTime( final long time )
+  {
+    _itemTime += time;
+  }
+
+  void recordError()
+  {
+    _errorCount++;
+  }
+
+  void recordComplete()
+  {
+    _completeCount++;
+  }
+
+  void recordCancel()
+  {
+    _cancelCount++;
+  }
+
+  @Nonnull
+  @Override
+  public String toString()
+  {
+    return "StageMetrics[" + _name +
+           " subscribes=" + _subscribeCount +
+           " items=" + _itemCount +
+           " errors=" + _errorCount +
+           " completes=" + _completeCount +
+           " cancels=" + _cancelCount +
+           " itemTime=" + _itemTime + "]";
+  }
+}
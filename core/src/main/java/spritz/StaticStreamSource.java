@@ -35,27 +35,38 @@ final class StaticStreamSource<T>
   }
 
   private static final class WorkerSubscription<T>
-    extends AbstractStreamSubscription<T, StaticStreamSource<T>>
+    extends AbstractSourceSubscription<T, StaticStreamSource<T>>
   {
+    private int _offset;
+
     WorkerSubscription( @Nonnull final StaticStreamSource<T> stream, @Nonnull final Subscriber<? super T> subscriber )
     {
       super( stream, subscriber );
     }
 
-    void pushData()
+    @Override
+    boolean hasNextItem()
+    {
+      return _offset < getStream()._data.length;
+    }
+
+    @Override
+    void pushNextItem( @Nonnull final Subscriber<? super T> subscriber )
+    {
+      final T item = getStream()._data[ _offset ];
+      _offset++;
+      subscriber.onItem( item );
+    }
+
+    @Override
+    int pushItems( @Nonnull final Subscriber<? super T> subscriber, final int maxCount )
     {
       final T[] data = getStream()._data;
-      int offset = 0;
-      while ( offset < data.length && isNotDone() )
-      {
-        final T item = data[ offset ];
-        offset++;
-        getSubscriber().onItem( item );
-      }
-      if ( isNotDone() )
-      {
-        getSubscriber().onComplete();
-      }
+      final int offset = _offset;
+      final int count = Math.min( maxCount, data.length - offset );
+      _offset += count;
+      emitItems( data, offset, count );
+      return count;
     }
   }
 }
@@ -3,13 +3,23 @@ package spritz;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -168,7 +178,108 @@ public abstract class Stream<T>
   }
 
   /**
-   * Creates a stream that emits items from the supplied {@link java.util.stream.Stream}.
+   * Creates a stream that lazily emits items from the supplied {@link Iterable}.
+   * A new iterator is created for each subscription and items are pulled from the iterator one at a time
+   * as they are requested so items that are never requested are never produced.
+   *
+   * @param <T>      the type of items contained in the stream.
+   * @param iterable the iterable of values to emit.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static <T> Stream<T> fromIterable( @Nonnull final Iterable<? extends T> iterable )
+  {
+    return fromIterable( null, iterable );
+  }
+
+  /**
+   * Creates a stream that lazily emits items from the supplied {@link Iterable}.
+   * A new iterator is created for each subscription and items are pulled from the iterator one at a time
+   * as they are requested so items that are never requested are never produced.
+   *
+   * @param <T>      the type of items contained in the stream.
+   * @param name     a human consumable name for the stream.
+   * @param iterable the iterable of values to emit.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static <T> Stream<T> fromIterable( @Nullable final String name, @Nonnull final Iterable<? extends T> iterable )
+  {
+    Objects.requireNonNull( iterable );
+    return new IteratorStreamSource<>( name, "fromIterable", iterable::iterator, null );
+  }
+
+  /**
+   * Creates a stream that lazily emits items from the supplied {@link Iterator}.
+   * Items are pulled from the iterator one at a time as they are requested. The iterator can only
+   * be traversed once so the stream should only be subscribed to once.
+   *
+   * @param <T>      the type of items contained in the stream.
+   * @param iterator the iterator of values to emit.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static <T> Stream<T> fromIterator( @Nonnull final Iterator<? extends T> iterator )
+  {
+    return fromIterator( null, iterator );
+  }
+
+  /**
+   * Creates a stream that lazily emits items from the supplied {@link Iterator}.
+   * Items are pulled from the iterator one at a time as they are requested. The iterator can only
+   * be traversed once so the stream should only be subscribed to once.
+   *
+   * @param <T>      the type of items contained in the stream.
+   * @param name     a human consumable name for the stream.
+   * @param iterator the iterator of values to emit.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static <T> Stream<T> fromIterator( @Nullable final String name, @Nonnull final Iterator<? extends T> iterator )
+  {
+    Objects.requireNonNull( iterator );
+    return new IteratorStreamSource<>( name, "fromIterator", () -> iterator, null );
+  }
+
+  /**
+   * Creates a stream that lazily emits items from the supplied {@link Spliterator}.
+   * Items are pulled from the spliterator one at a time as they are requested. The spliterator can only
+   * be traversed once so the stream should only be subscribed to once.
+   *
+   * @param <T>         the type of items contained in the stream.
+   * @param spliterator the spliterator of values to emit.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static <T> Stream<T> fromSpliterator( @Nonnull final Spliterator<? extends T> spliterator )
+  {
+    return fromSpliterator( null, spliterator );
+  }
+
+  /**
+   * Creates a stream that lazily emits items from the supplied {@link Spliterator}.
+   * Items are pulled from the spliterator one at a time as they are requested. The spliterator can only
+   * be traversed once so the stream should only be subscribed to once.
+   *
+   * @param <T>         the type of items contained in the stream.
+   * @param name        a human consumable name for the stream.
+   * @param spliterator the spliterator of values to emit.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static <T> Stream<T> fromSpliterator( @Nullable final String name,
+                                               @Nonnull final Spliterator<? extends T> spliterator )
+  {
+    Objects.requireNonNull( spliterator );
+    return new IteratorStreamSource<>( name, "fromSpliterator", () -> Spliterators.iterator( spliterator ), null );
+  }
+
+  /**
+   * Creates a stream that lazily emits items from the supplied {@link java.util.stream.Stream}.
+   * Items are pulled from the stream one at a time as they are requested so the elements of a large
+   * or infinite stream are only produced as they are needed. The supplied stream is closed when the
+   * stream completes, fails or is cancelled. A {@link java.util.stream.Stream} can only be traversed
+   * once so the stream should only be subscribed to once.
    *
    * @param <T>    the type of items contained in the stream.
    * @param stream the java.util.stream.Stream stream of values to emit.
@@ -177,7 +288,26 @@ public abstract class Stream<T>
   @DocCategory( DocCategory.Type.CONSTRUCTION )
   public static <T> Stream<T> fromStream( @Nonnull final java.util.stream.Stream<T> stream )
   {
-    return fromCollection( stream.collect( Collectors.toList() ) );
+    return fromStream( null, stream );
+  }
+
+  /**
+   * Creates a stream that lazily emits items from the supplied {@link java.util.stream.Stream}.
+   * Items are pulled from the stream one at a time as they are requested so the elements of a large
+   * or infinite stream are only produced as they are needed. The supplied stream is closed when the
+   * stream completes, fails or is cancelled. A {@link java.util.stream.Stream} can only be traversed
+   * once so the stream should only be subscribed to once.
+   *
+   * @param <T>    the type of items contained in the stream.
+   * @param name   a human consumable name for the stream.
+   * @param stream the java.util.stream.Stream stream of values to emit.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static <T> Stream<T> fromStream( @Nullable final String name, @Nonnull final java.util.stream.Stream<T> stream )
+  {
+    Objects.requireNonNull( stream );
+    return new IteratorStreamSource<>( name, "fromStream", stream::iterator, stream::close );
   }
 
   /**
@@ -303,8 +433,50 @@ public abstract class Stream<T>
                                         @Nonnull final Supplier<T> supplier,
                                         final int period )
   {
-    return periodic( period ).map( Spritz.areNamesEnabled() ? generateName( name, "generate" ) : null,
-                                   e -> supplier.get() );
+    return generate( name, supplier, period, 0 );
+  }
+
+  /**
+   * Creates an infinite stream that emits items from the {@link Supplier} parameter at specified period.
+   * The items are emitted at times that are a multiple of {@code alignTo} plus a multiple of the period.
+   * The user must be very careful to add a subsequent stream stage that cancels the stream
+   * otherwise this source will result in an infinite loop.
+   *
+   * @param <T>      the type of items contained in the stream.
+   * @param supplier the function that generates values to emit.
+   * @param period   the period with which items are emitted.
+   * @param alignTo  the boundary in milliseconds that items are aligned to or 0 if items are not aligned.
+   * @return the new stream.
+   * @see #periodic(int, int)
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static <T> Stream<T> generate( @Nonnull final Supplier<T> supplier, final int period, final int alignTo )
+  {
+    return generate( null, supplier, period, alignTo );
+  }
+
+  /**
+   * Creates an infinite stream that emits items from the {@link Supplier} parameter at specified period.
+   * The items are emitted at times that are a multiple of {@code alignTo} plus a multiple of the period.
+   * The user must be very careful to add a subsequent stream stage that cancels the stream
+   * otherwise this source will result in an infinite loop.
+   *
+   * @param <T>      the type of items contained in the stream.
+   * @param name     a human consumable name for the stream.
+   * @param supplier the function that generates values to emit.
+   * @param period   the period with which items are emitted.
+   * @param alignTo  the boundary in milliseconds that items are aligned to or 0 if items are not aligned.
+   * @return the new stream.
+   * @see #periodic(String, int, int)
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static <T> Stream<T> generate( @Nullable final String name,
+                                        @Nonnull final Supplier<T> supplier,
+                                        final int period,
+                                        final int alignTo )
+  {
+    return periodic( period, alignTo ).map( Spritz.areNamesEnabled() ? generateName( name, "generate" ) : null,
+                                            e -> supplier.get() );
   }
 
   /**
@@ -385,7 +557,124 @@ public abstract class Stream<T>
   @DocCategory( DocCategory.Type.CONSTRUCTION )
   public static Stream<Integer> periodic( @Nullable final String name, final int period )
   {
-    return new PeriodicStreamSource( name, period );
+    return periodic( name, period, 0 );
+  }
+
+  /**
+   * Create a stream that emits sequential numbers every specified interval of time.
+   * The items are emitted at times that are a multiple of {@code alignTo} plus a multiple of
+   * the period. i.e. If the period and {@code alignTo} are both 1000 then the items are emitted
+   * on second boundaries of the {@link zemeckis.Zemeckis#now()} clock.
+   *
+   * @param period  the period with which items are emitted.
+   * @param alignTo the boundary in milliseconds that items are aligned to or 0 if items are not aligned.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static Stream<Integer> periodic( final int period, final int alignTo )
+  {
+    return periodic( null, period, alignTo );
+  }
+
+  /**
+   * Create a stream that emits sequential numbers every specified interval of time.
+   * The items are emitted at times that are a multiple of {@code alignTo} plus a multiple of
+   * the period. i.e. If the period and {@code alignTo} are both 1000 then the items are emitted
+   * on second boundaries of the {@link zemeckis.Zemeckis#now()} clock.
+   *
+   * @param name    a human consumable name for the stream.
+   * @param period  the period with which items are emitted.
+   * @param alignTo the boundary in milliseconds that items are aligned to or 0 if items are not aligned.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static Stream<Integer> periodic( @Nullable final String name, final int period, final int alignTo )
+  {
+    assert alignTo >= 0;
+    return new PeriodicStreamSource( name, period, alignTo );
+  }
+
+  /**
+   * Create an int stream that emits the parameters as items and then emits the completion signal.
+   *
+   * @param values the values to emit.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static IntStream ofInts( @Nonnull final int... values )
+  {
+    return ofInts( null, values );
+  }
+
+  /**
+   * Create an int stream that emits the parameters as items and then emits the completion signal.
+   *
+   * @param name   a human consumable name for the stream.
+   * @param values the values to emit.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static IntStream ofInts( @Nullable final String name, @Nonnull final int... values )
+  {
+    return new IntArrayStreamSource( name, values );
+  }
+
+  /**
+   * Create an int stream that emits a sequence of numbers within a specified range.
+   * The stream create a sequence of [start, start + count).
+   * This is the primitive specialization of {@link #range(int, int)}.
+   *
+   * @param start the starting value of the range
+   * @param count the number of items to emit
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static IntStream rangeInt( final int start, final int count )
+  {
+    return rangeInt( null, start, count );
+  }
+
+  /**
+   * Create an int stream that emits a sequence of numbers within a specified range.
+   * The stream create a sequence of [start, start + count).
+   * This is the primitive specialization of {@link #range(String, int, int)}.
+   *
+   * @param name  a human consumable name for the stream.
+   * @param start the starting value of the range
+   * @param count the number of items to emit
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static IntStream rangeInt( @Nullable final String name, final int start, final int count )
+  {
+    return new IntRangeStreamSource( name, start, count );
+  }
+
+  /**
+   * Create an int stream that emits sequential numbers every specified interval of time.
+   * This is the primitive specialization of {@link #periodic(int)}.
+   *
+   * @param period the period with which items are emitted.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static IntStream periodicInt( final int period )
+  {
+    return periodicInt( null, period );
+  }
+
+  /**
+   * Create an int stream that emits sequential numbers every specified interval of time.
+   * This is the primitive specialization of {@link #periodic(String, int)}.
+   *
+   * @param name   a human consumable name for the stream.
+   * @param period the period with which items are emitted.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static IntStream periodicInt( @Nullable final String name, final int period )
+  {
+    return new IntPeriodicStreamSource( name, period );
   }
 
   @DocCategory( DocCategory.Type.CONSTRUCTION )
@@ -397,7 +686,31 @@ public abstract class Stream<T>
   @DocCategory( DocCategory.Type.CONSTRUCTION )
   public static WebSocketHub webSocket( @Nullable final String name, @Nonnull final WebSocketConfig config )
   {
-    return new WebSocketHub( name, config );
+    return new WebSocketHub( name, config, 0, OverflowStrategy.ERROR );
+  }
+
+  /**
+   * Create a hub that sends requests to and emits responses from a WebSocket.
+   * Requests received while the socket is connecting are buffered and at most {@code maxBufferedRequests}
+   * message requests are buffered. If a message request is received when the buffer is full then the
+   * specified {@link OverflowStrategy} is applied. The {@link OverflowStrategy#BLOCK} strategy is not
+   * supported. If the {@link OverflowStrategy#ERROR} strategy is applied then the socket is closed and
+   * the hub emits a {@link BufferOverflowException}.
+   *
+   * @param name                a human consumable name for the stream.
+   * @param config              the configuration of the WebSocket.
+   * @param maxBufferedRequests the maximum number of message requests buffered. Must be greater than 0.
+   * @param overflowStrategy    the strategy applied when a request is received and the buffer is full.
+   * @return the new hub.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static WebSocketHub webSocket( @Nullable final String name,
+                                        @Nonnull final WebSocketConfig config,
+                                        final int maxBufferedRequests,
+                                        @Nonnull final OverflowStrategy overflowStrategy )
+  {
+    assert maxBufferedRequests > 0;
+    return new WebSocketHub( name, config, maxBufferedRequests, overflowStrategy );
   }
 
   @SuppressWarnings( "varargs" )
@@ -465,6 +778,78 @@ public abstract class Stream<T>
     return new Subject<>( name );
   }
 
+  /**
+   * Create a subject that accepts items and signals from multiple threads.
+   * The items and signals are delivered to subscribers by a single task at a time using
+   * {@link ForkJoinPool#commonPool()} and thus the subscribers observe them sequentially.
+   * Subscribers should subscribe before the producers start or from within the subscriber callbacks.
+   *
+   * @param <T> the type of items that the subject contains.
+   * @return the new subject.
+   */
+  @DocCategory( DocCategory.Type.SUBJECT )
+  @Nonnull
+  @GwtIncompatible
+  public static <T> Subject<T> concurrentSubject()
+  {
+    return concurrentSubject( (String) null );
+  }
+
+  /**
+   * Create a subject that accepts items and signals from multiple threads.
+   * The items and signals are delivered to subscribers by a single task at a time using
+   * {@link ForkJoinPool#commonPool()} and thus the subscribers observe them sequentially.
+   * Subscribers should subscribe before the producers start or from within the subscriber callbacks.
+   *
+   * @param <T>  the type of items that the subject contains.
+   * @param name the name specified by the user.
+   * @return the new subject.
+   */
+  @DocCategory( DocCategory.Type.SUBJECT )
+  @Nonnull
+  @GwtIncompatible
+  public static <T> Subject<T> concurrentSubject( @Nullable final String name )
+  {
+    return concurrentSubject( name, ForkJoinPool.commonPool() );
+  }
+
+  /**
+   * Create a subject that accepts items and signals from multiple threads.
+   * The items and signals are delivered to subscribers by a single task at a time using the
+   * specified executor and thus the subscribers observe them sequentially.
+   * Subscribers should subscribe before the producers start or from within the subscriber callbacks.
+   *
+   * @param <T>      the type of items that the subject contains.
+   * @param executor the executor used to deliver items and signals to subscribers.
+   * @return the new subject.
+   */
+  @DocCategory( DocCategory.Type.SUBJECT )
+  @Nonnull
+  @GwtIncompatible
+  public static <T> Subject<T> concurrentSubject( @Nonnull final Executor executor )
+  {
+    return concurrentSubject( null, executor );
+  }
+
+  /**
+   * Create a subject that accepts items and signals from multiple threads.
+   * The items and signals are delivered to subscribers by a single task at a time using the
+   * specified executor and thus the subscribers observe them sequentially.
+   * Subscribers should subscribe before the producers start or from within the subscriber callbacks.
+   *
+   * @param <T>      the type of items that the subject contains.
+   * @param name     the name specified by the user.
+   * @param executor the executor used to deliver items and signals to subscribers.
+   * @return the new subject.
+   */
+  @DocCategory( DocCategory.Type.SUBJECT )
+  @Nonnull
+  @GwtIncompatible
+  public static <T> Subject<T> concurrentSubject( @Nullable final String name, @Nonnull final Executor executor )
+  {
+    return new ConcurrentSubject<>( name, executor );
+  }
+
   @DocCategory( DocCategory.Type.SUBJECT )
   @Nonnull
   public static <T> Subject<T> currentValueSubject( @Nonnull final T initialValue )
@@ -556,7 +941,28 @@ public abstract class Stream<T>
   @Nonnull
   public final Subscription subscribe( @Nonnull final Subscriber<? super T> subscriber )
   {
-    return doSubscribe( Spritz.shouldValidateSubscriptions() ? new ValidatingSubscriber<>( subscriber ) : subscriber );
+    if ( Spritz.areMetricsEnabled() )
+    {
+      return subscribeWithMetrics( subscriber );
+    }
+    else
+    {
+      return doSubscribe( Spritz.shouldValidateSubscriptions() ? new ValidatingSubscriber<>( subscriber ) : subscriber );
+    }
+  }
+
+  @Nonnull
+  private Subscription subscribeWithMetrics( @Nonnull final Subscriber<? super T> subscriber )
+  {
+    final MetricsRegistry registry = Spritz.getMetrics();
+    // The qualified name distinguishes stages that share a local name such as the generated "map()"
+    final String name = Spritz.areNamesEnabled() ? getQualifiedName() : MetricsRegistry.UNNAMED_STAGE;
+    final MetricsSubscriber<? super T> target =
+      new MetricsSubscriber<>( registry, registry.getOrCreateStage( name ), subscriber );
+    final Subscription subscription =
+      doSubscribe( Spritz.shouldValidateSubscriptions() ? new ValidatingSubscriber<>( target ) : target );
+    // Wrap the subscription so that cancels via the returned subscription are also recorded
+    return target.newReturnedSubscription( subscription );
   }
 
   @Nonnull
@@ -674,18 +1080,7 @@ public abstract class Stream<T>
   @DocCategory( DocCategory.Type.PEEKING )
   public final Stream<T> peek( @Nullable final String name, @Nonnull final Consumer<? super T> action )
   {
-    return compose( s -> new PeekOperator<>( Spritz.areNamesEnabled() ? generateName( name, "peek" ) : null,
-                                             s,
-                                             null,
-                                             null,
-                                             action,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null ) );
+    return compose( s -> FusedOperator.peek( name, s, action ) );
   }
 
   /**
@@ -1104,7 +1499,7 @@ public abstract class Stream<T>
   @DocCategory( DocCategory.Type.FILTERING )
   public final Stream<T> filter( @Nullable final String name, @Nonnull final Predicate<? super T> predicate )
   {
-    return compose( s -> new PredicateFilterStream<>( name, s, predicate ) );
+    return compose( s -> FusedOperator.filter( name, s, predicate ) );
   }
 
   /**
@@ -1200,31 +1595,156 @@ public abstract class Stream<T>
   @DocCategory( DocCategory.Type.FILTERING )
   public final Stream<T> distinct( @Nullable final String name )
   {
-    return compose( s -> new DistinctOperator<>( name, s ) );
+    return compose( s -> new DistinctOperator<>( name, s, "distinct", null, Function.identity(), 0, 0 ) );
   }
 
   /**
-   * Truncate the stream, ensuring the stream is no longer than {@code maxSize} items in length.
-   * If {@code maxSize} is reached then the item will be passed downstream, the downstream will be
-   * completed and then the upstream will be cancelled. This method is an alias for {@link #limit(int)}
+   * Filter the items if they have been previously emitted.
+   * To determine whether an item has been previous emitted the {@link Object#equals(Object)}
+   * and {@link Object#hashCode()} must be correctly implemented for items type.
+   * At most {@code maxSize} items are retained and when this limit is exceeded the least recently
+   * seen item is discarded. A discarded item will be emitted again if it is received again.
    *
-   * @param maxSize The maximum number of items returned by the stream.
+   * @param maxSize the maximum number of items retained. Must be greater than 0.
    * @return the new stream.
-   * @see #limit(int)
    */
   @Nonnull
-  @DocCategory( DocCategory.Type.SLICING )
-  public final Stream<T> take( final int maxSize )
+  @DocCategory( DocCategory.Type.FILTERING )
+  public final Stream<T> distinct( final int maxSize )
   {
-    return limit( maxSize );
+    return distinct( null, maxSize );
   }
 
   /**
-   * Truncate the stream, ensuring the stream is no longer than {@code maxSize} items in length.
-   * If {@code maxSize} is reached then the item will be passed downstream, the downstream will be
-   * completed and then the upstream will be cancelled. This method is an alias for {@link #take(int)}
-   *
-   * @param maxSize The maximum number of items returned by the stream.
+   * Filter the items if they have been previously emitted.
+   * To determine whether an item has been previous emitted the {@link Object#equals(Object)}
+   * and {@link Object#hashCode()} must be correctly implemented for items type.
+   * At most {@code maxSize} items are retained and when this limit is exceeded the least recently
+   * seen item is discarded. A discarded item will be emitted again if it is received again.
+   *
+   * @param name    the name specified by the user.
+   * @param maxSize the maximum number of items retained. Must be greater than 0.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.FILTERING )
+  public final Stream<T> distinct( @Nullable final String name, final int maxSize )
+  {
+    assert maxSize > 0;
+    return compose( s -> new DistinctOperator<>( name,
+                                                 s,
+                                                 "distinct",
+                                                 "maxSize=" + maxSize,
+                                                 Function.identity(),
+                                                 maxSize,
+                                                 0 ) );
+  }
+
+  /**
+   * Filter the items if an item with the same key has been previously emitted.
+   * The key is derived from the item using the {@code keyFn} parameter and the {@link Object#equals(Object)}
+   * and {@link Object#hashCode()} must be correctly implemented for the key type. Only the keys are
+   * retained which can significantly reduce memory pressure when the items are large.
+   *
+   * <p>WARNING: It should be noted that every distinct key is retained until the stream
+   * completes. As a result this operator can cause significant amount of memory pressure if many
+   * distinct keys exist or the stream persists for a long time.</p>
+   *
+   * @param <K>   the type of the key.
+   * @param keyFn the function that derives the key from an item.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.FILTERING )
+  public final <K> Stream<T> distinctByKey( @Nonnull final Function<T, K> keyFn )
+  {
+    return distinctByKey( null, keyFn );
+  }
+
+  /**
+   * Filter the items if an item with the same key has been previously emitted.
+   * The key is derived from the item using the {@code keyFn} parameter and the {@link Object#equals(Object)}
+   * and {@link Object#hashCode()} must be correctly implemented for the key type. Only the keys are
+   * retained which can significantly reduce memory pressure when the items are large.
+   *
+   * <p>WARNING: It should be noted that every distinct key is retained until the stream
+   * completes. As a result this operator can cause significant amount of memory pressure if many
+   * distinct keys exist or the stream persists for a long time.</p>
+   *
+   * @param <K>   the type of the key.
+   * @param name  the name specified by the user.
+   * @param keyFn the function that derives the key from an item.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.FILTERING )
+  public final <K> Stream<T> distinctByKey( @Nullable final String name, @Nonnull final Function<T, K> keyFn )
+  {
+    return compose( s -> new DistinctOperator<>( name, s, "distinctByKey", null, keyFn, 0, 0 ) );
+  }
+
+  /**
+   * Filter the items if an item with the same key has been emitted within the last {@code maxAge} milliseconds.
+   * The key is derived from the item using the {@code keyFn} parameter and the {@link Object#equals(Object)}
+   * and {@link Object#hashCode()} must be correctly implemented for the key type. Keys are discarded
+   * {@code maxAge} milliseconds after the associated item was emitted.
+   *
+   * @param <K>    the type of the key.
+   * @param keyFn  the function that derives the key from an item.
+   * @param maxAge the duration in milliseconds for which the key of an emitted item is retained. Must be greater than 0.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.FILTERING )
+  public final <K> Stream<T> distinctByKey( @Nonnull final Function<T, K> keyFn, final int maxAge )
+  {
+    return distinctByKey( null, keyFn, maxAge );
+  }
+
+  /**
+   * Filter the items if an item with the same key has been emitted within the last {@code maxAge} milliseconds.
+   * The key is derived from the item using the {@code keyFn} parameter and the {@link Object#equals(Object)}
+   * and {@link Object#hashCode()} must be correctly implemented for the key type. Keys are discarded
+   * {@code maxAge} milliseconds after the associated item was emitted.
+   *
+   * @param <K>    the type of the key.
+   * @param name   the name specified by the user.
+   * @param keyFn  the function that derives the key from an item.
+   * @param maxAge the duration in milliseconds for which the key of an emitted item is retained. Must be greater than 0.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.FILTERING )
+  public final <K> Stream<T> distinctByKey( @Nullable final String name,
+                                            @Nonnull final Function<T, K> keyFn,
+                                            final int maxAge )
+  {
+    assert maxAge > 0;
+    return compose( s -> new DistinctOperator<>( name, s, "distinctByKey", "maxAge=" + maxAge, keyFn, 0, maxAge ) );
+  }
+
+  /**
+   * Truncate the stream, ensuring the stream is no longer than {@code maxSize} items in length.
+   * If {@code maxSize} is reached then the item will be passed downstream, the downstream will be
+   * completed and then the upstream will be cancelled. This method is an alias for {@link #limit(int)}
+   *
+   * @param maxSize The maximum number of items returned by the stream.
+   * @return the new stream.
+   * @see #limit(int)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SLICING )
+  public final Stream<T> take( final int maxSize )
+  {
+    return limit( maxSize );
+  }
+
+  /**
+   * Truncate the stream, ensuring the stream is no longer than {@code maxSize} items in length.
+   * If {@code maxSize} is reached then the item will be passed downstream, the downstream will be
+   * completed and then the upstream will be cancelled. This method is an alias for {@link #take(int)}
+   *
+   * @param maxSize The maximum number of items returned by the stream.
    * @return the new stream.
    * @see #take(int)
    */
@@ -1734,7 +2254,51 @@ public abstract class Stream<T>
   @DocCategory( DocCategory.Type.RATE_LIMITING )
   public final Stream<T> sample( @Nullable final String name, final int samplePeriod, final boolean emitInitiatingItem )
   {
-    return compose( s -> new SampleOperator<>( name, s, samplePeriod, emitInitiatingItem ) );
+    return sample( name, samplePeriod, emitInitiatingItem, 0 );
+  }
+
+  /**
+   * Sample items from stream emitting the last item in each sample period. The first item
+   * is emitted if {@code emitInitiatingItem} is <code>true</code>. If a sampling period ever
+   * passes without emitting a value then the sampler is reset and and will start sampling
+   * again after the next item is emitted by the upstream stage. The sample periods end at
+   * times that are a multiple of {@code alignTo} plus a multiple of the sample period.
+   *
+   * @param samplePeriod       the period at which the stream is sampled.
+   * @param emitInitiatingItem true to emit the first item that initiates sampling.
+   * @param alignTo            the boundary in milliseconds that sample periods are aligned to or 0 if not aligned.
+   * @return the new stream.
+   * @see #sample(int, boolean)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.RATE_LIMITING )
+  public final Stream<T> sample( final int samplePeriod, final boolean emitInitiatingItem, final int alignTo )
+  {
+    return sample( null, samplePeriod, emitInitiatingItem, alignTo );
+  }
+
+  /**
+   * Sample items from stream emitting the last item in each sample period. The first item
+   * is emitted if {@code emitInitiatingItem} is <code>true</code>. If a sampling period ever
+   * passes without emitting a value then the sampler is reset and and will start sampling
+   * again after the next item is emitted by the upstream stage. The sample periods end at
+   * times that are a multiple of {@code alignTo} plus a multiple of the sample period.
+   *
+   * @param name               the name specified by the user.
+   * @param samplePeriod       the period at which the stream is sampled.
+   * @param emitInitiatingItem true to emit the first item that initiates sampling.
+   * @param alignTo            the boundary in milliseconds that sample periods are aligned to or 0 if not aligned.
+   * @return the new stream.
+   * @see #sample(int, boolean)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.RATE_LIMITING )
+  public final Stream<T> sample( @Nullable final String name,
+                                 final int samplePeriod,
+                                 final boolean emitInitiatingItem,
+                                 final int alignTo )
+  {
+    return compose( s -> new SampleOperator<>( name, s, samplePeriod, emitInitiatingItem, alignTo ) );
   }
 
   /**
@@ -1859,6 +2423,8 @@ public abstract class Stream<T>
 
   /**
    * Transform items emitted by this stream using the {@code mapper} function.
+   * The {@code mapper} function must not return null. If it does then the stream emits a
+   * {@link NullPointerException} as an error and cancels the upstream.
    *
    * @param <DownstreamT> the type of the items that the {@code mapper} function emits.
    * @param mapper        the function to use to map the items.
@@ -1873,6 +2439,8 @@ public abstract class Stream<T>
 
   /**
    * Transform items emitted by this stream using the {@code mapper} function.
+   * The {@code mapper} function must not return null. If it does then the stream emits a
+   * {@link NullPointerException} as an error and cancels the upstream.
    *
    * @param <DownstreamT> the type of the items that the {@code mapper} function emits.
    * @param name          the name specified by the user.
@@ -1884,7 +2452,7 @@ public abstract class Stream<T>
   public final <DownstreamT> Stream<DownstreamT> map( @Nullable final String name,
                                                       @Nonnull final Function<T, DownstreamT> mapper )
   {
-    return compose( s -> new MapOperator<>( name, s, mapper ) );
+    return compose( s -> FusedOperator.map( name, s, mapper ) );
   }
 
   /**
@@ -1944,7 +2512,8 @@ public abstract class Stream<T>
    * number of inner streams as defined by the <code>maxConcurrency</code> parameter then the extra
    * items are placed on an unbounded buffer. This can lead to significant memory pressure and out
    * of memory conditions if the upstream emits items at a faster rate than the merge stream can
-   * complete the inner streams.</p>
+   * complete the inner streams. Use {@link #mergeMap(Function, int, int, OverflowStrategy)} to bound
+   * the buffer.</p>
    *
    * @param <DownstreamT>  the type of the items that the {@code mapper} function emits.
    * @param mapper         the function to map the items to the inner stream.
@@ -1960,6 +2529,38 @@ public abstract class Stream<T>
     return map( mapper ).compose( o -> new MergeOperator<>( null, o, maxConcurrency ) );
   }
 
+  /**
+   * Map each input item to a stream and then flatten the items emitted by that stream into
+   * this stream. The items are merged concurrently up to the maximum concurrency specified by
+   * {@code maxConcurrency}. Thus items from different inner streams may be interleaved with other
+   * streams that are currently active or subscribed.
+   *
+   * <p>If an input item is received when the merged stream has already subscribed to the maximum
+   * number of inner streams then the mapped stream is buffered until an active inner stream completes.
+   * At most {@code maxPending} streams are buffered and the specified {@link OverflowStrategy} is
+   * applied when a stream is received and the buffer is full. The {@link OverflowStrategy#BLOCK}
+   * strategy is not supported. If the {@link OverflowStrategy#ERROR} strategy is applied then the
+   * active inner streams are cancelled and the error is emitted immediately.</p>
+   *
+   * @param <DownstreamT>    the type of the items that the {@code mapper} function emits.
+   * @param mapper           the function to map the items to the inner stream.
+   * @param maxConcurrency   the maximum number of inner stream that can be subscribed to at one time.
+   * @param maxPending       the maximum number of inner streams buffered. Must be greater than 0.
+   * @param overflowStrategy the strategy applied when a stream is received and the buffer is full.
+   * @return the new stream.
+   * @see Spritz#setDroppedItemHandler(DroppedItemHandler)
+   */
+  @Nonnull
+  @DocCategory( { DocCategory.Type.TRANSFORMATION, DocCategory.Type.MERGING } )
+  public final <DownstreamT> Stream<DownstreamT> mergeMap( @Nonnull final Function<T, Stream<DownstreamT>> mapper,
+                                                           final int maxConcurrency,
+                                                           final int maxPending,
+                                                           @Nonnull final OverflowStrategy overflowStrategy )
+  {
+    assert maxPending > 0;
+    return map( mapper ).compose( o -> new MergeOperator<>( null, o, maxConcurrency, maxPending, overflowStrategy ) );
+  }
+
   /**
    * Map each input item to a stream and flatten the items emitted by the inner stream into this stream.
    * The number of streams that can be flattened concurrently is specified by {@link #DEFAULT_MERGE_CONCURRENCY}.
@@ -2142,230 +2743,1104 @@ public abstract class Stream<T>
   }
 
   /**
-   * Invoke the {@link Subscriber#onSubscribe(Subscription)} on upstream on the specified {@link VirtualProcessorUnit}.
+   * Combine all of the items in the stream and emit the result when the stream completes.
+   * The accumulated value is updated in place and no intermediate values are emitted.
+   * If the stream emits no items then the {@code identity} value is emitted.
    *
-   * @param virtualProcessorUnit the VPU on which to invoke onSubscribe.
+   * @param identity    the value to begin accumulation from.
+   * @param accumulator the function used to combine the accumulated value with an item.
    * @return the new stream.
+   * @see #collect(String, Collector)
    */
   @Nonnull
-  @DocCategory( DocCategory.Type.SCHEDULING )
-  public final Stream<T> subscribeOn( @Nonnull final VirtualProcessorUnit virtualProcessorUnit )
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<T> reduce( @Nonnull final T identity, @Nonnull final BinaryOperator<T> accumulator )
   {
-    return subscribeOn( null, virtualProcessorUnit );
+    return reduce( null, identity, accumulator );
   }
 
   /**
-   * Invoke the {@link Subscriber#onSubscribe(Subscription)} on upstream on the specified {@link VirtualProcessorUnit}.
+   * Combine all of the items in the stream and emit the result when the stream completes.
+   * The accumulated value is updated in place and no intermediate values are emitted.
+   * If the stream emits no items then the {@code identity} value is emitted.
    *
-   * @param name                 the name specified by the user.
-   * @param virtualProcessorUnit the VPU on which to invoke onSubscribe.
+   * @param name        the name specified by the user.
+   * @param identity    the value to begin accumulation from.
+   * @param accumulator the function used to combine the accumulated value with an item.
    * @return the new stream.
+   * @see #collect(String, Collector)
    */
   @Nonnull
-  @DocCategory( DocCategory.Type.SCHEDULING )
-  public final Stream<T> subscribeOn( @Nullable final String name,
-                                      @Nonnull final VirtualProcessorUnit virtualProcessorUnit )
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<T> reduce( @Nullable final String name,
+                                 @Nonnull final T identity,
+                                 @Nonnull final BinaryOperator<T> accumulator )
   {
-    return compose( s -> new SubscribeOnOperator<>( name, s, virtualProcessorUnit ) );
+    Objects.requireNonNull( identity );
+    return collect( name, "reduce", Collectors.reducing( identity, accumulator ) );
   }
 
   /**
-   * Emit signals and item on the specified {@link VirtualProcessorUnit}.
-   * In practical terms this means that all of the {@link Subscription} methods for
-   * the downstream are invoked on the specified {@link VirtualProcessorUnit}.
+   * Accumulate all of the items in the stream into a mutable container using the specified collector
+   * and emit the result when the stream completes. A single container is created per subscription and
+   * no intermediate values are emitted. If the collector produces a null result then no item is emitted.
    *
-   * @param virtualProcessorUnit the VPU on which to invoke signals and emit items.
+   * @param <A>       the type of the mutable container used by the collector.
+   * @param <R>       the type of the result.
+   * @param collector the collector.
    * @return the new stream.
    */
   @Nonnull
-  @DocCategory( DocCategory.Type.SCHEDULING )
-  public final Stream<T> observeOn( @Nonnull final VirtualProcessorUnit virtualProcessorUnit )
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final <A, R> Stream<R> collect( @Nonnull final Collector<? super T, A, R> collector )
   {
-    return observeOn( null, virtualProcessorUnit );
+    return collect( null, collector );
   }
 
   /**
-   * Emit signals and item on the specified {@link VirtualProcessorUnit}.
-   * In practical terms this means that all of the {@link Subscription} methods for
-   * the downstream are invoked on the specified {@link VirtualProcessorUnit}.
+   * Accumulate all of the items in the stream into a mutable container using the specified collector
+   * and emit the result when the stream completes. A single container is created per subscription and
+   * no intermediate values are emitted. If the collector produces a null result then no item is emitted.
    *
-   * @param name                 the name specified by the user.
-   * @param virtualProcessorUnit the VPU on which to invoke signals and emit items.
+   * @param <A>       the type of the mutable container used by the collector.
+   * @param <R>       the type of the result.
+   * @param name      the name specified by the user.
+   * @param collector the collector.
    * @return the new stream.
    */
   @Nonnull
-  @DocCategory( DocCategory.Type.SCHEDULING )
-  public final Stream<T> observeOn( @Nullable final String name,
-                                    @Nonnull final VirtualProcessorUnit virtualProcessorUnit )
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final <A, R> Stream<R> collect( @Nullable final String name,
+                                         @Nonnull final Collector<? super T, A, R> collector )
+  {
+    return collect( name, "collect", collector );
+  }
+
+  @Nonnull
+  private <A, R> Stream<R> collect( @Nullable final String name,
+                                    @Nonnull final String prefix,
+                                    @Nonnull final Collector<? super T, A, R> collector )
   {
-    return compose( s -> new ObserveOnOperator<>( name, s, virtualProcessorUnit ) );
+    return compose( s -> new CollectOperator<>( name, s, prefix, collector ) );
   }
 
   /**
-   * When an upstream emits an error then replace upstream with the stream returned by the supplied function rather
-   * than emitting an error to downstream. If the function throws an exception or returns null then the original
-   * error will be emitted downstream.
+   * Emit a list containing all of the items in the stream when the stream completes.
    *
-   * @param streamFromErrorFn the function invoked when upstream emits an error.
    * @return the new stream.
+   * @see #collect(Collector)
    */
   @Nonnull
-  @DocCategory( DocCategory.Type.ERROR_HANDLING )
-  public final Stream<T> rescue( @Nonnull final Function<Throwable, Stream<T>> streamFromErrorFn )
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<List<T>> toList()
   {
-    return rescue( null, streamFromErrorFn );
+    return toList( null );
   }
 
   /**
-   * When an upstream emits an error then replace upstream with the stream returned by the supplied function rather
-   * than emitting an error to downstream. If the function throws an exception or returns null then the original
-   * error will be emitted downstream.
+   * Emit a list containing all of the items in the stream when the stream completes.
    *
-   * @param name              the name specified by the user.
-   * @param streamFromErrorFn the function invoked when upstream emits an error.
+   * @param name the name specified by the user.
    * @return the new stream.
+   * @see #collect(String, Collector)
    */
   @Nonnull
-  @DocCategory( DocCategory.Type.ERROR_HANDLING )
-  public final Stream<T> rescue( @Nullable final String name,
-                                 @Nonnull final Function<Throwable, Stream<T>> streamFromErrorFn )
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<List<T>> toList( @Nullable final String name )
   {
-    return compose( s -> new OnErrorResumeWithOperator<>( name, s, streamFromErrorFn ) );
+    return collect( name, "toList", Collectors.toList() );
   }
 
   /**
-   * When an upstream emits an error then emit supplied value and complete the stream.
+   * Emit a map containing all of the items in the stream when the stream completes.
+   * If multiple items map to the same key then the value derived from the last item is retained.
    *
-   * @param value the value to emit on error.
+   * @param <K>     the type of the keys.
+   * @param <V>     the type of the values.
+   * @param keyFn   the function that derives the key from an item.
+   * @param valueFn the function that derives the value from an item.
    * @return the new stream.
+   * @see #collect(Collector)
    */
   @Nonnull
-  @DocCategory( DocCategory.Type.ERROR_HANDLING )
-  public final Stream<T> rescueThenReturn( @Nonnull final T value )
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final <K, V> Stream<Map<K, V>> toMap( @Nonnull final Function<? super T, ? extends K> keyFn,
+                                               @Nonnull final Function<? super T, ? extends V> valueFn )
   {
-    return rescueThenReturn( null, value );
+    return toMap( null, keyFn, valueFn );
   }
 
   /**
-   * When an upstream emits an error then emit supplied value and complete the stream.
+   * Emit a map containing all of the items in the stream when the stream completes.
+   * If multiple items map to the same key then the value derived from the last item is retained.
    *
-   * @param name  the name specified by the user.
-   * @param value the value to emit on error.
+   * @param <K>     the type of the keys.
+   * @param <V>     the type of the values.
+   * @param name    the name specified by the user.
+   * @param keyFn   the function that derives the key from an item.
+   * @param valueFn the function that derives the value from an item.
    * @return the new stream.
+   * @see #collect(String, Collector)
    */
   @Nonnull
-  @DocCategory( DocCategory.Type.ERROR_HANDLING )
-  public final Stream<T> rescueThenReturn( @Nullable final String name, @Nonnull final T value )
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final <K, V> Stream<Map<K, V>> toMap( @Nullable final String name,
+                                               @Nonnull final Function<? super T, ? extends K> keyFn,
+                                               @Nonnull final Function<? super T, ? extends V> valueFn )
   {
-    final String actualName =
-      Spritz.areNamesEnabled() ? generateName( name, "onErrorReturn", String.valueOf( value ) ) : null;
-    return rescue( actualName, e -> of( value ) );
+    return collect( name, "toMap", Collectors.toMap( keyFn, valueFn, ( previous, value ) -> value ) );
   }
 
   /**
-   * When an upstream emits an error then re-subscribe to upstream rather than emitting an error to downstream.
-   * This recovery process will occur up to {@code maxErrorCount} times.
+   * Emit the number of items in the stream when the stream completes.
    *
-   * @param maxErrorCount the maximum number of times to try and re-susbcribe to upstream.
    * @return the new stream.
-   * @see #repeat()
    */
   @Nonnull
-  @DocCategory( DocCategory.Type.ERROR_HANDLING )
-  public final Stream<T> repeat( final int maxErrorCount )
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<Long> count()
   {
-    return repeat( null, maxErrorCount );
+    return count( null );
   }
 
   /**
-   * When an upstream emits an error then re-subscribe to upstream rather than emitting an error to downstream.
-   * This recovery process will occur up to {@code maxErrorCount} times.
+   * Emit the number of items in the stream when the stream completes.
    *
-   * @param name          the name specified by the user.
-   * @param maxErrorCount the maximum number of times to try and re-susbcribe to upstream.
+   * @param name the name specified by the user.
    * @return the new stream.
-   * @see #repeat()
    */
   @Nonnull
-  @DocCategory( DocCategory.Type.ERROR_HANDLING )
-  public final Stream<T> repeat( @Nullable final String name, final int maxErrorCount )
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<Long> count( @Nullable final String name )
   {
-    final int[] state = new int[]{ maxErrorCount };
-    final String actualName =
-      Spritz.areNamesEnabled() ? generateName( name, "repeat", String.valueOf( maxErrorCount ) ) : null;
-    return rescue( actualName, e -> ( --state[ 0 ] ) >= 0 ? this : null );
+    return collect( name, "count", Collectors.counting() );
   }
 
   /**
-   * When an upstream emits an error then re-subscribe to upstream rather than emitting an error to downstream.
+   * Emit the smallest item in the stream, as determined by the comparator, when the stream completes.
+   * If the stream emits no items then no item is emitted.
    *
+   * @param comparator the comparator used to compare items.
    * @return the new stream.
-   * @see #repeat(int)
    */
   @Nonnull
-  @DocCategory( DocCategory.Type.ERROR_HANDLING )
-  public final Stream<T> repeat()
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<T> min( @Nonnull final Comparator<? super T> comparator )
   {
-    return repeat( Integer.MAX_VALUE );
+    return min( null, comparator );
   }
 
   /**
-   * Create a multicast, {@link ConnectableStream} that shares a single subscription to this stream.
-   * The new stream emits to downstream {@link Subscriber}s only those items that are emitted subsequent
-   * to the time that the downstream {@link Subscriber} subscribes. The new stream subscribes to this stream
-   * when the {@link ConnectableStream#connect()} method is called.
+   * Emit the smallest item in the stream, as determined by the comparator, when the stream completes.
+   * If the stream emits no items then no item is emitted.
    *
+   * @param name       the name specified by the user.
+   * @param comparator the comparator used to compare items.
    * @return the new stream.
    */
   @Nonnull
-  @DocCategory( DocCategory.Type.UNKNOWN )
-  public final ConnectableStream<T> publish()
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<T> min( @Nullable final String name, @Nonnull final Comparator<? super T> comparator )
   {
-    return publish( null );
+    return collect( name, "min", Collectors.collectingAndThen( Collectors.minBy( comparator ), v -> v.orElse( null ) ) );
   }
 
   /**
-   * Create a multicast, {@link ConnectableStream} that shares a single subscription to this stream.
-   * The new stream emits to downstream {@link Subscriber}s only those items that are emitted subsequent
-   * to the time that the downstream {@link Subscriber} subscribes. The new stream subscribes to this stream
-   * when the {@link ConnectableStream#connect()} method is called.
+   * Emit the largest item in the stream, as determined by the comparator, when the stream completes.
+   * If the stream emits no items then no item is emitted.
    *
-   * @param name the name specified by the user.
+   * @param comparator the comparator used to compare items.
    * @return the new stream.
    */
   @Nonnull
-  @DocCategory( DocCategory.Type.UNKNOWN )
-  public final ConnectableStream<T> publish( @Nullable final String name )
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<T> max( @Nonnull final Comparator<? super T> comparator )
   {
-    return multicast( new Subject<>( Spritz.areNamesEnabled() ? generateName( name, "publish" ) : null ) );
+    return max( null, comparator );
   }
 
   /**
-   * Create a multicast, {@link ConnectableStream} that shares a single subscription to this stream.
-   * The created stream emits the current value to downstream {@link Subscriber}s and then emits items
-   * any items that are emitted subsequent to the time that the downstream {@link Subscriber} subscribes.
-   * The current value is the last emitted value or the initialValue if no value has been emitted by the upstream.
-   * The new stream subscribes to this stream when the {@link ConnectableStream#connect()} method is called.
+   * Emit the largest item in the stream, as determined by the comparator, when the stream completes.
+   * If the stream emits no items then no item is emitted.
    *
-   * @param initialValue the initial value.
+   * @param name       the name specified by the user.
+   * @param comparator the comparator used to compare items.
    * @return the new stream.
    */
   @Nonnull
-  @DocCategory( DocCategory.Type.UNKNOWN )
-  public final ConnectableStream<T> publishCurrentValue( @Nonnull final T initialValue )
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<T> max( @Nullable final String name, @Nonnull final Comparator<? super T> comparator )
   {
-    return publishCurrentValue( null, initialValue );
+    return collect( name, "max", Collectors.collectingAndThen( Collectors.maxBy( comparator ), v -> v.orElse( null ) ) );
   }
 
   /**
-   * Create a multicast, {@link ConnectableStream} that shares a single subscription to this stream.
-   * The created stream emits the current value to downstream {@link Subscriber}s and then emits items
-   * any items that are emitted subsequent to the time that the downstream {@link Subscriber} subscribes.
-   * The current value is the last emitted value or the initialValue if no value has been emitted by the upstream.
-   * The new stream subscribes to this stream when the {@link ConnectableStream#connect()} method is called.
+   * Collect items into chunks containing {@code count} items and emit each chunk as a list.
+   * The final chunk may contain fewer items and is emitted before the completion signal.
+   *
+   * @param count the number of items in each chunk. Must be greater than 0.
+   * @return the new stream.
+   * @see #buffer(String, int, ChunkPool)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<List<T>> buffer( final int count )
+  {
+    return buffer( null, count, null );
+  }
+
+  /**
+   * Collect items into chunks containing {@code count} items and emit each chunk as a list.
+   * The final chunk may contain fewer items and is emitted before the completion signal.
+   * The chunks are acquired from the specified pool and may be returned to the pool once processed.
+   *
+   * @param count the number of items in each chunk. Must be greater than 0.
+   * @param pool  the pool from which chunks are acquired.
+   * @return the new stream.
+   * @see #buffer(String, int, ChunkPool)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<List<T>> buffer( final int count, @Nonnull final ChunkPool<T> pool )
+  {
+    return buffer( null, count, pool );
+  }
+
+  /**
+   * Collect items into chunks containing {@code count} items and emit each chunk as a list.
+   * The final chunk may contain fewer items and is emitted before the completion signal.
+   * If a pool is specified then chunks are acquired from the pool and the subscriber may return
+   * each chunk to the pool via {@link ChunkPool#recycle(List)} once it has been processed,
+   * otherwise a new list is allocated for each chunk.
+   *
+   * @param name  the name specified by the user.
+   * @param count the number of items in each chunk. Must be greater than 0.
+   * @param pool  the pool from which chunks are acquired, if any.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<List<T>> buffer( @Nullable final String name,
+                                                 final int count,
+                                                 @Nullable final ChunkPool<T> pool )
+  {
+    assert count > 0;
+    return compose( s -> new BufferOperator<>( name, s, "buffer", String.valueOf( count ), count, 0, null, pool ) );
+  }
+
+  /**
+   * Collect items into chunks and emit each chunk as a list when {@code timespan} milliseconds
+   * have elapsed since the first item was added to the chunk or when the chunk contains
+   * {@code maxCount} items. Chunks are only emitted if they contain at least one item and any
+   * partial chunk is emitted before the completion signal.
+   * Downstream demand is ignored.
+   *
+   * @param timespan the duration in milliseconds after which a chunk is emitted. Must be greater than 0.
+   * @param maxCount the maximum number of items in each chunk. Must be greater than 0.
+   * @return the new stream.
+   * @see #bufferTime(String, int, int, ChunkPool)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<List<T>> bufferTime( final int timespan, final int maxCount )
+  {
+    return bufferTime( null, timespan, maxCount, null );
+  }
+
+  /**
+   * Collect items into chunks and emit each chunk as a list when {@code timespan} milliseconds
+   * have elapsed since the first item was added to the chunk or when the chunk contains
+   * {@code maxCount} items. Chunks are only emitted if they contain at least one item and any
+   * partial chunk is emitted before the completion signal.
+   * The chunks are acquired from the specified pool and may be returned to the pool once processed.
+   *
+   * @param timespan the duration in milliseconds after which a chunk is emitted. Must be greater than 0.
+   * @param maxCount the maximum number of items in each chunk. Must be greater than 0.
+   * @param pool     the pool from which chunks are acquired.
+   * @return the new stream.
+   * @see #bufferTime(String, int, int, ChunkPool)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<List<T>> bufferTime( final int timespan,
+                                                     final int maxCount,
+                                                     @Nonnull final ChunkPool<T> pool )
+  {
+    return bufferTime( null, timespan, maxCount, pool );
+  }
+
+  /**
+   * Collect items into chunks and emit each chunk as a list when {@code timespan} milliseconds
+   * have elapsed since the first item was added to the chunk or when the chunk contains
+   * {@code maxCount} items. Chunks are only emitted if they contain at least one item and any
+   * partial chunk is emitted before the completion signal.
+   * Downstream demand is ignored.
+   * If a pool is specified then chunks are acquired from the pool and the subscriber may return
+   * each chunk to the pool via {@link ChunkPool#recycle(List)} once it has been processed,
+   * otherwise a new list is allocated for each chunk.
+   *
+   * @param name     the name specified by the user.
+   * @param timespan the duration in milliseconds after which a chunk is emitted. Must be greater than 0.
+   * @param maxCount the maximum number of items in each chunk. Must be greater than 0.
+   * @param pool     the pool from which chunks are acquired, if any.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<List<T>> bufferTime( @Nullable final String name,
+                                                     final int timespan,
+                                                     final int maxCount,
+                                                     @Nullable final ChunkPool<T> pool )
+  {
+    assert timespan > 0;
+    assert maxCount > 0;
+    return compose( s -> new BufferOperator<>( name,
+                                               s,
+                                               "bufferTime",
+                                               timespan + "," + maxCount,
+                                               maxCount,
+                                               timespan,
+                                               null,
+                                               pool ) );
+  }
+
+  /**
+   * Collect items into chunks and emit each chunk as a list after an item that matches the
+   * predicate has been added to the chunk. Any partial chunk is emitted before the completion signal.
+   *
+   * @param closePredicate the predicate that determines whether an item closes the chunk.
+   * @return the new stream.
+   * @see #bufferUntil(String, Predicate, ChunkPool)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<List<T>> bufferUntil( @Nonnull final Predicate<? super T> closePredicate )
+  {
+    return bufferUntil( null, closePredicate, null );
+  }
+
+  /**
+   * Collect items into chunks and emit each chunk as a list after an item that matches the
+   * predicate has been added to the chunk. Any partial chunk is emitted before the completion signal.
+   * The chunks are acquired from the specified pool and may be returned to the pool once processed.
+   *
+   * @param closePredicate the predicate that determines whether an item closes the chunk.
+   * @param pool           the pool from which chunks are acquired.
+   * @return the new stream.
+   * @see #bufferUntil(String, Predicate, ChunkPool)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<List<T>> bufferUntil( @Nonnull final Predicate<? super T> closePredicate,
+                                                      @Nonnull final ChunkPool<T> pool )
+  {
+    return bufferUntil( null, closePredicate, pool );
+  }
+
+  /**
+   * Collect items into chunks and emit each chunk as a list after an item that matches the
+   * predicate has been added to the chunk. Any partial chunk is emitted before the completion signal.
+   * If a pool is specified then chunks are acquired from the pool and the subscriber may return
+   * each chunk to the pool via {@link ChunkPool#recycle(List)} once it has been processed,
+   * otherwise a new list is allocated for each chunk.
+   *
+   * @param name           the name specified by the user.
+   * @param closePredicate the predicate that determines whether an item closes the chunk.
+   * @param pool           the pool from which chunks are acquired, if any.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<List<T>> bufferUntil( @Nullable final String name,
+                                                      @Nonnull final Predicate<? super T> closePredicate,
+                                                      @Nullable final ChunkPool<T> pool )
+  {
+    Objects.requireNonNull( closePredicate );
+    return compose( s -> new BufferOperator<>( name, s, "bufferUntil", null, 0, 0, closePredicate, pool ) );
+  }
+
+  /**
+   * Aggregate the items received within a sliding window of time and emit the aggregate at the end of each bucket.
+   * The window of {@code windowMillis} milliseconds is divided into buckets of {@code bucketMillis}
+   * milliseconds and a partial aggregate is maintained for each bucket. Each item updates the partial
+   * aggregate of the current bucket and at the end of each bucket the partial aggregates of the buckets
+   * in the window are combined and emitted. If {@code windowMillis} is equal to {@code bucketMillis}
+   * then the windows tumble rather than slide. The buckets are aligned to multiples of
+   * {@code bucketMillis} on the {@link zemeckis.Zemeckis#now()} clock. The aggregate of the window
+   * that ends with the current bucket is emitted before the completion signal. Downstream demand is ignored.
+   *
+   * @param <A>          the type of the aggregate.
+   * @param windowMillis the duration of the window in milliseconds. Must be a multiple of {@code bucketMillis}.
+   * @param bucketMillis the duration of each bucket in milliseconds. Must be greater than 0.
+   * @param aggregator   the aggregator used to accumulate and combine items.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final <A> Stream<A> windowAggregate( final int windowMillis,
+                                              final int bucketMillis,
+                                              @Nonnull final Aggregator<? super T, A> aggregator )
+  {
+    return windowAggregate( null, windowMillis, bucketMillis, aggregator );
+  }
+
+  /**
+   * Aggregate the items received within a sliding window of time and emit the aggregate at the end of each bucket.
+   * The window of {@code windowMillis} milliseconds is divided into buckets of {@code bucketMillis}
+   * milliseconds and a partial aggregate is maintained for each bucket. Each item updates the partial
+   * aggregate of the current bucket and at the end of each bucket the partial aggregates of the buckets
+   * in the window are combined and emitted. If {@code windowMillis} is equal to {@code bucketMillis}
+   * then the windows tumble rather than slide. The buckets are aligned to multiples of
+   * {@code bucketMillis} on the {@link zemeckis.Zemeckis#now()} clock. The aggregate of the window
+   * that ends with the current bucket is emitted before the completion signal. Downstream demand is ignored.
+   *
+   * @param <A>          the type of the aggregate.
+   * @param name         the name specified by the user.
+   * @param windowMillis the duration of the window in milliseconds. Must be a multiple of {@code bucketMillis}.
+   * @param bucketMillis the duration of each bucket in milliseconds. Must be greater than 0.
+   * @param aggregator   the aggregator used to accumulate and combine items.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final <A> Stream<A> windowAggregate( @Nullable final String name,
+                                              final int windowMillis,
+                                              final int bucketMillis,
+                                              @Nonnull final Aggregator<? super T, A> aggregator )
+  {
+    assert bucketMillis > 0;
+    assert windowMillis >= bucketMillis && 0 == windowMillis % bucketMillis;
+    return compose( s -> new WindowAggregateOperator<>( name, s, windowMillis, bucketMillis, aggregator ) );
+  }
+
+  /**
+   * Invoke the {@link Subscriber#onSubscribe(Subscription)} on upstream on the specified {@link VirtualProcessorUnit}.
+   *
+   * @param virtualProcessorUnit the VPU on which to invoke onSubscribe.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> subscribeOn( @Nonnull final VirtualProcessorUnit virtualProcessorUnit )
+  {
+    return subscribeOn( null, virtualProcessorUnit );
+  }
+
+  /**
+   * Invoke the {@link Subscriber#onSubscribe(Subscription)} on upstream on the specified {@link VirtualProcessorUnit}.
+   *
+   * @param name                 the name specified by the user.
+   * @param virtualProcessorUnit the VPU on which to invoke onSubscribe.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> subscribeOn( @Nullable final String name,
+                                      @Nonnull final VirtualProcessorUnit virtualProcessorUnit )
+  {
+    return compose( s -> new SubscribeOnOperator<>( name, s, virtualProcessorUnit ) );
+  }
+
+  /**
+   * Invoke the {@link Subscriber#onSubscribe(Subscription)} on upstream using the specified {@link Executor}.
+   * This makes it possible to subscribe to the upstream on a different thread. The tasks for each
+   * subscription run one at a time even if the executor is multi-threaded. Once the subscription is
+   * cancelled, no further signals are delivered downstream. A subject upstream is released immediately.
+   * Any other upstream is cancelled on the executor, or by the thread that next emits, whichever comes first.
+   *
+   * @param executor the executor used to subscribe to upstream.
+   * @return the new stream.
+   * @see SpritzExecutors
+   */
+  @Nonnull
+  @GwtIncompatible
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> subscribeOn( @Nonnull final Executor executor )
+  {
+    return subscribeOn( null, executor );
+  }
+
+  /**
+   * Invoke the {@link Subscriber#onSubscribe(Subscription)} on upstream using the specified {@link Executor}.
+   * This makes it possible to subscribe to the upstream on a different thread. The tasks for each
+   * subscription run one at a time even if the executor is multi-threaded. Once the subscription is
+   * cancelled, no further signals are delivered downstream. A subject upstream is released immediately.
+   * Any other upstream is cancelled on the executor, or by the thread that next emits, whichever comes first.
+   *
+   * @param name     the name specified by the user.
+   * @param executor the executor used to subscribe to upstream.
+   * @return the new stream.
+   * @see SpritzExecutors
+   */
+  @Nonnull
+  @GwtIncompatible
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> subscribeOn( @Nullable final String name, @Nonnull final Executor executor )
+  {
+    return compose( s -> new ExecutorSubscribeOnOperator<>( name, s, executor ) );
+  }
+
+  /**
+   * Time-slice the emission of items from a long synchronous upstream.
+   * The operator requests {@code chunkSize} items from upstream and requests each subsequent chunk
+   * from a task queued on the specified {@link VirtualProcessorUnit} in a later activation. Sources
+   * that honor the demand protocol, such as {@link #range(int, int)}, {@link #fromCollection(Collection)}
+   * and {@link #fromCallable(Callable)}, then emit at most one chunk per task so that other tasks,
+   * such as input handling in the browser, are able to run between chunks. The first chunk is emitted
+   * when the stream is subscribed. Upstream stages that do not support the demand protocol are not
+   * time-sliced.
+   *
+   * @param chunkSize            the maximum number of items emitted in a single task. Must be greater than 0.
+   * @param virtualProcessorUnit the VPU on which subsequent chunks are requested.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> emitInChunks( final int chunkSize, @Nonnull final VirtualProcessorUnit virtualProcessorUnit )
+  {
+    return emitInChunks( null, chunkSize, virtualProcessorUnit );
+  }
+
+  /**
+   * Time-slice the emission of items from a long synchronous upstream.
+   * The operator requests {@code chunkSize} items from upstream and requests each subsequent chunk
+   * from a task queued on the specified {@link VirtualProcessorUnit} in a later activation. Sources
+   * that honor the demand protocol, such as {@link #range(int, int)}, {@link #fromCollection(Collection)}
+   * and {@link #fromCallable(Callable)}, then emit at most one chunk per task so that other tasks,
+   * such as input handling in the browser, are able to run between chunks. The first chunk is emitted
+   * when the stream is subscribed. Upstream stages that do not support the demand protocol are not
+   * time-sliced.
+   *
+   * @param name                 the name specified by the user.
+   * @param chunkSize            the maximum number of items emitted in a single task. Must be greater than 0.
+   * @param virtualProcessorUnit the VPU on which subsequent chunks are requested.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> emitInChunks( @Nullable final String name,
+                                       final int chunkSize,
+                                       @Nonnull final VirtualProcessorUnit virtualProcessorUnit )
+  {
+    return compose( s -> new EmitInChunksOperator<>( name, s, chunkSize, virtualProcessorUnit ) );
+  }
+
+  /**
+   * Emit signals and item on the specified {@link VirtualProcessorUnit}.
+   * In practical terms this means that all of the {@link Subscription} methods for
+   * the downstream are invoked on the specified {@link VirtualProcessorUnit}.
+   *
+   * @param virtualProcessorUnit the VPU on which to invoke signals and emit items.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> observeOn( @Nonnull final VirtualProcessorUnit virtualProcessorUnit )
+  {
+    return observeOn( null, virtualProcessorUnit );
+  }
+
+  /**
+   * Emit signals and item on the specified {@link VirtualProcessorUnit}.
+   * In practical terms this means that all of the {@link Subscription} methods for
+   * the downstream are invoked on the specified {@link VirtualProcessorUnit}.
+   *
+   * @param name                 the name specified by the user.
+   * @param virtualProcessorUnit the VPU on which to invoke signals and emit items.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> observeOn( @Nullable final String name,
+                                    @Nonnull final VirtualProcessorUnit virtualProcessorUnit )
+  {
+    return observeOn( name, virtualProcessorUnit, ObserveOnOperator.DEFAULT_MAX_BATCH_SIZE );
+  }
+
+  /**
+   * Emit signals and item on the specified {@link VirtualProcessorUnit}.
+   * In practical terms this means that all of the {@link Subscription} methods for
+   * the downstream are invoked on the specified {@link VirtualProcessorUnit}. At most one task is
+   * queued on the VPU at any one time and each task emits at most {@code maxBatchSize} items
+   * before yielding to the VPU.
+   *
+   * @param virtualProcessorUnit the VPU on which to invoke signals and emit items.
+   * @param maxBatchSize         the maximum number of items emitted before yielding to the VPU. Must be greater than 0.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> observeOn( @Nonnull final VirtualProcessorUnit virtualProcessorUnit, final int maxBatchSize )
+  {
+    return observeOn( null, virtualProcessorUnit, maxBatchSize );
+  }
+
+  /**
+   * Emit signals and item on the specified {@link VirtualProcessorUnit}.
+   * In practical terms this means that all of the {@link Subscription} methods for
+   * the downstream are invoked on the specified {@link VirtualProcessorUnit}. At most one task is
+   * queued on the VPU at any one time and each task emits at most {@code maxBatchSize} items
+   * before yielding to the VPU.
+   *
+   * @param name                 the name specified by the user.
+   * @param virtualProcessorUnit the VPU on which to invoke signals and emit items.
+   * @param maxBatchSize         the maximum number of items emitted before yielding to the VPU. Must be greater than 0.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> observeOn( @Nullable final String name,
+                                    @Nonnull final VirtualProcessorUnit virtualProcessorUnit,
+                                    final int maxBatchSize )
+  {
+    return compose( s -> new ObserveOnOperator<>( name, s, virtualProcessorUnit, maxBatchSize ) );
+  }
+
+  /**
+   * Emit signals and item on the specified {@link VirtualProcessorUnit} buffering at most {@code capacity} items.
+   * In practical terms this means that all of the {@link Subscription} methods for
+   * the downstream are invoked on the specified {@link VirtualProcessorUnit}. If an item is received
+   * when the buffer is full then the specified {@link OverflowStrategy} is applied. The
+   * {@link OverflowStrategy#BLOCK} strategy is not supported. If the {@link OverflowStrategy#ERROR}
+   * strategy is applied then the buffered items are emitted before the error.
+   *
+   * @param virtualProcessorUnit the VPU on which to invoke signals and emit items.
+   * @param capacity             the maximum number of items buffered. Must be greater than 0.
+   * @param overflowStrategy     the strategy applied when an item is received and the buffer is full.
+   * @return the new stream.
+   * @see Spritz#setDroppedItemHandler(DroppedItemHandler)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> observeOn( @Nonnull final VirtualProcessorUnit virtualProcessorUnit,
+                                    final int capacity,
+                                    @Nonnull final OverflowStrategy overflowStrategy )
+  {
+    return observeOn( null, virtualProcessorUnit, capacity, overflowStrategy );
+  }
+
+  /**
+   * Emit signals and item on the specified {@link VirtualProcessorUnit} buffering at most {@code capacity} items.
+   * In practical terms this means that all of the {@link Subscription} methods for
+   * the downstream are invoked on the specified {@link VirtualProcessorUnit}. If an item is received
+   * when the buffer is full then the specified {@link OverflowStrategy} is applied. The
+   * {@link OverflowStrategy#BLOCK} strategy is not supported. If the {@link OverflowStrategy#ERROR}
+   * strategy is applied then the buffered items are emitted before the error.
+   *
+   * @param name                 the name specified by the user.
+   * @param virtualProcessorUnit the VPU on which to invoke signals and emit items.
+   * @param capacity             the maximum number of items buffered. Must be greater than 0.
+   * @param overflowStrategy     the strategy applied when an item is received and the buffer is full.
+   * @return the new stream.
+   * @see Spritz#setDroppedItemHandler(DroppedItemHandler)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> observeOn( @Nullable final String name,
+                                    @Nonnull final VirtualProcessorUnit virtualProcessorUnit,
+                                    final int capacity,
+                                    @Nonnull final OverflowStrategy overflowStrategy )
+  {
+    assert capacity > 0;
+    return compose( s -> new ObserveOnOperator<>( name,
+                                                  s,
+                                                  virtualProcessorUnit,
+                                                  ObserveOnOperator.DEFAULT_MAX_BATCH_SIZE,
+                                                  capacity,
+                                                  overflowStrategy ) );
+  }
+
+  /**
+   * Emit signals and item using the specified {@link Executor}.
+   * The upstream may emit items and signals on any thread and they are safely handed over to a task
+   * run by the executor. At most one task is observing the items and signals at any one time and
+   * thus the downstream observes them sequentially. Each task emits at most 1024 items before
+   * yielding to the executor. Items are buffered until they are observed and demand is not
+   * propagated to the upstream.
+   *
+   * @param executor the executor used to invoke signals and emit items.
+   * @return the new stream.
+   * @see SpritzExecutors
+   */
+  @Nonnull
+  @GwtIncompatible
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> observeOn( @Nonnull final Executor executor )
+  {
+    return observeOn( null, executor );
+  }
+
+  /**
+   * Emit signals and item using the specified {@link Executor}.
+   * The upstream may emit items and signals on any thread and they are safely handed over to a task
+   * run by the executor. At most one task is observing the items and signals at any one time and
+   * thus the downstream observes them sequentially. Each task emits at most 1024 items before
+   * yielding to the executor. Items are buffered until they are observed and demand is not
+   * propagated to the upstream.
+   *
+   * @param name     the name specified by the user.
+   * @param executor the executor used to invoke signals and emit items.
+   * @return the new stream.
+   * @see SpritzExecutors
+   */
+  @Nonnull
+  @GwtIncompatible
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> observeOn( @Nullable final String name, @Nonnull final Executor executor )
+  {
+    return compose( s -> new ExecutorObserveOnOperator<>( name,
+                                                          s,
+                                                          executor,
+                                                          ObserveOnOperator.DEFAULT_MAX_BATCH_SIZE ) );
+  }
+
+  /**
+   * Emit signals and item using the specified {@link Executor} buffering at most {@code capacity} items.
+   * The upstream may emit items and signals on any thread and they are safely handed over to a task
+   * run by the executor. If an item is received when the buffer is full then the specified
+   * {@link OverflowStrategy} is applied. The {@link OverflowStrategy#BLOCK} strategy blocks the
+   * upstream thread until there is space in the buffer and thus the executor must not run tasks on
+   * the upstream thread. If the {@link OverflowStrategy#ERROR} strategy is applied then the buffered
+   * items are emitted before the error.
+   *
+   * @param executor         the executor used to invoke signals and emit items.
+   * @param capacity         the maximum number of items buffered. Must be greater than 0.
+   * @param overflowStrategy the strategy applied when an item is received and the buffer is full.
+   * @return the new stream.
+   * @see Spritz#setDroppedItemHandler(DroppedItemHandler)
+   */
+  @Nonnull
+  @GwtIncompatible
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> observeOn( @Nonnull final Executor executor,
+                                    final int capacity,
+                                    @Nonnull final OverflowStrategy overflowStrategy )
+  {
+    return observeOn( null, executor, capacity, overflowStrategy );
+  }
+
+  /**
+   * Emit signals and item using the specified {@link Executor} buffering at most {@code capacity} items.
+   * The upstream may emit items and signals on any thread and they are safely handed over to a task
+   * run by the executor. If an item is received when the buffer is full then the specified
+   * {@link OverflowStrategy} is applied. The {@link OverflowStrategy#BLOCK} strategy blocks the
+   * upstream thread until there is space in the buffer and thus the executor must not run tasks on
+   * the upstream thread. If the {@link OverflowStrategy#ERROR} strategy is applied then the buffered
+   * items are emitted before the error.
+   *
+   * @param name             the name specified by the user.
+   * @param executor         the executor used to invoke signals and emit items.
+   * @param capacity         the maximum number of items buffered. Must be greater than 0.
+   * @param overflowStrategy the strategy applied when an item is received and the buffer is full.
+   * @return the new stream.
+   * @see Spritz#setDroppedItemHandler(DroppedItemHandler)
+   */
+  @Nonnull
+  @GwtIncompatible
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> observeOn( @Nullable final String name,
+                                    @Nonnull final Executor executor,
+                                    final int capacity,
+                                    @Nonnull final OverflowStrategy overflowStrategy )
+  {
+    assert capacity > 0;
+    return compose( s -> new ExecutorObserveOnOperator<>( name,
+                                                          s,
+                                                          executor,
+                                                          ObserveOnOperator.DEFAULT_MAX_BATCH_SIZE,
+                                                          capacity,
+                                                          overflowStrategy ) );
+  }
+
+  /**
+   * Split the items across the specified number of rails so that the stages added to the returned
+   * {@link ParallelStream} are applied to items on different rails concurrently. Items are assigned to
+   * rails in round-robin order and each rail observes its items on one of the specified
+   * {@link VirtualProcessorUnit}s. The rails are merged into a single stream using
+   * {@link ParallelStream#sequential()} or {@link ParallelStream#sequentialOrdered()}.
+   *
+   * <p>All VirtualProcessorUnits run on the same thread so the rails are interleaved rather than run
+   * in parallel. This spreads the work across tasks so that other tasks can run between items but does
+   * not use additional CPUs. Use {@link #parallel(int, Executor...)} on the JVM to process the rails
+   * on multiple threads.</p>
+   *
+   * @param rails                 the number of rails. This must be a positive number.
+   * @param virtualProcessorUnits the VPUs used to process the rails. Rails are assigned VPUs in round-robin order.
+   * @return the new parallel stream.
+   */
+  @SuppressWarnings( "unchecked" )
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final ParallelStream<T> parallel( final int rails,
+                                           @Nonnull final VirtualProcessorUnit... virtualProcessorUnits )
+  {
+    assert rails > 0;
+    return new ParallelStream<>( (Stream<Object>) this,
+                                 rails,
+                                 new ParallelOperator.VirtualProcessorUnitRailScheduler( virtualProcessorUnits ),
+                                 item -> (T) item,
+                                 null );
+  }
+
+  /**
+   * Split the items across the specified number of rails so that the stages added to the returned
+   * {@link ParallelStream} are applied to items on different rails concurrently. Items are assigned to
+   * rails in round-robin order and each rail observes its items using one of the specified
+   * {@link Executor}s as if by {@link #observeOn(Executor)}. The rails are merged into a single stream
+   * using {@link ParallelStream#sequential()} or {@link ParallelStream#sequentialOrdered()} and the
+   * merged stream emits items serially on a thread of the first executor.
+   *
+   * @param rails     the number of rails. This must be a positive number.
+   * @param executors the executors used to process the rails. Rails are assigned executors in round-robin order.
+   * @return the new parallel stream.
+   * @see SpritzExecutors
+   */
+  @SuppressWarnings( "unchecked" )
+  @Nonnull
+  @GwtIncompatible
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final ParallelStream<T> parallel( final int rails, @Nonnull final Executor... executors )
+  {
+    assert rails > 0;
+    return new ParallelStream<>( (Stream<Object>) this,
+                                 rails,
+                                 new ParallelOperator.ExecutorRailScheduler( executors ),
+                                 item -> (T) item,
+                                 null );
+  }
+
+  /**
+   * Split the items across the specified number of partitions so that the stages added to the returned
+   * {@link ParallelStream} are applied to items in different partitions concurrently. Each item is
+   * assigned to the partition selected by the hash of the key derived from the item and thus items
+   * with the same key are always processed in order by the same partition. Each partition observes its
+   * items on one of the specified {@link VirtualProcessorUnit}s using a single buffer regardless of the
+   * number of distinct keys. The partitions are merged into a single stream using
+   * {@link ParallelStream#sequential()}, which retains the order of items with the same key, or
+   * {@link ParallelStream#sequentialOrdered()}.
+   *
+   * @param <K>                   the type of the key.
+   * @param keyFn                 the function used to derive the key from an item.
+   * @param partitions            the number of partitions. This must be a positive number.
+   * @param virtualProcessorUnits the VPUs used to process the partitions. Partitions are assigned VPUs in round-robin order.
+   * @return the new parallel stream.
+   */
+  @SuppressWarnings( "unchecked" )
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final <K> ParallelStream<T> partitionBy( @Nonnull final Function<T, K> keyFn,
+                                                  final int partitions,
+                                                  @Nonnull final VirtualProcessorUnit... virtualProcessorUnits )
+  {
+    Objects.requireNonNull( keyFn );
+    assert partitions > 0;
+    return new ParallelStream<>( (Stream<Object>) this,
+                                 partitions,
+                                 new ParallelOperator.VirtualProcessorUnitRailScheduler( virtualProcessorUnits ),
+                                 item -> (T) item,
+                                 (Function<Object, ?>) keyFn );
+  }
+
+  /**
+   * Split the items across the specified number of partitions so that the stages added to the returned
+   * {@link ParallelStream} are applied to items in different partitions concurrently. Each item is
+   * assigned to the partition selected by the hash of the key derived from the item and thus items
+   * with the same key are always processed in order by the same partition. Each partition observes its
+   * items using one of the specified {@link Executor}s as if by {@link #observeOn(Executor)} using a
+   * single buffer regardless of the number of distinct keys. The partitions are merged into a single
+   * stream using {@link ParallelStream#sequential()}, which retains the order of items with the same key,
+   * or {@link ParallelStream#sequentialOrdered()} and the merged stream emits items serially on a thread
+   * of the first executor.
+   *
+   * @param <K>        the type of the key.
+   * @param keyFn      the function used to derive the key from an item.
+   * @param partitions the number of partitions. This must be a positive number.
+   * @param executors  the executors used to process the partitions. Partitions are assigned executors in round-robin order.
+   * @return the new parallel stream.
+   * @see SpritzExecutors
+   */
+  @SuppressWarnings( "unchecked" )
+  @Nonnull
+  @GwtIncompatible
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final <K> ParallelStream<T> partitionBy( @Nonnull final Function<T, K> keyFn,
+                                                  final int partitions,
+                                                  @Nonnull final Executor... executors )
+  {
+    Objects.requireNonNull( keyFn );
+    assert partitions > 0;
+    return new ParallelStream<>( (Stream<Object>) this,
+                                 partitions,
+                                 new ParallelOperator.ExecutorRailScheduler( executors ),
+                                 item -> (T) item,
+                                 (Function<Object, ?>) keyFn );
+  }
+
+  /**
+   * When an upstream emits an error then replace upstream with the stream returned by the supplied function rather
+   * than emitting an error to downstream. If the function throws an exception or returns null then the original
+   * error will be emitted downstream.
+   *
+   * @param streamFromErrorFn the function invoked when upstream emits an error.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ERROR_HANDLING )
+  public final Stream<T> rescue( @Nonnull final Function<Throwable, Stream<T>> streamFromErrorFn )
+  {
+    return rescue( null, streamFromErrorFn );
+  }
+
+  /**
+   * When an upstream emits an error then replace upstream with the stream returned by the supplied function rather
+   * than emitting an error to downstream. If the function throws an exception or returns null then the original
+   * error will be emitted downstream.
+   *
+   * @param name              the name specified by the user.
+   * @param streamFromErrorFn the function invoked when upstream emits an error.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ERROR_HANDLING )
+  public final Stream<T> rescue( @Nullable final String name,
+                                 @Nonnull final Function<Throwable, Stream<T>> streamFromErrorFn )
+  {
+    return compose( s -> new OnErrorResumeWithOperator<>( name, s, streamFromErrorFn ) );
+  }
+
+  /**
+   * When an upstream emits an error then emit supplied value and complete the stream.
+   *
+   * @param value the value to emit on error.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ERROR_HANDLING )
+  public final Stream<T> rescueThenReturn( @Nonnull final T value )
+  {
+    return rescueThenReturn( null, value );
+  }
+
+  /**
+   * When an upstream emits an error then emit supplied value and complete the stream.
+   *
+   * @param name  the name specified by the user.
+   * @param value the value to emit on error.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ERROR_HANDLING )
+  public final Stream<T> rescueThenReturn( @Nullable final String name, @Nonnull final T value )
+  {
+    final String actualName =
+      Spritz.areNamesEnabled() ? generateName( name, "onErrorReturn", String.valueOf( value ) ) : null;
+    return rescue( actualName, e -> of( value ) );
+  }
+
+  /**
+   * When an upstream emits an error then re-subscribe to upstream rather than emitting an error to downstream.
+   * This recovery process will occur up to {@code maxErrorCount} times.
+   *
+   * @param maxErrorCount the maximum number of times to try and re-susbcribe to upstream.
+   * @return the new stream.
+   * @see #repeat()
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ERROR_HANDLING )
+  public final Stream<T> repeat( final int maxErrorCount )
+  {
+    return repeat( null, maxErrorCount );
+  }
+
+  /**
+   * When an upstream emits an error then re-subscribe to upstream rather than emitting an error to downstream.
+   * This recovery process will occur up to {@code maxErrorCount} times.
+   *
+   * @param name          the name specified by the user.
+   * @param maxErrorCount the maximum number of times to try and re-susbcribe to upstream.
+   * @return the new stream.
+   * @see #repeat()
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ERROR_HANDLING )
+  public final Stream<T> repeat( @Nullable final String name, final int maxErrorCount )
+  {
+    final int[] state = new int[]{ maxErrorCount };
+    final String actualName =
+      Spritz.areNamesEnabled() ? generateName( name, "repeat", String.valueOf( maxErrorCount ) ) : null;
+    return rescue( actualName, e -> ( --state[ 0 ] ) >= 0 ? this : null );
+  }
+
+  /**
+   * When an upstream emits an error then re-subscribe to upstream rather than emitting an error to downstream.
+   *
+   * @return the new stream.
+   * @see #repeat(int)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ERROR_HANDLING )
+  public final Stream<T> repeat()
+  {
+    return repeat( Integer.MAX_VALUE );
+  }
+
+  /**
+   * Create a multicast, {@link ConnectableStream} that shares a single subscription to this stream.
+   * The new stream emits to downstream {@link Subscriber}s only those items that are emitted subsequent
+   * to the time that the downstream {@link Subscriber} subscribes. The new stream subscribes to this stream
+   * when the {@link ConnectableStream#connect()} method is called.
    *
-   * @param name         the name specified by the user.
-   * @param initialValue the initial value.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.UNKNOWN )
+  public final ConnectableStream<T> publish()
+  {
+    return publish( null );
+  }
+
+  /**
+   * Create a multicast, {@link ConnectableStream} that shares a single subscription to this stream.
+   * The new stream emits to downstream {@link Subscriber}s only those items that are emitted subsequent
+   * to the time that the downstream {@link Subscriber} subscribes. The new stream subscribes to this stream
+   * when the {@link ConnectableStream#connect()} method is called.
+   *
+   * @param name the name specified by the user.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.UNKNOWN )
+  public final ConnectableStream<T> publish( @Nullable final String name )
+  {
+    return multicast( new Subject<>( Spritz.areNamesEnabled() ? generateName( name, "publish" ) : null ) );
+  }
+
+  /**
+   * Create a multicast, {@link ConnectableStream} that shares a single subscription to this stream.
+   * The created stream emits the current value to downstream {@link Subscriber}s and then emits items
+   * any items that are emitted subsequent to the time that the downstream {@link Subscriber} subscribes.
+   * The current value is the last emitted value or the initialValue if no value has been emitted by the upstream.
+   * The new stream subscribes to this stream when the {@link ConnectableStream#connect()} method is called.
+   *
+   * @param initialValue the initial value.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.UNKNOWN )
+  public final ConnectableStream<T> publishCurrentValue( @Nonnull final T initialValue )
+  {
+    return publishCurrentValue( null, initialValue );
+  }
+
+  /**
+   * Create a multicast, {@link ConnectableStream} that shares a single subscription to this stream.
+   * The created stream emits the current value to downstream {@link Subscriber}s and then emits items
+   * any items that are emitted subsequent to the time that the downstream {@link Subscriber} subscribes.
+   * The current value is the last emitted value or the initialValue if no value has been emitted by the upstream.
+   * The new stream subscribes to this stream when the {@link ConnectableStream#connect()} method is called.
+   *
+   * @param name         the name specified by the user.
+   * @param initialValue the initial value.
    * @return the new stream.
    */
   @Nonnull
@@ -2612,6 +4087,22 @@ public abstract class Stream<T>
     return getName();
   }
 
+  /**
+   * Verify that the overflow strategy of a stage that emits items on the producing thread does not block.
+   * Blocking the producing thread would deadlock as the thread is also responsible for emptying the buffer.
+   *
+   * @param strategy the overflow strategy.
+   */
+  final void ensureOverflowStrategyDoesNotBlock( @Nonnull final OverflowStrategy strategy )
+  {
+    if ( Spritz.shouldCheckApiInvariants() )
+    {
+      apiInvariant( () -> OverflowStrategy.BLOCK != strategy,
+                    () -> "Spritz-0012: OverflowStrategy.BLOCK specified for a stage that does not observe " +
+                          "items using an Executor. Blocking the producing thread would deadlock." );
+    }
+  }
+
   @Nonnull
   @Override
   public final String toString()
@@ -8,6 +8,26 @@ public interface Subscriber<T>
 
   void onItem( @Nonnull T item );
 
+  /**
+   * Receive a batch of items.
+   * This is equivalent to invoking {@link #onItem(Object)} for each item in the batch but allows
+   * stages to process a batch without a call per item per stage. The array is owned by the caller
+   * and must not be modified or retained after this method returns. The default implementation
+   * invokes {@link #onItem(Object)} for each item.
+   *
+   * @param items  the array containing the items.
+   * @param offset the index of the first item in the array.
+   * @param count  the number of items.
+   */
+  default void onItems( @Nonnull final T[] items, final int offset, final int count )
+  {
+    final int end = offset + count;
+    for ( int i = offset; i < end; i++ )
+    {
+      onItem( items[ i ] );
+    }
+  }
+
   void onError( @Nonnull Throwable error );
 
   void onComplete();
@@ -1,9 +1,15 @@
 package spritz;
 
 import javax.annotation.Nonnull;
+import static org.realityforge.braincheck.Guards.*;
 
 public abstract class Subscription
 {
+  /**
+   * The value passed to {@link #request(long)} to indicate that the subscriber can accept an unbounded
+   * number of items. Outstanding demand is capped at this value.
+   */
+  public static final long UNBOUNDED = Long.MAX_VALUE;
   /**
    * Flag indicating that the subscription has either been cancelled or has finalized via {@link Subscriber#onComplete()}
    * or {@link Subscriber#onError(Throwable)}.
@@ -24,6 +30,45 @@ public abstract class Subscription
     }
   }
 
+  /**
+   * Request that the upstream stage emit up to the specified number of additional items.
+   * The demand protocol is optional. A subscriber opts into the protocol by invoking this method from
+   * within {@link Subscriber#onSubscribe(Subscription)}. If a subscriber does not request items during
+   * {@link Subscriber#onSubscribe(Subscription)} then sources that support the protocol will emit items
+   * without bound. Stages that do not support the protocol ignore the request and emit items as they
+   * become available. The {@link Subscriber#onComplete()} and {@link Subscriber#onError(Throwable)}
+   * signals may be emitted regardless of outstanding demand.
+   *
+   * @param count the number of additional items requested. Must be greater than zero.
+   */
+  public final void request( final long count )
+  {
+    if ( Spritz.shouldCheckApiInvariants() )
+    {
+      apiInvariant( () -> count > 0,
+                    () -> "Spritz-0010: Subscription.request(...) invoked with count " + count +
+                          " but count must be greater than 0." );
+    }
+    if ( isNotDone() )
+    {
+      doRequest( count );
+    }
+  }
+
+  /**
+   * Return the demand that results from adding the specified count to the current demand.
+   * The result is capped at {@link #UNBOUNDED}.
+   *
+   * @param demand the current demand.
+   * @param count  the additional demand.
+   * @return the new demand.
+   */
+  static long addDemand( final long demand, final long count )
+  {
+    final long result = demand + count;
+    return result < 0 ? UNBOUNDED : result;
+  }
+
   final void markAsDone()
   {
     _done = true;
@@ -43,6 +88,21 @@ public abstract class Subscription
   {
   }
 
+  /**
+   * Return true if the subscription may be cancelled on a thread other than the thread on which the
+   * upstream emits signals. Most subscriptions may only be accessed on the thread that emits signals.
+   *
+   * @return true if the subscription may be cancelled on any thread.
+   */
+  boolean isCancelThreadSafe()
+  {
+    return false;
+  }
+
+  void doRequest( final long count )
+  {
+  }
+
   @Nonnull
   @Override
   public final String toString()
@@ -69,6 +69,15 @@ final class SwitchOperator<T>
       }
     }
 
+    /**
+     * Upstream items are streams rather than items so downstream demand is not propagated
+     * and the upstream emits streams without bound.
+     */
+    @Override
+    void doRequest( final long count )
+    {
+    }
+
     @Override
     public void completeInner( @Nonnull final InnerSubscription<T> innerSubscription )
     {
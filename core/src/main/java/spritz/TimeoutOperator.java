@@ -29,51 +29,84 @@ final class TimeoutOperator<T>
   private static final class WorkerSubscription<T>
     extends PassThroughSubscription<T, TimeoutOperator<T>>
   {
-    private int _lastTime;
-    @Nonnull
+    /**
+     * The time at which the timeout occurs unless another item is received.
+     * Receiving an item only moves the deadline and the armed timer is re-armed for the remaining
+     * time when it fires.
+     */
+    private int _deadline;
+    @Nullable
     private Cancelable _task;
 
     WorkerSubscription( @Nonnull final TimeoutOperator<T> stream, @Nonnull final Subscriber<? super T> subscriber )
     {
       super( stream, subscriber );
-      recordLastTime();
-      _task = scheduleTimeout();
+      recordDeadline();
+      armTask( stream._timeoutTime );
     }
 
     @Override
     public void onItem( @Nonnull final T item )
     {
-      recordLastTime();
-      _task.cancel();
-      _task = scheduleTimeout();
+      recordDeadline();
       super.onItem( item );
     }
 
     @Override
     public void onError( @Nonnull final Throwable error )
     {
-      _task.cancel();
+      disarmTask();
       super.onError( error );
     }
 
     @Override
     public void onComplete()
     {
-      _task.cancel();
+      disarmTask();
       super.onComplete();
     }
 
-    private void recordLastTime()
+    @Override
+    void doCancel()
+    {
+      disarmTask();
+      super.doCancel();
+    }
+
+    private void recordDeadline()
+    {
+      _deadline = Zemeckis.now() + getStream()._timeoutTime;
+    }
+
+    private void armTask( final int delay )
+    {
+      _task = Zemeckis.delayedTask( Spritz.areNamesEnabled() ? getStream().getName() : null, this::onTaskFired, delay );
+    }
+
+    private void disarmTask()
     {
-      _lastTime = Zemeckis.now();
+      if ( null != _task )
+      {
+        _task.cancel();
+        _task = null;
+      }
     }
 
-    @Nonnull
-    private Cancelable scheduleTimeout()
+    private void onTaskFired()
     {
-      return Zemeckis.delayedTask( Spritz.areNamesEnabled() ? getStream().getName() : null,
-                                   () -> super.onError( new TimeoutException() ),
-                                   _lastTime + getStream()._timeoutTime );
+      _task = null;
+      if ( isNotDone() )
+      {
+        final int now = Zemeckis.now();
+        if ( now < _deadline )
+        {
+          armTask( _deadline - now );
+        }
+        else
+        {
+          super.onError( new TimeoutException() );
+        }
+      }
     }
   }
 }
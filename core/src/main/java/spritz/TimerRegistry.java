@@ -0,0 +1,246 @@
+package spritz;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import zemeckis.Cancelable;
+import zemeckis.Zemeckis;
+
+/**
+ * A registry of periodic timers shared between subscriptions.
+ * Subscriptions that register a tick with the same period and alignment share a single
+ * underlying Zemeckis task and each time the task fires the tick of every registered
+ * subscription is invoked. This reduces the number of timer wakeups when many subscriptions
+ * use the same period. The underlying task is created when the first tick is registered and
+ * cancelled when the last tick is removed.
+ *
+ * <p>As the timer is shared, the first tick after registration may occur earlier than one
+ * period after registration.</p>
+ */
+final class TimerRegistry
+{
+  /**
+   * The shared timers keyed by period and alignment.
+   */
+  @Nonnull
+  private static final Map<Long, SharedTimer> c_timers = new HashMap<>();
+
+  private TimerRegistry()
+  {
+  }
+
+  /**
+   * Register a tick to be invoked periodically.
+   * If {@code alignTo} is greater than 0 then the ticks occur at times that are a multiple of
+   * {@code alignTo} as reported by {@link Zemeckis#now()} plus a multiple of the period.
+   *
+   * @param period  the period in milliseconds between ticks.
+   * @param alignTo the boundary in milliseconds that the ticks are aligned to or 0 if the ticks are not aligned.
+   * @param tick    the action invoked on each tick.
+   * @return the handle used to remove the tick.
+   */
+  @Nonnull
+  static synchronized Cancelable register( final int period, final int alignTo, @Nonnull final Runnable tick )
+  {
+    assert period >= 0;
+    assert alignTo >= 0;
+    final Long key = ( ( (long) period ) << 32 ) | alignTo;
+    final SharedTimer timer = c_timers.computeIfAbsent( key, k -> new SharedTimer( k, period, alignTo ) );
+    final Runnable action = Objects.requireNonNull( tick )::run;
+    timer.addTick( action );
+    return () -> timer.removeTick( action );
+  }
+
+  /**
+   * Return the number of shared timers. This is used by the tests.
+   */
+  static synchronized int getTimerCount()
+  {
+    return c_timers.size();
+  }
+
+  /**
+   * Cancel all of the shared timers. This is used by the tests to reset the state between tests.
+   */
+  static synchronized void reset()
+  {
+    c_timers.values().forEach( SharedTimer::cancelTask );
+    c_timers.clear();
+  }
+
+  /**
+   * Return the time at which the first tick of a timer started at the specified time is due.
+   * An aligned timer ticks at the next boundary strictly after the start time.
+   *
+   * @param now     the time at which the timer is started.
+   * @param period  the period in milliseconds between ticks.
+   * @param alignTo the boundary in milliseconds that the ticks are aligned to or 0 if the ticks are not aligned.
+   * @return the time at which the first tick is due.
+   */
+  static int firstTickAt( final int now, final int period, final int alignTo )
+  {
+    if ( 0 == alignTo )
+    {
+      return now + period;
+    }
+    else
+    {
+      final int remainder = now % alignTo;
+      return now + ( 0 == remainder ? alignTo : alignTo - remainder );
+    }
+  }
+
+  /**
+   * Return the time at which the tick after the specified tick is due.
+   * Ticks are scheduled relative to the boundaries rather than the current time so that ticks do
+   * not drift. Boundaries that have already passed are skipped if the tick was invoked late.
+   *
+   * @param tickAt the time at which the tick that has just been invoked was due.
+   * @param now    the time at which the tick was invoked.
+   * @param period the period in milliseconds between ticks.
+   * @return the time at which the next tick is due.
+   */
+  static int nextTickAt( final int tickAt, final int now, final int period )
+  {
+    final int nextTickAt = tickAt + period;
+    if ( period > 0 && nextTickAt <= now )
+    {
+      return nextTickAt + ( ( now - nextTickAt ) / period + 1 ) * period;
+    }
+    else
+    {
+      return nextTickAt;
+    }
+  }
+
+  private static final class SharedTimer
+  {
+    @Nonnull
+    private final Long _key;
+    private final int _period;
+    private final int _alignTo;
+    /**
+     * The registered ticks. The array is never modified after it has been assigned so that
+     * ticks can be registered or removed while the ticks are being invoked.
+     */
+    @Nonnull
+    private Runnable[] _ticks = new Runnable[ 0 ];
+    /**
+     * The underlying task. This is the delayed task that will invoke the next tick.
+     */
+    @Nullable
+    private Cancelable _task;
+    /**
+     * The time, as reported by {@link Zemeckis#now()}, at which the next tick is due.
+     */
+    private int _nextTickAt;
+
+    SharedTimer( @Nonnull final Long key, final int period, final int alignTo )
+    {
+      _key = key;
+      _period = period;
+      _alignTo = alignTo;
+    }
+
+    void addTick( @Nonnull final Runnable tick )
+    {
+      final int length = _ticks.length;
+      final Runnable[] ticks = Arrays.copyOf( _ticks, length + 1 );
+      ticks[ length ] = tick;
+      _ticks = ticks;
+      if ( null == _task )
+      {
+        startTask();
+      }
+    }
+
+    void removeTick( @Nonnull final Runnable tick )
+    {
+      synchronized ( TimerRegistry.class )
+      {
+        final Runnable[] ticks = _ticks;
+        final int length = ticks.length;
+        for ( int i = 0; i < length; i++ )
+        {
+          if ( ticks[ i ] == tick )
+          {
+            final Runnable[] newTicks = Arrays.copyOf( ticks, length - 1 );
+            System.arraycopy( ticks, i + 1, newTicks, i, length - i - 1 );
+            _ticks = newTicks;
+            if ( 0 == newTicks.length && c_timers.get( _key ) == this )
+            {
+              cancelTask();
+              c_timers.remove( _key );
+            }
+            return;
+          }
+        }
+      }
+    }
+
+    private void startTask()
+    {
+      final int now = Zemeckis.now();
+      _nextTickAt = firstTickAt( now, _period, _alignTo );
+      scheduleTask( now );
+    }
+
+    /**
+     * Schedule the task for the next tick. A delayed task is used rather than a periodic task as
+     * the first invocation of a periodic task occurs immediately on some platforms and not on others.
+     */
+    private void scheduleTask( final int now )
+    {
+      _task = Zemeckis.delayedTask( Spritz.areNamesEnabled() ? "TimerRegistry." + _period + "@" + _alignTo : null,
+                                    this::onTaskDue,
+                                    Math.max( 0, _nextTickAt - now ) );
+    }
+
+    private void onTaskDue()
+    {
+      synchronized ( TimerRegistry.class )
+      {
+        if ( null == _task )
+        {
+          return;
+        }
+        final int now = Zemeckis.now();
+        _nextTickAt = nextTickAt( _nextTickAt, now, _period );
+        scheduleTask( now );
+      }
+      tick();
+    }
+
+    void cancelTask()
+    {
+      if ( null != _task )
+      {
+        _task.cancel();
+        _task = null;
+      }
+    }
+
+    private void tick()
+    {
+      final Runnable[] ticks;
+      synchronized ( TimerRegistry.class )
+      {
+        ticks = _ticks;
+      }
+      for ( final Runnable tick : ticks )
+      {
+        try
+        {
+          tick.run();
+        }
+        catch ( final Throwable t )
+        {
+          Zemeckis.reportUncaughtError( t );
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package spritz;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Cancel an upstream subscription on behalf of a downstream that may cancel on a thread other than
+ * the thread on which the upstream emits signals. If the upstream subscription may be cancelled on
+ * any thread, such as a subscription to a subject, then it is cancelled as soon as the downstream
+ * cancels so that a quiet upstream does not retain the cancelled subscriber. Otherwise the upstream
+ * is cancelled on the upstream thread when the upstream next emits a signal.
+ */
+final class UpstreamCanceller
+{
+  /**
+   * Flag set when the downstream cancels.
+   */
+  private volatile boolean _cancelled;
+  /**
+   * The upstream subscription once the upstream has subscribed.
+   */
+  @Nullable
+  private volatile Subscription _upstream;
+  /**
+   * Flag set once the upstream has been cancelled so that it is only cancelled once.
+   */
+  private boolean _upstreamCancelled;
+
+  /**
+   * Record the upstream subscription. Invoked on the upstream thread.
+   *
+   * @param upstream the upstream subscription.
+   * @return true if the downstream has cancelled, in which case the upstream has been cancelled.
+   */
+  boolean setUpstream( @Nonnull final Subscription upstream )
+  {
+    _upstream = Objects.requireNonNull( upstream );
+    return cancelUpstreamIfCancelled();
+  }
+
+  /**
+   * Record that the downstream has cancelled and cancel the upstream if it may be cancelled on any thread.
+   * May be invoked on any thread.
+   */
+  void cancel()
+  {
+    _cancelled = true;
+    // The upstream is recorded before the flag is checked in setUpstream() so either this method
+    // observes the upstream or setUpstream() observes the flag
+    final Subscription upstream = _upstream;
+    if ( null != upstream && upstream.isCancelThreadSafe() )
+    {
+      cancelUpstream( upstream );
+    }
+  }
+
+  /**
+   * Return true if the downstream has cancelled.
+   *
+   * @return true if the downstream has cancelled.
+   */
+  boolean isCancelled()
+  {
+    return _cancelled;
+  }
+
+  /**
+   * Cancel the upstream if the downstream has cancelled. Invoked on the upstream thread.
+   *
+   * @return true if the downstream has cancelled.
+   */
+  boolean cancelUpstreamIfCancelled()
+  {
+    if ( _cancelled )
+    {
+      cancelUpstream();
+      return true;
+    }
+    else
+    {
+      return false;
+    }
+  }
+
+  /**
+   * Cancel the upstream if it has subscribed. Invoked on the upstream thread.
+   */
+  void cancelUpstream()
+  {
+    final Subscription upstream = _upstream;
+    if ( null != upstream )
+    {
+      cancelUpstream( upstream );
+    }
+  }
+
+  private void cancelUpstream( @Nonnull final Subscription upstream )
+  {
+    if ( markUpstreamCancelled() )
+    {
+      upstream.cancel();
+    }
+  }
+
+  private synchronized boolean markUpstreamCancelled()
+  {
+    final boolean cancelled = _upstreamCancelled;
+    _upstreamCancelled = true;
+    return !cancelled;
+  }
+}
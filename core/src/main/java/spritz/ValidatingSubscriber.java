@@ -27,6 +27,17 @@ final class ValidatingSubscriber<T>
     _state = State.CREATED;
   }
 
+  /**
+   * Return the subscriber that receives the validated signals.
+   *
+   * @return the subscriber that receives the validated signals.
+   */
+  @Nonnull
+  Subscriber<T> getTarget()
+  {
+    return _target;
+  }
+
   @Override
   public void onSubscribe( @Nonnull final Subscription subscription )
   {
@@ -79,6 +90,39 @@ final class ValidatingSubscriber<T>
     }
   }
 
+  /**
+   * Validate the state and each item in the batch before passing the batch to the target.
+   */
+  @Override
+  public void onItems( @Nonnull final T[] items, final int offset, final int count )
+  {
+    if ( Spritz.shouldCheckInvariants() )
+    {
+      invariant( () -> State.SUBSCRIBE_COMPLETED == _state,
+                 () -> "Spritz-0005: Subscriber.onItem(...) called and expected state " +
+                       "to be SUBSCRIBED but is " + _state );
+      final int end = offset + count;
+      for ( int i = offset; i < end; i++ )
+      {
+        Objects.requireNonNull( items[ i ] );
+      }
+    }
+
+    try
+    {
+      _target.onItems( items, offset, count );
+    }
+    catch ( final Throwable throwable )
+    {
+      if ( Spritz.shouldCheckInvariants() )
+      {
+        fail( () -> "Spritz-0004: Invoking Subscriber.onItem(...) incorrectly threw an exception. " +
+                    "Exception:\n" + SpritzUtil.throwableToString( throwable ) );
+      }
+      throw throwable;
+    }
+  }
+
   @Override
   public void onError( @Nonnull final Throwable error )
   {
@@ -131,7 +175,7 @@ final class ValidatingSubscriber<T>
     }
   }
 
-  private static final class WorkerSubscription
+  static final class WorkerSubscription
     extends Subscription
   {
     @Nonnull
@@ -160,6 +204,18 @@ final class ValidatingSubscriber<T>
       }
     }
 
+    @Override
+    void doRequest( final long count )
+    {
+      _subscription.request( count );
+    }
+
+    @Override
+    boolean isCancelThreadSafe()
+    {
+      return _subscription.isCancelThreadSafe();
+    }
+
     @Override
     String getQualifiedName()
     {
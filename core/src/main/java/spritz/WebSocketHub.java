@@ -1,7 +1,6 @@
 package spritz;
 
 import akasha.WebSocket;
-import java.util.ArrayList;
 import java.util.Objects;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -23,17 +22,37 @@ public final class WebSocketHub
   private static final int DEFAULT_ERROR_CODE = 4000;
   @Nonnull
   private final WebSocketConfig _config;
+  /**
+   * The maximum number of message requests buffered while the socket is connecting.
+   * A value of 0 indicates that the number of buffered requests is unbounded.
+   */
+  private final int _maxBufferedRequests;
+  /**
+   * The strategy applied when a message request is received and the buffer is full.
+   */
+  @Nonnull
+  private final OverflowStrategy _overflowStrategy;
+  /**
+   * The requests received while the socket is connecting.
+   */
   @Nullable
-  private ArrayList<WebSocketRequest> _input;
+  private CircularBuffer<WebSocketRequest> _input;
   @Nullable
   private WebSocket _webSocket;
   @Nullable
   private ForwardToHubDownstreamSubscriber<WebSocketResponse> _subscriber;
 
-  WebSocketHub( @Nullable final String name, @Nonnull final WebSocketConfig config )
+  WebSocketHub( @Nullable final String name,
+                @Nonnull final WebSocketConfig config,
+                final int maxBufferedRequests,
+                @Nonnull final OverflowStrategy overflowStrategy )
   {
     super( Spritz.areNamesEnabled() ? Stream.generateName( name, "webSocket" ) : null );
+    assert maxBufferedRequests >= 0;
     _config = Objects.requireNonNull( config );
+    _maxBufferedRequests = maxBufferedRequests;
+    _overflowStrategy = Objects.requireNonNull( overflowStrategy );
+    ensureOverflowStrategyDoesNotBlock( overflowStrategy );
   }
 
   @Override
@@ -130,18 +149,13 @@ public final class WebSocketHub
       _webSocket = item.getWebSocket();
       if ( null != _input )
       {
-        for ( final WebSocketRequest request : _input )
+        final CircularBuffer<WebSocketRequest> input = _input;
+        _input = null;
+        WebSocketRequest request;
+        while ( !isDone() && null != ( request = input.pop() ) )
         {
-          if ( isDone() )
-          {
-            break;
-          }
-          else
-          {
-            performNext( request );
-          }
+          performNext( request );
         }
-        _input = null;
       }
     }
     else if ( item instanceof WebSocketCloseCompleted )
@@ -180,9 +194,18 @@ public final class WebSocketHub
     assert null == _webSocket;
     if ( null == _input )
     {
-      _input = new ArrayList<>();
+      _input = new CircularBuffer<>( 16 );
+    }
+    if ( item instanceof WebSocketCloseRequest )
+    {
+      // Close requests are the last request buffered and are never dropped
+      _input.add( item );
+    }
+    else if ( !Spritz.offer( this, _input, item, _maxBufferedRequests, _overflowStrategy ) )
+    {
+      _input = null;
+      downstreamError( new BufferOverflowException() );
     }
-    _input.add( item );
   }
 
   private void close( final int code, @Nullable final String reason )
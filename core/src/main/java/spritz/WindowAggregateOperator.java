@@ -0,0 +1,229 @@
+package spritz;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import zemeckis.Cancelable;
+import zemeckis.Zemeckis;
+
+/**
+ * Aggregate the items received within a sliding window of time.
+ * The window is divided into a fixed ring of buckets and each bucket holds the partial aggregate of
+ * the items received within the bucket. An item updates a single bucket and the aggregate for the
+ * window is produced by combining the partial aggregates of the buckets in the window. The aggregate
+ * is emitted at the end of each bucket so if the window contains a single bucket then the windows tumble.
+ * Memory use is proportional to the number of buckets regardless of the rate at which items are received.
+ */
+final class WindowAggregateOperator<T, A>
+  extends AbstractStream<T, A>
+{
+  /**
+   * The duration in milliseconds of each bucket.
+   */
+  private final int _bucketMillis;
+  /**
+   * The number of buckets in the window.
+   */
+  private final int _bucketCount;
+  @Nonnull
+  private final Aggregator<? super T, A> _aggregator;
+
+  WindowAggregateOperator( @Nullable final String name,
+                           @Nonnull final Stream<T> upstream,
+                           final int windowMillis,
+                           final int bucketMillis,
+                           @Nonnull final Aggregator<? super T, A> aggregator )
+  {
+    super( Spritz.areNamesEnabled() ?
+           generateName( name, "windowAggregate", windowMillis + "," + bucketMillis ) :
+           null,
+           upstream );
+    assert bucketMillis > 0;
+    assert windowMillis >= bucketMillis;
+    assert 0 == windowMillis % bucketMillis;
+    _bucketMillis = bucketMillis;
+    _bucketCount = windowMillis / bucketMillis;
+    _aggregator = Objects.requireNonNull( aggregator );
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super A> subscriber )
+  {
+    final WorkerSubscription<T, A> subscription = new WorkerSubscription<>( this, subscriber );
+    getUpstream().subscribe( subscription );
+    return subscription;
+  }
+
+  private static final class WorkerSubscription<T, A>
+    extends AbstractOperatorSubscription<T, A, WindowAggregateOperator<T, A>>
+  {
+    /**
+     * The partial aggregate for each bucket. The bucket for a time is at index (time / bucketMillis) % bucketCount.
+     */
+    @Nonnull
+    private final Object[] _partials;
+    /**
+     * The sequence number (time / bucketMillis) of the bucket that the partial aggregate at the same index
+     * belongs to. If the sequence number is not within the window then the partial aggregate is stale and
+     * is treated as the identity.
+     */
+    @Nonnull
+    private final int[] _sequences;
+    /**
+     * The handle of the tick that emits the aggregate at the end of each bucket.
+     */
+    @Nullable
+    private Cancelable _tick;
+
+    WorkerSubscription( @Nonnull final WindowAggregateOperator<T, A> stream,
+                        @Nonnull final Subscriber<? super A> subscriber )
+    {
+      super( stream, subscriber );
+      _partials = new Object[ stream._bucketCount ];
+      _sequences = new int[ stream._bucketCount ];
+      // Mark all buckets as stale
+      for ( int i = 0; i < _sequences.length; i++ )
+      {
+        _sequences[ i ] = -1;
+      }
+    }
+
+    @Override
+    public void onSubscribe( @Nonnull final Subscription subscription )
+    {
+      super.onSubscribe( subscription );
+      if ( isNotDone() )
+      {
+        final int bucketMillis = getStream()._bucketMillis;
+        _tick = TimerRegistry.register( bucketMillis, bucketMillis, this::onTick );
+      }
+    }
+
+    @SuppressWarnings( "unchecked" )
+    @Override
+    public void onItem( @Nonnull final T item )
+    {
+      final WindowAggregateOperator<T, A> stream = getStream();
+      final int sequence = Zemeckis.now() / stream._bucketMillis;
+      final int index = sequence % stream._bucketCount;
+      final Aggregator<? super T, A> aggregator = stream._aggregator;
+      final A partial;
+      try
+      {
+        partial = aggregator.accumulate( _sequences[ index ] == sequence ?
+                                         (A) _partials[ index ] :
+                                         aggregator.identity(), item );
+      }
+      catch ( final Throwable throwable )
+      {
+        onError( throwable );
+        getUpstream().cancel();
+        return;
+      }
+      _partials[ index ] = partial;
+      _sequences[ index ] = sequence;
+    }
+
+    /**
+     * Emit the aggregate of the buckets that completed before the current bucket.
+     */
+    private void onTick()
+    {
+      if ( null != _tick )
+      {
+        final A aggregate;
+        try
+        {
+          aggregate = aggregate( Zemeckis.now() / getStream()._bucketMillis - 1 );
+        }
+        catch ( final Throwable throwable )
+        {
+          onError( throwable );
+          getUpstream().cancel();
+          return;
+        }
+        getSubscriber().onItem( aggregate );
+      }
+    }
+
+    /**
+     * Combine the partial aggregates of the buckets in the window that ends with the specified bucket.
+     */
+    @SuppressWarnings( "unchecked" )
+    @Nonnull
+    private A aggregate( final int lastSequence )
+    {
+      final WindowAggregateOperator<T, A> stream = getStream();
+      final Aggregator<? super T, A> aggregator = stream._aggregator;
+      final int bucketCount = stream._bucketCount;
+      A aggregate = aggregator.identity();
+      for ( int sequence = lastSequence - bucketCount + 1; sequence <= lastSequence; sequence++ )
+      {
+        final int index = sequence % bucketCount;
+        if ( sequence >= 0 && _sequences[ index ] == sequence )
+        {
+          aggregate = aggregator.combine( aggregate, (A) _partials[ index ] );
+        }
+      }
+      return aggregate;
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      removeTick();
+      super.onError( error );
+    }
+
+    /**
+     * Emit the aggregate of the window that ends with the current bucket and then complete.
+     */
+    @Override
+    public void onComplete()
+    {
+      removeTick();
+      final A aggregate;
+      try
+      {
+        aggregate = aggregate( Zemeckis.now() / getStream()._bucketMillis );
+      }
+      catch ( final Throwable throwable )
+      {
+        super.onError( throwable );
+        return;
+      }
+      getSubscriber().onItem( aggregate );
+      if ( isNotDone() )
+      {
+        super.onComplete();
+      }
+    }
+
+    @Override
+    void doCancel()
+    {
+      removeTick();
+      super.doCancel();
+    }
+
+    /**
+     * Every item received within the window contributes to the aggregate so throttling the upstream
+     * would change the result rather than delay it, and an aggregate is emitted at the end of every
+     * bucket whether or not it has been requested. The demand is therefore ignored.
+     */
+    @Override
+    void doRequest( final long count )
+    {
+    }
+
+    private void removeTick()
+    {
+      if ( null != _tick )
+      {
+        _tick.cancel();
+        _tick = null;
+      }
+    }
+  }
+}
@@ -1,10 +1,14 @@
 package spritz;
 
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import org.realityforge.braincheck.BrainCheckTestUtil;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
+import zemeckis.Zemeckis;
 import zemeckis.ZemeckisTestUtil;
 import static org.testng.Assert.*;
 
@@ -38,6 +42,36 @@ public abstract class AbstractTest
     return _logger;
   }
 
+  /**
+   * Run the action as a task on the Zemeckis scheduler and wait for the latch to be released.
+   * The scheduler runs delayed tasks on a single thread in order of their due time so the state of
+   * streams driven by the action and by their timers is confined to that thread, and tasks scheduled
+   * by the action run in the order of their delays even if the scheduler is running late.
+   */
+  protected final void runOnScheduler( @Nonnull final CountDownLatch latch, @Nonnull final Runnable action )
+    throws InterruptedException
+  {
+    delayedTask( action, 0 );
+    assertTrue( latch.await( 10, TimeUnit.SECONDS ) );
+  }
+
+  protected final void delayedTask( @Nonnull final Runnable action, final int delay )
+  {
+    Zemeckis.delayedTask( Zemeckis.areNamesEnabled() ? "Test" : null, action, delay );
+  }
+
+  /**
+   * Run the tasks queued on a manual executor, including any tasks queued while running, in the
+   * order that they were queued.
+   */
+  protected final void runTasks( @Nonnull final List<Runnable> tasks )
+  {
+    while ( !tasks.isEmpty() )
+    {
+      tasks.remove( 0 ).run();
+    }
+  }
+
   protected final void assertInvariantFailure( @Nonnull final ThrowingRunnable throwingRunnable,
                                                @Nonnull final String message )
   {
@@ -0,0 +1,170 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import zemeckis.Zemeckis;
+import static org.testng.Assert.*;
+
+public class BufferOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void buffer()
+  {
+    final List<String> chunks = new ArrayList<>();
+    Stream.range( 0, 8 ).buffer( 3 ).forEach( chunk -> chunks.add( chunk.toString() ) );
+
+    assertEquals( chunks.toString(), "[[0, 1, 2], [3, 4, 5], [6, 7]]" );
+  }
+
+  @Test
+  public void buffer_demand()
+  {
+    final List<String> chunks = new ArrayList<>();
+    final int[] emitted = new int[ 1 ];
+    Stream
+      .range( 0, 100 )
+      .peek( v -> emitted[ 0 ]++ )
+      .buffer( 4 )
+      .subscribe( new Subscriber<List<Integer>>()
+      {
+        @Override
+        public void onSubscribe( @Nonnull final Subscription subscription )
+        {
+          subscription.request( 2 );
+        }
+
+        @Override
+        public void onItem( @Nonnull final List<Integer> item )
+        {
+          chunks.add( item.toString() );
+        }
+
+        @Override
+        public void onError( @Nonnull final Throwable error )
+        {
+        }
+
+        @Override
+        public void onComplete()
+        {
+        }
+      } );
+
+    assertEquals( chunks.toString(), "[[0, 1, 2, 3], [4, 5, 6, 7]]" );
+    assertEquals( emitted[ 0 ], 8 );
+  }
+
+  @Test
+  public void bufferUntil()
+  {
+    final List<String> chunks = new ArrayList<>();
+    Stream
+      .fromCollection( Arrays.asList( "a", "b", ";", "c", ";", ";", "d" ) )
+      .bufferUntil( ";"::equals )
+      .forEach( chunk -> chunks.add( String.join( "", chunk ) ) );
+
+    assertEquals( chunks.toString(), "[ab;, c;, ;, d]" );
+  }
+
+  @Test
+  public void bufferUntil_recycledChunksAreReused()
+  {
+    final ChunkPool<Integer> pool = new ChunkPool<>();
+    final List<List<Integer>> chunks = new ArrayList<>();
+    final List<String> values = new ArrayList<>();
+    Stream
+      .range( 0, 6 )
+      .bufferUntil( v -> 1 == v % 2, pool )
+      .forEach( chunk -> {
+        chunks.add( chunk );
+        values.add( chunk.toString() );
+        pool.recycle( chunk );
+      } );
+
+    assertEquals( values.toString(), "[[0, 1], [2, 3], [4, 5]]" );
+    assertSame( chunks.get( 1 ), chunks.get( 0 ) );
+    assertSame( chunks.get( 2 ), chunks.get( 0 ) );
+  }
+
+  @Test
+  public void recycle_ignoresForeignChunks()
+  {
+    final ChunkPool<Integer> pool = new ChunkPool<>();
+    final List<Integer> foreign = new ArrayList<>( Arrays.asList( 1, 2 ) );
+    pool.recycle( foreign );
+
+    assertEquals( foreign.toString(), "[1, 2]" );
+    assertNotSame( pool.acquire( 1 ), foreign );
+  }
+
+  @Test
+  public void recycle_duplicateRecycleIsRejected()
+  {
+    final ChunkPool<Integer> pool = new ChunkPool<>();
+    final List<Integer> chunk = pool.acquire( 1 );
+    pool.recycle( chunk );
+
+    assertInvariantFailure( () -> pool.recycle( chunk ),
+                            "Spritz-0014: ChunkPool.recycle(...) invoked with a chunk that has already been recycled." );
+    assertSame( pool.acquire( 1 ), chunk );
+    assertNotSame( pool.acquire( 1 ), chunk );
+  }
+
+  @Test
+  public void bufferTime()
+    throws Exception
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<String> chunks = new ArrayList<>();
+    final CountDownLatch latch = new CountDownLatch( 2 );
+    // The items are passed to the subject on the scheduler thread so the timer can not fire during emission
+    runOnScheduler( latch, () -> {
+      subject.bufferTime( 20, 3 ).forEach( chunk -> {
+        chunks.add( chunk.toString() );
+        latch.countDown();
+      } );
+      for ( int i = 0; i < 5; i++ )
+      {
+        subject.next( i );
+      }
+    } );
+
+    assertEquals( chunks.toString(), "[[0, 1, 2], [3, 4]]" );
+  }
+
+  @Test
+  public void bufferTime_timespanIsMeasuredFromFirstItem()
+    throws Exception
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<String> chunks = new ArrayList<>();
+    final List<Integer> delays = new ArrayList<>();
+    final int[] firstItemAt = new int[ 1 ];
+    final CountDownLatch latch = new CountDownLatch( 2 );
+    runOnScheduler( latch, () -> {
+      subject.bufferTime( 50, 100 ).forEach( chunk -> {
+        chunks.add( chunk.toString() );
+        delays.add( Zemeckis.now() - firstItemAt[ 0 ] );
+        latch.countDown();
+      } );
+      // The second item arrives after a timespan in which no items were received
+      delayedTask( () -> {
+        firstItemAt[ 0 ] = Zemeckis.now();
+        subject.next( 1 );
+      }, 30 );
+      delayedTask( () -> {
+        firstItemAt[ 0 ] = Zemeckis.now();
+        subject.next( 2 );
+      }, 170 );
+    } );
+
+    assertEquals( chunks.toString(), "[[1], [2]]" );
+    // Allow for the granularity of the clock
+    assertTrue( delays.stream().allMatch( delay -> delay >= 49 ), "Delays: " + delays );
+  }
+}
@@ -11,7 +11,7 @@ public class CircularBufferTest
   {
     final CircularBuffer<String> buffer = new CircularBuffer<>( 3 );
     assertEquals( buffer.size(), 0 );
-    assertEquals( buffer.getCapacity(), 3 );
+    assertEquals( buffer.getCapacity(), 4 );
 
     assertNull( buffer.get( 0 ) );
     assertNull( buffer.get( 1 ) );
@@ -22,7 +22,7 @@ public class CircularBufferTest
 
     buffer.add( "A" );
     assertEquals( buffer.size(), 1 );
-    assertEquals( buffer.getCapacity(), 3 );
+    assertEquals( buffer.getCapacity(), 4 );
     assertEquals( buffer.get( 0 ), "A" );
     assertNull( buffer.get( 1 ) );
     assertNull( buffer.get( 2 ) );
@@ -31,7 +31,7 @@ public class CircularBufferTest
 
     buffer.add( "B" );
     assertEquals( buffer.size(), 2 );
-    assertEquals( buffer.getCapacity(), 3 );
+    assertEquals( buffer.getCapacity(), 4 );
     assertEquals( buffer.get( 0 ), "A" );
     assertEquals( buffer.get( 1 ), "B" );
     assertNull( buffer.get( 2 ) );
@@ -40,7 +40,7 @@ public class CircularBufferTest
 
     buffer.add( "C" );
     assertEquals( buffer.size(), 3 );
-    assertEquals( buffer.getCapacity(), 3 );
+    assertEquals( buffer.getCapacity(), 4 );
     assertEquals( buffer.get( 0 ), "A" );
     assertEquals( buffer.get( 1 ), "B" );
     assertEquals( buffer.get( 2 ), "C" );
@@ -51,7 +51,7 @@ public class CircularBufferTest
     assertEquals( buffer.pop(), "A" );
 
     assertEquals( buffer.size(), 2 );
-    assertEquals( buffer.getCapacity(), 3 );
+    assertEquals( buffer.getCapacity(), 4 );
     assertEquals( buffer.get( 0 ), "B" );
     assertEquals( buffer.get( 1 ), "C" );
     assertNull( buffer.get( 2 ) );
@@ -60,7 +60,7 @@ public class CircularBufferTest
 
     buffer.add( "D" );
     assertEquals( buffer.size(), 3 );
-    assertEquals( buffer.getCapacity(), 3 );
+    assertEquals( buffer.getCapacity(), 4 );
     assertEquals( buffer.get( 0 ), "B" );
     assertEquals( buffer.get( 1 ), "C" );
     assertEquals( buffer.get( 2 ), "D" );
@@ -71,7 +71,7 @@ public class CircularBufferTest
     buffer.add( "F" );
     buffer.add( "G" );
     assertEquals( buffer.size(), 6 );
-    assertEquals( buffer.getCapacity(), 9 );
+    assertEquals( buffer.getCapacity(), 8 );
     assertEquals( buffer.get( 0 ), "B" );
     assertEquals( buffer.get( 1 ), "C" );
     assertEquals( buffer.get( 2 ), "D" );
@@ -213,14 +213,120 @@ public class CircularBufferTest
     buffer.add( "A" );
     assertEquals( buffer.getCapacity(), 1 );
     buffer.add( "B" );
-    assertEquals( buffer.getCapacity(), 3 );
+    assertEquals( buffer.getCapacity(), 2 );
     buffer.add( "C" );
-    assertEquals( buffer.getCapacity(), 3 );
+    assertEquals( buffer.getCapacity(), 4 );
     buffer.add( "D" );
-    assertEquals( buffer.getCapacity(), 5 );
+    assertEquals( buffer.getCapacity(), 4 );
     buffer.add( "E" );
-    assertEquals( buffer.getCapacity(), 5 );
+    assertEquals( buffer.getCapacity(), 8 );
     buffer.add( "F" );
-    assertEquals( buffer.getCapacity(), 9 );
+    assertEquals( buffer.getCapacity(), 8 );
+  }
+
+  @Test
+  public void capacityIsPowerOfTwo()
+  {
+    assertEquals( new CircularBuffer<String>( 1 ).getCapacity(), 1 );
+    assertEquals( new CircularBuffer<String>( 2 ).getCapacity(), 2 );
+    assertEquals( new CircularBuffer<String>( 10 ).getCapacity(), 16 );
+    assertEquals( new CircularBuffer<String>( 16 ).getCapacity(), 16 );
+    assertEquals( new CircularBuffer<String>( 17 ).getCapacity(), 32 );
+  }
+
+  @Test
+  public void shrinkAfterIdleDrains()
+  {
+    final CircularBuffer<Integer> buffer = new CircularBuffer<>( 4, 3 );
+
+    // A burst grows the buffer
+    for ( int i = 0; i < 100; i++ )
+    {
+      buffer.add( i );
+    }
+    assertEquals( buffer.getCapacity(), 128 );
+    for ( int i = 0; i < 100; i++ )
+    {
+      assertEquals( buffer.pop(), (Integer) i );
+    }
+
+    // The drain after the burst is not under the low-water mark
+    assertEquals( buffer.getCapacity(), 128 );
+
+    for ( int drain = 0; drain < 2; drain++ )
+    {
+      buffer.add( 1 );
+      buffer.add( 2 );
+      buffer.pop();
+      buffer.pop();
+      assertEquals( buffer.getCapacity(), 128 );
+    }
+
+    // The third consecutive drain under the low-water mark releases capacity
+    buffer.add( 1 );
+    buffer.add( 2 );
+    buffer.pop();
+    buffer.pop();
+    assertEquals( buffer.getCapacity(), 4 );
+
+    // The buffer remains usable after shrinking
+    buffer.add( 3 );
+    buffer.add( 4 );
+    assertEquals( buffer.pop(), (Integer) 3 );
+    assertEquals( buffer.pop(), (Integer) 4 );
+    assertNull( buffer.pop() );
+  }
+
+  @Test
+  public void shrinkDisabled()
+  {
+    final CircularBuffer<Integer> buffer = new CircularBuffer<>( 4 );
+    for ( int i = 0; i < 100; i++ )
+    {
+      buffer.add( i );
+    }
+    for ( int i = 0; i < 100; i++ )
+    {
+      buffer.pop();
+    }
+    for ( int drain = 0; drain < 100; drain++ )
+    {
+      buffer.add( 1 );
+      buffer.pop();
+    }
+    assertEquals( buffer.getCapacity(), 128 );
+  }
+
+  @Test
+  public void offer()
+  {
+    final CircularBuffer<String> buffer = new CircularBuffer<>( 4 );
+
+    assertTrue( buffer.offer( "A", 2 ) );
+    assertTrue( buffer.offer( "B", 2 ) );
+    assertFalse( buffer.offer( "C", 2 ) );
+    assertEquals( buffer.size(), 2 );
+    assertEquals( buffer.get( 0 ), "A" );
+    assertEquals( buffer.get( 1 ), "B" );
+
+    // A capacity of 0 indicates the buffer is unbounded
+    assertTrue( buffer.offer( "C", 0 ) );
+    assertEquals( buffer.size(), 3 );
+  }
+
+  @Test
+  public void clear()
+  {
+    final CircularBuffer<String> buffer = new CircularBuffer<>( 4 );
+    buffer.add( "A" );
+    buffer.add( "B" );
+    buffer.pop();
+    buffer.add( "C" );
+    buffer.clear();
+
+    assertEquals( buffer.size(), 0 );
+    assertNull( buffer.peek() );
+    buffer.add( "D" );
+    assertEquals( buffer.pop(), "D" );
   }
 }
@@ -0,0 +1,100 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class CollectOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void reduce()
+  {
+    final List<Integer> results = new ArrayList<>();
+    Stream.range( 1, 10 ).reduce( 0, Integer::sum ).forEach( results::add );
+
+    assertEquals( results, Arrays.asList( 55 ) );
+  }
+
+  @Test
+  public void reduce_empty()
+  {
+    final List<Integer> results = new ArrayList<>();
+    Stream.<Integer>empty().reduce( 7, Integer::sum ).forEach( results::add );
+
+    assertEquals( results, Arrays.asList( 7 ) );
+  }
+
+  @Test
+  public void collect()
+  {
+    final List<String> results = new ArrayList<>();
+    Stream
+      .fromCollection( Arrays.asList( "a", "b", "c" ) )
+      .collect( Collectors.joining( "," ) )
+      .forEach( results::add );
+
+    assertEquals( results, Arrays.asList( "a,b,c" ) );
+  }
+
+  @Test
+  public void toListAndCount()
+  {
+    final List<Object> results = new ArrayList<>();
+    Stream.range( 0, 4 ).toList().forEach( results::add );
+    Stream.range( 0, 10000 ).count().forEach( results::add );
+
+    assertEquals( results.toString(), "[[0, 1, 2, 3], 10000]" );
+  }
+
+  @Test
+  public void toMap()
+  {
+    final List<String> results = new ArrayList<>();
+    Stream
+      .fromCollection( Arrays.asList( "a", "bb", "cc", "ddd" ) )
+      .toMap( String::length, v -> v )
+      .forEach( map -> results.add( map.toString() ) );
+
+    assertEquals( results, Arrays.asList( "{1=a, 2=cc, 3=ddd}" ) );
+  }
+
+  @Test
+  public void minAndMax()
+  {
+    final List<String> results = new ArrayList<>();
+    final List<String> values = Arrays.asList( "bb", "a", "ddd", "cc" );
+    Stream.fromCollection( values ).min( Comparator.naturalOrder() ).forEach( results::add );
+    Stream.fromCollection( values ).max( Comparator.naturalOrder() ).forEach( results::add );
+    Stream.<String>empty().max( Comparator.naturalOrder() ).forEach( results::add );
+
+    assertEquals( results, Arrays.asList( "a", "ddd" ) );
+  }
+
+  @Test
+  public void accumulatorError()
+  {
+    final List<Throwable> errors = new ArrayList<>();
+    final int[] emitted = new int[ 1 ];
+    final IllegalStateException error = new IllegalStateException();
+    Stream
+      .range( 0, 100 )
+      .peek( v -> emitted[ 0 ]++ )
+      .reduce( 0, ( a, b ) -> {
+        if ( 3 == b )
+        {
+          throw error;
+        }
+        return a + b;
+      } )
+      .peekError( errors::add )
+      .forEach( v -> fail() );
+
+    assertEquals( errors, Arrays.asList( error ) );
+    assertEquals( emitted[ 0 ], 4 );
+  }
+}
@@ -0,0 +1,77 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.testng.annotations.Test;
+import zemeckis.Zemeckis;
+import static org.testng.Assert.*;
+
+public class DebounceOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void itemReceivedBeforeTimerFiresMovesDeadline()
+    throws Exception
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<Integer> items = new ArrayList<>();
+    final int[] times = new int[ 2 ];
+    final CountDownLatch latch = new CountDownLatch( 1 );
+    runOnScheduler( latch, () -> {
+      subject
+        .debounce( 300 )
+        .forEach( v -> {
+          items.add( v );
+          times[ 1 ] = Zemeckis.now();
+          latch.countDown();
+        } );
+      subject.next( 1 );
+      // The timer armed for the first item fires before the new deadline and is re-armed
+      delayedTask( () -> {
+        times[ 0 ] = Zemeckis.now();
+        subject.next( 2 );
+      }, 30 );
+    } );
+
+    assertEquals( items.toString(), "[2]" );
+    assertTrue( times[ 1 ] - times[ 0 ] >= 300 );
+  }
+
+  @Test
+  public void completeEmitsPendingItem()
+    throws Exception
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<Integer> items = new ArrayList<>();
+    final CountDownLatch latch = new CountDownLatch( 1 );
+    runOnScheduler( latch, () -> {
+      subject.debounce( 20 ).afterComplete( latch::countDown ).forEach( items::add );
+      subject.next( 1 );
+      subject.next( 2 );
+      subject.complete();
+      assertEquals( items.size(), 0 );
+    } );
+
+    assertEquals( items.toString(), "[2]" );
+  }
+
+  @Test
+  public void cancelDisarmsTimer()
+    throws Exception
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<Integer> items = new ArrayList<>();
+    final CountDownLatch latch = new CountDownLatch( 1 );
+    runOnScheduler( latch, () -> {
+      final Subscription subscription = subject.debounce( 20 ).forEach( items::add );
+      subject.next( 1 );
+      subscription.cancel();
+      // Runs after the timer would have fired
+      delayedTask( latch::countDown, 100 );
+    } );
+
+    assertEquals( items.size(), 0 );
+    assertFalse( subject.hasDownstreamSubscribers() );
+  }
+}
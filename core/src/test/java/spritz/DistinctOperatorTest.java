@@ -0,0 +1,77 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class DistinctOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void distinct()
+  {
+    final List<Integer> items = new ArrayList<>();
+    Stream.of( 1, 2, 1, 3, 2, 4, 1 ).distinct().forEach( items::add );
+
+    assertEquals( items.toString(), "[1, 2, 3, 4]" );
+  }
+
+  @Test
+  public void distinct_maxSize()
+  {
+    final List<Integer> items = new ArrayList<>();
+    // 1 is seen again before 3 is added and thus 2 is the least recently used item that is discarded
+    Stream.of( 1, 2, 1, 3, 1, 2 ).distinct( 2 ).forEach( items::add );
+
+    assertEquals( items.toString(), "[1, 2, 3, 2]" );
+  }
+
+  @Test
+  public void distinctByKey_maxAge()
+    throws Exception
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<Integer> items = new ArrayList<>();
+    final CountDownLatch latch = new CountDownLatch( 1 );
+    runOnScheduler( latch, () -> {
+      subject.distinctByKey( Function.identity(), 300 ).afterComplete( latch::countDown ).forEach( items::add );
+      subject.next( 1 );
+      subject.next( 2 );
+      subject.next( 1 );
+      delayedTask( () -> subject.next( 2 ), 10 );
+      // The keys have expired and the items are emitted again
+      delayedTask( () -> {
+        subject.next( 1 );
+        subject.next( 2 );
+        subject.next( 2 );
+        subject.complete();
+      }, 400 );
+    } );
+
+    assertEquals( items.toString(), "[1, 2, 1, 2]" );
+  }
+
+  @Test
+  public void names()
+  {
+    final Subject<Integer> subject = Stream.subject();
+    assertEquals( subject.distinct().getName(), "distinct()" );
+    assertEquals( subject.distinct( 2 ).getName(), "distinct(maxSize=2)" );
+    assertEquals( subject.distinct( null, 2 ).getName(), "distinct(maxSize=2)" );
+    assertEquals( subject.distinctByKey( Function.identity() ).getName(), "distinctByKey()" );
+    assertEquals( subject.distinctByKey( Function.identity(), 300 ).getName(), "distinctByKey(maxAge=300)" );
+  }
+
+  @Test
+  public void distinctByKey()
+  {
+    final List<String> items = new ArrayList<>();
+    Stream.fromCollection( Arrays.asList( "a", "bb", "c", "dd", "eee" ) ).distinctByKey( String::length ).forEach( items::add );
+
+    assertEquals( items.toString(), "[a, bb, eee]" );
+  }
+}
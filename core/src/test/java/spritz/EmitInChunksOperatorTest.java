@@ -0,0 +1,78 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import zemeckis.Zemeckis;
+import static org.testng.Assert.*;
+
+public class EmitInChunksOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void emitInChunks()
+    throws Exception
+  {
+    final List<Integer> items = new ArrayList<>();
+    final int[] emittedOnSubscribe = new int[ 1 ];
+    final CountDownLatch completed = new CountDownLatch( 1 );
+    // Subscribe from the scheduler thread on which the macro task VPU requests subsequent chunks
+    runOnScheduler( completed, () -> {
+      Stream
+        .range( 0, 1000 )
+        .emitInChunks( 100, Zemeckis.macroTaskVpu() )
+        .afterTerminate( completed::countDown )
+        .forEach( items::add );
+      emittedOnSubscribe[ 0 ] = items.size();
+    } );
+
+    // Only the first chunk is emitted synchronously
+    assertEquals( emittedOnSubscribe[ 0 ], 100 );
+    assertEquals( items.size(), 1000 );
+    for ( int i = 0; i < 1000; i++ )
+    {
+      assertEquals( (int) items.get( i ), i );
+    }
+  }
+
+  @Test
+  public void emitInChunks_honorsDownstreamDemand()
+  {
+    final AtomicInteger emitted = new AtomicInteger();
+    final List<Integer> items = new ArrayList<>();
+    Stream
+      .range( 0, 1000 )
+      .peek( v -> emitted.incrementAndGet() )
+      .emitInChunks( 100, Zemeckis.macroTaskVpu() )
+      .subscribe( new Subscriber<Integer>()
+      {
+        @Override
+        public void onSubscribe( @Nonnull final Subscription subscription )
+        {
+          subscription.request( 5 );
+        }
+
+        @Override
+        public void onItem( @Nonnull final Integer item )
+        {
+          items.add( item );
+        }
+
+        @Override
+        public void onError( @Nonnull final Throwable error )
+        {
+        }
+
+        @Override
+        public void onComplete()
+        {
+        }
+      } );
+
+    assertEquals( items.size(), 5 );
+    assertEquals( emitted.get(), 5 );
+  }
+}
@@ -0,0 +1,131 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class ExecutorObserveOnOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void observeOnExecutor()
+    throws Exception
+  {
+    final ExecutorService upstreamExecutor = Executors.newSingleThreadExecutor();
+    final ExecutorService downstreamExecutor = Executors.newSingleThreadExecutor();
+    try
+    {
+      final Thread downstreamThread = downstreamExecutor.submit( Thread::currentThread ).get();
+      final AtomicInteger outOfOrder = new AtomicInteger();
+      final AtomicInteger wrongThread = new AtomicInteger();
+      final AtomicInteger next = new AtomicInteger();
+      final AtomicReference<Throwable> error = new AtomicReference<>();
+      final CountDownLatch completed = new CountDownLatch( 1 );
+
+      Stream
+        .range( 0, 10000 )
+        .subscribeOn( upstreamExecutor )
+        .observeOn( downstreamExecutor )
+        .subscribe( new Subscriber<Integer>()
+        {
+          private Subscription _subscription;
+
+          @Override
+          public void onSubscribe( @Nonnull final Subscription subscription )
+          {
+            _subscription = subscription;
+            subscription.request( 10 );
+          }
+
+          @Override
+          public void onItem( @Nonnull final Integer item )
+          {
+            if ( Thread.currentThread() != downstreamThread )
+            {
+              wrongThread.incrementAndGet();
+            }
+            if ( next.getAndIncrement() != item )
+            {
+              outOfOrder.incrementAndGet();
+            }
+            if ( 0 == next.get() % 10 )
+            {
+              _subscription.request( 10 );
+            }
+          }
+
+          @Override
+          public void onError( @Nonnull final Throwable throwable )
+          {
+            error.set( throwable );
+            completed.countDown();
+          }
+
+          @Override
+          public void onComplete()
+          {
+            completed.countDown();
+          }
+        } );
+
+      assertTrue( completed.await( 10, TimeUnit.SECONDS ) );
+      assertNull( error.get() );
+      assertEquals( next.get(), 10000 );
+      assertEquals( outOfOrder.get(), 0 );
+      assertEquals( wrongThread.get(), 0 );
+    }
+    finally
+    {
+      upstreamExecutor.shutdown();
+      downstreamExecutor.shutdown();
+    }
+  }
+
+  @Test
+  public void cancelReleasesSubjectWithoutFurtherItems()
+  {
+    final List<Runnable> tasks = new ArrayList<>();
+    final Subject<Integer> subject = Stream.subject();
+    final List<Integer> items = new ArrayList<>();
+    final Subscription subscription = subject.observeOn( tasks::add ).forEach( items::add );
+
+    subject.next( 1 );
+    runTasks( tasks );
+    assertEquals( items.toString(), "[1]" );
+
+    subscription.cancel();
+    assertFalse( subject.hasDownstreamSubscribers() );
+    assertTrue( tasks.isEmpty() );
+  }
+
+  @Test
+  public void cancelIsDeliveredToUpstreamByUpstreamThread()
+  {
+    final List<Runnable> tasks = new ArrayList<>();
+    final Subject<Integer> subject = Stream.subject();
+    final List<Integer> items = new ArrayList<>();
+    final Subscription subscription = subject.map( v -> v ).observeOn( tasks::add ).forEach( items::add );
+
+    subject.next( 1 );
+    runTasks( tasks );
+    assertEquals( items.toString(), "[1]" );
+
+    // The map stage may only be accessed on the upstream thread so cancelling does not access the upstream
+    subscription.cancel();
+    assertTrue( subject.hasDownstreamSubscribers() );
+
+    // The upstream cancels on the next interaction rather than queueing the item
+    subject.next( 2 );
+    assertFalse( subject.hasDownstreamSubscribers() );
+    assertTrue( tasks.isEmpty() );
+    assertEquals( items.toString(), "[1]" );
+  }
+}
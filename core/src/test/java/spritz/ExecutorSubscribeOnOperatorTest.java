@@ -0,0 +1,89 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class ExecutorSubscribeOnOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void cancelBeforeSubscribe()
+  {
+    final List<Runnable> tasks = new ArrayList<>();
+    final Subject<Integer> subject = Stream.subject();
+    final int[] subscribeCount = new int[ 1 ];
+    final Subscription subscription =
+      subject.peekSubscribe( s -> subscribeCount[ 0 ]++ ).subscribeOn( tasks::add ).forEach( v -> {
+      } );
+
+    subscription.cancel();
+    runTasks( tasks );
+
+    assertEquals( subscribeCount[ 0 ], 0 );
+    assertFalse( subject.hasDownstreamSubscribers() );
+  }
+
+  @Test
+  public void cancelAfterSubscribe_subjectIsReleasedImmediately()
+  {
+    final List<Runnable> tasks = new ArrayList<>();
+    final Subject<Integer> subject = Stream.subject();
+    final List<Integer> items = new ArrayList<>();
+    final Subscription subscription = subject.subscribeOn( tasks::add ).forEach( items::add );
+
+    runTasks( tasks );
+    assertTrue( subject.hasDownstreamSubscribers() );
+    subject.next( 1 );
+
+    subscription.cancel();
+    assertFalse( subject.hasDownstreamSubscribers() );
+    runTasks( tasks );
+
+    assertEquals( items.toString(), "[1]" );
+  }
+
+  @Test
+  public void itemEmittedBetweenCancelAndExecutorTaskIsDropped()
+  {
+    final List<Runnable> tasks = new ArrayList<>();
+    final Subject<Integer> subject = Stream.subject();
+    final List<Integer> items = new ArrayList<>();
+    final int[] cancelCount = new int[ 1 ];
+    // The map stage is not safe to cancel from another thread so the cancel is sent to the executor
+    final Subscription subscription =
+      subject.map( v -> v ).peekCancel( () -> cancelCount[ 0 ]++ ).subscribeOn( tasks::add ).forEach( items::add );
+
+    runTasks( tasks );
+    subject.next( 1 );
+
+    subscription.cancel();
+    assertTrue( subject.hasDownstreamSubscribers() );
+    assertEquals( tasks.size(), 1 );
+
+    // The item is dropped and the emitting thread cancels the upstream
+    subject.next( 2 );
+    assertFalse( subject.hasDownstreamSubscribers() );
+    assertEquals( items.toString(), "[1]" );
+
+    runTasks( tasks );
+    assertEquals( cancelCount[ 0 ], 1 );
+  }
+
+  @Test
+  public void cancelOfQuietUpstreamIsRunOnExecutor()
+  {
+    final List<Runnable> tasks = new ArrayList<>();
+    final Subject<Integer> subject = Stream.subject();
+    final Subscription subscription = subject.map( v -> v ).subscribeOn( tasks::add ).forEach( v -> {
+    } );
+
+    runTasks( tasks );
+    subscription.cancel();
+    assertTrue( subject.hasDownstreamSubscribers() );
+
+    runTasks( tasks );
+    assertFalse( subject.hasDownstreamSubscribers() );
+  }
+}
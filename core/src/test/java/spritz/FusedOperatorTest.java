@@ -0,0 +1,290 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class FusedOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void consecutiveStagesAreFused()
+  {
+    final Stream<Integer> source = Stream.of( 1, 2, 3, 4, 5 );
+    final Stream<String> stream =
+      source.map( v -> v * 2 ).filter( v -> v > 4 ).peek( "log", v -> { } ).map( String::valueOf );
+
+    assertTrue( stream instanceof FusedOperator );
+    assertEquals( ( (FusedOperator<?, ?>) stream ).getUpstream(), source );
+    assertEquals( stream.getName(), "map().filter().log.map()" );
+    assertEquals( stream.getQualifiedName(), "of(1, 2, 3, 4, 5).map().filter().log.map()" );
+
+    final List<String> items = new ArrayList<>();
+    stream.forEach( items::add );
+    assertEquals( items.toString(), "[6, 8, 10]" );
+  }
+
+  @Test
+  public void fusedStageLeavesUpstreamStageIntact()
+  {
+    final Stream<Integer> mapped = Stream.of( 1, 2, 3 ).map( v -> v + 1 );
+    final Stream<Integer> filtered = mapped.filter( v -> 3 != v );
+
+    final List<Integer> mappedItems = new ArrayList<>();
+    mapped.forEach( mappedItems::add );
+    final List<Integer> filteredItems = new ArrayList<>();
+    filtered.forEach( filteredItems::add );
+
+    assertEquals( mappedItems.toString(), "[2, 3, 4]" );
+    assertEquals( filteredItems.toString(), "[2, 4]" );
+  }
+
+  @Test
+  public void errorInFunctionIsSignalled()
+  {
+    final RuntimeException exception = new RuntimeException();
+    final List<Throwable> errors = new ArrayList<>();
+    Stream.of( 1, 2, 3 ).map( v -> {
+      if ( 2 == v )
+      {
+        throw exception;
+      }
+      return v;
+    } ).peekError( errors::add ).forEach( v -> { } );
+
+    assertEquals( errors.size(), 1 );
+    assertEquals( errors.get( 0 ), exception );
+  }
+
+  @Test
+  public void batchedItemsFromArraySource()
+  {
+    final Integer[] data = new Integer[ 200 ];
+    for ( int i = 0; i < data.length; i++ )
+    {
+      data[ i ] = i;
+    }
+    final List<Integer> items = new ArrayList<>();
+    Stream.of( data ).map( v -> v * 2 ).filter( v -> 0 != v % 3 ).skip( 5 ).limit( 100 ).forEach( items::add );
+
+    final List<Integer> expected = new ArrayList<>();
+    for ( int i = 0; i < data.length && expected.size() < 105; i++ )
+    {
+      if ( 0 != ( i * 2 ) % 3 )
+      {
+        expected.add( i * 2 );
+      }
+    }
+    assertEquals( items, expected.subList( 5, 105 ) );
+  }
+
+  @Test
+  public void mapperReturningNullFailsRatherThanFilters()
+  {
+    final List<Integer> items = new ArrayList<>();
+    final List<Throwable> errors = new ArrayList<>();
+    Stream.fromCollection( Arrays.asList( 1, 2, 3 ) )
+      .map( v -> 2 == v ? null : v )
+      .filter( v -> true )
+      .peekError( errors::add )
+      .forEach( items::add );
+
+    assertEquals( items.toString(), "[1]" );
+    assertEquals( errors.size(), 1 );
+    assertTrue( errors.get( 0 ) instanceof NullPointerException );
+    assertEquals( errors.get( 0 ).getMessage(), "The mapper function returned null" );
+  }
+
+  @Test
+  public void unbatchedMapperReturningNullFails()
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<Integer> items = new ArrayList<>();
+    final List<Throwable> errors = new ArrayList<>();
+    subject.map( v -> 2 == v ? null : v ).peekError( errors::add ).forEach( items::add );
+
+    subject.next( 1 );
+    subject.next( 2 );
+
+    assertEquals( items.toString(), "[1]" );
+    assertEquals( errors.size(), 1 );
+    assertTrue( errors.get( 0 ) instanceof NullPointerException );
+    assertFalse( subject.hasDownstreamSubscribers() );
+  }
+
+  @Test
+  public void errorInBatchEmitsPriorItems()
+  {
+    final RuntimeException exception = new RuntimeException();
+    final List<Integer> items = new ArrayList<>();
+    final List<Throwable> errors = new ArrayList<>();
+    Stream.fromCollection( Arrays.asList( 1, 2, 3, 4 ) ).map( v -> {
+      if ( 3 == v )
+      {
+        throw exception;
+      }
+      return v;
+    } ).peekError( errors::add ).forEach( items::add );
+
+    assertEquals( items.toString(), "[1, 2]" );
+    assertEquals( errors.size(), 1 );
+    assertEquals( errors.get( 0 ), exception );
+  }
+
+  @Test
+  public void subscriberCancellingWithinBatchReceivesNoFurtherItems()
+  {
+    final List<Integer> items = new ArrayList<>();
+    Stream.of( 1, 2, 3, 4, 5, 6 ).map( v -> v * 10 ).subscribe( new Subscriber<Integer>()
+    {
+      private Subscription _subscription;
+
+      @Override
+      public void onSubscribe( @Nonnull final Subscription subscription )
+      {
+        _subscription = subscription;
+      }
+
+      @Override
+      public void onItem( @Nonnull final Integer item )
+      {
+        items.add( item );
+        if ( 3 == items.size() )
+        {
+          _subscription.cancel();
+        }
+      }
+
+      @Override
+      public void onError( @Nonnull final Throwable error )
+      {
+        fail();
+      }
+
+      @Override
+      public void onComplete()
+      {
+        fail();
+      }
+    } );
+
+    assertEquals( items.toString(), "[10, 20, 30]" );
+  }
+
+  @Test
+  public void batchesFlowThroughFusedStage()
+  {
+    final List<Integer> batchSizes = new ArrayList<>();
+    final List<Integer> items = new ArrayList<>();
+    new BatchRecorder<>( Stream.of( 1, 2, 3, 4, 5, 6 ).map( v -> v * 10 ).filter( v -> 30 != v ), batchSizes )
+      .forEach( items::add );
+
+    assertEquals( batchSizes.toString(), "[5]" );
+    assertEquals( items.toString(), "[10, 20, 40, 50, 60]" );
+  }
+
+  @Test
+  public void batchesFlowWhenMetricsEnabled()
+  {
+    SpritzTestUtil.enableMetrics();
+
+    final List<Integer> batchSizes = new ArrayList<>();
+    final List<Integer> items = new ArrayList<>();
+    new BatchRecorder<>( Stream.of( "src", 1, 2, 3, 4, 5, 6 ).map( v -> v * 10 ).filter( v -> 30 != v ), batchSizes )
+      .forEach( items::add );
+
+    assertEquals( batchSizes.toString(), "[5]" );
+    assertEquals( items.toString(), "[10, 20, 40, 50, 60]" );
+
+    final StageMetrics fused = Spritz.getMetrics().findStage( "src.map().filter()" );
+    assertNotNull( fused );
+    assertEquals( fused.getItemCount(), 5 );
+  }
+
+  @Test
+  public void errorInBatchEmitsPriorItemsAsBatchThenError()
+  {
+    final RuntimeException exception = new RuntimeException();
+    final List<Integer> batchSizes = new ArrayList<>();
+    final List<Integer> items = new ArrayList<>();
+    final List<Throwable> errors = new ArrayList<>();
+    new BatchRecorder<>( Stream.fromCollection( Arrays.asList( 1, 2, 3, 4 ) ).map( v -> {
+      if ( 3 == v )
+      {
+        throw exception;
+      }
+      return v;
+    } ), batchSizes ).peekError( errors::add ).forEach( items::add );
+
+    assertEquals( batchSizes.toString(), "[2]" );
+    assertEquals( items.toString(), "[1, 2]" );
+    assertEquals( errors.size(), 1 );
+    assertEquals( errors.get( 0 ), exception );
+  }
+
+  @Test
+  public void batchesAreSlicedBySkip()
+  {
+    final List<Integer> batchSizes = new ArrayList<>();
+    final List<Integer> items = new ArrayList<>();
+    new BatchRecorder<>( Stream.of( 1, 2, 3, 4, 5 ).skip( 2 ), batchSizes ).forEach( items::add );
+
+    assertEquals( batchSizes.toString(), "[3]" );
+    assertEquals( items.toString(), "[3, 4, 5]" );
+  }
+
+  @Test
+  public void batchesAreSlicedByLimit()
+  {
+    final List<Integer> batchSizes = new ArrayList<>();
+    final List<Integer> items = new ArrayList<>();
+    new BatchRecorder<>( Stream.of( 1, 2, 3, 4, 5 ).limit( 2 ), batchSizes ).forEach( items::add );
+
+    assertEquals( batchSizes.toString(), "[2]" );
+    assertEquals( items.toString(), "[1, 2]" );
+  }
+
+  /**
+   * A stage that records the size of each batch received from upstream.
+   */
+  private static final class BatchRecorder<T>
+    extends AbstractStream<T, T>
+  {
+    @Nonnull
+    private final List<Integer> _batchSizes;
+
+    BatchRecorder( @Nonnull final Stream<T> upstream, @Nonnull final List<Integer> batchSizes )
+    {
+      super( Spritz.areNamesEnabled() ? generateName( null, "batchRecorder" ) : null, upstream );
+      _batchSizes = batchSizes;
+    }
+
+    @Nonnull
+    @Override
+    Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
+    {
+      final WorkerSubscription<T> subscription = new WorkerSubscription<>( this, subscriber );
+      getUpstream().subscribe( subscription );
+      return subscription;
+    }
+
+    private static final class WorkerSubscription<T>
+      extends PassThroughSubscription<T, BatchRecorder<T>>
+    {
+      WorkerSubscription( @Nonnull final BatchRecorder<T> stream, @Nonnull final Subscriber<? super T> subscriber )
+      {
+        super( stream, subscriber );
+      }
+
+      @Override
+      public void onItems( @Nonnull final T[] items, final int offset, final int count )
+      {
+        getStream()._batchSizes.add( count );
+        super.onItems( items, offset, count );
+      }
+    }
+  }
+}
@@ -0,0 +1,194 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class IntStreamTest
+  extends AbstractTest
+{
+  @Test
+  public void mapFilterBoxed()
+  {
+    final Stream<Integer> stream = Stream.rangeInt( 0, 6 ).map( v -> v * 3 ).filter( v -> 0 == v % 2 ).boxed();
+
+    assertEquals( stream.getQualifiedName(), "rangeInt(0, 6).map().filter().boxed()" );
+
+    final List<Integer> items = new ArrayList<>();
+    stream.forEach( items::add );
+    assertEquals( items.toString(), "[0, 6, 12]" );
+  }
+
+  @Test
+  public void scan()
+  {
+    final List<Integer> items = new ArrayList<>();
+    Stream.ofInts( 1, 2, 3, 4 ).scan( Integer::sum, 10 ).forEach( items::add );
+    assertEquals( items.toString(), "[11, 13, 16, 20]" );
+  }
+
+  @Test
+  public void aggregates()
+  {
+    final List<Integer> items = new ArrayList<>();
+    Stream.ofInts( 3, -7, 12, 5 ).sum().forEach( items::add );
+    Stream.ofInts( 3, -7, 12, 5 ).min().forEach( items::add );
+    Stream.ofInts( 3, -7, 12, 5 ).max().forEach( items::add );
+    assertEquals( items.toString(), "[13, -7, 12]" );
+  }
+
+  @Test
+  public void aggregates_emptyStream()
+  {
+    final List<Integer> items = new ArrayList<>();
+    Stream.ofInts().sum().forEach( items::add );
+    Stream.ofInts().min().forEach( items::add );
+    Stream.ofInts().max().forEach( items::add );
+    assertEquals( items.toString(), "[0]" );
+  }
+
+  @Test
+  public void periodicInt()
+    throws Exception
+  {
+    final List<Integer> items = new ArrayList<>();
+    final CountDownLatch latch = new CountDownLatch( 1 );
+    runOnScheduler( latch, () -> Stream.periodicInt( 5 ).boxed().limit( 3 ).subscribe( new Subscriber<Integer>()
+    {
+      @Override
+      public void onSubscribe( @Nonnull final Subscription subscription )
+      {
+      }
+
+      @Override
+      public void onItem( @Nonnull final Integer item )
+      {
+        items.add( item );
+      }
+
+      @Override
+      public void onError( @Nonnull final Throwable error )
+      {
+      }
+
+      @Override
+      public void onComplete()
+      {
+        latch.countDown();
+      }
+    } ) );
+    assertEquals( items.toString(), "[0, 1, 2]" );
+  }
+
+  @Test
+  public void demandIsPropagatedThroughIntOperators()
+  {
+    final RecordingSubscriber subscriber = new RecordingSubscriber( 2 );
+    final Subscription subscription =
+      Stream.rangeInt( 0, 10 ).map( v -> v + 1 ).filter( v -> 0 == v % 2 ).scan( Integer::sum, 0 ).subscribe( subscriber );
+
+    // Filtered items are replaced by a request upstream so 2 items are emitted for 2 requested
+    assertEquals( subscriber._items.toString(), "[2, 6]" );
+    assertFalse( subscriber._complete );
+
+    subscription.request( 10 );
+    assertEquals( subscriber._items.toString(), "[2, 6, 12, 20, 30]" );
+    assertTrue( subscriber._complete );
+  }
+
+  @Test
+  public void mapperErrorIsEmittedAndCancelsUpstream()
+  {
+    final RecordingSubscriber subscriber = new RecordingSubscriber( Subscription.UNBOUNDED );
+    Stream.rangeInt( 0, 10 ).map( v -> {
+      if ( 2 == v )
+      {
+        throw new IllegalStateException( "Bad item" );
+      }
+      return v;
+    } ).subscribe( subscriber );
+
+    assertEquals( subscriber._items.toString(), "[0, 1]" );
+    assertNotNull( subscriber._error );
+    assertEquals( subscriber._error.getMessage(), "Bad item" );
+    assertFalse( subscriber._complete );
+  }
+
+  @Test
+  public void scanAccumulatorErrorIsEmitted()
+  {
+    final RecordingSubscriber subscriber = new RecordingSubscriber( Subscription.UNBOUNDED );
+    Stream.ofInts( 1, 2, 3 ).scan( ( a, v ) -> {
+      if ( 3 == v )
+      {
+        throw new IllegalStateException( "Bad item" );
+      }
+      return a + v;
+    }, 0 ).subscribe( subscriber );
+
+    assertEquals( subscriber._items.toString(), "[1, 3]" );
+    assertNotNull( subscriber._error );
+    assertFalse( subscriber._complete );
+  }
+
+  @Test
+  public void subscribeRecordsMetrics()
+  {
+    SpritzTestUtil.enableMetrics();
+
+    final RecordingSubscriber subscriber = new RecordingSubscriber( 2 );
+    final Subscription subscription = Stream.rangeInt( 0, 3 ).map( v -> v * 2 ).subscribe( subscriber );
+    subscription.cancel();
+
+    assertEquals( subscriber._items.toString(), "[0, 2]" );
+
+    final StageMetrics metrics = Spritz.getMetrics().findStage( "rangeInt(0, 3).map()" );
+    assertNotNull( metrics );
+    assertEquals( metrics.getSubscribeCount(), 1 );
+    assertEquals( metrics.getItemCount(), 2 );
+    assertEquals( metrics.getCompleteCount(), 0 );
+    assertEquals( metrics.getCancelCount(), 1 );
+  }
+
+  private static final class RecordingSubscriber
+    implements IntSubscriber
+  {
+    @Nonnull
+    private final List<Integer> _items = new ArrayList<>();
+    private final long _initialRequest;
+    private Throwable _error;
+    private boolean _complete;
+
+    RecordingSubscriber( final long initialRequest )
+    {
+      _initialRequest = initialRequest;
+    }
+
+    @Override
+    public void onSubscribe( @Nonnull final Subscription subscription )
+    {
+      subscription.request( _initialRequest );
+    }
+
+    @Override
+    public void onItem( final int item )
+    {
+      _items.add( item );
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      _error = error;
+    }
+
+    @Override
+    public void onComplete()
+    {
+      _complete = true;
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class IteratorStreamSourceTest
+  extends AbstractTest
+{
+  @Test
+  public void fromStream_isLazy()
+  {
+    final AtomicInteger produced = new AtomicInteger();
+    final AtomicInteger closed = new AtomicInteger();
+    final java.util.stream.Stream<Integer> source =
+      java.util.stream.Stream.iterate( 0, v -> v + 1 ).peek( v -> produced.incrementAndGet() ).onClose( closed::incrementAndGet );
+
+    final List<Integer> results = new ArrayList<>();
+    Stream.fromStream( source ).first().forEach( results::add );
+
+    assertEquals( results, Arrays.asList( 0 ) );
+    assertEquals( produced.get(), 1 );
+    assertEquals( closed.get(), 1 );
+  }
+
+  @Test
+  public void fromStream_closedOnComplete()
+  {
+    final AtomicInteger closed = new AtomicInteger();
+    final List<Integer> results = new ArrayList<>();
+    Stream.fromStream( IntStream.range( 0, 5 ).boxed().onClose( closed::incrementAndGet ) ).forEach( results::add );
+
+    assertEquals( results, Arrays.asList( 0, 1, 2, 3, 4 ) );
+    assertEquals( closed.get(), 1 );
+  }
+
+  @Test
+  public void fromIterable_subscribedTwice()
+  {
+    final List<String> values = Arrays.asList( "a", "b", "c" );
+    final Stream<String> stream = Stream.fromIterable( values );
+    final List<String> results = new ArrayList<>();
+    stream.forEach( results::add );
+    stream.forEach( results::add );
+
+    assertEquals( results, Arrays.asList( "a", "b", "c", "a", "b", "c" ) );
+  }
+
+  @Test
+  public void fromIterator_error()
+  {
+    final IllegalStateException error = new IllegalStateException();
+    final Iterator<Integer> iterator = new Iterator<Integer>()
+    {
+      private int _next;
+
+      @Override
+      public boolean hasNext()
+      {
+        if ( 2 == _next )
+        {
+          throw error;
+        }
+        return true;
+      }
+
+      @Override
+      public Integer next()
+      {
+        return _next++;
+      }
+    };
+    final List<Object> results = new ArrayList<>();
+    Stream.fromIterator( iterator ).peekError( results::add ).forEach( results::add );
+
+    assertEquals( results, Arrays.asList( 0, 1, error ) );
+  }
+
+  @Test
+  public void fromSpliterator()
+  {
+    final List<Integer> results = new ArrayList<>();
+    Stream.fromSpliterator( Arrays.asList( 1, 2, 3 ).spliterator() ).forEach( results::add );
+
+    assertEquals( results, Arrays.asList( 1, 2, 3 ) );
+  }
+}
@@ -0,0 +1,93 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class MergeOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void concat_manySynchronousStreams()
+  {
+    final int count = 10000;
+    final List<Stream<Integer>> streams = new ArrayList<>( count );
+    for ( int i = 0; i < count; i++ )
+    {
+      streams.add( Stream.of( i ) );
+    }
+    final List<Integer> items = new ArrayList<>();
+    final boolean[] completed = new boolean[ 1 ];
+
+    // Inner streams that complete synchronously are subscribed in a loop rather than recursively
+    Stream.fromCollection( streams ).concatMap( s -> s ).afterComplete( () -> completed[ 0 ] = true ).forEach( items::add );
+
+    assertTrue( completed[ 0 ] );
+    assertEquals( items.size(), count );
+    for ( int i = 0; i < count; i++ )
+    {
+      assertEquals( (int) items.get( i ), i );
+    }
+  }
+
+  @Test
+  public void mergeMap_onlyPullsMaxConcurrencyStreamsFromDemandAwareSource()
+  {
+    final List<Subject<Integer>> subjects = new ArrayList<>();
+    final int[] pulled = new int[ 1 ];
+    Stream
+      .range( 0, 100000 )
+      .peek( i -> pulled[ 0 ]++ )
+      .mergeMap( i -> {
+        final Subject<Integer> subject = Stream.subject();
+        subjects.add( subject );
+        return subject;
+      }, 3 )
+      .forEach( v -> {
+      } );
+
+    assertEquals( pulled[ 0 ], 3 );
+    assertEquals( subjects.size(), 3 );
+
+    // Each completed inner stream is replaced by a single stream from upstream
+    subjects.get( 1 ).complete();
+    assertEquals( pulled[ 0 ], 4 );
+    subjects.get( 0 ).complete();
+    subjects.get( 3 ).complete();
+    assertEquals( pulled[ 0 ], 6 );
+    assertEquals( subjects.size(), 6 );
+  }
+
+  @Test
+  public void mergeMap_maxConcurrency()
+  {
+    final List<Subject<String>> subjects = new ArrayList<>();
+    final List<String> items = new ArrayList<>();
+    final boolean[] completed = new boolean[ 1 ];
+    Stream
+      .range( 0, 4 )
+      .mergeMap( i -> {
+        final Subject<String> subject = Stream.subject();
+        subjects.add( subject );
+        return subject;
+      }, 2 )
+      .afterComplete( () -> completed[ 0 ] = true )
+      .forEach( items::add );
+
+    assertEquals( subjects.size(), 2 );
+    subjects.get( 1 ).next( "b" );
+    subjects.get( 0 ).next( "a" );
+    subjects.get( 0 ).complete();
+    assertEquals( subjects.size(), 3 );
+    subjects.get( 2 ).complete();
+    subjects.get( 1 ).complete();
+    assertEquals( subjects.size(), 4 );
+    assertFalse( completed[ 0 ] );
+    subjects.get( 3 ).next( "d" );
+    subjects.get( 3 ).complete();
+
+    assertTrue( completed[ 0 ] );
+    assertEquals( items.toString(), "[b, a, d]" );
+  }
+}
@@ -0,0 +1,161 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class MetricsTest
+  extends AbstractTest
+{
+  @Test
+  public void countsSignalsPerStage()
+  {
+    SpritzTestUtil.enableMetrics();
+
+    final List<Integer> items = new ArrayList<>();
+    Stream.<Integer>of( "src", 1, 2, 3, 4 ).filter( "odd", v -> 1 == v % 2 ).forEach( items::add );
+
+    assertEquals( items.toString(), "[1, 3]" );
+
+    final MetricsRegistry metrics = Spritz.getMetrics();
+    final StageMetrics source = metrics.findStage( "src" );
+    assertNotNull( source );
+    assertEquals( source.getSubscribeCount(), 1 );
+    assertEquals( source.getItemCount(), 4 );
+    assertEquals( source.getCompleteCount(), 1 );
+    assertEquals( source.getErrorCount(), 0 );
+    assertEquals( source.getCancelCount(), 0 );
+
+    final StageMetrics filter = metrics.findStage( "src.odd" );
+    assertNotNull( filter );
+    assertEquals( filter.getSubscribeCount(), 1 );
+    assertEquals( filter.getItemCount(), 2 );
+    assertEquals( filter.getCompleteCount(), 1 );
+  }
+
+  @Test
+  public void stagesKeyedByQualifiedName()
+  {
+    SpritzTestUtil.enableMetrics();
+
+    final Stream<Integer> source = Stream.fromCollection( "src", Arrays.asList( 1, 2, 3, 4 ) );
+    source.map( v -> v * 2 ).forEach( v -> {
+    } );
+    source.filter( v -> v > 2 ).forEach( v -> {
+    } );
+    source.map( v -> v * 2 ).skip( 1 ).map( v -> v + 1 ).filter( v -> v > 4 ).forEach( v -> {
+    } );
+
+    final MetricsRegistry metrics = Spritz.getMetrics();
+    assertEquals( metrics.getStages().stream().map( StageMetrics::getName ).sorted().collect( Collectors.toList() ),
+                  Arrays.asList( "src",
+                                 "src.filter()",
+                                 "src.map()",
+                                 "src.map().skip(1)",
+                                 "src.map().skip(1).map().filter()" ) );
+
+    final StageMetrics src = metrics.findStage( "src" );
+    assertNotNull( src );
+    assertEquals( src.getSubscribeCount(), 3 );
+    final StageMetrics map = metrics.findStage( "src.map()" );
+    assertNotNull( map );
+    // The map stages of the first and last streams have the same qualified name and are combined
+    assertEquals( map.getSubscribeCount(), 2 );
+    assertEquals( map.getItemCount(), 8 );
+    // The fused map and filter stages are reported as a single stage
+    final StageMetrics fused = metrics.findStage( "src.map().skip(1).map().filter()" );
+    assertNotNull( fused );
+    assertEquals( fused.getItemCount(), 3 );
+  }
+
+  @Test
+  public void countsErrorsAndCancels()
+  {
+    SpritzTestUtil.enableMetrics();
+
+    Stream.<Integer>fail( "failed", new IllegalStateException() ).forEach( v -> {
+    } );
+    final Subject<Integer> subject = Stream.subject( "nothing" );
+    subject.forEach( v -> {
+    } ).cancel();
+
+    final MetricsRegistry metrics = Spritz.getMetrics();
+    final StageMetrics failed = metrics.findStage( "failed" );
+    assertNotNull( failed );
+    assertEquals( failed.getErrorCount(), 1 );
+    final StageMetrics nothing = metrics.findStage( "nothing" );
+    assertNotNull( nothing );
+    assertEquals( nothing.getCancelCount(), 1 );
+
+    metrics.clear();
+    assertTrue( metrics.getStages().isEmpty() );
+  }
+
+  @Test
+  public void subscriptionsAreDoneWhenStageCompletes()
+  {
+    SpritzTestUtil.enableMetrics();
+
+    final List<Subscription> subscriptions = new ArrayList<>();
+    final Subscription subscription = Stream.of( "src", 1, 2, 3 ).subscribe( new Subscriber<Integer>()
+    {
+      @Override
+      public void onSubscribe( @Nonnull final Subscription subscription )
+      {
+        subscriptions.add( subscription );
+      }
+
+      @Override
+      public void onItem( @Nonnull final Integer item )
+      {
+      }
+
+      @Override
+      public void onError( @Nonnull final Throwable error )
+      {
+      }
+
+      @Override
+      public void onComplete()
+      {
+      }
+    } );
+
+    assertEquals( subscriptions.size(), 1 );
+    assertTrue( subscriptions.get( 0 ).isDone() );
+    assertTrue( subscription.isDone() );
+
+    subscription.cancel();
+
+    final StageMetrics src = Spritz.getMetrics().findStage( "src" );
+    assertNotNull( src );
+    assertEquals( src.getCompleteCount(), 1 );
+    assertEquals( src.getCancelCount(), 0 );
+  }
+
+  @Test
+  public void subscriptionsAreDoneWhenStageErrors()
+  {
+    SpritzTestUtil.enableMetrics();
+
+    final Subject<Integer> subject = Stream.subject( "src" );
+    final Subscription subscription = subject.forEach( v -> {
+    } );
+    assertFalse( subscription.isDone() );
+
+    subject.error( new IllegalStateException() );
+
+    assertTrue( subscription.isDone() );
+  }
+
+  @Test
+  public void getMetrics_whenDisabled()
+  {
+    assertInvariantFailure( Spritz::getMetrics,
+                            "Spritz-0011: Spritz.getMetrics() invoked when Spritz.areMetricsEnabled() is false" );
+  }
+}
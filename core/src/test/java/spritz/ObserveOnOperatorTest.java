@@ -0,0 +1,76 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.testng.annotations.Test;
+import zemeckis.VirtualProcessorUnit;
+import zemeckis.Zemeckis;
+import static org.testng.Assert.*;
+
+public class ObserveOnOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void name()
+  {
+    final VirtualProcessorUnit vpu = Zemeckis.macroTaskVpu();
+    assertEquals( Stream.subject().observeOn( vpu ).getName(), "observeOn(" + vpu.getName() + ")" );
+    assertEquals( Stream.subject().observeOn( vpu, 2 ).getName(), "observeOn(" + vpu.getName() + ",2)" );
+    assertEquals( Stream.subject().observeOn( "myStream", vpu, 2 ).getName(), "myStream" );
+  }
+
+  @Test
+  public void demandAwareUpstreamIsBoundedByPrefetch()
+    throws Exception
+  {
+    final int count = 100000;
+    final int[] pulled = new int[ 1 ];
+    final int[] observed = new int[ 1 ];
+    final int[] pulledBeforeDrain = new int[ 1 ];
+    final int[] maxOutstanding = new int[ 1 ];
+    final CountDownLatch latch = new CountDownLatch( 1 );
+    runOnScheduler( latch, () -> {
+      Stream
+        .range( 0, count )
+        .peek( i -> {
+          pulled[ 0 ]++;
+          maxOutstanding[ 0 ] = Math.max( maxOutstanding[ 0 ], pulled[ 0 ] - observed[ 0 ] );
+        } )
+        .observeOn( Zemeckis.macroTaskVpu() )
+        .afterComplete( latch::countDown )
+        .forEach( i -> observed[ 0 ]++ );
+      // The VPU has yet to drain the buffer as it is activated by a later task
+      pulledBeforeDrain[ 0 ] = pulled[ 0 ];
+    } );
+
+    assertEquals( pulledBeforeDrain[ 0 ], ObserveOnOperator.PREFETCH );
+    assertTrue( maxOutstanding[ 0 ] <= ObserveOnOperator.PREFETCH, "Max outstanding " + maxOutstanding[ 0 ] );
+    assertEquals( observed[ 0 ], count );
+  }
+
+  @Test
+  public void singleTaskYieldsAfterMaxBatchSize()
+    throws Exception
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<Integer> items = new ArrayList<>();
+    final List<Integer> observedBeforeProbe = new ArrayList<>();
+    final CountDownLatch latch = new CountDownLatch( 1 );
+    runOnScheduler( latch, () -> {
+      final VirtualProcessorUnit vpu = Zemeckis.macroTaskVpu();
+      subject.observeOn( vpu, 2 ).afterComplete( latch::countDown ).forEach( items::add );
+      for ( int i = 1; i <= 5; i++ )
+      {
+        subject.next( i );
+      }
+      subject.complete();
+      // Queued behind the observing task in the same activation of the VPU. If a task had been queued
+      // per item then the later tasks would also run before the probe.
+      vpu.queue( Zemeckis.areNamesEnabled() ? "Probe" : null, () -> observedBeforeProbe.add( items.size() ) );
+    } );
+
+    assertEquals( observedBeforeProbe.toString(), "[2]" );
+    assertEquals( items.toString(), "[1, 2, 3, 4, 5]" );
+  }
+}
@@ -0,0 +1,47 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class OnErrorResumeWithOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void repeat_manySynchronousErrors()
+  {
+    final int count = 10000;
+    final AtomicInteger subscriptions = new AtomicInteger();
+    final List<Throwable> errors = new ArrayList<>();
+    final RuntimeException error = new RuntimeException();
+
+    // Replacement streams that error synchronously are subscribed in a loop rather than recursively
+    Stream
+      .<Integer>fail( error )
+      .afterSubscribe( s -> subscriptions.incrementAndGet() )
+      .repeat( count )
+      .afterError( errors::add )
+      .forEach( v -> fail() );
+
+    assertEquals( subscriptions.get(), count + 1 );
+    assertEquals( errors.size(), 1 );
+    assertSame( errors.get( 0 ), error );
+  }
+
+  @Test
+  public void rescue_emitsItemsFromReplacementStreams()
+  {
+    final List<Integer> items = new ArrayList<>();
+    Stream
+      .concat( Stream.of( 1 ), Stream.fail( new RuntimeException() ) )
+      .rescue( e -> e instanceof IllegalStateException ?
+                    null :
+                    Stream.concat( Stream.of( 2 ), Stream.fail( new IllegalStateException() ) ) )
+      .rescue( e -> e instanceof IllegalStateException ? Stream.of( 3 ) : null )
+      .forEach( items::add );
+
+    assertEquals( items.toString(), "[1, 2, 3]" );
+  }
+}
@@ -0,0 +1,217 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import zemeckis.Zemeckis;
+import static org.testng.Assert.*;
+
+public class OverflowStrategyTest
+  extends AbstractTest
+{
+  @Test
+  public void mergeMap_dropOldest()
+  {
+    final List<Object> dropped = new ArrayList<>();
+    Spritz.setDroppedItemHandler( ( stream, item ) -> dropped.add( item ) );
+
+    final Subject<Integer> upstream = Stream.subject();
+    final List<String> items = new ArrayList<>();
+    final List<Subject<String>> subjects = new ArrayList<>();
+    upstream
+      .mergeMap( i -> {
+        final Subject<String> subject = Stream.subject();
+        subjects.add( subject );
+        return subject;
+      }, 1, 2, OverflowStrategy.DROP_OLDEST )
+      .forEach( items::add );
+
+    for ( int i = 0; i < 5; i++ )
+    {
+      upstream.next( i );
+    }
+
+    // Only the first inner stream is active and the pending buffer retains the two newest streams
+    assertEquals( subjects.size(), 5 );
+    assertEquals( dropped.size(), 2 );
+
+    subjects.get( 0 ).next( "a" );
+    subjects.get( 0 ).complete();
+    subjects.get( 3 ).next( "b" );
+    subjects.get( 1 ).next( "dropped" );
+    subjects.get( 3 ).complete();
+    subjects.get( 4 ).next( "c" );
+
+    assertEquals( items.toString(), "[a, b, c]" );
+  }
+
+  @Test
+  public void mergeMap_error()
+  {
+    final Subject<Integer> upstream = Stream.subject();
+    final AtomicReference<Throwable> error = new AtomicReference<>();
+    final List<Integer> items = new ArrayList<>();
+    upstream
+      .mergeMap( i -> Stream.<Integer>subject(), 1, 1, OverflowStrategy.ERROR )
+      .subscribe( new Subscriber<Integer>()
+      {
+        @Override
+        public void onSubscribe( @Nonnull final Subscription subscription )
+        {
+        }
+
+        @Override
+        public void onItem( @Nonnull final Integer item )
+        {
+          items.add( item );
+        }
+
+        @Override
+        public void onError( @Nonnull final Throwable throwable )
+        {
+          error.set( throwable );
+        }
+
+        @Override
+        public void onComplete()
+        {
+        }
+      } );
+
+    upstream.next( 0 );
+    upstream.next( 1 );
+    assertNull( error.get() );
+    upstream.next( 2 );
+
+    assertTrue( error.get() instanceof BufferOverflowException );
+    assertTrue( items.isEmpty() );
+  }
+
+  @Test
+  public void observeOnExecutor_dropNewest()
+    throws Exception
+  {
+    final List<Object> dropped = new ArrayList<>();
+    Spritz.setDroppedItemHandler( ( stream, item ) -> dropped.add( item ) );
+
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try
+    {
+      // Block the executor so that items accumulate in the buffer
+      final CountDownLatch blocked = new CountDownLatch( 1 );
+      executor.execute( () -> {
+        try
+        {
+          blocked.await();
+        }
+        catch ( final InterruptedException ignored )
+        {
+        }
+      } );
+
+      final Subject<Integer> subject = Stream.subject();
+      final List<Integer> items = new ArrayList<>();
+      final CountDownLatch completed = new CountDownLatch( 1 );
+      subject
+        .observeOn( executor, 4, OverflowStrategy.DROP_NEWEST )
+        .subscribe( new CollectingSubscriber( items, completed ) );
+
+      for ( int i = 0; i < 10; i++ )
+      {
+        subject.next( i );
+      }
+      subject.complete();
+      blocked.countDown();
+
+      assertTrue( completed.await( 10, TimeUnit.SECONDS ) );
+      assertEquals( items.toString(), "[0, 1, 2, 3]" );
+      assertEquals( dropped.toString(), "[4, 5, 6, 7, 8, 9]" );
+    }
+    finally
+    {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void observeOnExecutor_block()
+    throws Exception
+  {
+    final ExecutorService upstreamExecutor = Executors.newSingleThreadExecutor();
+    final ExecutorService downstreamExecutor = Executors.newSingleThreadExecutor();
+    try
+    {
+      final List<Integer> items = new ArrayList<>();
+      final CountDownLatch completed = new CountDownLatch( 1 );
+      Stream
+        .range( 0, 1000 )
+        .subscribeOn( upstreamExecutor )
+        .observeOn( downstreamExecutor, 4, OverflowStrategy.BLOCK )
+        .subscribe( new CollectingSubscriber( items, completed ) );
+
+      assertTrue( completed.await( 10, TimeUnit.SECONDS ) );
+      assertEquals( items.size(), 1000 );
+      for ( int i = 0; i < 1000; i++ )
+      {
+        assertEquals( (int) items.get( i ), i );
+      }
+    }
+    finally
+    {
+      upstreamExecutor.shutdown();
+      downstreamExecutor.shutdown();
+    }
+  }
+
+  @Test
+  public void observeOn_blockNotSupported()
+  {
+    assertInvariantFailure( () -> Stream.range( 0, 10 ).observeOn( Zemeckis.macroTaskVpu(), 4, OverflowStrategy.BLOCK ),
+                            "Spritz-0012: OverflowStrategy.BLOCK specified for a stage that does not observe " +
+                            "items using an Executor. Blocking the producing thread would deadlock." );
+  }
+
+  private static final class CollectingSubscriber
+    implements Subscriber<Integer>
+  {
+    @Nonnull
+    private final List<Integer> _items;
+    @Nonnull
+    private final CountDownLatch _completed;
+
+    CollectingSubscriber( @Nonnull final List<Integer> items, @Nonnull final CountDownLatch completed )
+    {
+      _items = items;
+      _completed = completed;
+    }
+
+    @Override
+    public void onSubscribe( @Nonnull final Subscription subscription )
+    {
+    }
+
+    @Override
+    public void onItem( @Nonnull final Integer item )
+    {
+      _items.add( item );
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable throwable )
+    {
+      _completed.countDown();
+    }
+
+    @Override
+    public void onComplete()
+    {
+      _completed.countDown();
+    }
+  }
+}
@@ -0,0 +1,429 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import zemeckis.Zemeckis;
+import static org.testng.Assert.*;
+
+public class ParallelStreamTest
+  extends AbstractTest
+{
+  @Test
+  public void sequentialOrdered()
+    throws Exception
+  {
+    final ExecutorService executor = Executors.newFixedThreadPool( 4 );
+    try
+    {
+      final List<Integer> results =
+        collect( Stream
+                   .range( 0, 10000 )
+                   .parallel( 4, executor )
+                   .map( i -> i * 2 )
+                   .filter( i -> 0 != i % 3 )
+                   .sequentialOrdered() );
+
+      assertEquals( results, expected() );
+    }
+    finally
+    {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void sequential()
+    throws Exception
+  {
+    final ExecutorService executor = Executors.newFixedThreadPool( 4 );
+    try
+    {
+      final List<Integer> results =
+        collect( Stream
+                   .range( 0, 10000 )
+                   .parallel( 3, executor )
+                   .map( i -> i * 2 )
+                   .filter( i -> 0 != i % 3 )
+                   .sequential() );
+
+      Collections.sort( results );
+      assertEquals( results, expected() );
+    }
+    finally
+    {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void sequential_emitsItemsOnFirstExecutor()
+    throws Exception
+  {
+    final ExecutorService executor1 = Executors.newSingleThreadExecutor( r -> new Thread( r, "Rail1" ) );
+    final ExecutorService executor2 = Executors.newSingleThreadExecutor( r -> new Thread( r, "Rail2" ) );
+    try
+    {
+      final List<String> threads =
+        collect( Stream
+                   .range( 0, 100 )
+                   .parallel( 2, executor1, executor2 )
+                   .map( i -> Thread.currentThread().getName() )
+                   .sequential()
+                   .map( rail -> rail + ":" + Thread.currentThread().getName() ) );
+
+      // The rails are processed on both executors but the merged items are emitted on the first executor
+      assertEquals( threads.stream().distinct().sorted().collect( Collectors.toList() ),
+                    Arrays.asList( "Rail1:Rail1", "Rail2:Rail1" ) );
+    }
+    finally
+    {
+      executor1.shutdown();
+      executor2.shutdown();
+    }
+  }
+
+  @Test
+  public void sequentialOrdered_virtualProcessorUnits()
+    throws Exception
+  {
+    final List<Integer> results =
+      collectOnScheduler( () -> Stream
+        .range( 0, 10000 )
+        .parallel( 4, Zemeckis.macroTaskVpu() )
+        .map( i -> i * 2 )
+        .filter( i -> 0 != i % 3 )
+        .sequentialOrdered() );
+
+    assertEquals( results, expected() );
+  }
+
+  @Test
+  public void sequential_virtualProcessorUnits()
+    throws Exception
+  {
+    final List<Integer> results =
+      collectOnScheduler( () -> Stream
+        .range( 0, 10000 )
+        .parallel( 3, Zemeckis.macroTaskVpu() )
+        .map( i -> i * 2 )
+        .filter( i -> 0 != i % 3 )
+        .sequential() );
+
+    Collections.sort( results );
+    assertEquals( results, expected() );
+  }
+
+  @Test
+  public void cancelReleasesSubjectUpstream()
+    throws Exception
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<Integer> results = new ArrayList<>();
+    final boolean[] subscribed = new boolean[ 2 ];
+    final CountDownLatch latch = new CountDownLatch( 1 );
+    runOnScheduler( latch, () -> {
+      final Subscription subscription =
+        subject.parallel( 2, Zemeckis.macroTaskVpu() ).map( i -> i * 2 ).sequential().forEach( results::add );
+      subscribed[ 0 ] = subject.hasDownstreamSubscribers();
+      subscription.cancel();
+      subscribed[ 1 ] = subject.hasDownstreamSubscribers();
+      latch.countDown();
+    } );
+
+    assertTrue( subscribed[ 0 ] );
+    assertFalse( subscribed[ 1 ] );
+    assertTrue( results.isEmpty() );
+  }
+
+  @Test
+  public void cancelIsDeliveredToUpstreamByUpstreamThread()
+    throws Exception
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<Integer> results = new ArrayList<>();
+    final boolean[] subscribedAfterCancel = new boolean[ 2 ];
+    final CountDownLatch latch = new CountDownLatch( 1 );
+    runOnScheduler( latch, () -> {
+      // The map stage may only be accessed on the upstream thread so it is cancelled when it next emits
+      final Subscription subscription =
+        subject.map( i -> i ).parallel( 2, Zemeckis.macroTaskVpu() ).sequential().forEach( results::add );
+      subscription.cancel();
+      subscribedAfterCancel[ 0 ] = subject.hasDownstreamSubscribers();
+      subject.next( 1 );
+      subscribedAfterCancel[ 1 ] = subject.hasDownstreamSubscribers();
+      latch.countDown();
+    } );
+
+    assertTrue( subscribedAfterCancel[ 0 ] );
+    assertFalse( subscribedAfterCancel[ 1 ] );
+    assertTrue( results.isEmpty() );
+  }
+
+  @Test
+  public void partitionBy()
+    throws Exception
+  {
+    final ExecutorService executor = Executors.newFixedThreadPool( 4 );
+    try
+    {
+      final List<Integer> results =
+        collect( Stream
+                   .range( 0, 10000 )
+                   .partitionBy( i -> i % 17, 4, executor )
+                   .map( i -> i * 2 )
+                   .filter( i -> 0 != i % 3 )
+                   .sequential() );
+
+      assertEquals( results.size(), expected().size() );
+      for ( int key = 0; key < 17; key++ )
+      {
+        final int k = key;
+        final List<Integer> itemsForKey =
+          results.stream().filter( i -> k == ( i / 2 ) % 17 ).collect( Collectors.toList() );
+        final List<Integer> expectedForKey =
+          expected().stream().filter( i -> k == ( i / 2 ) % 17 ).collect( Collectors.toList() );
+        assertEquals( itemsForKey, expectedForKey );
+      }
+    }
+    finally
+    {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void partitionBy_virtualProcessorUnits()
+    throws Exception
+  {
+    final List<Integer> results =
+      collectOnScheduler( () -> Stream
+        .range( 0, 10000 )
+        .partitionBy( i -> i % 17, 4, Zemeckis.macroTaskVpu() )
+        .map( i -> i * 2 )
+        .filter( i -> 0 != i % 3 )
+        .sequential() );
+
+    assertEquals( results.size(), expected().size() );
+    // Items with the same key are processed by the same partition and thus remain in upstream order
+    for ( int key = 0; key < 17; key++ )
+    {
+      final int k = key;
+      final List<Integer> itemsForKey =
+        results.stream().filter( i -> k == ( i / 2 ) % 17 ).collect( Collectors.toList() );
+      final List<Integer> expectedForKey =
+        expected().stream().filter( i -> k == ( i / 2 ) % 17 ).collect( Collectors.toList() );
+      assertEquals( itemsForKey, expectedForKey );
+    }
+  }
+
+  @Test
+  public void partitionBy_sequentialOrdered_virtualProcessorUnits()
+    throws Exception
+  {
+    final List<Integer> results =
+      collectOnScheduler( () -> Stream
+        .range( 0, 10000 )
+        .partitionBy( i -> i % 5, 3, Zemeckis.macroTaskVpu() )
+        .map( i -> i * 2 )
+        .filter( i -> 0 != i % 3 )
+        .sequentialOrdered() );
+
+    assertEquals( results, expected() );
+  }
+
+  @Test
+  public void partitionBy_sequentialOrdered()
+    throws Exception
+  {
+    final ExecutorService executor = Executors.newFixedThreadPool( 4 );
+    try
+    {
+      final List<Integer> results =
+        collect( Stream
+                   .range( 0, 10000 )
+                   .partitionBy( i -> i % 5, 3, executor )
+                   .map( i -> i * 2 )
+                   .filter( i -> 0 != i % 3 )
+                   .sequentialOrdered() );
+
+      assertEquals( results, expected() );
+    }
+    finally
+    {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void railError()
+    throws Exception
+  {
+    final ExecutorService executor = Executors.newFixedThreadPool( 2 );
+    try
+    {
+      final AtomicReference<Throwable> error = new AtomicReference<>();
+      final CountDownLatch terminated = new CountDownLatch( 1 );
+      final IllegalStateException exception = new IllegalStateException();
+      Stream
+        .range( 0, 100 )
+        .parallel( 2, executor )
+        .map( i -> {
+          if ( 50 == i )
+          {
+            throw exception;
+          }
+          return i;
+        } )
+        .sequential()
+        .subscribe( new CollectingSubscriber<>( new ArrayList<>(), error, terminated ) );
+
+      assertTrue( terminated.await( 10, TimeUnit.SECONDS ) );
+      assertEquals( error.get(), exception );
+    }
+    finally
+    {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void railMapperReturningNullFails()
+    throws Exception
+  {
+    final List<Integer> results = new ArrayList<>();
+    final AtomicReference<Throwable> error = new AtomicReference<>();
+    final CountDownLatch terminated = new CountDownLatch( 1 );
+    runOnScheduler( terminated, () -> Stream
+      .range( 0, 10 )
+      .parallel( 2, Zemeckis.macroTaskVpu() )
+      .map( i -> 5 == i ? null : i )
+      .sequential()
+      .subscribe( new CollectingSubscriber<>( results, error, terminated ) ) );
+
+    assertTrue( error.get() instanceof NullPointerException );
+    assertFalse( results.contains( 5 ) );
+  }
+
+  @Test
+  public void partitionBy_keyFunctionError()
+    throws Exception
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<Integer> results = new ArrayList<>();
+    final AtomicReference<Throwable> error = new AtomicReference<>();
+    final CountDownLatch terminated = new CountDownLatch( 1 );
+    final IllegalStateException exception = new IllegalStateException();
+    final boolean[] subscribed = new boolean[ 1 ];
+    runOnScheduler( terminated, () -> {
+      subject
+        .partitionBy( i -> {
+          if ( 3 == i )
+          {
+            throw exception;
+          }
+          return i;
+        }, 2, Zemeckis.macroTaskVpu() )
+        .sequential()
+        .subscribe( new CollectingSubscriber<>( results, error, terminated ) );
+      subject.next( 1 );
+      subject.next( 2 );
+      subject.next( 3 );
+      subscribed[ 0 ] = subject.hasDownstreamSubscribers();
+    } );
+
+    assertEquals( error.get(), exception );
+    assertFalse( subscribed[ 0 ] );
+  }
+
+  @Nonnull
+  private List<Integer> expected()
+  {
+    return IntStream.range( 0, 10000 ).map( i -> i * 2 ).filter( i -> 0 != i % 3 ).boxed().collect( Collectors.toList() );
+  }
+
+  /**
+   * Subscribe on the scheduler thread on which the macro task VPU runs so that the rails and the
+   * upstream are only accessed by that thread.
+   */
+  @Nonnull
+  private List<Integer> collectOnScheduler( @Nonnull final Supplier<Stream<Integer>> stream )
+    throws InterruptedException
+  {
+    final List<Integer> results = new ArrayList<>();
+    final AtomicReference<Throwable> error = new AtomicReference<>();
+    final CountDownLatch terminated = new CountDownLatch( 1 );
+    runOnScheduler( terminated,
+                    () -> stream.get().subscribe( new CollectingSubscriber<>( results, error, terminated ) ) );
+    assertNull( error.get() );
+    return results;
+  }
+
+  @Nonnull
+  private <T> List<T> collect( @Nonnull final Stream<T> stream )
+    throws InterruptedException
+  {
+    final List<T> results = Collections.synchronizedList( new ArrayList<>() );
+    final AtomicReference<Throwable> error = new AtomicReference<>();
+    final CountDownLatch terminated = new CountDownLatch( 1 );
+    stream.subscribe( new CollectingSubscriber<>( results, error, terminated ) );
+    assertTrue( terminated.await( 10, TimeUnit.SECONDS ) );
+    assertNull( error.get() );
+    return new ArrayList<>( results );
+  }
+
+  private static final class CollectingSubscriber<T>
+    implements Subscriber<T>
+  {
+    @Nonnull
+    private final List<T> _results;
+    @Nonnull
+    private final AtomicReference<Throwable> _error;
+    @Nonnull
+    private final CountDownLatch _terminated;
+
+    CollectingSubscriber( @Nonnull final List<T> results,
+                          @Nonnull final AtomicReference<Throwable> error,
+                          @Nonnull final CountDownLatch terminated )
+    {
+      _results = results;
+      _error = error;
+      _terminated = terminated;
+    }
+
+    @Override
+    public void onSubscribe( @Nonnull final Subscription subscription )
+    {
+    }
+
+    @Override
+    public void onItem( @Nonnull final T item )
+    {
+      _results.add( item );
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      _error.set( error );
+      _terminated.countDown();
+    }
+
+    @Override
+    public void onComplete()
+    {
+      _terminated.countDown();
+    }
+  }
+}
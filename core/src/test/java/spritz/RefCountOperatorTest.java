@@ -0,0 +1,65 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class RefCountOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void resubscribeWithinLingerPeriodRetainsConnection()
+    throws Exception
+  {
+    final Subject<Integer> upstream = Stream.subject();
+    final int[] connectCount = new int[ 1 ];
+    final CountDownLatch disconnected = new CountDownLatch( 1 );
+    final ConnectableStream<Integer> connectable =
+      upstream.afterSubscribe( s -> connectCount[ 0 ]++ ).afterCancel( disconnected::countDown ).publish();
+    final Stream<Integer> stream = connectable.refCount( 1, 100 );
+
+    final List<Integer> items = new ArrayList<>();
+    final boolean[] connected = new boolean[ 3 ];
+    runOnScheduler( disconnected, () -> {
+      stream.forEach( items::add ).cancel();
+      connected[ 0 ] = connectable.isConnected();
+
+      // The disconnect is due after the linger period so the resubscribe in a later task is run first
+      delayedTask( () -> {
+        final Subscription subscription = stream.forEach( items::add );
+        upstream.next( 1 );
+        connected[ 1 ] = connectable.isConnected();
+        subscription.cancel();
+        connected[ 2 ] = connectable.isConnected();
+      }, 0 );
+    } );
+
+    assertTrue( connected[ 0 ] );
+    assertTrue( connected[ 1 ] );
+    assertTrue( connected[ 2 ] );
+    assertEquals( connectCount[ 0 ], 1 );
+    assertEquals( items.toString(), "[1]" );
+    assertFalse( connectable.isConnected() );
+  }
+
+  @Test
+  public void minSubscribers()
+  {
+    final Subject<Integer> upstream = Stream.subject();
+    final ConnectableStream<Integer> connectable = upstream.publish();
+    final Stream<Integer> stream = connectable.refCount( 2, 0 );
+
+    final Subscription subscription1 = stream.forEach( v -> {
+    } );
+    assertFalse( connectable.isConnected() );
+    final Subscription subscription2 = stream.forEach( v -> {
+    } );
+    assertTrue( connectable.isConnected() );
+
+    subscription2.cancel();
+    assertFalse( connectable.isConnected() );
+    subscription1.cancel();
+  }
+}
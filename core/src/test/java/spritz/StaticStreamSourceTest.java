@@ -1,5 +1,8 @@
 package spritz;
 
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
 import org.testng.annotations.Test;
 import static org.testng.Assert.*;
 
@@ -19,4 +22,90 @@ public class StaticStreamSourceTest
     final Stream<Integer> stream = Stream.of( "dataIn()", 1, 2, 3 );
     assertEquals( stream.getName(), "dataIn()" );
   }
+
+  @Test
+  public void request_emitsOnlyRequestedItems()
+  {
+    final DemandSubscriber<Integer> subscriber = new DemandSubscriber<>( 2 );
+    Stream.of( 1, 2, 3, 4, 5 ).subscribe( subscriber );
+
+    assertEquals( subscriber._items.toString(), "[1, 2]" );
+    assertFalse( subscriber._complete );
+
+    subscriber._subscription.request( 2 );
+
+    assertEquals( subscriber._items.toString(), "[1, 2, 3, 4]" );
+    assertFalse( subscriber._complete );
+
+    subscriber._subscription.request( 5 );
+
+    assertEquals( subscriber._items.toString(), "[1, 2, 3, 4, 5]" );
+    assertTrue( subscriber._complete );
+  }
+
+  @Test
+  public void request_propagatesThroughOperators()
+  {
+    final DemandSubscriber<Integer> subscriber = new DemandSubscriber<>( 2 );
+    Stream.of( 1, 2, 3, 4, 5, 6 ).map( v -> v * 10 ).filter( v -> v > 20 ).subscribe( subscriber );
+
+    assertEquals( subscriber._items.toString(), "[30, 40]" );
+    assertFalse( subscriber._complete );
+
+    subscriber._subscription.request( Subscription.UNBOUNDED );
+
+    assertEquals( subscriber._items.toString(), "[30, 40, 50, 60]" );
+    assertTrue( subscriber._complete );
+  }
+
+  @Test
+  public void noRequest_emitsAllItems()
+  {
+    final DemandSubscriber<Integer> subscriber = new DemandSubscriber<>( 0 );
+    Stream.of( 1, 2, 3 ).subscribe( subscriber );
+
+    assertEquals( subscriber._items.toString(), "[1, 2, 3]" );
+    assertTrue( subscriber._complete );
+  }
+
+  private static final class DemandSubscriber<T>
+    implements Subscriber<T>
+  {
+    private final int _initialRequest;
+    private final List<T> _items = new ArrayList<>();
+    private Subscription _subscription;
+    private boolean _complete;
+
+    DemandSubscriber( final int initialRequest )
+    {
+      _initialRequest = initialRequest;
+    }
+
+    @Override
+    public void onSubscribe( @Nonnull final Subscription subscription )
+    {
+      _subscription = subscription;
+      if ( 0 != _initialRequest )
+      {
+        subscription.request( _initialRequest );
+      }
+    }
+
+    @Override
+    public void onItem( @Nonnull final T item )
+    {
+      _items.add( item );
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+    }
+
+    @Override
+    public void onComplete()
+    {
+      _complete = true;
+    }
+  }
 }
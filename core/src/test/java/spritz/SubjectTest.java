@@ -0,0 +1,226 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class SubjectTest
+  extends AbstractTest
+{
+  @Test
+  public void itemsEmittedInSubscriptionOrder()
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<String> events = new ArrayList<>();
+    for ( int i = 0; i < 5; i++ )
+    {
+      final int id = i;
+      subject.forEach( v -> events.add( id + ":" + v ) );
+    }
+
+    subject.next( 1 );
+
+    assertEquals( events.toString(), "[0:1, 1:1, 2:1, 3:1, 4:1]" );
+  }
+
+  @Test
+  public void reentrantCancelAndSubscribe()
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<String> events = new ArrayList<>();
+
+    final Subscription[] second = new Subscription[ 1 ];
+    subject.subscribe( new RecordingSubscriber( "A", events )
+    {
+      @Override
+      public void onItem( @Nonnull final Integer item )
+      {
+        super.onItem( item );
+        if ( 1 == item )
+        {
+          // Cancel a later subscriber and add a new subscriber while the subject is emitting
+          second[ 0 ].cancel();
+          subject.subscribe( new RecordingSubscriber( "C", events ) );
+        }
+      }
+    } );
+    second[ 0 ] = subject.subscribe( new RecordingSubscriber( "B", events ) );
+
+    subject.next( 1 );
+    subject.next( 2 );
+    subject.complete();
+
+    assertEquals( events.toString(), "[A:1, A:2, C:2, A:complete, C:complete]" );
+  }
+
+  @Test
+  public void replaySubject_maxSize()
+  {
+    final Subject<Integer> subject = Stream.replaySubjectWithMaxSize( 3 );
+    for ( int i = 0; i < 25; i++ )
+    {
+      subject.next( i );
+    }
+    final List<String> events = new ArrayList<>();
+    subject.subscribe( new RecordingSubscriber( "A", events ) );
+
+    assertEquals( events.toString(), "[A:22, A:23, A:24]" );
+  }
+
+  @Test
+  public void replaySubject_growsAndWraps()
+  {
+    final Subject<Integer> subject = Stream.replaySubjectWithMaxSize( 15 );
+    for ( int i = 0; i < 40; i++ )
+    {
+      subject.next( i );
+    }
+    final List<Integer> items = new ArrayList<>();
+    subject.forEach( items::add );
+    subject.next( 40 );
+
+    assertEquals( items.size(), 16 );
+    assertEquals( (int) items.get( 0 ), 25 );
+    assertEquals( (int) items.get( 15 ), 40 );
+  }
+
+  @Test
+  public void concurrentSubject_terminalRecordedWhenDelivered()
+  {
+    final List<Runnable> tasks = new ArrayList<>();
+    final Subject<Integer> subject = Stream.concurrentSubject( tasks::add );
+    final List<String> events = new ArrayList<>();
+    subject.subscribe( new RecordingSubscriber( "A", events ) );
+
+    subject.next( 1 );
+    subject.complete();
+
+    assertInvariantFailure( subject::complete,
+                            "Spritz-0028: Hub.complete(...) invoked after Hub.complete() invoked." );
+    assertInvariantFailure( () -> subject.next( 2 ),
+                            "Hub-0024: Hub.next(...) invoked after Hub.complete() invoked." );
+    assertFalse( subject.isDone() );
+
+    // The subscriber subscribes before the drain task delivers the queued item and the complete signal
+    subject.subscribe( new RecordingSubscriber( "B", events ) );
+    assertEquals( events.size(), 0 );
+
+    assertEquals( tasks.size(), 1 );
+    tasks.get( 0 ).run();
+
+    assertTrue( subject.isDone() );
+    assertEquals( events.toString(), "[A:1, B:1, A:complete, B:complete]" );
+
+    subject.subscribe( new RecordingSubscriber( "C", events ) );
+    assertEquals( events.toString(), "[A:1, B:1, A:complete, B:complete, C:complete]" );
+  }
+
+  @Test
+  public void concurrentSubject()
+    throws Exception
+  {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try
+    {
+      final Subject<Integer> subject = Stream.concurrentSubject( executor );
+      final int producerCount = 4;
+      final int itemCount = 10000;
+      final int[] lastItem = new int[ producerCount ];
+      Arrays.fill( lastItem, -1 );
+      final AtomicInteger outOfOrder = new AtomicInteger();
+      final AtomicInteger received = new AtomicInteger();
+      final CountDownLatch completed = new CountDownLatch( 1 );
+      subject.subscribe( new RecordingSubscriber( "A", new ArrayList<>() )
+      {
+        @Override
+        public void onItem( @Nonnull final Integer item )
+        {
+          // Items from each producer must be received in the order they were produced
+          final int producer = item / itemCount;
+          if ( lastItem[ producer ] >= item )
+          {
+            outOfOrder.incrementAndGet();
+          }
+          lastItem[ producer ] = item;
+          received.incrementAndGet();
+        }
+
+        @Override
+        public void onComplete()
+        {
+          completed.countDown();
+        }
+      } );
+
+      final Thread[] producers = new Thread[ producerCount ];
+      for ( int i = 0; i < producerCount; i++ )
+      {
+        final int producer = i;
+        producers[ i ] = new Thread( () -> {
+          for ( int j = 0; j < itemCount; j++ )
+          {
+            subject.next( producer * itemCount + j );
+          }
+        } );
+        producers[ i ].start();
+      }
+      for ( final Thread producer : producers )
+      {
+        producer.join();
+      }
+      subject.complete();
+
+      assertTrue( completed.await( 10, TimeUnit.SECONDS ) );
+      assertEquals( received.get(), producerCount * itemCount );
+      assertEquals( outOfOrder.get(), 0 );
+    }
+    finally
+    {
+      executor.shutdown();
+    }
+  }
+
+  private static class RecordingSubscriber
+    implements Subscriber<Integer>
+  {
+    private final String _name;
+    private final List<String> _events;
+
+    RecordingSubscriber( @Nonnull final String name, @Nonnull final List<String> events )
+    {
+      _name = name;
+      _events = events;
+    }
+
+    @Override
+    public void onSubscribe( @Nonnull final Subscription subscription )
+    {
+    }
+
+    @Override
+    public void onItem( @Nonnull final Integer item )
+    {
+      _events.add( _name + ":" + item );
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      _events.add( _name + ":error" );
+    }
+
+    @Override
+    public void onComplete()
+    {
+      _events.add( _name + ":complete" );
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.testng.annotations.Test;
+import zemeckis.Zemeckis;
+import static org.testng.Assert.*;
+
+public class ThrottleOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void itemsWithinWindowAreDropped()
+    throws Exception
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<Integer> items = new ArrayList<>();
+    final int[] times = new int[ 3 ];
+    final CountDownLatch latch = new CountDownLatch( 2 );
+    runOnScheduler( latch, () -> {
+      subject
+        .throttle( 300 )
+        .forEach( v -> {
+          items.add( v );
+          times[ items.size() ] = Zemeckis.now();
+          latch.countDown();
+        } );
+      times[ 0 ] = Zemeckis.now();
+      subject.next( 1 );
+      subject.next( 2 );
+      delayedTask( () -> subject.next( 3 ), 30 );
+      delayedTask( () -> subject.next( 4 ), 600 );
+    } );
+
+    assertEquals( items.toString(), "[1, 4]" );
+    assertTrue( times[ 1 ] - times[ 0 ] >= 300 );
+    assertTrue( times[ 2 ] - times[ 1 ] >= 300 );
+  }
+
+  @Test
+  public void cancelDisarmsTimer()
+    throws Exception
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<Integer> items = new ArrayList<>();
+    final CountDownLatch latch = new CountDownLatch( 1 );
+    runOnScheduler( latch, () -> {
+      final Subscription subscription = subject.throttle( 20 ).forEach( items::add );
+      subject.next( 1 );
+      subscription.cancel();
+      // Runs after the timer would have fired
+      delayedTask( latch::countDown, 100 );
+    } );
+
+    assertEquals( items.size(), 0 );
+    assertFalse( subject.hasDownstreamSubscribers() );
+  }
+}
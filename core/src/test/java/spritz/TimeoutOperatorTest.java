@@ -0,0 +1,84 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.testng.annotations.Test;
+import zemeckis.Zemeckis;
+import static org.testng.Assert.*;
+
+public class TimeoutOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void errorsOncePeriodElapsesWithoutItem()
+    throws Exception
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<Object> signals = new ArrayList<>();
+    final int[] times = new int[ 2 ];
+    final CountDownLatch latch = new CountDownLatch( 1 );
+    runOnScheduler( latch, () -> {
+      times[ 0 ] = Zemeckis.now();
+      subject
+        .timeout( 100 )
+        .afterError( e -> {
+          signals.add( e );
+          times[ 1 ] = Zemeckis.now();
+          latch.countDown();
+        } )
+        .forEach( signals::add );
+    } );
+
+    assertEquals( signals.size(), 1 );
+    assertTrue( signals.get( 0 ) instanceof TimeoutException );
+    assertTrue( times[ 1 ] - times[ 0 ] >= 100 );
+  }
+
+  @Test
+  public void itemReceivedBeforeTimerFiresMovesDeadline()
+    throws Exception
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<Object> signals = new ArrayList<>();
+    final int[] times = new int[ 2 ];
+    final CountDownLatch latch = new CountDownLatch( 1 );
+    runOnScheduler( latch, () -> {
+      subject
+        .timeout( 300 )
+        .afterError( e -> {
+          signals.add( e );
+          times[ 1 ] = Zemeckis.now();
+          latch.countDown();
+        } )
+        .forEach( signals::add );
+      // The timer armed on subscribe fires before the new deadline and is re-armed
+      delayedTask( () -> {
+        times[ 0 ] = Zemeckis.now();
+        subject.next( 1 );
+      }, 30 );
+    } );
+
+    assertEquals( signals.size(), 2 );
+    assertEquals( signals.get( 0 ), 1 );
+    assertTrue( signals.get( 1 ) instanceof TimeoutException );
+    assertTrue( times[ 1 ] - times[ 0 ] >= 300 );
+  }
+
+  @Test
+  public void cancelDisarmsTimer()
+    throws Exception
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<Object> signals = new ArrayList<>();
+    final CountDownLatch latch = new CountDownLatch( 1 );
+    runOnScheduler( latch, () -> {
+      subject.timeout( 20 ).afterError( signals::add ).forEach( signals::add ).cancel();
+      // Runs after the timer would have fired
+      delayedTask( latch::countDown, 100 );
+    } );
+
+    assertEquals( signals.size(), 0 );
+    assertFalse( subject.hasDownstreamSubscribers() );
+  }
+}
@@ -0,0 +1,65 @@
+package spritz;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class TimerRegistryTest
+  extends AbstractTest
+{
+  @Test
+  public void subscriptionsWithSamePeriodShareTimer()
+    throws Exception
+  {
+    final CountDownLatch latch = new CountDownLatch( 9 );
+    final Stream<Integer> stream = Stream.periodic( 10 );
+    final Subscription subscription1 = stream.forEach( v -> latch.countDown() );
+    final Subscription subscription2 = stream.forEach( v -> latch.countDown() );
+    final Subscription subscription3 = Stream.periodic( 10 ).limit( 3 ).forEach( v -> latch.countDown() );
+    final Subscription subscription4 = Stream.periodic( 15 ).forEach( v -> {
+    } );
+
+    assertEquals( TimerRegistry.getTimerCount(), 2 );
+    assertTrue( latch.await( 10, TimeUnit.SECONDS ) );
+
+    subscription1.cancel();
+    assertEquals( TimerRegistry.getTimerCount(), 2 );
+    subscription2.cancel();
+    subscription3.cancel();
+    assertEquals( TimerRegistry.getTimerCount(), 1 );
+    subscription4.cancel();
+    assertEquals( TimerRegistry.getTimerCount(), 0 );
+  }
+
+  @Test
+  public void firstTickAt()
+  {
+    // Unaligned timers tick one period after the timer is started
+    assertEquals( TimerRegistry.firstTickAt( 0, 200, 0 ), 200 );
+    assertEquals( TimerRegistry.firstTickAt( 1234, 200, 0 ), 1434 );
+
+    // Aligned timers tick at the next boundary after the timer is started
+    assertEquals( TimerRegistry.firstTickAt( 0, 200, 100 ), 100 );
+    assertEquals( TimerRegistry.firstTickAt( 1, 200, 100 ), 100 );
+    assertEquals( TimerRegistry.firstTickAt( 99, 200, 100 ), 100 );
+    assertEquals( TimerRegistry.firstTickAt( 100, 200, 100 ), 200 );
+    assertEquals( TimerRegistry.firstTickAt( 1234, 200, 100 ), 1300 );
+  }
+
+  @Test
+  public void nextTickAt()
+  {
+    // A tick invoked on time or late but before the next boundary is followed one period later
+    assertEquals( TimerRegistry.nextTickAt( 100, 100, 200 ), 300 );
+    assertEquals( TimerRegistry.nextTickAt( 100, 299, 200 ), 300 );
+
+    // Boundaries that passed while the tick was late are skipped rather than invoked immediately
+    assertEquals( TimerRegistry.nextTickAt( 100, 300, 200 ), 500 );
+    assertEquals( TimerRegistry.nextTickAt( 100, 301, 200 ), 500 );
+    assertEquals( TimerRegistry.nextTickAt( 100, 950, 200 ), 1100 );
+
+    // A zero period never skips
+    assertEquals( TimerRegistry.nextTickAt( 100, 950, 0 ), 100 );
+  }
+}
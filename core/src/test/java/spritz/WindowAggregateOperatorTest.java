@@ -0,0 +1,59 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class WindowAggregateOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void slidingWindowCount()
+    throws Exception
+  {
+    final int windowMillis = 250;
+    final int bucketMillis = 50;
+    final Subject<Integer> subject = Stream.subject();
+    final List<Integer> counts = new ArrayList<>();
+    final CountDownLatch latch = new CountDownLatch( 1 );
+    // The items and the ticks are all processed on the scheduler thread
+    runOnScheduler( latch, () -> {
+      subject
+        .windowAggregate( windowMillis, bucketMillis, Aggregator.counting() )
+        .limit( windowMillis / bucketMillis + 1 )
+        .forEach( count -> {
+          counts.add( count );
+          if ( counts.size() == windowMillis / bucketMillis + 1 )
+          {
+            latch.countDown();
+          }
+        } );
+      for ( int i = 0; i < 5; i++ )
+      {
+        subject.next( i );
+      }
+    } );
+
+    // The items are counted by each tick until the bucket they were received in leaves the window
+    assertEquals( counts.toString(), "[5, 5, 5, 5, 5, 0]" );
+  }
+
+  @Test
+  public void aggregateEmittedOnComplete()
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<Double> sums = new ArrayList<>();
+    subject
+      .windowAggregate( 60000, 1000, Aggregator.summingDouble( Integer::doubleValue ) )
+      .forEach( sums::add );
+
+    subject.next( 1 );
+    subject.next( 2 );
+    subject.next( 3 );
+    subject.complete();
+
+    assertEquals( sums.get( sums.size() - 1 ), 6D );
+  }
+}
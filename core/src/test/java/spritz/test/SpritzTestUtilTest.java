@@ -26,4 +26,13 @@ public class SpritzTestUtilTest
     SpritzTestUtil.validateSubscriptions();
     assertTrue( Spritz.shouldValidateSubscriptions() );
   }
+
+  @Test
+  public void areMetricsEnabled()
+  {
+    SpritzTestUtil.disableMetrics();
+    assertFalse( Spritz.areMetricsEnabled() );
+    SpritzTestUtil.enableMetrics();
+    assertTrue( Spritz.areMetricsEnabled() );
+  }
 }